@@ -37,6 +37,7 @@ import type {
   PressEvent,
   ScrollEvent,
   LayoutEvent,
+  ViewportChangeEvent,
 } from '../../Types/CoreEventTypes';
 import type {HostComponent} from '../../Renderer/shims/ReactNativeTypes';
 import type {ViewProps} from '../View/ViewPropTypes';
@@ -427,6 +428,42 @@ type AndroidProps = $ReadOnly<{|
    * @platform android
    */
   fadingEdgeLength?: ?number,
+  /**
+   * When true, `onViewportChange` is called at most once per frame with the
+   * tags of the children of the content container that entered and left the
+   * viewport, extended by `viewportLeadDistance` and `viewportTrailDistance`.
+   * Only supported by vertical scroll views.
+   *
+   * The default value is false.
+   *
+   * @platform android
+   */
+  trackViewport?: ?boolean,
+  /**
+   * Distance ahead of the scroll direction by which the viewport tracked with
+   * `trackViewport` is extended.
+   *
+   * The default value is 0.
+   *
+   * @platform android
+   */
+  viewportLeadDistance?: ?number,
+  /**
+   * Distance behind the scroll direction by which the viewport tracked with
+   * `trackViewport` is extended.
+   *
+   * The default value is 0.
+   *
+   * @platform android
+   */
+  viewportTrailDistance?: ?number,
+  /**
+   * Called with the children entering and leaving the viewport when
+   * `trackViewport` is true.
+   *
+   * @platform android
+   */
+  onViewportChange?: ?(event: ViewportChangeEvent) => void,
 |}>;
 
 type StickyHeaderComponentType = React.AbstractComponent<
@@ -38,6 +38,9 @@ export const __INTERNAL_VIEW_CONFIG: PartialViewConfig =
           topScrollEndDrag: {
             registrationName: 'onScrollEndDrag',
           },
+          topViewportChange: {
+            registrationName: 'onViewportChange',
+          },
         },
         validAttributes: {
           contentOffset: {
@@ -75,6 +78,9 @@ export const __INTERNAL_VIEW_CONFIG: PartialViewConfig =
           borderTopRightRadius: true,
           borderLeftColor: {process: require('../../StyleSheet/processColor')},
           pointerEvents: true,
+          trackViewport: true,
+          viewportLeadDistance: true,
+          viewportTrailDistance: true,
         },
       }
     : {
@@ -13,7 +13,10 @@
 import type {ViewProps} from '../View/ViewPropTypes';
 import type {ColorValue} from '../../StyleSheet/StyleSheet';
 import type {EdgeInsetsProp} from '../../StyleSheet/EdgeInsetsPropType';
-import type {ScrollEvent} from '../../Types/CoreEventTypes';
+import type {
+  ScrollEvent,
+  ViewportChangeEvent,
+} from '../../Types/CoreEventTypes';
 import type {PointProp} from '../../StyleSheet/PointPropType';
 
 export type ScrollViewNativeProps = $ReadOnly<{
@@ -55,6 +58,7 @@ export type ScrollViewNativeProps = $ReadOnly<{
   onScrollBeginDrag?: ?(event: ScrollEvent) => void,
   onScrollEndDrag?: ?(event: ScrollEvent) => void,
   onScrollToTop?: (event: ScrollEvent) => void,
+  onViewportChange?: ?(event: ViewportChangeEvent) => void,
   overScrollMode?: ?('auto' | 'always' | 'never'),
   pagingEnabled?: ?boolean,
   persistentScrollbar?: ?boolean,
@@ -73,6 +77,9 @@ export type ScrollViewNativeProps = $ReadOnly<{
   snapToInterval?: ?number,
   snapToOffsets?: ?$ReadOnlyArray<number>,
   snapToStart?: ?boolean,
+  trackViewport?: ?boolean,
+  viewportLeadDistance?: ?number,
+  viewportTrailDistance?: ?number,
   zoomScale?: ?number,
   // Overrides
   onResponderGrant?: ?(e: $FlowFixMe) => void | boolean,
@@ -67,6 +67,17 @@ export type ChangeEvent = SyntheticEvent<
   |}>,
 >;
 
+// With text change deltas enabled natively, Android change events carry the
+// changed range instead of the whole text when native knows the last text JS
+// got from it.
+type ChangeDeltaEvent = $ReadOnly<{
+  text?: ?string,
+  start?: ?number,
+  removedLength?: ?number,
+  insertedText?: ?string,
+  ...
+}>;
+
 export type TextInputEvent = SyntheticEvent<
   $ReadOnly<{|
     eventCount: number,
@@ -942,6 +953,7 @@ function InternalTextInput(props: Props): React.Node {
   const [mostRecentEventCount, setMostRecentEventCount] = useState<number>(0);
 
   const [lastNativeText, setLastNativeText] = useState<?Stringish>(props.value);
+  const lastChangeEventTextRef = useRef<string>('');
   const [lastNativeSelectionState, setLastNativeSelection] = useState<{|
     selection: ?Selection,
     mostRecentEventCount: number,
@@ -1104,6 +1116,18 @@ function InternalTextInput(props: Props): React.Node {
   });
 
   const _onChange = (event: ChangeEvent) => {
+    const nativeEvent: ChangeDeltaEvent = event.nativeEvent;
+    if (nativeEvent.text == null && nativeEvent.insertedText != null) {
+      const previousText = lastChangeEventTextRef.current;
+      const start = nativeEvent.start ?? 0;
+      // $FlowFixMe[cannot-write] fill in the text for onChange handlers
+      event.nativeEvent.text =
+        previousText.slice(0, start) +
+        nativeEvent.insertedText +
+        previousText.slice(start + (nativeEvent.removedLength ?? 0));
+    }
+    lastChangeEventTextRef.current = event.nativeEvent.text;
+
     const currentText = event.nativeEvent.text;
     props.onChange && props.onChange(event);
     props.onChangeText && props.onChangeText(currentText);
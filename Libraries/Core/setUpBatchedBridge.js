@@ -22,6 +22,7 @@ if (global.RN$Bridgeless === true && global.RN$registerCallableModule) {
       | $TEMPORARY$string<'HeapCapture'>
       | $TEMPORARY$string<'JSDevSupportModule'>
       | $TEMPORARY$string<'JSTimers'>
+      | $TEMPORARY$string<'RCTDeviceEventBatch'>
       | $TEMPORARY$string<'RCTDeviceEventEmitter'>
       | $TEMPORARY$string<'RCTLog'>
       | $TEMPORARY$string<'RCTNativeAppEventEmitter'>
@@ -42,6 +43,9 @@ registerModule(
   'RCTDeviceEventEmitter',
   () => require('../EventEmitter/RCTDeviceEventEmitter').default,
 );
+registerModule('RCTDeviceEventBatch', () =>
+  require('../EventEmitter/RCTDeviceEventBatch'),
+);
 registerModule('RCTNativeAppEventEmitter', () =>
   require('../EventEmitter/RCTNativeAppEventEmitter'),
 );
@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ *
+ * @format
+ * @flow strict-local
+ */
+
+import RCTDeviceEventEmitter from './RCTDeviceEventEmitter';
+
+/**
+ * Receives device events that native batched into a single call, as a flat list of
+ * event name and payload pairs, and emits them in order.
+ */
+const RCTDeviceEventBatch = {
+  emitBatch(events: $ReadOnlyArray<mixed>): void {
+    for (let i = 0; i < events.length; i += 2) {
+      // $FlowFixMe[incompatible-call] Event names are always strings
+      RCTDeviceEventEmitter.emit(events[i], events[i + 1]);
+    }
+  },
+};
+module.exports = RCTDeviceEventBatch;
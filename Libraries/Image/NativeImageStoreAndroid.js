@@ -18,6 +18,20 @@ export interface Spec extends TurboModule {
     successCallback: (base64ImageData: string) => void,
     errorCallback: (error: string) => void,
   ) => void;
+  +getBase64ChunkForTag: (
+    uri: string,
+    offset: number,
+    length: number,
+    successCallback: (base64ImageData: string, bytesRead: number) => void,
+    errorCallback: (error: string) => void,
+  ) => void;
+  // Use getImageBlobForTag, the blob data has to be wrapped in a Blob for the
+  // native data to be released when the Blob is collected.
+  +getBlobForTag: (
+    uri: string,
+    successCallback: (blob: Object) => void,
+    errorCallback: (error: string) => void,
+  ) => void;
 }
 
 export default (TurboModuleRegistry.getEnforcing<Spec>(
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ *
+ * @format
+ * @emails oncall+react_native
+ */
+
+'use strict';
+
+const mockBlobModule = {
+  createFromParts() {},
+  release: jest.fn(),
+};
+
+jest.setMock('../../BatchedBridge/NativeModules', {
+  BlobModule: mockBlobModule,
+});
+
+jest.mock('../NativeImageStoreAndroid', () => ({
+  __esModule: true,
+  default: {
+    getBlobForTag: jest.fn(),
+  },
+}));
+
+const Blob = require('../../Blob/Blob');
+const BlobRegistry = require('../../Blob/BlobRegistry');
+const NativeImageStoreAndroid = require('../NativeImageStoreAndroid').default;
+const getImageBlobForTag = require('../getImageBlobForTag');
+
+describe('getImageBlobForTag', () => {
+  beforeEach(() => {
+    mockBlobModule.release.mockClear();
+  });
+
+  it('wraps the native blob data in a registered Blob', async () => {
+    NativeImageStoreAndroid.getBlobForTag.mockImplementation(
+      (uri, success, error) =>
+        success({
+          blobId: 'image-blob',
+          offset: 0,
+          size: 1024,
+          type: 'image/jpeg',
+          name: 'photo.jpg',
+          lastModified: 0,
+        }),
+    );
+
+    const blob = await getImageBlobForTag('content://media/photo.jpg');
+
+    expect(NativeImageStoreAndroid.getBlobForTag.mock.calls[0][0]).toBe(
+      'content://media/photo.jpg',
+    );
+    expect(blob).toBeInstanceOf(Blob);
+    expect(blob.size).toBe(1024);
+    expect(blob.type).toBe('image/jpeg');
+    expect(BlobRegistry.has('image-blob')).toBe(true);
+  });
+
+  it('releases the native data when the Blob is closed', async () => {
+    NativeImageStoreAndroid.getBlobForTag.mockImplementation(
+      (uri, success, error) =>
+        success({blobId: 'closed-blob', offset: 0, size: 10, type: ''}),
+    );
+
+    const blob = await getImageBlobForTag('file:///photo.jpg');
+    blob.close();
+
+    expect(BlobRegistry.has('closed-blob')).toBe(false);
+    expect(mockBlobModule.release).toHaveBeenCalledWith('closed-blob');
+  });
+
+  it('rejects with the native error', async () => {
+    NativeImageStoreAndroid.getBlobForTag.mockImplementation(
+      (uri, success, error) => error('Could not get the size of ' + uri),
+    );
+
+    await expect(getImageBlobForTag('file:///missing.jpg')).rejects.toThrow(
+      'Could not get the size of file:///missing.jpg',
+    );
+  });
+});
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ *
+ * @format
+ * @flow
+ */
+
+// Gets a `Blob` of an image without copying its data to JS.
+
+'use strict';
+
+const BlobManager = require('../Blob/BlobManager');
+
+import type Blob from '../Blob/Blob';
+import NativeImageStoreAndroid from './NativeImageStoreAndroid';
+
+/**
+ * Returns a `Blob` referencing the image at `uri`, a `file://` or `content://`
+ * URI. Its data stays native until it's read or uploaded, and is released when
+ * the `Blob` is closed or garbage collected.
+ *
+ * Rejects if the size of the image can't be determined, in which case
+ * `getBase64ForTag` still works.
+ */
+function getImageBlobForTag(uri: string): Promise<Blob> {
+  return new Promise((resolve, reject) => {
+    NativeImageStoreAndroid.getBlobForTag(
+      uri,
+      blobData => resolve(BlobManager.createFromOptions(blobData)),
+      error => reject(new Error(error)),
+    );
+  });
+}
+
+module.exports = getImageBlobForTag;
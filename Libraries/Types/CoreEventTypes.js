@@ -138,11 +138,22 @@ export type ScrollEvent = SyntheticEvent<
       y: number,
       x: number,
     |}>,
+    predictedContentOffset?: $ReadOnly<{|
+      y: number,
+      x: number,
+    |}>,
     zoomScale?: number,
     responderIgnoreScroll?: boolean,
   |}>,
 >;
 
+export type ViewportChangeEvent = SyntheticEvent<
+  $ReadOnly<{|
+    entered: $ReadOnlyArray<number>,
+    left: $ReadOnlyArray<number>,
+  |}>,
+>;
+
 export type BlurEvent = SyntheticEvent<
   $ReadOnly<{|
     target: number,
@@ -62,6 +62,7 @@ public class DebugCorePackage extends TurboReactPackage {
                 moduleClass.getName(),
                 reactModule.canOverrideExistingModule(),
                 reactModule.needsEagerInit(),
+                reactModule.needsBackgroundInit(),
                 reactModule.hasConstants(),
                 reactModule.isCxxModule(),
                 TurboModule.class.isAssignableFrom(moduleClass)));
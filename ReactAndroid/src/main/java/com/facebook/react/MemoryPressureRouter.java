@@ -10,12 +10,19 @@ package com.facebook.react;
 import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.res.Configuration;
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.CacheBudgetRegistry;
+import com.facebook.react.bridge.MemoryPressure;
 import com.facebook.react.bridge.MemoryPressureListener;
+import com.facebook.react.config.ReactFeatureFlags;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
-/** Translates and routes memory pressure events to the current catalyst instance. */
+/**
+ * Translates and routes memory pressure events to the current catalyst instance, and to the caches
+ * registered with {@link CacheBudgetRegistry}.
+ */
 public class MemoryPressureRouter implements ComponentCallbacks2 {
   private final Set<MemoryPressureListener> mListeners =
       Collections.synchronizedSet(new LinkedHashSet<MemoryPressureListener>());
@@ -41,13 +48,33 @@ public class MemoryPressureRouter implements ComponentCallbacks2 {
   @Override
   public void onTrimMemory(int level) {
     dispatchMemoryPressure(level);
+    reclaimCaches(getMemoryPressure(level));
   }
 
   @Override
   public void onConfigurationChanged(Configuration newConfig) {}
 
   @Override
-  public void onLowMemory() {}
+  public void onLowMemory() {
+    reclaimCaches(MemoryPressure.CRITICAL);
+  }
+
+  private static void reclaimCaches(@Nullable MemoryPressure memoryPressure) {
+    if (ReactFeatureFlags.enableCacheBudgetRegistry && memoryPressure != null) {
+      CacheBudgetRegistry.getInstance().reclaim(memoryPressure);
+    }
+  }
+
+  /* package */ static @Nullable MemoryPressure getMemoryPressure(int level) {
+    if (level >= TRIM_MEMORY_COMPLETE || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+      return MemoryPressure.CRITICAL;
+    } else if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_LOW) {
+      return MemoryPressure.MODERATE;
+    } else if (level == TRIM_MEMORY_UI_HIDDEN) {
+      return MemoryPressure.UI_HIDDEN;
+    }
+    return null;
+  }
 
   private void dispatchMemoryPressure(int level) {
     // copy listeners array to avoid ConcurrentModificationException if any of the listeners remove
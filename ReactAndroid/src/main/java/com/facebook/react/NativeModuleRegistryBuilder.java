@@ -28,6 +28,14 @@ public class NativeModuleRegistryBuilder {
   }
 
   public void processPackage(ReactPackage reactPackage) {
+    addModuleHolders(getModuleHolders(reactPackage));
+  }
+
+  /**
+   * Returns the module holders of {@code reactPackage}. Unlike {@link #processPackage}, this
+   * doesn't touch the builder, so it can run for several packages in parallel.
+   */
+  /* package */ Iterable<ModuleHolder> getModuleHolders(ReactPackage reactPackage) {
     // We use an iterable instead of an iterator here to ensure thread safety, and that this list
     // cannot be modified
     Iterable<ModuleHolder> moduleHolders;
@@ -42,7 +50,14 @@ public class NativeModuleRegistryBuilder {
           ReactPackageHelper.getNativeModuleIterator(
               reactPackage, mReactApplicationContext, mReactInstanceManager);
     }
+    return moduleHolders;
+  }
 
+  /**
+   * Adds the module holders returned by {@link #getModuleHolders}. Packages must be added in order,
+   * since modules of later packages may override modules of earlier ones.
+   */
+  /* package */ void addModuleHolders(Iterable<ModuleHolder> moduleHolders) {
     for (ModuleHolder moduleHolder : moduleHolders) {
       String name = moduleHolder.getName();
       if (mModules.containsKey(name)) {
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react;
+
+import static com.facebook.react.bridge.ReactMarkerConstants.PROCESS_PACKAGE_END;
+import static com.facebook.react.bridge.ReactMarkerConstants.PROCESS_PACKAGE_START;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.ModuleHolder;
+import com.facebook.react.bridge.ReactMarker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes {@link ReactPackage}s in parallel at startup: every package creates its module holders
+ * (and thereby the modules that need eager init) on a worker thread, and an optional extra task
+ * runs concurrently with them, e.g. to create view managers. Module holders are then added to the
+ * {@link NativeModuleRegistryBuilder} in package order on the calling thread, so module overrides
+ * resolve exactly like with sequential processing.
+ */
+/* package */ class ParallelPackageProcessor {
+
+  private static final int MAX_THREADS = 4;
+
+  private final NativeModuleRegistryBuilder mNativeModuleRegistryBuilder;
+
+  /* package */ ParallelPackageProcessor(NativeModuleRegistryBuilder nativeModuleRegistryBuilder) {
+    mNativeModuleRegistryBuilder = nativeModuleRegistryBuilder;
+  }
+
+  /**
+   * Processes {@code packages}, running {@code concurrentTask} alongside them, and returns once all
+   * of them are done. Exceptions thrown by any package or by {@code concurrentTask} are rethrown.
+   */
+  /* package */ void process(List<ReactPackage> packages, @Nullable Runnable concurrentTask) {
+    int threadCount =
+        Math.min(
+            packages.size() + (concurrentTask != null ? 1 : 0),
+            Math.min(MAX_THREADS, Math.max(2, Runtime.getRuntime().availableProcessors() - 1)));
+    ExecutorService executor =
+        Executors.newFixedThreadPool(Math.max(1, threadCount), new WorkerThreadFactory());
+    try {
+      // Start the concurrent task first, it's usually the longest single task
+      Future<?> concurrentTaskFuture =
+          concurrentTask != null ? executor.submit(concurrentTask) : null;
+
+      List<Future<List<ModuleHolder>>> moduleHolderFutures = new ArrayList<>(packages.size());
+      for (final ReactPackage reactPackage : packages) {
+        moduleHolderFutures.add(
+            executor.submit(
+                new Callable<List<ModuleHolder>>() {
+                  @Override
+                  public List<ModuleHolder> call() {
+                    return getModuleHolders(reactPackage);
+                  }
+                }));
+      }
+
+      for (Future<List<ModuleHolder>> future : moduleHolderFutures) {
+        mNativeModuleRegistryBuilder.addModuleHolders(getResult(future));
+      }
+      if (concurrentTaskFuture != null) {
+        getResult(concurrentTaskFuture);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private List<ModuleHolder> getModuleHolders(ReactPackage reactPackage) {
+    String packageName = reactPackage.getClass().getSimpleName();
+    ReactMarker.logMarker(PROCESS_PACKAGE_START, packageName);
+    if (reactPackage instanceof ReactPackageLogger) {
+      ((ReactPackageLogger) reactPackage).startProcessPackage();
+    }
+    try {
+      // Iterate here, module holders of lazy packages are only created when iterated over
+      List<ModuleHolder> moduleHolders = new ArrayList<>();
+      Iterable<ModuleHolder> iterable = mNativeModuleRegistryBuilder.getModuleHolders(reactPackage);
+      for (ModuleHolder moduleHolder : iterable) {
+        moduleHolders.add(moduleHolder);
+      }
+      return moduleHolders;
+    } finally {
+      if (reactPackage instanceof ReactPackageLogger) {
+        ((ReactPackageLogger) reactPackage).endProcessPackage();
+      }
+      ReactMarker.logMarker(PROCESS_PACKAGE_END, packageName);
+    }
+  }
+
+  private static <T> T getResult(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  private static class WorkerThreadFactory implements ThreadFactory {
+    private final AtomicInteger mThreadCount = new AtomicInteger(0);
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      return new Thread(runnable, "create_react_context_worker_" + mThreadCount.incrementAndGet());
+    }
+  }
+}
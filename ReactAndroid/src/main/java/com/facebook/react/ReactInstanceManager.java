@@ -10,6 +10,8 @@ package com.facebook.react;
 import static com.facebook.infer.annotation.ThreadConfined.UI;
 import static com.facebook.react.bridge.ReactMarkerConstants.ATTACH_MEASURED_ROOT_VIEWS_END;
 import static com.facebook.react.bridge.ReactMarkerConstants.ATTACH_MEASURED_ROOT_VIEWS_START;
+import static com.facebook.react.bridge.ReactMarkerConstants.BACKGROUND_MODULE_INIT_END;
+import static com.facebook.react.bridge.ReactMarkerConstants.BACKGROUND_MODULE_INIT_START;
 import static com.facebook.react.bridge.ReactMarkerConstants.BUILD_NATIVE_MODULE_REGISTRY_END;
 import static com.facebook.react.bridge.ReactMarkerConstants.BUILD_NATIVE_MODULE_REGISTRY_START;
 import static com.facebook.react.bridge.ReactMarkerConstants.CHANGE_THREAD_PRIORITY;
@@ -185,7 +187,8 @@ public class ReactInstanceManager {
   private final @Nullable NativeModuleCallExceptionHandler mNativeModuleCallExceptionHandler;
   private final @Nullable JSIModulePackage mJSIModulePackage;
   private final @Nullable ReactPackageTurboModuleManagerDelegate.Builder mTMMDelegateBuilder;
-  private List<ViewManager> mViewManagers;
+  private volatile List<ViewManager> mViewManagers;
+  private final boolean mLazyViewManagersEnabled;
   private boolean mUseFallbackBundle = false;
 
   private class ReactContextInitParams {
@@ -270,6 +273,7 @@ public class ReactInstanceManager {
     mMemoryPressureRouter = new MemoryPressureRouter(applicationContext);
     mNativeModuleCallExceptionHandler = nativeModuleCallExceptionHandler;
     mTMMDelegateBuilder = tmmDelegateBuilder;
+    mLazyViewManagersEnabled = lazyViewManagersEnabled;
     synchronized (mPackages) {
       PrinterHolder.getPrinter()
           .logMessage(ReactDebugOverlayTags.RN_CORE, "RNCore: Use Split Packages");
@@ -923,10 +927,12 @@ public class ReactInstanceManager {
       if (mViewManagers == null) {
         synchronized (mPackages) {
           if (mViewManagers == null) {
-            mViewManagers = new ArrayList<>();
+            // Only publish the list once complete, it can be read without holding the lock
+            List<ViewManager> viewManagers = new ArrayList<>();
             for (ReactPackage reactPackage : mPackages) {
-              mViewManagers.addAll(reactPackage.createViewManagers(catalystApplicationContext));
+              viewManagers.addAll(reactPackage.createViewManagers(catalystApplicationContext));
             }
+            mViewManagers = viewManagers;
             return mViewManagers;
           }
         }
@@ -1367,7 +1373,7 @@ public class ReactInstanceManager {
               .setReactApplicationContext(reactContext)
               .build();
 
-      TurboModuleManager turboModuleManager =
+      final TurboModuleManager turboModuleManager =
           new TurboModuleManager(
               catalystInstance.getRuntimeExecutor(),
               tmmDelegate,
@@ -1382,6 +1388,22 @@ public class ReactInstanceManager {
       for (String moduleName : registry.getEagerInitModuleNames()) {
         registry.getModule(moduleName);
       }
+
+      // Create background TurboModules on the native modules thread, off the critical path
+      for (final String moduleName : turboModuleManager.getBackgroundInitModuleNames()) {
+        reactContext.runOnNativeModulesQueueThread(
+            new Runnable() {
+              @Override
+              public void run() {
+                ReactMarker.logMarker(BACKGROUND_MODULE_INIT_START, moduleName);
+                try {
+                  turboModuleManager.getModule(moduleName);
+                } finally {
+                  ReactMarker.logMarker(BACKGROUND_MODULE_INIT_END, moduleName);
+                }
+              }
+            });
+      }
     }
 
     if (mJSIModulePackage != null) {
@@ -1416,19 +1438,23 @@ public class ReactInstanceManager {
 
     ReactMarker.logMarker(PROCESS_PACKAGES_START);
 
-    synchronized (mPackages) {
-      for (ReactPackage reactPackage : packages) {
-        if (checkAndUpdatePackageMembership && mPackages.contains(reactPackage)) {
-          continue;
-        }
-        Systrace.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "createAndProcessCustomReactPackage");
-        try {
-          if (checkAndUpdatePackageMembership) {
-            mPackages.add(reactPackage);
+    if (ReactFeatureFlags.enableParallelPackageProcessing && !checkAndUpdatePackageMembership) {
+      processPackagesInParallel(reactContext, packages, nativeModuleRegistryBuilder);
+    } else {
+      synchronized (mPackages) {
+        for (ReactPackage reactPackage : packages) {
+          if (checkAndUpdatePackageMembership && mPackages.contains(reactPackage)) {
+            continue;
+          }
+          Systrace.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "createAndProcessCustomReactPackage");
+          try {
+            if (checkAndUpdatePackageMembership) {
+              mPackages.add(reactPackage);
+            }
+            processPackage(reactPackage, nativeModuleRegistryBuilder);
+          } finally {
+            Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
           }
-          processPackage(reactPackage, nativeModuleRegistryBuilder);
-        } finally {
-          Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
         }
       }
     }
@@ -1447,6 +1473,37 @@ public class ReactInstanceManager {
     return nativeModuleRegistry;
   }
 
+  private void processPackagesInParallel(
+      final ReactApplicationContext reactContext,
+      List<ReactPackage> packages,
+      NativeModuleRegistryBuilder nativeModuleRegistryBuilder) {
+    List<ReactPackage> packagesSnapshot;
+    synchronized (mPackages) {
+      // Don't hold the lock while waiting for the workers, modules may need it while initializing,
+      // e.g. to create view managers
+      packagesSnapshot = new ArrayList<>(packages);
+    }
+
+    Runnable createViewManagers = null;
+    if (!mLazyViewManagersEnabled) {
+      createViewManagers =
+          new Runnable() {
+            @Override
+            public void run() {
+              getOrCreateViewManagers(reactContext);
+            }
+          };
+    }
+
+    Systrace.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "processPackagesInParallel");
+    try {
+      new ParallelPackageProcessor(nativeModuleRegistryBuilder)
+          .process(packagesSnapshot, createViewManagers);
+    } finally {
+      Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+  }
+
   private void processPackage(
       ReactPackage reactPackage, NativeModuleRegistryBuilder nativeModuleRegistryBuilder) {
     SystraceMessage.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "processPackage")
@@ -119,6 +119,21 @@ public abstract class ReactPackageTurboModuleManagerDelegate extends TurboModule
     return moduleNames;
   }
 
+  @Override
+  public List<String> getBackgroundInitModuleNames() {
+    List<String> moduleNames = new ArrayList<>();
+    for (TurboReactPackage reactPackage : mPackages) {
+      for (ReactModuleInfo moduleInfo :
+          reactPackage.getReactModuleInfoProvider().getReactModuleInfos().values()) {
+
+        if (moduleInfo.isTurboModule() && moduleInfo.needsBackgroundInit()) {
+          moduleNames.add(moduleInfo.name());
+        }
+      }
+    }
+    return moduleNames;
+  }
+
   public abstract static class Builder {
     private @Nullable List<ReactPackage> mPackages;
     private @Nullable ReactApplicationContext mContext;
@@ -162,34 +162,41 @@ public class Arguments {
   public static WritableNativeArray fromJavaArgs(Object[] args) {
     WritableNativeArray arguments = new WritableNativeArray();
     for (int i = 0; i < args.length; i++) {
-      Object argument = args[i];
-      if (argument == null) {
-        arguments.pushNull();
-        continue;
-      }
-
-      Class argumentClass = argument.getClass();
-      if (argumentClass == Boolean.class) {
-        arguments.pushBoolean(((Boolean) argument).booleanValue());
-      } else if (argumentClass == Integer.class) {
-        arguments.pushDouble(((Integer) argument).doubleValue());
-      } else if (argumentClass == Double.class) {
-        arguments.pushDouble(((Double) argument).doubleValue());
-      } else if (argumentClass == Float.class) {
-        arguments.pushDouble(((Float) argument).doubleValue());
-      } else if (argumentClass == String.class) {
-        arguments.pushString(argument.toString());
-      } else if (argumentClass == WritableNativeMap.class) {
-        arguments.pushMap((WritableNativeMap) argument);
-      } else if (argumentClass == WritableNativeArray.class) {
-        arguments.pushArray((WritableNativeArray) argument);
-      } else {
-        throw new RuntimeException("Cannot convert argument of type " + argumentClass);
-      }
+      pushJavaArg(arguments, args[i]);
     }
     return arguments;
   }
 
+  /**
+   * Appends a single JS function call argument to {@code arguments}, converted the same way as by
+   * {@link #fromJavaArgs}.
+   */
+  public static void pushJavaArg(WritableArray arguments, @Nullable Object argument) {
+    if (argument == null) {
+      arguments.pushNull();
+      return;
+    }
+
+    Class argumentClass = argument.getClass();
+    if (argumentClass == Boolean.class) {
+      arguments.pushBoolean(((Boolean) argument).booleanValue());
+    } else if (argumentClass == Integer.class) {
+      arguments.pushDouble(((Integer) argument).doubleValue());
+    } else if (argumentClass == Double.class) {
+      arguments.pushDouble(((Double) argument).doubleValue());
+    } else if (argumentClass == Float.class) {
+      arguments.pushDouble(((Float) argument).doubleValue());
+    } else if (argumentClass == String.class) {
+      arguments.pushString(argument.toString());
+    } else if (argumentClass == WritableNativeMap.class) {
+      arguments.pushMap((WritableNativeMap) argument);
+    } else if (argumentClass == WritableNativeArray.class) {
+      arguments.pushArray((WritableNativeArray) argument);
+    } else {
+      throw new RuntimeException("Cannot convert argument of type " + argumentClass);
+    }
+  }
+
   /**
    * Convert an array to a {@link WritableArray}.
    *
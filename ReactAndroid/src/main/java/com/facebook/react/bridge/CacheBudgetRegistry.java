@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
+import com.facebook.react.common.ReactConstants;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide registry of the caches held by React Native, so that memory can be reclaimed from
+ * all of them in a consistent order under memory pressure instead of each cache sizing itself
+ * independently.
+ *
+ * <p>Caches are reclaimed from in increasing {@code priority}, i.e. caches that are cheapest to
+ * rebuild should register with the lowest priority. On {@link MemoryPressure#MODERATE} caches are
+ * reclaimed from until the total footprint is down to {@link #MODERATE_TARGET_FRACTION} of what it
+ * was, on {@link MemoryPressure#CRITICAL} everything that can be evicted is.
+ */
+public class CacheBudgetRegistry {
+
+  public static final int PRIORITY_LOW = 0;
+  public static final int PRIORITY_NORMAL = 50;
+  public static final int PRIORITY_HIGH = 100;
+
+  public static final double MODERATE_TARGET_FRACTION = 0.5;
+
+  private static final CacheBudgetRegistry sInstance = new CacheBudgetRegistry();
+
+  @GuardedBy("this")
+  private final List<Entry> mEntries = new ArrayList<>();
+
+  public static CacheBudgetRegistry getInstance() {
+    return sInstance;
+  }
+
+  /* package */ CacheBudgetRegistry() {}
+
+  /**
+   * Registers {@code cache} under {@code name}, which is used in {@link #getBreakdown()}. Caches
+   * with the same priority are reclaimed from in registration order.
+   */
+  public synchronized void register(String name, int priority, ReclaimableCache cache) {
+    int index = 0;
+    while (index < mEntries.size() && mEntries.get(index).mPriority <= priority) {
+      index++;
+    }
+    mEntries.add(index, new Entry(name, priority, cache));
+  }
+
+  public synchronized void unregister(ReclaimableCache cache) {
+    for (int i = 0; i < mEntries.size(); i++) {
+      if (mEntries.get(i).mCache == cache) {
+        mEntries.remove(i);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Reclaims memory from the registered caches according to {@code level}. Returns an estimate of
+   * the number of bytes freed.
+   */
+  public long reclaim(MemoryPressure level) {
+    List<Entry> entries = getEntries();
+    long totalBytes = 0;
+    for (Entry entry : entries) {
+      totalBytes += entry.mCache.getSizeBytes();
+    }
+
+    long targetBytes;
+    switch (level) {
+      case MODERATE:
+        targetBytes = (long) (totalBytes * MODERATE_TARGET_FRACTION);
+        break;
+      case CRITICAL:
+        targetBytes = 0;
+        break;
+      default:
+        return 0;
+    }
+
+    long freedBytes = 0;
+    for (Entry entry : entries) {
+      long bytesToFree = totalBytes - freedBytes - targetBytes;
+      if (bytesToFree <= 0) {
+        break;
+      }
+      freedBytes += entry.mCache.evict(bytesToFree);
+    }
+
+    FLog.d(
+        ReactConstants.TAG,
+        "Reclaimed %d of %d bytes held by caches on %s memory pressure",
+        freedBytes,
+        totalBytes,
+        level);
+    return freedBytes;
+  }
+
+  /** Returns an estimate of the total memory held by the registered caches, in bytes. */
+  public long getTotalSizeBytes() {
+    long totalBytes = 0;
+    for (Entry entry : getEntries()) {
+      totalBytes += entry.mCache.getSizeBytes();
+    }
+    return totalBytes;
+  }
+
+  /**
+   * Returns the current footprint of each registered cache in bytes, keyed by name, in the order
+   * caches are reclaimed from.
+   */
+  public Map<String, Long> getBreakdown() {
+    Map<String, Long> breakdown = new LinkedHashMap<>();
+    for (Entry entry : getEntries()) {
+      @Nullable Long previous = breakdown.get(entry.mName);
+      long size = entry.mCache.getSizeBytes();
+      breakdown.put(entry.mName, previous == null ? size : previous + size);
+    }
+    return breakdown;
+  }
+
+  private synchronized List<Entry> getEntries() {
+    // Caches are called outside of the lock, since they take their own locks
+    return new ArrayList<>(mEntries);
+  }
+
+  private static class Entry {
+    private final String mName;
+    private final int mPriority;
+    private final ReclaimableCache mCache;
+
+    Entry(String name, int priority, ReclaimableCache cache) {
+      mName = name;
+      mPriority = priority;
+      mCache = cache;
+    }
+  }
+}
@@ -19,6 +19,7 @@ import com.facebook.infer.annotation.ThreadConfined;
 import com.facebook.jni.HybridData;
 import com.facebook.proguard.annotations.DoNotStrip;
 import com.facebook.react.bridge.queue.MessageQueueThread;
+import com.facebook.react.bridge.queue.NativeModulesThreadPool;
 import com.facebook.react.bridge.queue.QueueThreadExceptionHandler;
 import com.facebook.react.bridge.queue.ReactQueueConfiguration;
 import com.facebook.react.bridge.queue.ReactQueueConfigurationImpl;
@@ -44,12 +45,13 @@ import java.util.concurrent.atomic.AtomicInteger;
  * is built by XReactInstanceManager which is in a different package.
  */
 @DoNotStrip
-public class CatalystInstanceImpl implements CatalystInstance {
+public class CatalystInstanceImpl implements CatalystInstance, ValueCallbackInvoker {
   static {
     ReactBridge.staticInit();
   }
 
   private static final AtomicInteger sNextInstanceIdForTrace = new AtomicInteger(1);
+  private static final long NATIVE_MODULES_THREAD_POOL_SHUTDOWN_TIMEOUT_MS = 1000;
 
   public static class PendingJSCall {
 
@@ -95,6 +97,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
   private final JSIModuleRegistry mJSIModuleRegistry = new JSIModuleRegistry();
   private final NativeModuleCallExceptionHandler mNativeModuleCallExceptionHandler;
   private final MessageQueueThread mNativeModulesQueueThread;
+  private final @Nullable NativeModulesThreadPool mNativeModulesThreadPool;
   private boolean mInitialized = false;
   private volatile boolean mAcceptCalls = false;
 
@@ -109,7 +112,9 @@ public class CatalystInstanceImpl implements CatalystInstance {
   private final HybridData mHybridData;
 
   private static native HybridData initHybrid(
-      boolean enableRuntimeScheduler, boolean enableRuntimeSchedulerInTurboModule);
+      boolean enableRuntimeScheduler,
+      boolean enableRuntimeSchedulerInTurboModule,
+      boolean enableNativeModuleCallBatching);
 
   public native CallInvokerHolderImpl getJSCallInvokerHolder();
 
@@ -132,7 +137,8 @@ public class CatalystInstanceImpl implements CatalystInstance {
     mHybridData =
         initHybrid(
             ReactFeatureFlags.enableRuntimeScheduler,
-            ReactFeatureFlags.enableRuntimeSchedulerInTurboModule);
+            ReactFeatureFlags.enableRuntimeSchedulerInTurboModule,
+            ReactFeatureFlags.enableNativeModuleCallBatching);
 
     mReactQueueConfiguration =
         ReactQueueConfigurationImpl.create(
@@ -143,6 +149,10 @@ public class CatalystInstanceImpl implements CatalystInstance {
     mJSBundleLoader = jsBundleLoader;
     mNativeModuleCallExceptionHandler = nativeModuleCallExceptionHandler;
     mNativeModulesQueueThread = mReactQueueConfiguration.getNativeModulesQueueThread();
+    mNativeModulesThreadPool =
+        ReactFeatureFlags.enableNativeModulesThreadPool
+            ? new NativeModulesThreadPool(mNativeModulesQueueThread)
+            : null;
     mTraceListener = new JSProfilerTraceListener(this);
     Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
 
@@ -158,7 +168,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
         jsExecutor,
         mReactQueueConfiguration.getJSQueueThread(),
         mNativeModulesQueueThread,
-        mNativeModuleRegistry.getJavaModules(this),
+        mNativeModuleRegistry.getJavaModules(this, mNativeModulesThreadPool),
         mNativeModuleRegistry.getCxxModules());
     FLog.d(ReactConstants.TAG, "Initializing React Xplat Bridge after initializeBridge");
     Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
@@ -211,7 +221,8 @@ public class CatalystInstanceImpl implements CatalystInstance {
   public void extendNativeModules(NativeModuleRegistry modules) {
     // Extend the Java-visible registry of modules
     mNativeModuleRegistry.registerModules(modules);
-    Collection<JavaModuleWrapper> javaModules = modules.getJavaModules(this);
+    Collection<JavaModuleWrapper> javaModules =
+        modules.getJavaModules(this, mNativeModulesThreadPool);
     Collection<ModuleHolder> cxxModules = modules.getCxxModules();
     // Extend the Cxx-visible registry of modules wrapped in appropriate interfaces
     jniExtendNativeModules(javaModules, cxxModules);
@@ -343,6 +354,35 @@ public class CatalystInstanceImpl implements CatalystInstance {
     jniCallJSCallback(callbackID, (NativeArray) arguments);
   }
 
+  private native void jniCallJSCallbackWithNull(int callbackID);
+
+  private native void jniCallJSCallbackWithBoolean(int callbackID, boolean value);
+
+  private native void jniCallJSCallbackWithDouble(int callbackID, double value);
+
+  private native void jniCallJSCallbackWithString(int callbackID, String value);
+
+  @Override
+  public boolean invokeCallbackWithValue(int callbackID, @Nullable Object value) {
+    if (mDestroyed) {
+      FLog.w(ReactConstants.TAG, "Invoking JS callback after bridge has been destroyed.");
+      return true;
+    }
+
+    if (value == null) {
+      jniCallJSCallbackWithNull(callbackID);
+    } else if (value instanceof Boolean) {
+      jniCallJSCallbackWithBoolean(callbackID, (Boolean) value);
+    } else if (value instanceof Integer || value instanceof Double || value instanceof Float) {
+      jniCallJSCallbackWithDouble(callbackID, ((Number) value).doubleValue());
+    } else if (value instanceof String) {
+      jniCallJSCallbackWithString(callbackID, (String) value);
+    } else {
+      return false;
+    }
+    return true;
+  }
+
   /**
    * Destroys this catalyst instance, waiting for any other threads in ReactQueueConfiguration
    * (besides the UI thread) to finish running. Must be called from the UI thread so that we can
@@ -365,6 +405,11 @@ public class CatalystInstanceImpl implements CatalystInstance {
         new Runnable() {
           @Override
           public void run() {
+            if (mNativeModulesThreadPool != null) {
+              // Let calls running on the pool finish before their modules are invalidated
+              mNativeModulesThreadPool.shutdownAndAwaitTermination(
+                  NATIVE_MODULES_THREAD_POOL_SHUTDOWN_TIMEOUT_MS);
+            }
             mNativeModuleRegistry.notifyJSInstanceDestroy();
             mJSIModuleRegistry.notifyJSInstanceDestroy();
             boolean wasIdle = (mPendingJSCalls.getAndSet(0) == 0);
@@ -452,6 +497,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
             mNativeModuleRegistry.notifyJSInstanceInitialized();
           }
         });
+    mNativeModuleRegistry.initializeBackgroundModules(mNativeModulesQueueThread);
   }
 
   @Override
@@ -459,6 +505,15 @@ public class CatalystInstanceImpl implements CatalystInstance {
     return mReactQueueConfiguration;
   }
 
+  /**
+   * Returns the pool running calls to native modules that aren't pinned to the native modules
+   * thread, or null if {@link ReactFeatureFlags#enableNativeModulesThreadPool} is off. Mostly
+   * useful to read its per-module perf stats.
+   */
+  public @Nullable NativeModulesThreadPool getNativeModulesThreadPool() {
+    return mNativeModulesThreadPool;
+  }
+
   @Override
   public <T extends JavaScriptModule> T getJSModule(Class<T> jsInterface) {
     return mJSModuleRegistry.getJavaScriptModule(this, jsInterface);
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+
+/**
+ * Like {@link CallbackImpl}, but callbacks invoked with a single primitive value don't build an
+ * argument array, see {@link com.facebook.react.config.ReactFeatureFlags#enableDirectPromises}.
+ */
+/* package */ final class DirectCallback implements Callback {
+
+  private final JSInstance mJSInstance;
+  private final int mCallbackId;
+
+  @GuardedBy("this")
+  private boolean mInvoked;
+
+  /* package */ DirectCallback(JSInstance jsInstance, int callbackId) {
+    mJSInstance = jsInstance;
+    mCallbackId = callbackId;
+  }
+
+  @Override
+  public void invoke(Object... args) {
+    synchronized (this) {
+      if (mInvoked) {
+        throw new RuntimeException(
+            "Illegal callback invocation from native "
+                + "module. This callback type only permits a single invocation from "
+                + "native code.");
+      }
+      mInvoked = true;
+    }
+    if (args.length == 1) {
+      invokeCallback(mJSInstance, mCallbackId, args[0]);
+    } else {
+      mJSInstance.invokeCallback(mCallbackId, Arguments.fromJavaArgs(args));
+    }
+  }
+
+  /** Invokes a JS callback with a single argument, without an argument array if it's primitive. */
+  /* package */ static void invokeCallback(
+      JSInstance jsInstance, int callbackId, @Nullable Object value) {
+    if (jsInstance instanceof ValueCallbackInvoker
+        && ((ValueCallbackInvoker) jsInstance).invokeCallbackWithValue(callbackId, value)) {
+      return;
+    }
+    jsInstance.invokeCallback(callbackId, Arguments.fromJavaArgs(new Object[] {value}));
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+
+/**
+ * A promise that invokes its JS callbacks directly by id instead of through two {@link Callback}
+ * objects, see {@link com.facebook.react.config.ReactFeatureFlags#enableDirectPromises}. Like
+ * {@link PromiseImpl}, settling it again is ignored.
+ *
+ * <p>Each call gets its own promise: reusing promises would let a module holding on to a settled
+ * one settle the promise of another call.
+ */
+/* package */ final class DirectPromise extends PromiseImpl {
+
+  private final JSInstance mJSInstance;
+  private final int mResolveId;
+  private final int mRejectId;
+
+  @GuardedBy("this")
+  private boolean mSettled;
+
+  /* package */ DirectPromise(JSInstance jsInstance, int resolveId, int rejectId) {
+    super(null, null);
+    mJSInstance = jsInstance;
+    mResolveId = resolveId;
+    mRejectId = rejectId;
+  }
+
+  private synchronized boolean settle() {
+    if (mSettled) {
+      return false;
+    }
+    mSettled = true;
+    return true;
+  }
+
+  @Override
+  public void resolve(@Nullable Object value) {
+    if (settle()) {
+      DirectCallback.invokeCallback(mJSInstance, mResolveId, value);
+    }
+  }
+
+  @Override
+  public void reject(
+      @Nullable String code,
+      @Nullable String message,
+      @Nullable Throwable throwable,
+      @Nullable WritableMap userInfo) {
+    if (settle()) {
+      DirectCallback.invokeCallback(
+          mJSInstance, mRejectId, buildErrorInfo(code, message, throwable, userInfo));
+    }
+  }
+}
@@ -51,6 +51,26 @@ public abstract class JSBundleLoader {
     };
   }
 
+  /**
+   * Same as {@link #createFileLoader(String, String, boolean)}, but loads the form of the bundle
+   * prepared by {@code preparedBundleCache} when there is one matching its content, and prepares
+   * it in the background for the next launches otherwise.
+   */
+  public static JSBundleLoader createFileLoader(
+      final String fileName,
+      final String assetUrl,
+      final boolean loadSynchronously,
+      final PreparedBundleCache preparedBundleCache) {
+    return new JSBundleLoader() {
+      @Override
+      public String loadScript(JSBundleLoaderDelegate delegate) {
+        delegate.loadScriptFromFile(
+            preparedBundleCache.getFileToLoad(fileName), assetUrl, loadSynchronously);
+        return fileName;
+      }
+    };
+  }
+
   /**
    * This loader is used when bundle gets reloaded from dev server. In that case loader expect JS
    * bundle to be prefetched and stored in local file. We do that to avoid passing large strings
@@ -73,6 +93,28 @@ public abstract class JSBundleLoader {
     };
   }
 
+  /**
+   * Same as {@link #createCachedBundleFromNetworkLoader(String, String)}, but loads the form of the
+   * bundle prepared by {@code preparedBundleCache} when there is one matching its content.
+   */
+  public static JSBundleLoader createCachedBundleFromNetworkLoader(
+      final String sourceURL,
+      final String cachedFileLocation,
+      final PreparedBundleCache preparedBundleCache) {
+    return new JSBundleLoader() {
+      @Override
+      public String loadScript(JSBundleLoaderDelegate delegate) {
+        try {
+          delegate.loadScriptFromFile(
+              preparedBundleCache.getFileToLoad(cachedFileLocation), sourceURL, false);
+          return sourceURL;
+        } catch (Exception e) {
+          throw DebugServerException.makeGeneric(sourceURL, e.getMessage(), e);
+        }
+      }
+    };
+  }
+
   /**
    * Same as {{@link JSBundleLoader#createCachedBundleFromNetworkLoader(String, String)}}, but for
    * split bundles in development.
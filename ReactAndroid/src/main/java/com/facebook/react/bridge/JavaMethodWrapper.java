@@ -14,9 +14,11 @@ import androidx.annotation.Nullable;
 import com.facebook.debug.holder.PrinterHolder;
 import com.facebook.debug.tags.ReactDebugOverlayTags;
 import com.facebook.infer.annotation.Assertions;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.systrace.SystraceMessage;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
 public class JavaMethodWrapper implements NativeModule.NativeMethod {
 
@@ -110,6 +112,9 @@ public class JavaMethodWrapper implements NativeModule.NativeMethod {
             return null;
           } else {
             int id = (int) jsArguments.getDouble(atIndex);
+            if (ReactFeatureFlags.enableDirectPromises) {
+              return new DirectCallback(jsInstance, id);
+            }
             return new com.facebook.react.bridge.CallbackImpl(jsInstance, id);
           }
         }
@@ -125,6 +130,14 @@ public class JavaMethodWrapper implements NativeModule.NativeMethod {
         @Override
         public Promise extractArgument(
             JSInstance jsInstance, ReadableArray jsArguments, int atIndex) {
+          if (ReactFeatureFlags.enableDirectPromises
+              && !jsArguments.isNull(atIndex)
+              && !jsArguments.isNull(atIndex + 1)) {
+            return new DirectPromise(
+                jsInstance,
+                (int) jsArguments.getDouble(atIndex),
+                (int) jsArguments.getDouble(atIndex + 1));
+          }
           Callback resolve =
               ARGUMENT_EXTRACTOR_CALLBACK.extractArgument(jsInstance, jsArguments, atIndex);
           Callback reject =
@@ -201,8 +214,10 @@ public class JavaMethodWrapper implements NativeModule.NativeMethod {
   private final Class[] mParameterTypes;
   private final int mParamLength;
   private final JavaModuleWrapper mModuleWrapper;
+  private final String mTraceName;
+  private final boolean mMayRetainArguments;
   private String mType = BaseJavaModule.METHOD_TYPE_ASYNC;
-  private boolean mArgumentsProcessed = false;
+  private volatile boolean mArgumentsProcessed = false;
   private @Nullable ArgumentExtractor[] mArgumentExtractors;
   private @Nullable String mSignature;
   private @Nullable Object[] mArguments;
@@ -214,6 +229,8 @@ public class JavaMethodWrapper implements NativeModule.NativeMethod {
     mMethod.setAccessible(true);
     mParameterTypes = mMethod.getParameterTypes();
     mParamLength = mParameterTypes.length;
+    mTraceName = module.getName() + "." + method.getName();
+    mMayRetainArguments = Arrays.asList(mParameterTypes).contains(Dynamic.class);
 
     if (isSync) {
       mType = BaseJavaModule.METHOD_TYPE_SYNC;
@@ -222,27 +239,37 @@ public class JavaMethodWrapper implements NativeModule.NativeMethod {
     }
   }
 
-  private void processArguments() {
+  private synchronized void processArguments() {
     if (mArgumentsProcessed) {
       return;
     }
     SystraceMessage.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "processArguments")
-        .arg("method", mModuleWrapper.getName() + "." + mMethod.getName())
+        .arg("method", mTraceName)
         .flush();
     try {
-      mArgumentsProcessed = true;
       mArgumentExtractors = buildArgumentExtractors(mParameterTypes);
       mSignature =
           buildSignature(mMethod, mParameterTypes, (mType.equals(BaseJavaModule.METHOD_TYPE_SYNC)));
       // Since native methods are invoked from a message queue executed on a single thread, it is
-      // safe to allocate only one arguments object per method that can be reused across calls
+      // safe to allocate only one arguments object per method that can be reused across calls.
+      // Methods of modules that run concurrently allocate one per call instead, see invoke.
       mArguments = new Object[mParameterTypes.length];
       mJSArgumentsNeeded = calculateJSArgumentsNeeded();
     } finally {
+      // Set last, so that threads that see it set also see the fields above
+      mArgumentsProcessed = true;
       SystraceMessage.endSection(TRACE_TAG_REACT_JAVA_BRIDGE).flush();
     }
   }
 
+  /**
+   * Whether the method may keep a reference to the array of arguments it's invoked with, through a
+   * {@link Dynamic} argument.
+   */
+  /* package */ boolean mayRetainArguments() {
+    return mMayRetainArguments;
+  }
+
   public Method getMethod() {
     return mMethod;
   }
@@ -325,9 +352,17 @@ public class JavaMethodWrapper implements NativeModule.NativeMethod {
 
   @Override
   public void invoke(JSInstance jsInstance, ReadableArray parameters) {
-    String traceName = mModuleWrapper.getName() + "." + mMethod.getName();
+    invoke(jsInstance, parameters, 0, parameters.size());
+  }
+
+  /**
+   * Invokes the method with the {@code count} arguments of {@code parameters} starting at {@code
+   * offset}, so that calls of a batch can share a single array of arguments.
+   */
+  /* package */ void invoke(
+      JSInstance jsInstance, ReadableArray parameters, int offset, int count) {
     SystraceMessage.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "callJavaModuleMethod")
-        .arg("method", traceName)
+        .arg("method", mTraceName)
         .flush();
     if (DEBUG) {
       PrinterHolder.getPrinter()
@@ -344,23 +379,26 @@ public class JavaMethodWrapper implements NativeModule.NativeMethod {
       if (mArguments == null || mArgumentExtractors == null) {
         throw new Error("processArguments failed");
       }
-      if (mJSArgumentsNeeded != parameters.size()) {
+      if (mJSArgumentsNeeded != count) {
         throw new NativeArgumentsParseException(
-            traceName + " got " + parameters.size() + " arguments, expected " + mJSArgumentsNeeded);
+            mTraceName + " got " + count + " arguments, expected " + mJSArgumentsNeeded);
       }
 
+      Object[] arguments =
+          mModuleWrapper.runsConcurrently() ? new Object[mArguments.length] : mArguments;
       int i = 0, jsArgumentsConsumed = 0;
       try {
         for (; i < mArgumentExtractors.length; i++) {
-          mArguments[i] =
-              mArgumentExtractors[i].extractArgument(jsInstance, parameters, jsArgumentsConsumed);
+          arguments[i] =
+              mArgumentExtractors[i].extractArgument(
+                  jsInstance, parameters, offset + jsArgumentsConsumed);
           jsArgumentsConsumed += mArgumentExtractors[i].getJSArgumentsNeeded();
         }
       } catch (UnexpectedNativeTypeException e) {
         throw new NativeArgumentsParseException(
             e.getMessage()
                 + " (constructing arguments for "
-                + traceName
+                + mTraceName
                 + " at argument index "
                 + getAffectedRange(
                     jsArgumentsConsumed, mArgumentExtractors[i].getJSArgumentsNeeded())
@@ -369,18 +407,18 @@ public class JavaMethodWrapper implements NativeModule.NativeMethod {
       }
 
       try {
-        mMethod.invoke(mModuleWrapper.getModule(), mArguments);
+        mMethod.invoke(mModuleWrapper.getModule(), arguments);
       } catch (IllegalArgumentException ie) {
-        throw new RuntimeException("Could not invoke " + traceName, ie);
+        throw new RuntimeException("Could not invoke " + mTraceName, ie);
       } catch (IllegalAccessException iae) {
-        throw new RuntimeException("Could not invoke " + traceName, iae);
+        throw new RuntimeException("Could not invoke " + mTraceName, iae);
       } catch (InvocationTargetException ite) {
         // Exceptions thrown from native module calls end up wrapped in InvocationTargetException
         // which just make traces harder to read and bump out useful information
         if (ite.getCause() instanceof RuntimeException) {
           throw (RuntimeException) ite.getCause();
         }
-        throw new RuntimeException("Could not invoke " + traceName, ite);
+        throw new RuntimeException("Could not invoke " + mTraceName, ite);
       }
     } finally {
       SystraceMessage.endSection(TRACE_TAG_REACT_JAVA_BRIDGE).flush();
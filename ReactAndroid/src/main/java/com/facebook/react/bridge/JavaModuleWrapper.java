@@ -15,7 +15,9 @@ import static com.facebook.systrace.Systrace.TRACE_TAG_REACT_JAVA_BRIDGE;
 
 import androidx.annotation.Nullable;
 import com.facebook.proguard.annotations.DoNotStrip;
+import com.facebook.react.bridge.queue.NativeModulesThreadPool;
 import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.systrace.Systrace;
 import com.facebook.systrace.SystraceMessage;
 import java.lang.reflect.Method;
@@ -42,13 +44,34 @@ public class JavaModuleWrapper {
 
   private final JSInstance mJSInstance;
   private final ModuleHolder mModuleHolder;
-  private final ArrayList<NativeModule.NativeMethod> mMethods;
+  private final ArrayList<JavaMethodWrapper> mMethods;
   private final ArrayList<MethodDescriptor> mDescs;
+  private final @Nullable NativeModulesThreadPool mThreadPool;
+  private volatile ReactModule.ThreadingPolicy mThreadingPolicy =
+      ReactModule.ThreadingPolicy.PINNED;
   private static final String TAG = JavaModuleWrapper.class.getSimpleName();
 
+  /**
+   * Number of ints describing each call of a batch passed to {@link #invokeBatch} and {@link
+   * #invokePackedBatch}: its method id, its number of arguments and the mask of its boolean
+   * arguments. Keep in sync with JavaModuleWrapper.cpp.
+   */
+  private static final int BATCH_CALL_SIZE = 3;
+
+  // Only used on the native modules thread, which receives the batches
+  private final PackedArgumentArray mPackedArguments = new PackedArgumentArray();
+
   public JavaModuleWrapper(JSInstance jsInstance, ModuleHolder moduleHolder) {
+    this(jsInstance, moduleHolder, null);
+  }
+
+  public JavaModuleWrapper(
+      JSInstance jsInstance,
+      ModuleHolder moduleHolder,
+      @Nullable NativeModulesThreadPool threadPool) {
     mJSInstance = jsInstance;
     mModuleHolder = moduleHolder;
+    mThreadPool = threadPool;
     mMethods = new ArrayList<>();
     mDescs = new ArrayList();
   }
@@ -63,12 +86,24 @@ public class JavaModuleWrapper {
     return mModuleHolder.getName();
   }
 
+  /**
+   * Whether calls to this module's methods may run concurrently with each other, in which case
+   * they can't share per-method state.
+   */
+  /* package */ boolean runsConcurrently() {
+    return mThreadPool != null && mThreadingPolicy == ReactModule.ThreadingPolicy.THREAD_SAFE;
+  }
+
   @DoNotStrip
   private void findMethods() {
     Systrace.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "findMethods");
     Set<String> methodNames = new HashSet<>();
 
     Class<? extends NativeModule> classForMethods = mModuleHolder.getModule().getClass();
+    ReactModule reactModule = classForMethods.getAnnotation(ReactModule.class);
+    if (reactModule != null) {
+      mThreadingPolicy = reactModule.threadingPolicy();
+    }
     Class<? extends NativeModule> superClass =
         (Class<? extends NativeModule>) classForMethods.getSuperclass();
     if (ReactModuleWithSpec.class.isAssignableFrom(superClass)) {
@@ -156,7 +191,46 @@ public class JavaModuleWrapper {
   }
 
   @DoNotStrip
-  public void invoke(int methodId, ReadableNativeArray parameters) {
+  public void invoke(int methodId, final ReadableNativeArray parameters) {
+    invoke(methodId, parameters, 0, parameters.size());
+  }
+
+  /**
+   * Invokes consecutive calls to methods of this module from a batch flushed by JS, received in a
+   * single JNI call. The first {@code callCount} calls of {@code calls} are described by {@link
+   * #BATCH_CALL_SIZE} ints each. The arguments of all calls are packed in {@code arguments}, those
+   * of each call following the arguments of the calls before.
+   */
+  @DoNotStrip
+  public void invokeBatch(int callCount, int[] calls, ReadableNativeArray arguments) {
+    int offset = 0;
+    for (int i = 0; i < callCount; i++) {
+      int argumentCount = calls[i * BATCH_CALL_SIZE + 1];
+      invoke(calls[i * BATCH_CALL_SIZE], arguments, offset, argumentCount);
+      offset += argumentCount;
+    }
+  }
+
+  /**
+   * Like {@link #invokeBatch}, for batches whose arguments are all numbers or booleans. They are
+   * packed in {@code values}, booleans being stored as 0 or 1, so that they're read without
+   * building a {@link ReadableNativeArray}. The arrays are reused for the next batches, and may be
+   * larger than the batch.
+   */
+  @DoNotStrip
+  public void invokePackedBatch(int callCount, int[] calls, double[] values) {
+    int offset = 0;
+    for (int i = 0; i < callCount; i++) {
+      int methodId = calls[i * BATCH_CALL_SIZE];
+      int argumentCount = calls[i * BATCH_CALL_SIZE + 1];
+      mPackedArguments.reset(values, offset, argumentCount, calls[i * BATCH_CALL_SIZE + 2]);
+      invoke(methodId, mPackedArguments, 0, argumentCount);
+      offset += argumentCount;
+    }
+  }
+
+  private void invoke(
+      int methodId, final ReadableArray arguments, final int offset, final int count) {
     if (ReactFeatureFlags.warnOnLegacyNativeModuleSystemUse) {
       ReactSoftExceptionLogger.logSoftException(
           TAG,
@@ -185,6 +259,27 @@ public class JavaModuleWrapper {
                   + ")."));
     }
 
-    mMethods.get(methodId).invoke(mJSInstance, parameters);
+    final JavaMethodWrapper method = mMethods.get(methodId);
+    if (mThreadPool != null && mThreadingPolicy != ReactModule.ThreadingPolicy.PINNED) {
+      // The packed arguments are reset by the next call, before this one runs
+      final ReadableArray callArguments =
+          arguments == mPackedArguments ? mPackedArguments.copy() : arguments;
+      mThreadPool.execute(
+          getName(),
+          mThreadingPolicy == ReactModule.ThreadingPolicy.SERIAL,
+          new Runnable() {
+            @Override
+            public void run() {
+              method.invoke(mJSInstance, callArguments, offset, count);
+            }
+          });
+      return;
+    }
+
+    if (arguments == mPackedArguments && method.mayRetainArguments()) {
+      method.invoke(mJSInstance, mPackedArguments.copy(), offset, count);
+      return;
+    }
+    method.invoke(mJSInstance, arguments, offset, count);
   }
 }
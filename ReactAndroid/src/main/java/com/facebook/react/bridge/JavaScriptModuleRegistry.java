@@ -10,6 +10,7 @@ package com.facebook.react.bridge;
 import androidx.annotation.Nullable;
 import com.facebook.react.common.build.ReactBuildConfig;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.HashMap;
@@ -17,11 +18,17 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Class responsible for holding all the {@link JavaScriptModule}s. Uses Java proxy objects to
- * dispatch method calls on JavaScriptModules to the bridge using the corresponding module and
- * method ids so the proper function is executed in JavaScript.
+ * Class responsible for holding all the {@link JavaScriptModule}s. Dispatches method calls on
+ * JavaScriptModules to the bridge using the corresponding module and method names so the proper
+ * function is executed in JavaScript.
+ *
+ * <p>Calls go through the {@code <interfacename>$$JSModuleStub} class generated for the interface
+ * by {@code JavaScriptModuleStubProcessor} when there is one, and through a Java proxy object
+ * otherwise.
  */
 public final class JavaScriptModuleRegistry {
+  private static final String STUB_SUFFIX = "$$JSModuleStub";
+
   private final HashMap<Class<? extends JavaScriptModule>, JavaScriptModule> mModuleInstances;
 
   public JavaScriptModuleRegistry() {
@@ -35,6 +42,12 @@ public final class JavaScriptModuleRegistry {
       return (T) module;
     }
 
+    JavaScriptModule stub = createStub(instance, moduleInterface);
+    if (stub != null) {
+      mModuleInstances.put(moduleInterface, stub);
+      return (T) stub;
+    }
+
     JavaScriptModule interfaceProxy =
         (JavaScriptModule)
             Proxy.newProxyInstance(
@@ -45,6 +58,27 @@ public final class JavaScriptModuleRegistry {
     return (T) interfaceProxy;
   }
 
+  private static @Nullable JavaScriptModule createStub(
+      CatalystInstance instance, Class<? extends JavaScriptModule> moduleInterface) {
+    Class<?> stubClass;
+    try {
+      stubClass =
+          Class.forName(
+              moduleInterface.getName() + STUB_SUFFIX, true, moduleInterface.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+    try {
+      return (JavaScriptModule)
+          stubClass.getConstructor(CatalystInstance.class).newInstance(instance);
+    } catch (NoSuchMethodException
+        | InstantiationException
+        | IllegalAccessException
+        | InvocationTargetException e) {
+      throw new RuntimeException("Unable to instantiate " + stubClass.getName(), e);
+    }
+  }
+
   private static class JavaScriptModuleInvocationHandler implements InvocationHandler {
     private final CatalystInstance mCatalystInstance;
     private final Class<? extends JavaScriptModule> mModuleInterface;
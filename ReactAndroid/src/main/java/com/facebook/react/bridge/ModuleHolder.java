@@ -46,8 +46,9 @@ public class ModuleHolder {
   private final ReactModuleInfo mReactModuleInfo;
 
   private @Nullable Provider<? extends NativeModule> mProvider;
-  // Outside of the constructur, these should only be checked or set when synchronized on this
-  private @Nullable @GuardedBy("this") NativeModule mModule;
+  // Outside of the constructor, this should only be set when synchronized on this. It is volatile
+  // so that getModule can return an already created module without taking the lock.
+  private volatile @Nullable NativeModule mModule;
 
   // These are used to communicate phases of creation and initialization across threads
   private @GuardedBy("this") boolean mInitializable;
@@ -101,7 +102,7 @@ public class ModuleHolder {
     }
   }
 
-  /* package */ synchronized boolean hasInstance() {
+  /* package */ boolean hasInstance() {
     return mModule != null;
   }
 
@@ -136,9 +137,17 @@ public class ModuleHolder {
     return mReactModuleInfo.className();
   }
 
+  public boolean needsBackgroundInit() {
+    return mReactModuleInfo.needsBackgroundInit();
+  }
+
   @DoNotStrip
   public NativeModule getModule() {
-    NativeModule module;
+    NativeModule module = mModule;
+    if (module != null) {
+      // Fast path: once created the module never changes, so there is no need to synchronize
+      return module;
+    }
     boolean shouldCreate = false;
     synchronized (this) {
       if (mModule != null) {
@@ -7,26 +7,36 @@
 
 package com.facebook.react.bridge;
 
+import androidx.annotation.Nullable;
 import com.facebook.infer.annotation.Assertions;
+import com.facebook.react.bridge.queue.MessageQueueThread;
+import com.facebook.react.bridge.queue.NativeModulesThreadPool;
 import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.systrace.Systrace;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-/** A set of Java APIs to expose to a particular JavaScript instance. */
+/**
+ * A set of Java APIs to expose to a particular JavaScript instance.
+ *
+ * <p>Module lookups happen from the JS, native modules and UI threads, so the module table is
+ * never modified in place: {@link #registerModules} publishes a new copy instead. This keeps reads
+ * lock-free.
+ */
 public class NativeModuleRegistry {
 
   private final ReactApplicationContext mReactApplicationContext;
-  private final Map<String, ModuleHolder> mModules;
+  private volatile Map<String, ModuleHolder> mModules;
   private final String TAG = NativeModuleRegistry.class.getSimpleName();
 
   public NativeModuleRegistry(
       ReactApplicationContext reactApplicationContext, Map<String, ModuleHolder> modules) {
     mReactApplicationContext = reactApplicationContext;
-    mModules = modules;
+    mModules = new HashMap<>(modules);
   }
 
   /** Private getters for combining NativeModuleRegistrys */
@@ -38,7 +48,8 @@ public class NativeModuleRegistry {
     return mReactApplicationContext;
   }
 
-  /* package */ Collection<JavaModuleWrapper> getJavaModules(JSInstance jsInstance) {
+  /* package */ Collection<JavaModuleWrapper> getJavaModules(
+      JSInstance jsInstance, @Nullable NativeModulesThreadPool threadPool) {
     ArrayList<JavaModuleWrapper> javaModules = new ArrayList<>();
     for (Map.Entry<String, ModuleHolder> entry : mModules.entrySet()) {
       if (!entry.getValue().isCxxModule()) {
@@ -53,7 +64,7 @@ public class NativeModuleRegistry {
                       + ")."));
         }
 
-        javaModules.add(new JavaModuleWrapper(jsInstance, entry.getValue()));
+        javaModules.add(new JavaModuleWrapper(jsInstance, entry.getValue(), threadPool));
       }
     }
     return javaModules;
@@ -82,21 +93,24 @@ public class NativeModuleRegistry {
   /*
    * Adds any new modules to the current module registry
    */
-  /* package */ void registerModules(NativeModuleRegistry newRegister) {
+  /* package */ synchronized void registerModules(NativeModuleRegistry newRegister) {
 
     Assertions.assertCondition(
         mReactApplicationContext.equals(newRegister.getReactApplicationContext()),
         "Extending native modules with non-matching application contexts.");
 
     Map<String, ModuleHolder> newModules = newRegister.getModuleMap();
+    Map<String, ModuleHolder> modules = new HashMap<>(mModules);
 
     for (Map.Entry<String, ModuleHolder> entry : newModules.entrySet()) {
       String key = entry.getKey();
-      if (!mModules.containsKey(key)) {
+      if (!modules.containsKey(key)) {
         ModuleHolder value = entry.getValue();
-        mModules.put(key, value);
+        modules.put(key, value);
       }
     }
+
+    mModules = modules;
   }
 
   /* package */ void notifyJSInstanceDestroy() {
@@ -131,6 +145,37 @@ public class NativeModuleRegistry {
     }
   }
 
+  /**
+   * Creates the modules that asked for background initialization with {@link
+   * ReactModule#needsBackgroundInit()} and haven't been used yet. Each module is created in its own
+   * task on the native modules queue, so that calls from JS that are already queued don't have to
+   * wait for all of them.
+   */
+  /* package */ void initializeBackgroundModules(MessageQueueThread nativeModulesQueueThread) {
+    for (final ModuleHolder module : mModules.values()) {
+      if (!module.needsBackgroundInit() || module.hasInstance()) {
+        continue;
+      }
+      nativeModulesQueueThread.runOnQueue(
+          new Runnable() {
+            @Override
+            public void run() {
+              if (module.hasInstance()) {
+                return;
+              }
+              ReactMarker.logMarker(
+                  ReactMarkerConstants.BACKGROUND_MODULE_INIT_START, module.getName());
+              try {
+                module.getModule();
+              } finally {
+                ReactMarker.logMarker(
+                    ReactMarkerConstants.BACKGROUND_MODULE_INIT_END, module.getName());
+              }
+            }
+          });
+    }
+  }
+
   public void onBatchComplete() {
     // The only native module that uses the onBatchComplete is the UI Manager. Hence, instead of
     // iterating over all the modules for find this one instance, and then calling it, we
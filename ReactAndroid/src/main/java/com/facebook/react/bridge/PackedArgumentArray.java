@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import androidx.annotation.NonNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The arguments of a call received by {@link JavaModuleWrapper#invokePackedBatch}, which only
+ * contain numbers and booleans. They are read from a slice of an array of doubles, in which
+ * booleans are stored as 0 or 1 and flagged by a bit of a mask.
+ *
+ * <p>The array is reset for each call of a batch instead of being allocated, so it must not be
+ * referenced after the call returns, see {@link #copy()}.
+ */
+/* package */ final class PackedArgumentArray implements ReadableArray {
+
+  private double[] mValues = new double[0];
+  private int mOffset;
+  private int mSize;
+  private int mBooleanMask;
+
+  /* package */ void reset(double[] values, int offset, int size, int booleanMask) {
+    mValues = values;
+    mOffset = offset;
+    mSize = size;
+    mBooleanMask = booleanMask;
+  }
+
+  /** Returns a copy of the arguments which doesn't change when this array is reset. */
+  /* package */ PackedArgumentArray copy() {
+    PackedArgumentArray copy = new PackedArgumentArray();
+    copy.reset(Arrays.copyOfRange(mValues, mOffset, mOffset + mSize), 0, mSize, mBooleanMask);
+    return copy;
+  }
+
+  private boolean isBoolean(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new ArrayIndexOutOfBoundsException(
+          "Index " + index + " out of bounds of " + mSize + " arguments");
+    }
+    return (mBooleanMask & (1 << index)) != 0;
+  }
+
+  private static UnexpectedNativeTypeException unexpectedType(String expected, String actual) {
+    return new UnexpectedNativeTypeException(
+        "Value for argument is not a " + expected + ", but " + actual);
+  }
+
+  @Override
+  public int size() {
+    return mSize;
+  }
+
+  @Override
+  public boolean isNull(int index) {
+    isBoolean(index);
+    return false;
+  }
+
+  @Override
+  public boolean getBoolean(int index) {
+    if (!isBoolean(index)) {
+      throw unexpectedType("Boolean", "Number");
+    }
+    return mValues[mOffset + index] != 0;
+  }
+
+  @Override
+  public double getDouble(int index) {
+    if (isBoolean(index)) {
+      throw unexpectedType("Number", "Boolean");
+    }
+    return mValues[mOffset + index];
+  }
+
+  @Override
+  public int getInt(int index) {
+    return (int) getDouble(index);
+  }
+
+  @Override
+  public @NonNull String getString(int index) {
+    throw unexpectedType("String", getType(index).name());
+  }
+
+  @Override
+  public @NonNull ReadableArray getArray(int index) {
+    throw unexpectedType("Array", getType(index).name());
+  }
+
+  @Override
+  public @NonNull ReadableMap getMap(int index) {
+    throw unexpectedType("Map", getType(index).name());
+  }
+
+  @Override
+  public @NonNull Dynamic getDynamic(int index) {
+    return DynamicFromArray.create(this, index);
+  }
+
+  @Override
+  public @NonNull ReadableType getType(int index) {
+    return isBoolean(index) ? ReadableType.Boolean : ReadableType.Number;
+  }
+
+  @Override
+  public @NonNull ArrayList<Object> toArrayList() {
+    ArrayList<Object> arrayList = new ArrayList<>(mSize);
+    for (int i = 0; i < mSize; i++) {
+      arrayList.add(isBoolean(i) ? (Object) getBoolean(i) : (Object) getDouble(i));
+    }
+    return arrayList;
+  }
+}
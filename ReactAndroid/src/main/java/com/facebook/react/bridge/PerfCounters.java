@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import androidx.annotation.GuardedBy;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named counters and value distributions describing the work of a subsystem, e.g. how many timers
+ * fired and how late they were. Counters only add up, while values, like latencies, keep their
+ * count, total and max.
+ *
+ * <p>{@link #getPerformanceCounters()} exports them in the same format as {@link
+ * PerformanceCounter#getPerformanceCounters()}, values being exported as {@code <name>.count},
+ * {@code <name>.total} and {@code <name>.max}.
+ *
+ * <p>This class is thread safe.
+ */
+public class PerfCounters {
+
+  private static final int VALUE_COUNT = 0;
+  private static final int VALUE_TOTAL = 1;
+  private static final int VALUE_MAX = 2;
+
+  private final String mName;
+
+  @GuardedBy("this")
+  private final Map<String, long[]> mCounters = new LinkedHashMap<>();
+
+  @GuardedBy("this")
+  private final Map<String, long[]> mValues = new LinkedHashMap<>();
+
+  public PerfCounters(String name) {
+    mName = name;
+  }
+
+  public String getName() {
+    return mName;
+  }
+
+  public synchronized void increment(String counter) {
+    add(counter, 1);
+  }
+
+  public synchronized void add(String counter, long delta) {
+    long[] count = mCounters.get(counter);
+    if (count == null) {
+      count = new long[1];
+      mCounters.put(counter, count);
+    }
+    count[0] += delta;
+  }
+
+  /** Records a sample of {@code name}, e.g. the latency of one event. */
+  public synchronized void recordValue(String name, long value) {
+    long[] stats = mValues.get(name);
+    if (stats == null) {
+      stats = new long[3];
+      mValues.put(name, stats);
+    }
+    stats[VALUE_COUNT]++;
+    stats[VALUE_TOTAL] += value;
+    stats[VALUE_MAX] = stats[VALUE_COUNT] == 1 ? value : Math.max(stats[VALUE_MAX], value);
+  }
+
+  /** Records the largest sample of {@code name} without counting it, e.g. a queue depth. */
+  public synchronized void recordMax(String name, long value) {
+    long[] stats = mValues.get(name);
+    if (stats == null) {
+      stats = new long[3];
+      mValues.put(name, stats);
+      stats[VALUE_MAX] = value;
+    } else {
+      stats[VALUE_MAX] = Math.max(stats[VALUE_MAX], value);
+    }
+  }
+
+  public synchronized long getCount(String counter) {
+    long[] count = mCounters.get(counter);
+    return count == null ? 0 : count[0];
+  }
+
+  /** Number of samples recorded for {@code name}. */
+  public synchronized long getValueCount(String name) {
+    return getValueStat(name, VALUE_COUNT);
+  }
+
+  public synchronized long getValueTotal(String name) {
+    return getValueStat(name, VALUE_TOTAL);
+  }
+
+  public synchronized long getValueMax(String name) {
+    return getValueStat(name, VALUE_MAX);
+  }
+
+  public synchronized double getValueAverage(String name) {
+    long count = getValueStat(name, VALUE_COUNT);
+    return count == 0 ? 0 : (double) getValueStat(name, VALUE_TOTAL) / count;
+  }
+
+  @GuardedBy("this")
+  private long getValueStat(String name, int index) {
+    long[] stats = mValues.get(name);
+    return stats == null ? 0 : stats[index];
+  }
+
+  public synchronized Map<String, Long> getPerformanceCounters() {
+    Map<String, Long> counters = new HashMap<>();
+    for (Map.Entry<String, long[]> counter : mCounters.entrySet()) {
+      counters.put(counter.getKey(), counter.getValue()[0]);
+    }
+    for (Map.Entry<String, long[]> value : mValues.entrySet()) {
+      String name = value.getKey();
+      long[] stats = value.getValue();
+      counters.put(name + ".count", stats[VALUE_COUNT]);
+      counters.put(name + ".total", stats[VALUE_TOTAL]);
+      counters.put(name + ".max", stats[VALUE_MAX]);
+    }
+    return counters;
+  }
+
+  public synchronized void reset() {
+    mCounters.clear();
+    mValues.clear();
+  }
+
+  @Override
+  public synchronized String toString() {
+    StringBuilder builder = new StringBuilder(mName).append("{");
+    String separator = "";
+    for (Map.Entry<String, long[]> counter : mCounters.entrySet()) {
+      builder.append(separator).append(counter.getKey()).append("=").append(counter.getValue()[0]);
+      separator = ", ";
+    }
+    for (Map.Entry<String, long[]> value : mValues.entrySet()) {
+      long[] stats = value.getValue();
+      builder
+          .append(separator)
+          .append(value.getKey())
+          .append("={count=")
+          .append(stats[VALUE_COUNT])
+          .append(", avg=")
+          .append(getValueAverage(value.getKey()))
+          .append(", max=")
+          .append(stats[VALUE_MAX])
+          .append("}");
+      separator = ", ";
+    }
+    return builder.append("}").toString();
+  }
+}
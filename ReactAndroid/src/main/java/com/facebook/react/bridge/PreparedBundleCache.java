@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
+import com.facebook.react.common.ReactConstants;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a form of JS bundles that is faster to load than their source, e.g. Hermes bytecode, next
+ * to the bundle files. Prepared bundles are keyed by the content hash of the source bundle and by
+ * the engine version, so that a bundle that changed or a new engine fall back to the source, which
+ * is then prepared again in the background for the next launches.
+ *
+ * <p>The content hash is computed in the background only. It is kept in a digest file next to the
+ * bundle, along with the size and modification time of the bundle it was computed for, so that
+ * looking up a prepared bundle doesn't read the source bundle.
+ *
+ * <p>Use it with {@link JSBundleLoader#createFileLoader(String, String, boolean,
+ * PreparedBundleCache)} or {@link JSBundleLoader#createCachedBundleFromNetworkLoader(String,
+ * String, PreparedBundleCache)}. Prepared bundles are loaded with {@link
+ * JSBundleLoaderDelegate#loadScriptFromFile}, so the engine must detect their format by itself.
+ * The time spent in {@link ReactMarkerConstants#RUN_JS_BUNDLE_START} can be compared between the
+ * launches where {@link ReactMarkerConstants#PREPARED_BUNDLE_LOOKUP_END} is tagged as a hit and a
+ * miss to measure the parse time saved.
+ */
+public class PreparedBundleCache {
+
+  /** Creates the prepared form of bundles for a given engine. */
+  public interface BundlePreparer {
+    /** Identifies the engine and its format, prepared bundles of other versions are unused. */
+    String getEngineVersion();
+
+    /**
+     * Writes the prepared form of {@code sourceBundle} to {@code outputFile}. Returns false if the
+     * bundle can't be prepared, in which case the source is loaded.
+     */
+    boolean prepare(File sourceBundle, File outputFile) throws IOException;
+
+    /** Whether the engine can load {@code preparedBundle}, e.g. if its bytecode is compatible. */
+    boolean canLoad(File preparedBundle);
+  }
+
+  private static final String PREPARED_BUNDLE_SUFFIX = ".prepared";
+  private static final String DIGEST_SUFFIX = ".digest";
+  private static final String TMP_SUFFIX = ".tmp";
+  private static final long KEEP_ALIVE_SECONDS = 5;
+
+  private final BundlePreparer mPreparer;
+  private final Executor mExecutor;
+
+  public PreparedBundleCache(BundlePreparer preparer) {
+    this(preparer, createDefaultExecutor());
+  }
+
+  /* package */ PreparedBundleCache(BundlePreparer preparer, Executor executor) {
+    mPreparer = preparer;
+    mExecutor = executor;
+  }
+
+  /**
+   * Returns the path of the file to load for the bundle at {@code fileName}: its prepared form if
+   * there is a valid one, and otherwise {@code fileName} itself, which is then prepared in the
+   * background.
+   */
+  public String getFileToLoad(String fileName) {
+    ReactMarker.logMarker(ReactMarkerConstants.PREPARED_BUNDLE_LOOKUP_START, fileName);
+    final File sourceBundle = new File(fileName);
+    File preparedBundle = getPreparedBundle(sourceBundle);
+    ReactMarker.logMarker(
+        ReactMarkerConstants.PREPARED_BUNDLE_LOOKUP_END, preparedBundle != null ? "hit" : "miss");
+    if (preparedBundle != null) {
+      return preparedBundle.getPath();
+    }
+
+    mExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            prepare(sourceBundle);
+          }
+        });
+    return fileName;
+  }
+
+  /** Returns the prepared form of {@code sourceBundle} if it matches its content, or null. */
+  public @Nullable File getPreparedBundle(File sourceBundle) {
+    String contentHash = readDigest(sourceBundle);
+    if (contentHash == null) {
+      return null;
+    }
+    File preparedBundle = getPreparedBundleFile(sourceBundle, contentHash);
+    if (preparedBundle.length() > 0 && mPreparer.canLoad(preparedBundle)) {
+      return preparedBundle;
+    }
+    return null;
+  }
+
+  /**
+   * Prepares {@code sourceBundle} if there is no prepared form matching its content yet, and
+   * removes the ones of its previous contents or of other engine versions.
+   */
+  /* package */ void prepare(File sourceBundle) {
+    long length = sourceBundle.length();
+    long lastModified = sourceBundle.lastModified();
+    String contentHash = getContentHash(sourceBundle);
+    if (contentHash == null || !isUnchanged(sourceBundle, length, lastModified)) {
+      return;
+    }
+    File preparedBundle = getPreparedBundleFile(sourceBundle, contentHash);
+    removeStalePreparedBundles(sourceBundle, preparedBundle);
+    if (preparedBundle.length() > 0) {
+      // The bundle was rewritten with the same content
+      writeDigest(sourceBundle, length, lastModified, contentHash);
+      return;
+    }
+
+    ReactMarker.logMarker(ReactMarkerConstants.PREPARE_BUNDLE_START, sourceBundle.getPath());
+    File tmpFile = new File(preparedBundle.getPath() + TMP_SUFFIX);
+    boolean prepared = false;
+    try {
+      prepared =
+          mPreparer.prepare(sourceBundle, tmpFile)
+              && isUnchanged(sourceBundle, length, lastModified)
+              && tmpFile.renameTo(preparedBundle);
+    } catch (IOException e) {
+      FLog.w(ReactConstants.TAG, "Couldn't prepare bundle " + sourceBundle, e);
+    } finally {
+      if (!prepared) {
+        tmpFile.delete();
+      }
+      ReactMarker.logMarker(ReactMarkerConstants.PREPARE_BUNDLE_END, sourceBundle.getPath());
+    }
+    if (prepared) {
+      writeDigest(sourceBundle, length, lastModified, contentHash);
+    }
+  }
+
+  private static ThreadPoolExecutor createDefaultExecutor() {
+    // Bundles are prepared once in a while, the thread doesn't outlive the work
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static boolean isUnchanged(File sourceBundle, long length, long lastModified) {
+    return sourceBundle.length() == length && sourceBundle.lastModified() == lastModified;
+  }
+
+  private static File getDigestFile(File sourceBundle) {
+    return new File(
+        sourceBundle.getAbsoluteFile().getParentFile(), sourceBundle.getName() + DIGEST_SUFFIX);
+  }
+
+  /**
+   * Returns the content hash of {@code sourceBundle} recorded in its digest file, or null if there
+   * is none or it was recorded for another size or modification time of the bundle.
+   */
+  private static @Nullable String readDigest(File sourceBundle) {
+    File digestFile = getDigestFile(sourceBundle);
+    if (!digestFile.exists()) {
+      return null;
+    }
+    String[] digest;
+    try (BufferedReader reader = new BufferedReader(new FileReader(digestFile))) {
+      String line = reader.readLine();
+      if (line == null) {
+        return null;
+      }
+      digest = line.split(" ");
+    } catch (IOException e) {
+      return null;
+    }
+    if (digest.length != 3
+        || !digest[0].equals(Long.toString(sourceBundle.length()))
+        || !digest[1].equals(Long.toString(sourceBundle.lastModified()))) {
+      return null;
+    }
+    return digest[2];
+  }
+
+  private static void writeDigest(
+      File sourceBundle, long length, long lastModified, String contentHash) {
+    File digestFile = getDigestFile(sourceBundle);
+    File tmpFile = new File(digestFile.getPath() + TMP_SUFFIX);
+    try (OutputStream output = new FileOutputStream(tmpFile)) {
+      output.write((length + " " + lastModified + " " + contentHash).getBytes("UTF-8"));
+    } catch (IOException e) {
+      FLog.w(ReactConstants.TAG, "Couldn't write digest of bundle " + sourceBundle, e);
+      tmpFile.delete();
+      return;
+    }
+    if (!tmpFile.renameTo(digestFile)) {
+      tmpFile.delete();
+    }
+  }
+
+  private File getPreparedBundleFile(File sourceBundle, String contentHash) {
+    String engineVersion = mPreparer.getEngineVersion().replaceAll("[^A-Za-z0-9_-]", "_");
+    return new File(
+        sourceBundle.getAbsoluteFile().getParentFile(),
+        sourceBundle.getName() + "." + engineVersion + "." + contentHash + PREPARED_BUNDLE_SUFFIX);
+  }
+
+  private static void removeStalePreparedBundles(File sourceBundle, File preparedBundle) {
+    File[] files = sourceBundle.getAbsoluteFile().getParentFile().listFiles();
+    if (files == null) {
+      return;
+    }
+    String prefix = sourceBundle.getName() + ".";
+    for (File file : files) {
+      String name = file.getName();
+      if (name.startsWith(prefix)
+          && (name.endsWith(PREPARED_BUNDLE_SUFFIX)
+              || name.endsWith(PREPARED_BUNDLE_SUFFIX + TMP_SUFFIX))
+          && !file.equals(preparedBundle)) {
+        file.delete();
+      }
+    }
+  }
+
+  private static @Nullable String getContentHash(File file) {
+    try (InputStream input = new FileInputStream(file)) {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] buffer = new byte[64 * 1024];
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+      StringBuilder hash = new StringBuilder();
+      for (byte b : digest.digest()) {
+        hash.append(String.format("%02x", b));
+      }
+      return hash.toString();
+    } catch (IOException | NoSuchAlgorithmException e) {
+      return null;
+    }
+  }
+}
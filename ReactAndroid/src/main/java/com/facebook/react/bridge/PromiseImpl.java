@@ -175,6 +175,17 @@ public class PromiseImpl implements Promise {
       return;
     }
 
+    mReject.invoke(buildErrorInfo(code, message, throwable, userInfo));
+    mResolve = null;
+    mReject = null;
+  }
+
+  /** Builds the error passed to the reject callback of a promise. */
+  /* package */ static WritableNativeMap buildErrorInfo(
+      @Nullable String code,
+      @Nullable String message,
+      @Nullable Throwable throwable,
+      @Nullable WritableMap userInfo) {
     WritableNativeMap errorInfo = new WritableNativeMap();
 
     if (code == null) {
@@ -227,10 +238,7 @@ public class PromiseImpl implements Promise {
     } else {
       errorInfo.putArray(ERROR_MAP_KEY_NATIVE_STACK, new WritableNativeArray());
     }
-
-    mReject.invoke(errorInfo);
-    mResolve = null;
-    mReject = null;
+    return errorInfo;
   }
 
   /* ------------
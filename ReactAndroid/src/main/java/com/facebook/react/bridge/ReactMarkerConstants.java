@@ -122,4 +122,12 @@ public enum ReactMarkerConstants {
   REACT_BRIDGELESS_LOADING_END,
   LOAD_REACT_NATIVE_MAPBUFFER_SO_FILE_START,
   LOAD_REACT_NATIVE_MAPBUFFER_SO_FILE_END,
+  BACKGROUND_MODULE_INIT_START,
+  BACKGROUND_MODULE_INIT_END,
+  PROCESS_PACKAGE_START,
+  PROCESS_PACKAGE_END,
+  PREPARED_BUNDLE_LOOKUP_START,
+  PREPARED_BUNDLE_LOOKUP_END,
+  PREPARE_BUNDLE_START,
+  PREPARE_BUNDLE_END,
 }
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+/**
+ * A cache registered with {@link CacheBudgetRegistry}, which reports how much memory it holds and
+ * can give some of it back under memory pressure.
+ *
+ * <p>Both methods can be called from any thread.
+ */
+public interface ReclaimableCache {
+
+  /** Returns an estimate of the memory currently held by this cache, in bytes. */
+  long getSizeBytes();
+
+  /**
+   * Drops entries until at least {@code bytesToFree} bytes are freed, or the cache is empty.
+   * Returns an estimate of the number of bytes actually freed, which is 0 for caches that only
+   * report their footprint.
+   */
+  long evict(long bytesToFree);
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import androidx.annotation.Nullable;
+
+/** A {@link JSInstance} which can invoke JS callbacks with a single value without an array. */
+/* package */ interface ValueCallbackInvoker {
+
+  /**
+   * Invokes a callback with a single argument without building a {@link NativeArray} for it, if
+   * the argument is null, a boolean, a number or a string.
+   *
+   * @return false if the argument has another type, in which case the callback isn't invoked.
+   */
+  boolean invokeCallbackWithValue(int callbackID, @Nullable Object value);
+}
@@ -7,8 +7,18 @@
 
 package com.facebook.react.bridge.queue;
 
-/** This class holds perf counters' values at the beginning of an RN startup. */
+/**
+ * This class holds perf counters' values at the beginning of an RN startup.
+ *
+ * <p>Queues that run tasks on behalf of a single native module, like the lanes of {@link
+ * NativeModulesThreadPool}, instead accumulate {@link #wallTime} and {@link #cpuTime} spent running
+ * tasks, along with the task count and the time tasks spent waiting to run.
+ */
 public class MessageQueueThreadPerfStats {
   public long wallTime;
   public long cpuTime;
+  public long taskCount;
+  public long queueTime;
+  public long maxQueueTime;
+  public long maxWallTime;
 }
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import android.os.Process;
+import android.os.SystemClock;
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
+import com.facebook.react.common.ReactConstants;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of worker threads used to run native module methods off the single native modules
+ * thread, so that a slow call doesn't hold up calls to unrelated modules.
+ *
+ * <p>Every module gets a lane. Calls to modules that are not thread safe are serialized within
+ * their lane, so they still observe the same ordering as on the native modules thread, while calls
+ * to thread safe modules run concurrently. Each lane keeps {@link MessageQueueThreadPerfStats} with
+ * the time calls waited to run and the time they took.
+ *
+ * <p>Exceptions thrown by a call are rethrown on the native modules thread, so they are reported
+ * the same way as exceptions thrown by modules running there.
+ */
+public class NativeModulesThreadPool {
+
+  private static final int MAX_POOL_SIZE = 4;
+  private static final long KEEP_ALIVE_SECONDS = 30;
+
+  private final MessageQueueThread mNativeModulesQueueThread;
+  private final ThreadPoolExecutor mExecutor;
+  private final ConcurrentHashMap<String, Lane> mLanes = new ConcurrentHashMap<>();
+
+  public NativeModulesThreadPool(MessageQueueThread nativeModulesQueueThread) {
+    this(nativeModulesQueueThread, Math.min(MAX_POOL_SIZE, getDefaultPoolSize()));
+  }
+
+  public NativeModulesThreadPool(MessageQueueThread nativeModulesQueueThread, int poolSize) {
+    mNativeModulesQueueThread = nativeModulesQueueThread;
+    mExecutor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new WorkerThreadFactory());
+    mExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Runs {@code runnable} on behalf of the module {@code moduleName}. If {@code serial} is true,
+   * the runnable won't start before all runnables previously submitted for that module with {@code
+   * serial} set have finished.
+   */
+  public void execute(String moduleName, boolean serial, Runnable runnable) {
+    Lane lane = mLanes.get(moduleName);
+    if (lane == null) {
+      lane = new Lane();
+      Lane existingLane = mLanes.putIfAbsent(moduleName, lane);
+      if (existingLane != null) {
+        lane = existingLane;
+      }
+    }
+    lane.execute(new Task(lane, runnable, serial));
+  }
+
+  /** Returns a snapshot of the perf counters of every module that had calls run on this pool. */
+  public Map<String, MessageQueueThreadPerfStats> getPerfStats() {
+    Map<String, MessageQueueThreadPerfStats> perfStats = new HashMap<>();
+    for (Map.Entry<String, Lane> entry : mLanes.entrySet()) {
+      perfStats.put(entry.getKey(), entry.getValue().copyPerfStats());
+    }
+    return perfStats;
+  }
+
+  public void resetPerfStats() {
+    for (Lane lane : mLanes.values()) {
+      lane.resetPerfStats();
+    }
+  }
+
+  /**
+   * Stops accepting new calls. Calls that are already queued, including the ones waiting in a
+   * serial lane, still run since JS may be waiting on their callbacks.
+   */
+  public void shutdown() {
+    mExecutor.shutdown();
+  }
+
+  /** Blocks until all calls have finished running after {@link #shutdown()}, or the timeout. */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return mExecutor.awaitTermination(timeout, unit);
+  }
+
+  /**
+   * Stops accepting new calls like {@link #shutdown()}, then blocks until the calls already queued
+   * have finished running, for at most {@code timeoutMs}. Used before modules are invalidated, so
+   * that they aren't invalidated while their methods run. Returns whether all calls finished.
+   */
+  public boolean shutdownAndAwaitTermination(long timeoutMs) {
+    shutdown();
+    boolean terminated = false;
+    try {
+      terminated = awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (!terminated) {
+      FLog.w(
+          ReactConstants.TAG,
+          "Native module calls still running " + timeoutMs + "ms after the thread pool shut down");
+    }
+    return terminated;
+  }
+
+  private boolean trySubmit(Task task) {
+    try {
+      mExecutor.execute(task);
+      return true;
+    } catch (RejectedExecutionException e) {
+      return false;
+    }
+  }
+
+  private static int getDefaultPoolSize() {
+    return Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+  }
+
+  private class Lane {
+    @GuardedBy("this")
+    private final ArrayDeque<Task> mPendingTasks = new ArrayDeque<>();
+
+    @GuardedBy("this")
+    private boolean mIsRunningSerialTask;
+
+    @GuardedBy("this")
+    private final MessageQueueThreadPerfStats mPerfStats = new MessageQueueThreadPerfStats();
+
+    void execute(Task task) {
+      if (task.mSerial) {
+        synchronized (this) {
+          if (mIsRunningSerialTask) {
+            mPendingTasks.add(task);
+            return;
+          }
+          mIsRunningSerialTask = true;
+        }
+      }
+      if (!trySubmit(task)) {
+        FLog.w(ReactConstants.TAG, "Dropping native module call, the thread pool was shut down");
+        if (task.mSerial) {
+          synchronized (this) {
+            mIsRunningSerialTask = false;
+          }
+        }
+      }
+    }
+
+    /** Records the stats of a finished task and returns the next serial task to run, if any. */
+    @Nullable
+    Task onTaskFinished(Task task, long queueTime, long wallTime, long cpuTime) {
+      Task nextTask = null;
+      synchronized (this) {
+        mPerfStats.taskCount++;
+        mPerfStats.queueTime += queueTime;
+        mPerfStats.wallTime += wallTime;
+        mPerfStats.cpuTime += cpuTime;
+        mPerfStats.maxQueueTime = Math.max(mPerfStats.maxQueueTime, queueTime);
+        mPerfStats.maxWallTime = Math.max(mPerfStats.maxWallTime, wallTime);
+        if (task.mSerial) {
+          nextTask = mPendingTasks.poll();
+          mIsRunningSerialTask = nextTask != null;
+        }
+      }
+      return nextTask;
+    }
+
+    synchronized MessageQueueThreadPerfStats copyPerfStats() {
+      MessageQueueThreadPerfStats copy = new MessageQueueThreadPerfStats();
+      copy.taskCount = mPerfStats.taskCount;
+      copy.queueTime = mPerfStats.queueTime;
+      copy.wallTime = mPerfStats.wallTime;
+      copy.cpuTime = mPerfStats.cpuTime;
+      copy.maxQueueTime = mPerfStats.maxQueueTime;
+      copy.maxWallTime = mPerfStats.maxWallTime;
+      return copy;
+    }
+
+    synchronized void resetPerfStats() {
+      mPerfStats.taskCount = 0;
+      mPerfStats.queueTime = 0;
+      mPerfStats.wallTime = 0;
+      mPerfStats.cpuTime = 0;
+      mPerfStats.maxQueueTime = 0;
+      mPerfStats.maxWallTime = 0;
+    }
+  }
+
+  private class Task implements Runnable {
+    private final Lane mLane;
+    private final Runnable mRunnable;
+    private final boolean mSerial;
+    private final long mEnqueueTime;
+
+    Task(Lane lane, Runnable runnable, boolean serial) {
+      mLane = lane;
+      mRunnable = runnable;
+      mSerial = serial;
+      mEnqueueTime = SystemClock.uptimeMillis();
+    }
+
+    @Override
+    public void run() {
+      Task task = this;
+      while (task != null) {
+        task = task.runAndGetNext();
+      }
+    }
+
+    /**
+     * Runs this task and submits the next one of its lane. If the pool was shut down in the
+     * meantime, returns that next task so that the current thread runs it instead.
+     */
+    private @Nullable Task runAndGetNext() {
+      long startWallTime = SystemClock.uptimeMillis();
+      long startCpuTime = SystemClock.currentThreadTimeMillis();
+      try {
+        mRunnable.run();
+      } catch (final RuntimeException e) {
+        // Let the native modules thread report the exception like for any other native module call
+        mNativeModulesQueueThread.runOnQueue(
+            new Runnable() {
+              @Override
+              public void run() {
+                throw e;
+              }
+            });
+      }
+      Task nextTask =
+          mLane.onTaskFinished(
+              this,
+              startWallTime - mEnqueueTime,
+              SystemClock.uptimeMillis() - startWallTime,
+              SystemClock.currentThreadTimeMillis() - startCpuTime);
+      return nextTask == null || trySubmit(nextTask) ? null : nextTask;
+    }
+  }
+
+  private static class WorkerThreadFactory implements ThreadFactory {
+    private final AtomicInteger mThreadCount = new AtomicInteger(0);
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      return new Thread(
+          new Runnable() {
+            @Override
+            public void run() {
+              Process.setThreadPriority(Process.THREAD_PRIORITY_DISPLAY);
+              runnable.run();
+            }
+          },
+          "mqt_native_modules_worker_" + mThreadCount.incrementAndGet());
+    }
+  }
+}
@@ -15,6 +15,7 @@
 -keepnames class * extends com.facebook.react.uimanager.ViewManager
 -keepnames class * extends com.facebook.react.uimanager.ReactShadowNode
 -keep class **$$PropsSetter
+-keep class **$$PropsSetterRegistrar
 -keep class **$$ReactModuleInfoProvider
 -keep class com.facebook.react.bridge.ReadableType { *; }
 
@@ -44,6 +44,11 @@ public class ClearableSynchronizedPool<T> implements Pools.Pool<T> {
     return true;
   }
 
+  /** Returns the number of objects currently held by the pool. */
+  public synchronized int size() {
+    return mSize;
+  }
+
   public synchronized void clear() {
     for (int i = 0; i < mSize; i++) {
       mPool[i] = null;
@@ -114,4 +114,81 @@ public class ReactFeatureFlags {
   public static boolean enableSpannableCache = false;
 
   public static boolean dispatchPointerEvents = false;
+
+  /**
+   * Enables caching of subtree bounds in {@link com.facebook.react.uimanager.TouchTargetHelper} so
+   * that hit testing can skip subtrees that cannot contain the touch point.
+   */
+  public static boolean enableHitTestBoundsCache = false;
+
+  /**
+   * Enables batching of JS timers into shared, windowed wakeups while the host is paused and
+   * headless JS tasks are running, instead of checking timers on every frame.
+   */
+  public static boolean enableBackgroundTimerBatching = false;
+
+  /**
+   * Dispatches calls to legacy native modules that declare a {@link
+   * com.facebook.react.module.annotations.ReactModule#threadingPolicy()} other than PINNED to a
+   * pool of worker threads, instead of running every call on the native modules thread.
+   */
+  public static boolean enableNativeModulesThreadPool = false;
+
+  /**
+   * Sends the device events emitted by networking and websocket modules during a tick of the JS
+   * thread with a single JS call, coalescing progress events of the same request.
+   */
+  public static boolean enableDeviceEventBatching = false;
+
+  /**
+   * Reclaims memory from the caches registered with {@link
+   * com.facebook.react.bridge.CacheBudgetRegistry} on moderate and critical memory pressure.
+   */
+  public static boolean enableCacheBudgetRegistry = false;
+
+  /**
+   * Processes {@link com.facebook.react.ReactPackage}s on parallel worker threads when creating the
+   * react context, creating view managers concurrently unless they are lazy.
+   */
+  public static boolean enableParallelPackageProcessing = false;
+
+  /**
+   * Lets identical GET and HEAD requests sent by {@link
+   * com.facebook.react.modules.network.NetworkingModule} while one of them is in flight share its
+   * response instead of going to the network.
+   */
+  public static boolean enableNetworkRequestDeduplication = false;
+
+  /**
+   * Queues requests of {@link com.facebook.react.modules.network.NetworkingModule} by {@link
+   * com.facebook.react.modules.network.RequestPriority}, with concurrency limits per priority and
+   * per host.
+   */
+  public static boolean enablePriorityNetworkDispatcher = false;
+
+  /**
+   * Makes text inputs send the changed range of their text in change events instead of the whole
+   * text, and apply controlled updates by replacing only the range that changed.
+   */
+  public static boolean enableTextInputChangeDeltas = false;
+
+  /**
+   * Hands consecutive calls of a JS batch to the same Java native module to that module at once,
+   * crossing JNI once for all of them. A call that throws then also drops the calls to that module
+   * after it in the batch.
+   */
+  public static boolean enableNativeModuleCallBatching = false;
+
+  /**
+   * Passes Java native module methods a single object per Promise, instead of a promise wrapping
+   * two callbacks, and invokes promises and callbacks with a single primitive value without
+   * building an argument array.
+   */
+  public static boolean enableDirectPromises = false;
+
+  /**
+   * Emits at most one scroll event per frame for ScrollViews, carrying the velocity measured
+   * between frames and the content offset predicted for the next frame.
+   */
+  public static boolean enableFrameScrollEvents = false;
 }
@@ -175,7 +175,27 @@ public class BundleDownloader {
         new MultipartStreamReader(response.body().source(), boundary);
     boolean completed =
         bodyReader.readAllParts(
-            new MultipartStreamReader.ChunkListener() {
+            new MultipartStreamReader.StreamingChunkListener() {
+              @Override
+              public @Nullable Sink openChunkSink(Map<String, String> headers)
+                  throws IOException {
+                // Successful bundles are written to disk as they are downloaded, instead of being
+                // buffered in memory. Progress events and errors are small and still buffered.
+                if (!"application/javascript".equals(headers.get("Content-Type"))
+                    || getChunkStatus(response, headers) != 200) {
+                  return null;
+                }
+                return Okio.sink(getTmpFile(outputFile));
+              }
+
+              @Override
+              public void onStreamedChunkComplete(Map<String, String> headers, boolean isLastChunk)
+                  throws IOException {
+                if (isLastChunk) {
+                  onBundleStored(url, Headers.of(headers), outputFile, bundleInfo, callback);
+                }
+              }
+
               @Override
               public void onChunkComplete(
                   Map<String, String> headers, Buffer body, boolean isLastChunk)
@@ -185,11 +205,7 @@ public class BundleDownloader {
                 // events
                 // encoded as JSON.
                 if (isLastChunk) {
-                  // The http status code for each separate chunk is in the X-Http-Status header.
-                  int status = response.code();
-                  if (headers.containsKey("X-Http-Status")) {
-                    status = Integer.parseInt(headers.get("X-Http-Status"));
-                  }
+                  int status = getChunkStatus(response, headers);
                   processBundleResult(
                       url, status, Headers.of(headers), body, outputFile, bundleInfo, callback);
                 } else {
@@ -266,22 +282,43 @@ public class BundleDownloader {
       return;
     }
 
+    if (storePlainJSInFile(body, getTmpFile(outputFile))) {
+      onBundleStored(url, headers, outputFile, bundleInfo, callback);
+    }
+  }
+
+  /** Moves a bundle stored in the temporary file of {@code outputFile} to its destination. */
+  private static void onBundleStored(
+      String url,
+      Headers headers,
+      File outputFile,
+      @Nullable BundleInfo bundleInfo,
+      DevBundleDownloadListener callback)
+      throws IOException {
     if (bundleInfo != null) {
       populateBundleInfo(url, headers, bundleInfo);
     }
 
-    File tmpFile = new File(outputFile.getPath() + ".tmp");
+    File tmpFile = getTmpFile(outputFile);
 
-    if (storePlainJSInFile(body, tmpFile)) {
-      // If we have received a new bundle from the server, move it to its final destination.
-      if (!tmpFile.renameTo(outputFile)) {
-        throw new IOException("Couldn't rename " + tmpFile + " to " + outputFile);
-      }
+    // If we have received a new bundle from the server, move it to its final destination.
+    if (!tmpFile.renameTo(outputFile)) {
+      throw new IOException("Couldn't rename " + tmpFile + " to " + outputFile);
     }
 
     callback.onSuccess();
   }
 
+  private static File getTmpFile(File outputFile) {
+    return new File(outputFile.getPath() + ".tmp");
+  }
+
+  /** The http status code for each separate chunk is in the X-Http-Status header. */
+  private static int getChunkStatus(Response response, Map<String, String> headers) {
+    String status = headers.get("X-Http-Status");
+    return status != null ? Integer.parseInt(status) : response.code();
+  }
+
   private static boolean storePlainJSInFile(BufferedSource body, File outputFile)
       throws IOException {
     Sink output = null;
@@ -7,12 +7,14 @@
 
 package com.facebook.react.devsupport;
 
+import androidx.annotation.Nullable;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import okio.Buffer;
 import okio.BufferedSource;
 import okio.ByteString;
+import okio.Sink;
 
 /** Utility class to parse the body of a response of type multipart/mixed. */
 public class MultipartStreamReader {
@@ -32,6 +34,26 @@ public class MultipartStreamReader {
     void onChunkProgress(Map<String, String> headers, long loaded, long total) throws IOException;
   }
 
+  /**
+   * {@link ChunkListener} that can have the body of a chunk written to a sink as it is read, so
+   * that only a small window of it is kept in memory.
+   */
+  public interface StreamingChunkListener extends ChunkListener {
+    /**
+     * Invoked once the headers of a chunk are read. Returns the sink to write its body to, or null
+     * to receive it in {@link #onChunkComplete}.
+     */
+    @Nullable
+    Sink openChunkSink(Map<String, String> headers) throws IOException;
+
+    /**
+     * Invoked instead of {@link #onChunkComplete} once the body of a chunk was written to the sink
+     * returned by {@link #openChunkSink}, which is closed.
+     */
+    void onStreamedChunkComplete(Map<String, String> headers, boolean isLastChunk)
+        throws IOException;
+  }
+
   public MultipartStreamReader(BufferedSource source, String boundary) {
     mSource = source;
     mBoundary = boundary;
@@ -90,6 +112,10 @@ public class MultipartStreamReader {
   /**
    * Reads all parts of the multipart response and execute the listener for each chunk received.
    *
+   * <p>If the listener is a {@link StreamingChunkListener}, the body of the chunks it returns a
+   * sink for is written to it as it is read, keeping only the bytes that may belong to a delimiter
+   * cut by a read call in memory.
+   *
    * @param listener Listener invoked when chunks are received.
    * @return If the read was successful
    */
@@ -104,63 +130,109 @@ public class MultipartStreamReader {
     Buffer content = new Buffer();
     Map<String, String> currentHeaders = null;
     long currentHeadersLength = 0;
+    // The sink the body of the current chunk is streamed to, content then starts with the body
+    // bytes that weren't written to it yet.
+    Sink currentSink = null;
+    long currentStreamedLength = 0;
+
+    try {
+      while (true) {
+        boolean isCloseDelimiter = false;
+
+        // Search only a subset of chunk that we haven't seen before + few bytes
+        // to allow for the edge case when the delimiter is cut by read call.
+        long searchStart = Math.max(bytesSeen - closeDelimiter.size(), chunkStart);
+        long indexOfDelimiter = content.indexOf(delimiter, searchStart);
+        if (indexOfDelimiter == -1) {
+          isCloseDelimiter = true;
+          indexOfDelimiter = content.indexOf(closeDelimiter, searchStart);
+        }
 
-    while (true) {
-      boolean isCloseDelimiter = false;
+        if (indexOfDelimiter == -1) {
+          bytesSeen = content.size();
+
+          if (currentHeaders == null) {
+            long indexOfHeaders = content.indexOf(headersDelimiter, searchStart);
+            if (indexOfHeaders >= 0) {
+              mSource.read(content, indexOfHeaders);
+              Buffer headers = new Buffer();
+              content.copyTo(headers, searchStart, indexOfHeaders - searchStart);
+              currentHeadersLength = headers.size() + headersDelimiter.size();
+              currentHeaders = parseHeaders(headers);
+              currentSink = openChunkSink(currentHeaders, listener);
+              if (currentSink != null) {
+                long bodyStart = indexOfHeaders + headersDelimiter.size();
+                content.skip(bodyStart);
+                chunkStart = 0;
+                bytesSeen -= bodyStart;
+              }
+            }
+          } else if (currentSink == null) {
+            emitProgress(currentHeaders, content.size() - currentHeadersLength, false, listener);
+          }
 
-      // Search only a subset of chunk that we haven't seen before + few bytes
-      // to allow for the edge case when the delimiter is cut by read call.
-      long searchStart = Math.max(bytesSeen - closeDelimiter.size(), chunkStart);
-      long indexOfDelimiter = content.indexOf(delimiter, searchStart);
-      if (indexOfDelimiter == -1) {
-        isCloseDelimiter = true;
-        indexOfDelimiter = content.indexOf(closeDelimiter, searchStart);
-      }
+          if (currentSink != null) {
+            // Only bytes that can't be part of a delimiter cut by the read call are written.
+            long streamableLength = bytesSeen - closeDelimiter.size();
+            if (streamableLength > 0) {
+              currentSink.write(content, streamableLength);
+              currentStreamedLength += streamableLength;
+              bytesSeen -= streamableLength;
+            }
+            emitProgress(currentHeaders, currentStreamedLength + content.size(), false, listener);
+          }
 
-      if (indexOfDelimiter == -1) {
-        bytesSeen = content.size();
-
-        if (currentHeaders == null) {
-          long indexOfHeaders = content.indexOf(headersDelimiter, searchStart);
-          if (indexOfHeaders >= 0) {
-            mSource.read(content, indexOfHeaders);
-            Buffer headers = new Buffer();
-            content.copyTo(headers, searchStart, indexOfHeaders - searchStart);
-            currentHeadersLength = headers.size() + headersDelimiter.size();
-            currentHeaders = parseHeaders(headers);
+          long bytesRead = mSource.read(content, bufferLen);
+          if (bytesRead <= 0) {
+            return false;
           }
+          continue;
+        }
+
+        long chunkEnd = indexOfDelimiter;
+        long length = chunkEnd - chunkStart;
+
+        if (currentSink != null) {
+          currentSink.write(content, chunkEnd);
+          currentStreamedLength += chunkEnd;
+          currentSink.close();
+          currentSink = null;
+          emitProgress(currentHeaders, currentStreamedLength, true, listener);
+          ((StreamingChunkListener) listener)
+              .onStreamedChunkComplete(currentHeaders, isCloseDelimiter);
+          currentHeaders = null;
+          currentHeadersLength = 0;
+          currentStreamedLength = 0;
+        } else if (chunkStart > 0) {
+          // Ignore preamble
+          Buffer chunk = new Buffer();
+          content.skip(chunkStart);
+          content.read(chunk, length);
+          emitProgress(currentHeaders, chunk.size() - currentHeadersLength, true, listener);
+          emitChunk(chunk, isCloseDelimiter, listener);
+          currentHeaders = null;
+          currentHeadersLength = 0;
         } else {
-          emitProgress(currentHeaders, content.size() - currentHeadersLength, false, listener);
+          content.skip(chunkEnd);
         }
 
-        long bytesRead = mSource.read(content, bufferLen);
-        if (bytesRead <= 0) {
-          return false;
+        if (isCloseDelimiter) {
+          return true;
         }
-        continue;
-      }
 
-      long chunkEnd = indexOfDelimiter;
-      long length = chunkEnd - chunkStart;
-
-      // Ignore preamble
-      if (chunkStart > 0) {
-        Buffer chunk = new Buffer();
-        content.skip(chunkStart);
-        content.read(chunk, length);
-        emitProgress(currentHeaders, chunk.size() - currentHeadersLength, true, listener);
-        emitChunk(chunk, isCloseDelimiter, listener);
-        currentHeaders = null;
-        currentHeadersLength = 0;
-      } else {
-        content.skip(chunkEnd);
+        bytesSeen = chunkStart = delimiter.size();
       }
-
-      if (isCloseDelimiter) {
-        return true;
+    } finally {
+      if (currentSink != null) {
+        currentSink.close();
       }
-
-      bytesSeen = chunkStart = delimiter.size();
     }
   }
+
+  private static @Nullable Sink openChunkSink(Map<String, String> headers, ChunkListener listener)
+      throws IOException {
+    return listener instanceof StreamingChunkListener
+        ? ((StreamingChunkListener) listener).openChunkSink(headers)
+        : null;
+  }
 }
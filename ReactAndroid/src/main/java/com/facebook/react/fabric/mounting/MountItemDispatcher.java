@@ -27,6 +27,7 @@ import com.facebook.react.bridge.RetryableMountingLayerException;
 import com.facebook.react.fabric.mounting.mountitems.DispatchCommandMountItem;
 import com.facebook.react.fabric.mounting.mountitems.MountItem;
 import com.facebook.react.fabric.mounting.mountitems.PreAllocateViewMountItem;
+import com.facebook.react.modules.core.FrameTimeline;
 import com.facebook.systrace.Systrace;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -265,6 +266,7 @@ public class MountItemDispatcher {
           "FabricUIManager::mountViews mountItems to execute: " + mountItemsToDispatch.size());
 
       long batchedExecutionStartTime = SystemClock.uptimeMillis();
+      long batchedExecutionStartTimeNanos = System.nanoTime();
 
       for (MountItem mountItem : mountItemsToDispatch) {
         if (ENABLE_FABRIC_LOGS) {
@@ -295,6 +297,10 @@ public class MountItemDispatcher {
         }
       }
       mBatchedExecutionTime += SystemClock.uptimeMillis() - batchedExecutionStartTime;
+      FrameTimeline.getInstance()
+          .recordSegment(
+              FrameTimeline.Segment.MOUNT_ITEMS,
+              System.nanoTime() - batchedExecutionStartTimeNanos);
     }
     Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
 
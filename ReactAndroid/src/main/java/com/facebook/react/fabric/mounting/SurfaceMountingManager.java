@@ -40,6 +40,7 @@ import com.facebook.react.uimanager.RootView;
 import com.facebook.react.uimanager.RootViewManager;
 import com.facebook.react.uimanager.StateWrapper;
 import com.facebook.react.uimanager.ThemedReactContext;
+import com.facebook.react.uimanager.TouchTargetHelper;
 import com.facebook.react.uimanager.ViewGroupManager;
 import com.facebook.react.uimanager.ViewManager;
 import com.facebook.react.uimanager.ViewManagerRegistry;
@@ -360,6 +361,7 @@ public class SurfaceMountingManager {
                   + viewParent.getClass().getSimpleName()));
     }
 
+    TouchTargetHelper.invalidateHitTestCache();
     try {
       getViewGroupManager(parentViewState).addView(parentView, view, index);
     } catch (IllegalStateException e) {
@@ -436,6 +438,7 @@ public class SurfaceMountingManager {
       logViewHierarchy(parentView, false);
     }
 
+    TouchTargetHelper.invalidateHitTestCache();
     ViewGroupManager<ViewGroup> viewGroupManager = getViewGroupManager(parentViewState);
 
     // Verify that the view we're about to remove has the same tag we expect
@@ -645,6 +648,7 @@ public class SurfaceMountingManager {
 
     Assertions.assertNotNull(viewState.mViewManager)
         .updateProperties(view, viewState.mCurrentProps);
+    TouchTargetHelper.invalidateHitTestCache();
   }
 
   @Deprecated
@@ -755,6 +759,7 @@ public class SurfaceMountingManager {
     // TODO: T31905686 Check if the parent of the view has to layout the view, or the child has
     // to lay itself out. see NativeViewHierarchyManager.updateLayout
     viewToUpdate.layout(x, y, x + width, y + height);
+    TouchTargetHelper.invalidateHitTestCache();
 
     // displayType: 0 represents display: 'none'
     int visibility = displayType == 0 ? View.INVISIBLE : View.VISIBLE;
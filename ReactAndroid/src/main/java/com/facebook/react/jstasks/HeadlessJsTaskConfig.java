@@ -8,6 +8,7 @@
 package com.facebook.react.jstasks;
 
 import com.facebook.react.bridge.WritableMap;
+import javax.annotation.Nullable;
 
 /** Class that holds the various parameters needed to start a JS task. */
 public class HeadlessJsTaskConfig {
@@ -16,6 +17,8 @@ public class HeadlessJsTaskConfig {
   private final long mTimeout;
   private final boolean mAllowedInForeground;
   private final HeadlessJsTaskRetryPolicy mRetryPolicy;
+  private final HeadlessJsTaskPriority mPriority;
+  private final @Nullable String mCoalescingKey;
 
   /**
    * Create a HeadlessJsTaskConfig. Equivalent to calling {@link #HeadlessJsTaskConfig(String,
@@ -78,11 +81,47 @@ public class HeadlessJsTaskConfig {
       long timeout,
       boolean allowedInForeground,
       HeadlessJsTaskRetryPolicy retryPolicy) {
+    this(
+        taskKey,
+        data,
+        timeout,
+        allowedInForeground,
+        retryPolicy,
+        HeadlessJsTaskPriority.NORMAL,
+        null);
+  }
+
+  /**
+   * Create a HeadlessJsTaskConfig.
+   *
+   * @param taskKey the key for the JS task to execute. This is the same key that you call {@code
+   *     AppRegistry.registerTask} with in JS.
+   * @param data a map of parameters passed to the JS task executor.
+   * @param timeout the amount of time (in ms) after which the React instance should be terminated
+   *     regardless of whether the task has completed or not. A value of 0 means no timeout.
+   * @param allowedInForeground whether to allow this task to run while the app is in the foreground
+   *     (i.e. there is a host in resumed mode for the current ReactContext).
+   * @param retryPolicy the number of times & delays the task should be retried on error.
+   * @param priority the order in which the task is started when it has to wait for other tasks to
+   *     finish, see {@link HeadlessJsTaskContext#setMaxConcurrentTasks}.
+   * @param coalescingKey if not null, a task with the same key that is still waiting to start is
+   *     replaced by this one instead of running both.
+   */
+  public HeadlessJsTaskConfig(
+      String taskKey,
+      WritableMap data,
+      long timeout,
+      boolean allowedInForeground,
+      HeadlessJsTaskRetryPolicy retryPolicy,
+      HeadlessJsTaskPriority priority,
+      @Nullable String coalescingKey) {
     mTaskKey = taskKey;
     mData = data;
     mTimeout = timeout;
     mAllowedInForeground = allowedInForeground;
     mRetryPolicy = retryPolicy;
+    mPriority = priority;
+    mCoalescingKey = coalescingKey;
   }
 
   public HeadlessJsTaskConfig(HeadlessJsTaskConfig source) {
@@ -90,6 +129,8 @@ public class HeadlessJsTaskConfig {
     mData = source.mData.copy();
     mTimeout = source.mTimeout;
     mAllowedInForeground = source.mAllowedInForeground;
+    mPriority = source.mPriority;
+    mCoalescingKey = source.mCoalescingKey;
 
     final HeadlessJsTaskRetryPolicy retryPolicy = source.mRetryPolicy;
     if (retryPolicy != null) {
@@ -118,4 +159,12 @@ public class HeadlessJsTaskConfig {
   /* package */ HeadlessJsTaskRetryPolicy getRetryPolicy() {
     return mRetryPolicy;
   }
+
+  /* package */ HeadlessJsTaskPriority getPriority() {
+    return mPriority;
+  }
+
+  /* package */ @Nullable String getCoalescingKey() {
+    return mCoalescingKey;
+  }
 }
@@ -8,27 +8,69 @@
 package com.facebook.react.jstasks;
 
 import android.os.Handler;
-import android.util.SparseArray;
+import android.os.SystemClock;
 import com.facebook.infer.annotation.Assertions;
+import com.facebook.react.bridge.PerfCounters;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.common.LifecycleState;
 import com.facebook.react.modules.appregistry.AppRegistry;
 import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
 
 /**
  * Helper class for dealing with JS tasks. Handles per-ReactContext active task tracking, starting /
  * stopping tasks and notifying listeners.
+ *
+ * <p>The number of tasks running at once can be limited with {@link #setMaxConcurrentTasks}. Tasks
+ * started past the limit are queued by {@link HeadlessJsTaskPriority} and started as running
+ * tasks finish; queued tasks count as active. A task with a coalescing key replaces a queued task
+ * with the same key instead of running after it. Timeouts of all tasks share a single callback
+ * posted for the earliest deadline.
  */
 public class HeadlessJsTaskContext {
 
+  /** Time tasks waited for a slot, one value per run started, retries included. */
+  public static final String STAT_QUEUE_WAIT_MS = "queueWaitMs";
+  /** Time between the start of tasks and their end, by finishing or timing out. */
+  public static final String STAT_RUN_TIME_MS = "runTimeMs";
+  /** Tasks merged into a queued task with the same coalescing key. */
+  public static final String STAT_COALESCED = "coalesced";
+  /** Runs of tasks that ended with a retry being posted. */
+  public static final String STAT_RETRIED = "retried";
+  /** Tasks finished because they timed out. */
+  public static final String STAT_TIMED_OUT = "timedOut";
+
+  private static final String TAG = "HeadlessJsTaskContext";
+
+  /** A task waiting for a slot to run. */
+  private static class QueuedTask {
+    private final int mTaskId;
+    private final HeadlessJsTaskPriority mPriority;
+    private final long mEnqueuedAtMs;
+    private HeadlessJsTaskConfig mConfig;
+
+    private QueuedTask(int taskId, HeadlessJsTaskConfig config, long enqueuedAtMs) {
+      mTaskId = taskId;
+      mPriority = config.getPriority();
+      mConfig = config;
+      mEnqueuedAtMs = enqueuedAtMs;
+    }
+  }
+
   private static final WeakHashMap<ReactContext, HeadlessJsTaskContext> INSTANCES =
       new WeakHashMap<>();
 
@@ -55,10 +97,38 @@ public class HeadlessJsTaskContext {
   private final Handler mHandler = new Handler();
   private final Set<Integer> mActiveTasks = new CopyOnWriteArraySet<>();
   private final Map<Integer, HeadlessJsTaskConfig> mActiveTaskConfigs = new ConcurrentHashMap<>();
-  private final SparseArray<Runnable> mTaskTimeouts = new SparseArray<>();
+  private final Set<Integer> mRunningTasks = new HashSet<>();
+  private final Map<Integer, Long> mTaskStartTimes = new HashMap<>();
+  private final Map<HeadlessJsTaskPriority, ArrayDeque<QueuedTask>> mQueues =
+      new EnumMap<>(HeadlessJsTaskPriority.class);
+  private final Map<Integer, QueuedTask> mQueuedTasks = new HashMap<>();
+  private final Map<String, QueuedTask> mQueuedTasksByCoalescingKey = new HashMap<>();
+  private final Map<Integer, Long> mTaskDeadlines = new HashMap<>();
+  private final PerfCounters mStats = new PerfCounters("HeadlessJsTasks");
+  private int mMaxConcurrentTasks = Integer.MAX_VALUE;
+  private long mScheduledDeadline = Long.MAX_VALUE;
+
+  private final Runnable mTimeoutRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          finishTimedOutTasks();
+        }
+      };
+
+  private final Runnable mStartNextQueuedTasksRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          startNextQueuedTasks();
+        }
+      };
 
   private HeadlessJsTaskContext(ReactContext reactContext) {
     mReactContext = new WeakReference<ReactContext>(reactContext);
+    for (HeadlessJsTaskPriority priority : HeadlessJsTaskPriority.values()) {
+      mQueues.put(priority, new ArrayDeque<QueuedTask>());
+    }
   }
 
   /** Register a task lifecycle event listener. */
@@ -76,37 +146,108 @@ public class HeadlessJsTaskContext {
     return mActiveTasks.size() > 0;
   }
 
+  /**
+   * Set the maximum number of tasks running at once, tasks started past it are queued. Defaults to
+   * no limit.
+   */
+  public synchronized void setMaxConcurrentTasks(int maxConcurrentTasks) {
+    Assertions.assertCondition(
+        maxConcurrentTasks > 0, "The maximum number of concurrent tasks must be positive.");
+    boolean increased = maxConcurrentTasks > mMaxConcurrentTasks;
+    mMaxConcurrentTasks = maxConcurrentTasks;
+    if (increased && !mQueuedTasks.isEmpty()) {
+      UiThreadUtil.runOnUiThread(mStartNextQueuedTasksRunnable);
+    }
+  }
+
+  /**
+   * Get counters describing the queueing and running time of tasks, named by the {@code STAT_*}
+   * constants.
+   */
+  public PerfCounters getStats() {
+    return mStats;
+  }
+
   /**
    * Start a JS task. Handles invoking {@link AppRegistry#startHeadlessTask} and notifying
-   * listeners.
+   * listeners. If the maximum number of concurrent tasks is reached, the task is queued instead,
+   * unless a queued task has the same coalescing key, in which case that task keeps its place in
+   * the queue but runs with {@code taskConfig}.
    *
-   * @return a unique id representing this task instance.
+   * @return a unique id representing this task instance, or the id of the task it was coalesced
+   *     with.
    */
   public synchronized int startTask(final HeadlessJsTaskConfig taskConfig) {
+    UiThreadUtil.assertOnUiThread();
+    ReactContext reactContext = getReactContext();
+    assertAllowedToStart(reactContext, taskConfig);
+
+    String coalescingKey = taskConfig.getCoalescingKey();
+    QueuedTask coalescedTask =
+        coalescingKey != null ? mQueuedTasksByCoalescingKey.get(coalescingKey) : null;
+    if (coalescedTask != null) {
+      coalescedTask.mConfig = new HeadlessJsTaskConfig(taskConfig);
+      mActiveTaskConfigs.put(coalescedTask.mTaskId, coalescedTask.mConfig);
+      mStats.increment(STAT_COALESCED);
+      return coalescedTask.mTaskId;
+    }
+
     final int taskId = mLastTaskId.incrementAndGet();
-    startTask(taskConfig, taskId);
+    mActiveTasks.add(taskId);
+    mActiveTaskConfigs.put(taskId, new HeadlessJsTaskConfig(taskConfig));
+    startOrEnqueueTask(reactContext, taskConfig, taskId, SystemClock.uptimeMillis());
     return taskId;
   }
 
-  /**
-   * Start a JS task the provided task id. Handles invoking {@link AppRegistry#startHeadlessTask}
-   * and notifying listeners.
-   */
-  private synchronized void startTask(final HeadlessJsTaskConfig taskConfig, int taskId) {
-    UiThreadUtil.assertOnUiThread();
-    ReactContext reactContext =
-        Assertions.assertNotNull(
-            mReactContext.get(),
-            "Tried to start a task on a react context that has already been destroyed");
-    if (reactContext.getLifecycleState() == LifecycleState.RESUMED
-        && !taskConfig.isAllowedInForeground()) {
+  private ReactContext getReactContext() {
+    return Assertions.assertNotNull(
+        mReactContext.get(),
+        "Tried to start a task on a react context that has already been destroyed");
+  }
+
+  private static boolean isAllowedToStart(
+      ReactContext reactContext, HeadlessJsTaskConfig taskConfig) {
+    return reactContext.getLifecycleState() != LifecycleState.RESUMED
+        || taskConfig.isAllowedInForeground();
+  }
+
+  private static void assertAllowedToStart(
+      ReactContext reactContext, HeadlessJsTaskConfig taskConfig) {
+    if (!isAllowedToStart(reactContext, taskConfig)) {
       throw new IllegalStateException(
           "Tried to start task "
               + taskConfig.getTaskKey()
               + " while in foreground, but this is not allowed.");
     }
-    mActiveTasks.add(taskId);
-    mActiveTaskConfigs.put(taskId, new HeadlessJsTaskConfig(taskConfig));
+  }
+
+  /** Run an active task now if there is a free slot, or queue it otherwise. */
+  private void startOrEnqueueTask(
+      ReactContext reactContext, HeadlessJsTaskConfig taskConfig, int taskId, long enqueuedAtMs) {
+    if (mRunningTasks.size() < mMaxConcurrentTasks) {
+      runTask(reactContext, taskConfig, taskId, enqueuedAtMs);
+      return;
+    }
+    QueuedTask queuedTask = new QueuedTask(taskId, taskConfig, enqueuedAtMs);
+    mQueues.get(queuedTask.mPriority).add(queuedTask);
+    mQueuedTasks.put(taskId, queuedTask);
+    String coalescingKey = taskConfig.getCoalescingKey();
+    if (coalescingKey != null && !mQueuedTasksByCoalescingKey.containsKey(coalescingKey)) {
+      mQueuedTasksByCoalescingKey.put(coalescingKey, queuedTask);
+    }
+  }
+
+  /**
+   * Run an active task with the provided task id. Handles invoking {@link
+   * AppRegistry#startHeadlessTask} and notifying listeners.
+   */
+  private void runTask(
+      ReactContext reactContext, HeadlessJsTaskConfig taskConfig, int taskId, long enqueuedAtMs) {
+    UiThreadUtil.assertOnUiThread();
+    long now = SystemClock.uptimeMillis();
+    mRunningTasks.add(taskId);
+    mTaskStartTimes.put(taskId, now);
+    mStats.recordValue(STAT_QUEUE_WAIT_MS, now - enqueuedAtMs);
     if (reactContext.hasActiveReactInstance()) {
       reactContext
           .getJSModule(AppRegistry.class)
@@ -117,17 +258,62 @@ public class HeadlessJsTaskContext {
           new RuntimeException("Cannot start headless task, CatalystInstance not available"));
     }
     if (taskConfig.getTimeout() > 0) {
-      scheduleTaskTimeout(taskId, taskConfig.getTimeout());
+      scheduleTaskTimeout(taskId, now + taskConfig.getTimeout());
     }
     for (HeadlessJsTaskEventListener listener : mHeadlessJsTaskEventListeners) {
       listener.onHeadlessJsTaskStart(taskId);
     }
   }
 
+  /** Start queued tasks, highest priority first, while there are free slots. */
+  private synchronized void startNextQueuedTasks() {
+    ReactContext reactContext = mReactContext.get();
+    if (reactContext == null) {
+      return;
+    }
+    while (mRunningTasks.size() < mMaxConcurrentTasks) {
+      QueuedTask queuedTask = pollQueuedTask();
+      if (queuedTask == null) {
+        return;
+      }
+      if (!isAllowedToStart(reactContext, queuedTask.mConfig)) {
+        ReactSoftExceptionLogger.logSoftException(
+            TAG,
+            new IllegalStateException(
+                "Dropped queued task "
+                    + queuedTask.mConfig.getTaskKey()
+                    + " because the app is in foreground, but this is not allowed."));
+        finishTask(queuedTask.mTaskId, false);
+        continue;
+      }
+      runTask(reactContext, queuedTask.mConfig, queuedTask.mTaskId, queuedTask.mEnqueuedAtMs);
+    }
+  }
+
+  private @Nullable QueuedTask pollQueuedTask() {
+    for (HeadlessJsTaskPriority priority : HeadlessJsTaskPriority.values()) {
+      QueuedTask queuedTask = mQueues.get(priority).poll();
+      if (queuedTask != null) {
+        removeQueuedTask(queuedTask);
+        return queuedTask;
+      }
+    }
+    return null;
+  }
+
+  private void removeQueuedTask(QueuedTask queuedTask) {
+    mQueues.get(queuedTask.mPriority).remove(queuedTask);
+    mQueuedTasks.remove(queuedTask.mTaskId);
+    String coalescingKey = queuedTask.mConfig.getCoalescingKey();
+    if (coalescingKey != null && mQueuedTasksByCoalescingKey.get(coalescingKey) == queuedTask) {
+      mQueuedTasksByCoalescingKey.remove(coalescingKey);
+    }
+  }
+
   /**
-   * Retry a running JS task with a delay. Invokes {@link
-   * HeadlessJsTaskContext#startTask(HeadlessJsTaskConfig, int)} as long as the process does not get
-   * killed.
+   * Retry a running JS task with a delay. The task frees its slot until the delay elapses, then
+   * runs again or is queued like a new task as long as the process does not get killed and the task
+   * isn't finished in the meantime.
    *
    * @return true if a retry attempt has been posted.
    */
@@ -149,13 +335,21 @@ public class HeadlessJsTaskContext {
             sourceTaskConfig.getData(),
             sourceTaskConfig.getTimeout(),
             sourceTaskConfig.isAllowedInForeground(),
-            retryPolicy.update());
+            retryPolicy.update(),
+            sourceTaskConfig.getPriority(),
+            sourceTaskConfig.getCoalescingKey());
+    mActiveTaskConfigs.put(taskId, taskConfig);
+    // The task isn't finished, so the time of this run isn't recorded as a run time
+    mStats.increment(STAT_RETRIED);
+    if (stopRunning(taskId) >= 0) {
+      UiThreadUtil.runOnUiThread(mStartNextQueuedTasksRunnable);
+    }
 
     final Runnable retryAttempt =
         new Runnable() {
           @Override
           public void run() {
-            startTask(taskConfig, taskId);
+            retryTaskNow(taskConfig, taskId);
           }
         };
 
@@ -163,6 +357,17 @@ public class HeadlessJsTaskContext {
     return true;
   }
 
+  private synchronized void retryTaskNow(HeadlessJsTaskConfig taskConfig, int taskId) {
+    if (!mActiveTasks.contains(taskId)
+        || mRunningTasks.contains(taskId)
+        || mQueuedTasks.containsKey(taskId)) {
+      return;
+    }
+    ReactContext reactContext = getReactContext();
+    assertAllowedToStart(reactContext, taskConfig);
+    startOrEnqueueTask(reactContext, taskConfig, taskId, SystemClock.uptimeMillis());
+  }
+
   /**
    * Finish a JS task. Doesn't actually stop the task on the JS side, only removes it from the list
    * of active tasks and notifies listeners. A task can only be finished once.
@@ -170,12 +375,28 @@ public class HeadlessJsTaskContext {
    * @param taskId the unique id returned by {@link #startTask}.
    */
   public synchronized void finishTask(final int taskId) {
+    finishTask(taskId, false);
+  }
+
+  private void finishTask(final int taskId, boolean timedOut) {
     Assertions.assertCondition(
         mActiveTasks.remove(taskId), "Tried to finish non-existent task with id " + taskId + ".");
     Assertions.assertCondition(
         mActiveTaskConfigs.remove(taskId) != null,
         "Tried to remove non-existent task config with id " + taskId + ".");
     removeTimeout(taskId);
+    QueuedTask queuedTask = mQueuedTasks.get(taskId);
+    if (queuedTask != null) {
+      removeQueuedTask(queuedTask);
+    }
+    long runTimeMs = stopRunning(taskId);
+    if (runTimeMs >= 0) {
+      mStats.recordValue(STAT_RUN_TIME_MS, runTimeMs);
+    }
+    if (timedOut) {
+      mStats.increment(STAT_TIMED_OUT);
+    }
+    final boolean freedSlot = runTimeMs >= 0;
     UiThreadUtil.runOnUiThread(
         new Runnable() {
           @Override
@@ -183,15 +404,26 @@ public class HeadlessJsTaskContext {
             for (HeadlessJsTaskEventListener listener : mHeadlessJsTaskEventListeners) {
               listener.onHeadlessJsTaskFinish(taskId);
             }
+            if (freedSlot) {
+              startNextQueuedTasks();
+            }
           }
         });
   }
 
+  /**
+   * Release the slot of a running task, returns how long it ran or -1 if the task wasn't running.
+   */
+  private long stopRunning(int taskId) {
+    if (!mRunningTasks.remove(taskId)) {
+      return -1;
+    }
+    return SystemClock.uptimeMillis() - mTaskStartTimes.remove(taskId);
+  }
+
   private void removeTimeout(int taskId) {
-    Runnable timeout = mTaskTimeouts.get(taskId);
-    if (timeout != null) {
-      mHandler.removeCallbacks(timeout);
-      mTaskTimeouts.remove(taskId);
+    if (mTaskDeadlines.remove(taskId) != null) {
+      rescheduleTimeouts();
     }
   }
 
@@ -203,15 +435,39 @@ public class HeadlessJsTaskContext {
     return mActiveTasks.contains(taskId);
   }
 
-  private void scheduleTaskTimeout(final int taskId, long timeout) {
-    Runnable runnable =
-        new Runnable() {
-          @Override
-          public void run() {
-            finishTask(taskId);
-          }
-        };
-    mTaskTimeouts.append(taskId, runnable);
-    mHandler.postDelayed(runnable, timeout);
+  private void scheduleTaskTimeout(int taskId, long deadline) {
+    mTaskDeadlines.put(taskId, deadline);
+    rescheduleTimeouts();
+  }
+
+  /** Post the timeout callback for the earliest deadline, if it isn't already. */
+  private void rescheduleTimeouts() {
+    long earliestDeadline = Long.MAX_VALUE;
+    for (long deadline : mTaskDeadlines.values()) {
+      earliestDeadline = Math.min(earliestDeadline, deadline);
+    }
+    if (earliestDeadline == mScheduledDeadline) {
+      return;
+    }
+    mHandler.removeCallbacks(mTimeoutRunnable);
+    mScheduledDeadline = earliestDeadline;
+    if (earliestDeadline != Long.MAX_VALUE) {
+      mHandler.postAtTime(mTimeoutRunnable, earliestDeadline);
+    }
+  }
+
+  private synchronized void finishTimedOutTasks() {
+    mScheduledDeadline = Long.MAX_VALUE;
+    long now = SystemClock.uptimeMillis();
+    List<Integer> timedOutTasks = new ArrayList<>();
+    for (Map.Entry<Integer, Long> entry : mTaskDeadlines.entrySet()) {
+      if (entry.getValue() <= now) {
+        timedOutTasks.add(entry.getKey());
+      }
+    }
+    for (int taskId : timedOutTasks) {
+      finishTask(taskId, true);
+    }
+    rescheduleTimeouts();
   }
 }
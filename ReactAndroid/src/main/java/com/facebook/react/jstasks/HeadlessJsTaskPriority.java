@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.jstasks;
+
+/**
+ * Order in which tasks queued by {@link HeadlessJsTaskContext} are started once running tasks
+ * finish. Tasks of the same priority are started in the order they were queued.
+ */
+public enum HeadlessJsTaskPriority {
+  HIGH,
+  NORMAL,
+  LOW,
+}
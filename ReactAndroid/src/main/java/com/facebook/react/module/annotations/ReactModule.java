@@ -34,6 +34,14 @@ public @interface ReactModule {
   /** Whether this module needs to be loaded immediately. */
   boolean needsEagerInit() default false;
 
+  /**
+   * Whether this module should be created on the native modules thread as soon as the instance is
+   * initialized, instead of the first time it is used. Use this for modules that are expensive to
+   * create and are almost always needed, so that their creation doesn't block the first call from
+   * JavaScript. Ignored if {@link #needsEagerInit()} is true.
+   */
+  boolean needsBackgroundInit() default false;
+
   /**
    * Whether this module has constants to add, defaults to true as that is safer for when a correct
    * annotation is not included
@@ -46,4 +54,20 @@ public @interface ReactModule {
    * @return
    */
   boolean isCxxModule() default false;
+
+  /**
+   * Which threads calls to this module's methods may run on, when native module calls are
+   * dispatched to a thread pool (see {@code ReactFeatureFlags.enableNativeModulesThreadPool}).
+   * Defaults to {@link ThreadingPolicy#PINNED}, which keeps all calls on the native modules thread.
+   */
+  ThreadingPolicy threadingPolicy() default ThreadingPolicy.PINNED;
+
+  enum ThreadingPolicy {
+    /** Calls always run on the native modules thread. */
+    PINNED,
+    /** Calls may run on any worker thread, but never concurrently and always in order. */
+    SERIAL,
+    /** Calls may run on any worker thread, concurrently with each other. */
+    THREAD_SAFE,
+  }
 }
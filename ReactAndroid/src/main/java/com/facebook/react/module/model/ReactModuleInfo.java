@@ -16,6 +16,7 @@ public class ReactModuleInfo {
   private final String mName;
   private final boolean mCanOverrideExistingModule;
   private final boolean mNeedsEagerInit;
+  private final boolean mNeedsBackgroundInit;
   private final boolean mHasConstants;
   private final boolean mIsCxxModule;
   private String mClassName;
@@ -29,10 +30,31 @@ public class ReactModuleInfo {
       boolean hasConstants,
       boolean isCxxModule,
       boolean isTurboModule) {
+    this(
+        name,
+        className,
+        canOverrideExistingModule,
+        needsEagerInit,
+        false,
+        hasConstants,
+        isCxxModule,
+        isTurboModule);
+  }
+
+  public ReactModuleInfo(
+      String name,
+      String className,
+      boolean canOverrideExistingModule,
+      boolean needsEagerInit,
+      boolean needsBackgroundInit,
+      boolean hasConstants,
+      boolean isCxxModule,
+      boolean isTurboModule) {
     mName = name;
     mClassName = className;
     mCanOverrideExistingModule = canOverrideExistingModule;
     mNeedsEagerInit = needsEagerInit;
+    mNeedsBackgroundInit = needsBackgroundInit && !needsEagerInit;
     mHasConstants = hasConstants;
     mIsCxxModule = isCxxModule;
     mIsTurboModule = isTurboModule;
@@ -54,6 +76,10 @@ public class ReactModuleInfo {
     return mNeedsEagerInit;
   }
 
+  public boolean needsBackgroundInit() {
+    return mNeedsBackgroundInit;
+  }
+
   public boolean hasConstants() {
     return mHasConstants;
   }
@@ -219,6 +219,8 @@ public class ReactModuleSpecProcessor extends AbstractProcessor {
                 .append(", ")
                 .append(reactModule.needsEagerInit())
                 .append(", ")
+                .append(reactModule.needsBackgroundInit())
+                .append(", ")
                 .append(hasConstants)
                 .append(", ")
                 .append(reactModule.isCxxModule())
@@ -7,20 +7,26 @@
 
 package com.facebook.react.modules.blob;
 
+import android.content.ContentResolver;
+import android.content.res.AssetFileDescriptor;
 import android.content.res.Resources;
 import android.database.Cursor;
 import android.net.Uri;
 import android.provider.MediaStore;
 import android.webkit.MimeTypeMap;
 import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
 import com.facebook.fbreact.specs.NativeBlobModuleSpec;
 import com.facebook.proguard.annotations.DoNotStrip;
 import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.CacheBudgetRegistry;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReclaimableCache;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.MapBuilder;
+import com.facebook.react.common.ReactConstants;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.modules.network.NetworkingModule;
 import com.facebook.react.modules.websocket.WebSocketModule;
@@ -39,15 +45,23 @@ import java.util.UUID;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import okio.BufferedSink;
 import okio.ByteString;
+import okio.Okio;
+import okio.Source;
 
 @ReactModule(name = BlobModule.NAME)
 public class BlobModule extends NativeBlobModuleSpec {
 
   public static final String NAME = "BlobModule";
 
+  private static final int SKIP_BUFFER_SIZE = 8192;
+
   private final Map<String, byte[]> mBlobs = new HashMap<>();
 
+  // Blobs whose data is read from a content or file URI when they are resolved, guarded by mBlobs
+  private final Map<String, Uri> mUriBlobs = new HashMap<>();
+
   private final WebSocketModule.ContentHandler mWebSocketContentHandler =
       new WebSocketModule.ContentHandler() {
         @Override
@@ -116,9 +130,29 @@ public class BlobModule extends NativeBlobModuleSpec {
           }
           ReadableMap blob = data.getMap("blob");
           String blobId = blob.getString("blobId");
-          byte[] bytes = resolve(blobId, blob.getInt("offset"), blob.getInt("size"));
+          byte[] bytes;
+          Uri uri;
+          synchronized (mBlobs) {
+            bytes = mBlobs.get(blobId);
+            uri = mUriBlobs.get(blobId);
+          }
+          int offset = blob.getInt("offset");
+          int size = blob.getInt("size");
+          if (uri != null && size != -1) {
+            return createRequestBodyFromUri(MediaType.parse(type), uri, offset, size);
+          }
+          if (bytes == null) {
+            bytes = resolve(blobId, 0, -1);
+          }
+          if (bytes == null) {
+            throw new IllegalArgumentException("Could not find blob " + blobId);
+          }
+          if (size == -1) {
+            size = bytes.length - offset;
+          }
 
-          return RequestBody.create(MediaType.parse(type), bytes);
+          // Write the range of the stored blob to the socket, instead of copying it like resolve()
+          return RequestBody.create(MediaType.parse(type), bytes, offset, size);
         }
       };
 
@@ -140,6 +174,26 @@ public class BlobModule extends NativeBlobModuleSpec {
         }
       };
 
+  // Blobs are owned by JS and can't be dropped, they are only registered to report their footprint
+  private final ReclaimableCache mBlobsFootprint =
+      new ReclaimableCache() {
+        @Override
+        public long getSizeBytes() {
+          long sizeBytes = 0;
+          synchronized (mBlobs) {
+            for (byte[] data : mBlobs.values()) {
+              sizeBytes += data.length;
+            }
+          }
+          return sizeBytes;
+        }
+
+        @Override
+        public long evict(long bytesToFree) {
+          return 0;
+        }
+      };
+
   public BlobModule(ReactApplicationContext reactContext) {
     super(reactContext);
   }
@@ -147,6 +201,14 @@ public class BlobModule extends NativeBlobModuleSpec {
   @Override
   public void initialize() {
     BlobCollector.install(getReactApplicationContext(), this);
+    CacheBudgetRegistry.getInstance()
+        .register(NAME, CacheBudgetRegistry.PRIORITY_HIGH, mBlobsFootprint);
+  }
+
+  @Override
+  public void invalidate() {
+    CacheBudgetRegistry.getInstance().unregister(mBlobsFootprint);
+    super.invalidate();
   }
 
   @Override
@@ -181,10 +243,37 @@ public class BlobModule extends NativeBlobModuleSpec {
     }
   }
 
+  /**
+   * Creates a blob whose data is read from {@code uri} each time it is resolved, instead of being
+   * copied in memory. Returns the blob to send to JS, or null if the size of the data is unknown.
+   * The URI is kept until {@link #remove} is called, by the {@code Blob} JS wraps the blob in.
+   */
+  public @Nullable WritableMap createBlobFromUri(Uri uri) {
+    long size = getSizeFromUri(uri);
+    if (size < 0 || size > Integer.MAX_VALUE) {
+      return null;
+    }
+
+    String blobId = UUID.randomUUID().toString();
+    synchronized (mBlobs) {
+      mUriBlobs.put(blobId, uri);
+    }
+
+    WritableMap blob = Arguments.createMap();
+    blob.putString("blobId", blobId);
+    blob.putInt("offset", 0);
+    blob.putInt("size", (int) size);
+    blob.putString("type", getMimeTypeFromUri(uri));
+    blob.putString("name", getNameFromUri(uri));
+    blob.putDouble("lastModified", getLastModifiedFromUri(uri));
+    return blob;
+  }
+
   @DoNotStrip
   public void remove(String blobId) {
     synchronized (mBlobs) {
       mBlobs.remove(blobId);
+      mUriBlobs.remove(blobId);
     }
   }
 
@@ -204,18 +293,28 @@ public class BlobModule extends NativeBlobModuleSpec {
   }
 
   public @Nullable byte[] resolve(String blobId, int offset, int size) {
+    Uri uri;
     synchronized (mBlobs) {
       byte[] data = mBlobs.get(blobId);
-      if (data == null) {
-        return null;
-      }
-      if (size == -1) {
-        size = data.length - offset;
-      }
-      if (offset > 0 || size != data.length) {
-        data = Arrays.copyOfRange(data, offset, offset + size);
+      if (data != null) {
+        if (size == -1) {
+          size = data.length - offset;
+        }
+        if (offset > 0 || size != data.length) {
+          data = Arrays.copyOfRange(data, offset, offset + size);
+        }
+        return data;
       }
-      return data;
+      uri = mUriBlobs.get(blobId);
+    }
+    if (uri == null) {
+      return null;
+    }
+    try {
+      return getBytesFromUri(uri, offset, size);
+    } catch (IOException e) {
+      FLog.w(ReactConstants.TAG, "Could not read blob " + blobId + " from " + uri, e);
+      return null;
     }
   }
 
@@ -223,12 +322,17 @@ public class BlobModule extends NativeBlobModuleSpec {
     return resolve(blob.getString("blobId"), blob.getInt("offset"), blob.getInt("size"));
   }
 
-  private byte[] getBytesFromUri(Uri contentUri) throws IOException {
+  private InputStream openUri(Uri contentUri) throws IOException {
     InputStream is = getReactApplicationContext().getContentResolver().openInputStream(contentUri);
 
     if (is == null) {
       throw new FileNotFoundException("File not found for " + contentUri);
     }
+    return is;
+  }
+
+  private byte[] getBytesFromUri(Uri contentUri) throws IOException {
+    InputStream is = openUri(contentUri);
 
     ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
     int bufferSize = 1024;
@@ -240,6 +344,98 @@ public class BlobModule extends NativeBlobModuleSpec {
     return byteBuffer.toByteArray();
   }
 
+  private byte[] getBytesFromUri(Uri contentUri, int offset, int size) throws IOException {
+    if (size == -1) {
+      byte[] data = getBytesFromUri(contentUri);
+      return offset > 0 ? Arrays.copyOfRange(data, offset, data.length) : data;
+    }
+    InputStream is = openUri(contentUri);
+    try {
+      if (!skipFully(is, offset)) {
+        throw new IOException("Unexpected end of stream");
+      }
+      byte[] data = new byte[size];
+      int read = 0;
+      while (read < size) {
+        int len = is.read(data, read, size - read);
+        if (len == -1) {
+          return Arrays.copyOf(data, read);
+        }
+        read += len;
+      }
+      return data;
+    } finally {
+      is.close();
+    }
+  }
+
+  private RequestBody createRequestBodyFromUri(
+      final @Nullable MediaType mediaType, final Uri uri, final int offset, final int size) {
+    return new RequestBody() {
+      @Override
+      public @Nullable MediaType contentType() {
+        return mediaType;
+      }
+
+      @Override
+      public long contentLength() {
+        return size;
+      }
+
+      @Override
+      public void writeTo(BufferedSink sink) throws IOException {
+        InputStream is = openUri(uri);
+        try (Source source = Okio.source(is)) {
+          if (!skipFully(is, offset)) {
+            throw new IOException("Unexpected end of stream");
+          }
+          sink.write(source, size);
+        }
+      }
+    };
+  }
+
+  /**
+   * Skips {@code byteCount} bytes of {@code is}, returns false if the stream ends before. Streams
+   * which can't skip, such as the pipes of some content providers, are read through instead.
+   */
+  public static boolean skipFully(InputStream is, long byteCount) throws IOException {
+    byte[] buffer = null;
+    while (byteCount > 0) {
+      long skipped = buffer == null ? is.skip(byteCount) : 0;
+      if (skipped <= 0) {
+        if (buffer == null) {
+          buffer = new byte[(int) Math.min(byteCount, SKIP_BUFFER_SIZE)];
+        }
+        skipped = is.read(buffer, 0, (int) Math.min(byteCount, buffer.length));
+        if (skipped == -1) {
+          return false;
+        }
+      }
+      byteCount -= skipped;
+    }
+    return true;
+  }
+
+  private long getSizeFromUri(Uri contentUri) {
+    if ("file".equals(contentUri.getScheme())) {
+      File file = new File(contentUri.getPath());
+      return file.isFile() ? file.length() : -1;
+    }
+    ContentResolver resolver = getReactApplicationContext().getContentResolver();
+    try (AssetFileDescriptor fileDescriptor = resolver.openAssetFileDescriptor(contentUri, "r")) {
+      if (fileDescriptor == null) {
+        return -1;
+      }
+      // Providers returning a whole file don't set the length of the descriptor
+      return fileDescriptor.getLength() != AssetFileDescriptor.UNKNOWN_LENGTH
+          ? fileDescriptor.getLength()
+          : fileDescriptor.getParcelFileDescriptor().getStatSize();
+    } catch (IOException | SecurityException e) {
+      return -1;
+    }
+  }
+
   private String getNameFromUri(Uri contentUri) {
     if ("file".equals(contentUri.getScheme())) {
       return contentUri.getLastPathSegment();
@@ -263,7 +459,7 @@ public class BlobModule extends NativeBlobModuleSpec {
 
   private long getLastModifiedFromUri(Uri contentUri) {
     if ("file".equals(contentUri.getScheme())) {
-      return new File(contentUri.toString()).lastModified();
+      return new File(contentUri.getPath()).lastModified();
     }
     return 0;
   }
@@ -17,7 +17,9 @@ import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.GuardedAsyncTask;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
+import com.facebook.react.modules.blob.BlobModule;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.FileNotFoundException;
@@ -29,6 +31,8 @@ public class ImageStoreManager extends NativeImageStoreAndroidSpec {
 
   public static final String NAME = "ImageStoreManager";
   private static final int BUFFER_SIZE = 8192;
+  // A multiple of 3, so that the base64 of consecutive chunks can be concatenated
+  /* package */ static final int MAX_CHUNK_SIZE = 3 * 256 * 1024;
 
   public ImageStoreManager(ReactApplicationContext reactContext) {
     super(reactContext);
@@ -52,6 +56,43 @@ public class ImageStoreManager extends NativeImageStoreAndroidSpec {
         .executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
   }
 
+  /**
+   * Calculate the base64 representation of a range of an image, so that large images can be read
+   * in chunks without holding all of their data in memory. The "tag" comes from iOS naming.
+   *
+   * @param uri the URI of the image, file:// or content://
+   * @param offset the offset of the range in the image data
+   * @param length the length of the range, rounded down to a multiple of 3 and at most {@link
+   *     #MAX_CHUNK_SIZE}, so that the base64 of consecutive chunks can be concatenated
+   * @param success callback to be invoked with the base64 string of the range and the number of
+   *     bytes read, which is less than the length of the range at the end of the image
+   * @param error callback to be invoked on error (e.g. file not found, not readable etc.)
+   */
+  @Override
+  public void getBase64ChunkForTag(
+      String uri, double offset, double length, Callback success, Callback error) {
+    new GetBase64ChunkTask(
+            getReactApplicationContext(), uri, (long) offset, (int) length, success, error)
+        .executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+  }
+
+  /**
+   * Create a blob for an image, which references its URI instead of holding a copy of its data. The
+   * data is only read when the blob is. The "tag" comes from iOS naming.
+   *
+   * <p>JS has to wrap the blob it gets in a {@code Blob}, which getImageBlobForTag does, for the
+   * URI to be released when the {@code Blob} is closed or collected.
+   *
+   * @param uri the URI of the image, file:// or content://
+   * @param success callback to be invoked with the blob as the only argument
+   * @param error callback to be invoked on error (e.g. file not found, not readable etc.)
+   */
+  @Override
+  public void getBlobForTag(String uri, Callback success, Callback error) {
+    new GetBlobTask(getReactApplicationContext(), uri, success, error)
+        .executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+  }
+
   private class GetBase64Task extends GuardedAsyncTask<Void, Void> {
     private final String mUri;
     private final Callback mSuccess;
@@ -83,6 +124,103 @@ public class ImageStoreManager extends NativeImageStoreAndroidSpec {
     }
   }
 
+  private class GetBase64ChunkTask extends GuardedAsyncTask<Void, Void> {
+    private final String mUri;
+    private final long mOffset;
+    private final int mLength;
+    private final Callback mSuccess;
+    private final Callback mError;
+
+    private GetBase64ChunkTask(
+        ReactContext reactContext,
+        String uri,
+        long offset,
+        int length,
+        Callback success,
+        Callback error) {
+      super(reactContext);
+      mUri = uri;
+      mOffset = offset;
+      mLength = length;
+      mSuccess = success;
+      mError = error;
+    }
+
+    @Override
+    protected void doInBackgroundGuarded(Void... params) {
+      try {
+        ContentResolver contentResolver = getReactApplicationContext().getContentResolver();
+        Uri uri = Uri.parse(mUri);
+        InputStream is = contentResolver.openInputStream(uri);
+        try {
+          byte[] chunk = new byte[getChunkSize(mLength)];
+          int bytesRead = readChunk(is, mOffset, chunk);
+          mSuccess.invoke(Base64.encodeToString(chunk, 0, bytesRead, Base64.NO_WRAP), bytesRead);
+        } catch (IOException e) {
+          mError.invoke(e.getMessage());
+        } finally {
+          closeQuietly(is);
+        }
+      } catch (FileNotFoundException e) {
+        mError.invoke(e.getMessage());
+      }
+    }
+  }
+
+  private class GetBlobTask extends GuardedAsyncTask<Void, Void> {
+    private final String mUri;
+    private final Callback mSuccess;
+    private final Callback mError;
+
+    private GetBlobTask(ReactContext reactContext, String uri, Callback success, Callback error) {
+      super(reactContext);
+      mUri = uri;
+      mSuccess = success;
+      mError = error;
+    }
+
+    @Override
+    protected void doInBackgroundGuarded(Void... params) {
+      BlobModule blobModule = getReactApplicationContext().getNativeModule(BlobModule.class);
+      if (blobModule == null) {
+        mError.invoke("BlobModule is not available");
+        return;
+      }
+      WritableMap blob = blobModule.createBlobFromUri(Uri.parse(mUri));
+      if (blob == null) {
+        mError.invoke("Could not get the size of " + mUri);
+        return;
+      }
+      mSuccess.invoke(blob);
+    }
+  }
+
+  static int getChunkSize(int length) {
+    int size = Math.min(length, MAX_CHUNK_SIZE);
+    return Math.max(size - size % 3, 3);
+  }
+
+  /**
+   * Reads the data of {@code is} at {@code offset} into {@code chunk}, returns the bytes read. Each
+   * chunk opens the URI again, so providers streaming from a pipe, which can't seek, are read from
+   * the start for every chunk.
+   */
+  static int readChunk(InputStream is, long offset, byte[] chunk) throws IOException {
+    if (!BlobModule.skipFully(is, offset)) {
+      return 0;
+    }
+
+    int bytesRead = 0;
+    while (bytesRead < chunk.length) {
+      int len = is.read(chunk, bytesRead, chunk.length - bytesRead);
+      if (len == -1) {
+        break;
+      }
+      bytesRead += len;
+    }
+    return bytesRead;
+  }
+
   String convertInputStreamToBase64OutputStream(InputStream is) throws IOException {
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
     Base64OutputStream b64os = new Base64OutputStream(baos, Base64.NO_WRAP);
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.core;
+
+import android.os.SystemClock;
+import android.util.SparseIntArray;
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.PerfCounters;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventBatch;
+import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link RCTDeviceEventEmitter} that accumulates the events emitted during a tick of the JS thread
+ * and sends them to JS with a single call to {@link RCTDeviceEventBatch#emitBatch}, instead of one
+ * call per event.
+ *
+ * <p>Events sent through {@link #emitCoalesced} replace the pending event with the same name and
+ * coalescing key, so that e.g. only the latest progress event of a request is delivered per tick.
+ * Events are always delivered in the order they were emitted.
+ */
+public class BatchedDeviceEventEmitter implements RCTDeviceEventEmitter {
+
+  /** Number of events emitted, each of which would otherwise have cost one JS call. */
+  public static final String STAT_EVENTS_EMITTED = "eventsEmitted";
+  /** Number of events replaced by a later event before being delivered. */
+  public static final String STAT_EVENTS_COALESCED = "eventsCoalesced";
+  /** Number of JS calls actually made to deliver the events. */
+  public static final String STAT_JS_CALLS = "jsCalls";
+  /** Time, in ms, each delivered event waited between being emitted and being sent to JS. */
+  public static final String STAT_LATENCY_MS = "latencyMs";
+
+  private final ReactApplicationContext mReactContext;
+  private final PerfCounters mStats = new PerfCounters("DeviceEventBatches");
+
+  private final Object mPendingEventsLock = new Object();
+
+  @GuardedBy("mPendingEventsLock")
+  private ArrayList<PendingEvent> mPendingEvents = new ArrayList<>();
+
+  /** Index in {@link #mPendingEvents} of the pending event per event name and coalescing key. */
+  @GuardedBy("mPendingEventsLock")
+  private final Map<String, SparseIntArray> mCoalescedEventIndices = new HashMap<>();
+
+  private final Runnable mFlushRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          flush();
+        }
+      };
+
+  public BatchedDeviceEventEmitter(ReactApplicationContext reactContext) {
+    mReactContext = reactContext;
+  }
+
+  @Override
+  public void emit(@NonNull String eventName, @Nullable Object data) {
+    enqueue(new PendingEvent(eventName, data));
+  }
+
+  /**
+   * Emits an event that replaces the pending event with the same {@code eventName} and {@code
+   * coalescingKey} that wasn't sent to JS yet, if any.
+   */
+  public void emitCoalesced(@NonNull String eventName, int coalescingKey, @Nullable Object data) {
+    PendingEvent event = new PendingEvent(eventName, data);
+    boolean coalesced = false;
+    boolean scheduleFlush;
+    synchronized (mPendingEventsLock) {
+      SparseIntArray indices = mCoalescedEventIndices.get(eventName);
+      if (indices == null) {
+        indices = new SparseIntArray();
+        mCoalescedEventIndices.put(eventName, indices);
+      }
+      int index = indices.get(coalescingKey, -1);
+      if (index != -1) {
+        // Latest wins, but keep the order of events by dropping the old one and appending the new
+        mPendingEvents.set(index, null);
+        coalesced = true;
+      }
+      indices.put(coalescingKey, mPendingEvents.size());
+      scheduleFlush = addPendingEvent(event);
+    }
+    onEnqueued(coalesced, scheduleFlush);
+  }
+
+  public PerfCounters getStats() {
+    return mStats;
+  }
+
+  private void enqueue(PendingEvent event) {
+    boolean scheduleFlush;
+    synchronized (mPendingEventsLock) {
+      scheduleFlush = addPendingEvent(event);
+    }
+    onEnqueued(false, scheduleFlush);
+  }
+
+  /** Returns true if this is the first pending event, and a flush needs to be scheduled. */
+  @GuardedBy("mPendingEventsLock")
+  private boolean addPendingEvent(PendingEvent event) {
+    mPendingEvents.add(event);
+    return mPendingEvents.size() == 1;
+  }
+
+  private void onEnqueued(boolean coalesced, boolean scheduleFlush) {
+    mStats.increment(STAT_EVENTS_EMITTED);
+    if (coalesced) {
+      mStats.increment(STAT_EVENTS_COALESCED);
+    }
+    if (scheduleFlush && !mReactContext.runOnJSQueueThread(mFlushRunnable)) {
+      // The JS thread is gone, nobody is listening anymore
+      synchronized (mPendingEventsLock) {
+        mPendingEvents.clear();
+        mCoalescedEventIndices.clear();
+      }
+    }
+  }
+
+  private void flush() {
+    List<PendingEvent> events;
+    synchronized (mPendingEventsLock) {
+      events = mPendingEvents;
+      mPendingEvents = new ArrayList<>();
+      mCoalescedEventIndices.clear();
+    }
+
+    long now = SystemClock.uptimeMillis();
+    PendingEvent singleEvent = null;
+    int eventCount = 0;
+    for (PendingEvent event : events) {
+      if (event != null) {
+        singleEvent = event;
+        eventCount++;
+        mStats.recordValue(STAT_LATENCY_MS, now - event.mEmitTime);
+      }
+    }
+    if (eventCount == 0 || !mReactContext.hasActiveReactInstance()) {
+      return;
+    }
+
+    mStats.increment(STAT_JS_CALLS);
+    if (eventCount == 1) {
+      mReactContext
+          .getJSModule(RCTDeviceEventEmitter.class)
+          .emit(singleEvent.mEventName, singleEvent.mData);
+      return;
+    }
+
+    WritableArray batch = Arguments.createArray();
+    for (PendingEvent event : events) {
+      if (event != null) {
+        batch.pushString(event.mEventName);
+        Arguments.pushJavaArg(batch, event.mData);
+      }
+    }
+    mReactContext.getJSModule(RCTDeviceEventBatch.class).emitBatch(batch);
+  }
+
+  private static class PendingEvent {
+    private final String mEventName;
+    private final @Nullable Object mData;
+    private final long mEmitTime;
+
+    PendingEvent(String eventName, @Nullable Object data) {
+      mEventName = eventName;
+      mData = data;
+      mEmitTime = SystemClock.uptimeMillis();
+    }
+  }
+}
@@ -12,6 +12,7 @@ package com.facebook.react.modules.core;
 import android.os.Handler;
 import android.view.Choreographer;
 import com.facebook.react.bridge.UiThreadUtil;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Wrapper class for abstracting away availability of the JellyBean Choreographer. If Choreographer
@@ -76,6 +77,16 @@ public class ChoreographerCompat {
     private Runnable mRunnable;
     private Choreographer.FrameCallback mFrameCallback;
 
+    /**
+     * State of this callback in the queues of {@link ReactChoreographer}: the number of times it is
+     * queued in the high 32 bits, and how many of those were removed in the low 32 bits.
+     */
+    /* package */ final AtomicLong mReactChoreographerQueueState = new AtomicLong();
+
+    /** Node queuing this callback in {@link ReactChoreographer} when it isn't already queued. */
+    /* package */ final ReactChoreographer.QueuedCallback mReactChoreographerNode =
+        new ReactChoreographer.QueuedCallback(this);
+
     Choreographer.FrameCallback getFrameCallback() {
       if (mFrameCallback == null) {
         mFrameCallback =
@@ -16,6 +16,7 @@ import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.JavaScriptModule;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
 
@@ -29,11 +30,22 @@ public class DeviceEventManagerModule extends NativeDeviceEventManagerSpec {
     void emit(@NonNull String eventName, @Nullable Object data);
   }
 
+  /**
+   * Receives the events batched by {@link BatchedDeviceEventEmitter}, as a flat array of event name
+   * and data pairs.
+   */
+  @DoNotStrip
+  public interface RCTDeviceEventBatch extends JavaScriptModule {
+    void emitBatch(WritableArray events);
+  }
+
   private final Runnable mInvokeDefaultBackPressRunnable;
+  private final BatchedDeviceEventEmitter mBatchedEventEmitter;
 
   public DeviceEventManagerModule(
       ReactApplicationContext reactContext, final DefaultHardwareBackBtnHandler backBtnHandler) {
     super(reactContext);
+    mBatchedEventEmitter = new BatchedDeviceEventEmitter(reactContext);
     mInvokeDefaultBackPressRunnable =
         new Runnable() {
           @Override
@@ -44,6 +56,14 @@ public class DeviceEventManagerModule extends NativeDeviceEventManagerSpec {
         };
   }
 
+  /**
+   * Returns an {@link RCTDeviceEventEmitter} that sends the events emitted during a tick of the JS
+   * thread with a single JS call. Meant for modules emitting events at a high frequency.
+   */
+  public BatchedDeviceEventEmitter getBatchedEventEmitter() {
+    return mBatchedEventEmitter;
+  }
+
   /** Sends an event to the JS instance that the hardware back has been pressed. */
   public void emitHardwareBackPressed() {
     ReactApplicationContext reactApplicationContext = getReactApplicationContextIfActiveOrWarn();
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.core;
+
+import androidx.annotation.GuardedBy;
+import com.facebook.react.bridge.PerfCounters;
+import com.facebook.react.modules.core.ReactChoreographer.CallbackType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Always-on timeline of the last {@link #CAPACITY} frames run by {@link ReactChoreographer}, with
+ * the time spent in each {@link Segment} of every frame, so that slow frames can be attributed to
+ * JS, layout, mounting or animations.
+ *
+ * <p>Segments of the {@link CallbackType}s are measured by {@link ReactChoreographer} itself. Other
+ * segments are reported with {@link #recordSegment} from any thread, and attributed to the next
+ * frame that ends. They can overlap: view operations and mount items run inside {@link
+ * Segment#DISPATCH_UI}, and layout runs on a background thread.
+ *
+ * <p>Besides the recent frames, {@link #getStats()} aggregates the durations of the segments and
+ * the callbacks run over all frames, and the time spent by the timeline itself.
+ */
+public class FrameTimeline {
+
+  /** Parts of a frame the timeline measures. The first ones match {@link CallbackType}. */
+  public enum Segment {
+    PERF_MARKERS,
+    DISPATCH_UI,
+    NATIVE_ANIMATED_MODULE,
+    TIMERS_EVENTS,
+    IDLE_EVENT,
+    /** Batches of {@link com.facebook.react.uimanager.UIViewOperationQueue} */
+    VIEW_OPERATIONS,
+    /** Batches of mount items of the Fabric renderer */
+    MOUNT_ITEMS,
+    /** Layout of shadow trees */
+    LAYOUT,
+    ;
+
+    private final String mDurationStat = name() + ".durationNs";
+
+    /**
+     * Name of the value of the time spent in this segment, recorded once per frame it ran in, in
+     * {@link #getStats()}.
+     */
+    public String getDurationStat() {
+      return mDurationStat;
+    }
+  }
+
+  /** Notified on the UI thread of every frame slower than {@link #setSlowFrameThresholdNanos}. */
+  public interface SlowFrameListener {
+    void onSlowFrame(FrameRecord frame);
+  }
+
+  /** Timings of a single frame. */
+  public static class FrameRecord {
+    private final long mFrameTimeNanos;
+    private final long mFrameIntervalNanos;
+    private final long[] mSegmentDurationsNanos;
+
+    private FrameRecord(long frameTimeNanos, long frameIntervalNanos, long[] segmentDurations) {
+      mFrameTimeNanos = frameTimeNanos;
+      mFrameIntervalNanos = frameIntervalNanos;
+      mSegmentDurationsNanos = segmentDurations;
+    }
+
+    /** The vsync time of the frame, see {@link android.view.Choreographer.FrameCallback}. */
+    public long getFrameTimeNanos() {
+      return mFrameTimeNanos;
+    }
+
+    /** Time since the previous frame run by {@link ReactChoreographer}, 0 for the first one. */
+    public long getFrameIntervalNanos() {
+      return mFrameIntervalNanos;
+    }
+
+    public long getSegmentDurationNanos(Segment segment) {
+      return mSegmentDurationsNanos[segment.ordinal()];
+    }
+
+    /** Time spent running {@link ReactChoreographer} callbacks on the UI thread in this frame. */
+    public long getCallbacksDurationNanos() {
+      long duration = 0;
+      for (int i = 0; i < CALLBACK_TYPE_COUNT; i++) {
+        duration += mSegmentDurationsNanos[i];
+      }
+      return duration;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder builder =
+          new StringBuilder("FrameRecord{frameTimeNanos=")
+              .append(mFrameTimeNanos)
+              .append(", intervalMs=")
+              .append(mFrameIntervalNanos / 1e6);
+      for (Segment segment : Segment.values()) {
+        long duration = mSegmentDurationsNanos[segment.ordinal()];
+        if (duration > 0) {
+          builder.append(", ").append(segment.name()).append("Ms=").append(duration / 1e6);
+        }
+      }
+      return builder.append("}").toString();
+    }
+  }
+
+  public static final int CAPACITY = 120;
+
+  /** Time spent running callbacks of {@link ReactChoreographer}, recorded for every frame. */
+  public static final String STAT_CALLBACKS_NS = "callbacksNs";
+  /** Time spent recording a frame by the timeline, recorded for every frame. */
+  public static final String STAT_OVERHEAD_NS = "overheadNs";
+
+  private static final int SEGMENT_COUNT = Segment.values().length;
+  private static final Segment[] SEGMENTS = Segment.values();
+  private static final CallbackType[] CALLBACK_TYPES = CallbackType.values();
+  private static final int CALLBACK_TYPE_COUNT = CALLBACK_TYPES.length;
+  private static final long DEFAULT_SLOW_FRAME_THRESHOLD_NANOS = 1000000000L / 60;
+
+  private static final FrameTimeline sInstance = new FrameTimeline();
+
+  /** Durations reported with {@link #recordSegment} since the last frame ended. */
+  private final AtomicLongArray mPendingDurations = new AtomicLongArray(SEGMENT_COUNT);
+
+  @GuardedBy("this")
+  private final long[] mFrameTimes = new long[CAPACITY];
+
+  @GuardedBy("this")
+  private final long[] mFrameIntervals = new long[CAPACITY];
+
+  @GuardedBy("this")
+  private final long[] mSegmentDurations = new long[CAPACITY * SEGMENT_COUNT];
+
+  @GuardedBy("this")
+  private int mNextIndex = 0;
+
+  @GuardedBy("this")
+  private int mFrameCount = 0;
+
+  // Only accessed from onFrame on the UI thread
+  private long mLastFrameTimeNanos = 0;
+
+  private final PerfCounters mStats = new PerfCounters("FrameTimeline");
+
+  private final CopyOnWriteArrayList<SlowFrameListener> mSlowFrameListeners =
+      new CopyOnWriteArrayList<>();
+  private volatile long mSlowFrameThresholdNanos = DEFAULT_SLOW_FRAME_THRESHOLD_NANOS;
+
+  public static FrameTimeline getInstance() {
+    return sInstance;
+  }
+
+  /* package */ FrameTimeline() {}
+
+  /** Reports time spent in {@code segment}, can be called from any thread. */
+  public void recordSegment(Segment segment, long durationNanos) {
+    mPendingDurations.addAndGet(segment.ordinal(), durationNanos);
+  }
+
+  public void addSlowFrameListener(SlowFrameListener listener) {
+    mSlowFrameListeners.add(listener);
+  }
+
+  public void removeSlowFrameListener(SlowFrameListener listener) {
+    mSlowFrameListeners.remove(listener);
+  }
+
+  /**
+   * Frames whose {@link FrameRecord#getCallbacksDurationNanos()} exceeds this threshold are
+   * reported to the {@link SlowFrameListener}s. Defaults to the budget of a 60fps frame.
+   */
+  public void setSlowFrameThresholdNanos(long slowFrameThresholdNanos) {
+    mSlowFrameThresholdNanos = slowFrameThresholdNanos;
+  }
+
+  /**
+   * Returns the totals over all frames: the callbacks of each {@link CallbackType} run, named by
+   * {@link CallbackType#getCallbacksStat()}, the time spent in each {@link Segment}, named by
+   * {@link Segment#getDurationStat()}, and {@link #STAT_CALLBACKS_NS} and {@link
+   * #STAT_OVERHEAD_NS}.
+   */
+  public PerfCounters getStats() {
+    return mStats;
+  }
+
+  /**
+   * Returns the time spent recording frames by the timeline, relative to the time spent running
+   * the {@link ReactChoreographer} callbacks of those frames.
+   */
+  public double getOverheadRatio() {
+    long callbacksNanos = mStats.getValueTotal(STAT_CALLBACKS_NS);
+    return callbacksNanos == 0
+        ? 0
+        : (double) mStats.getValueTotal(STAT_OVERHEAD_NS) / callbacksNanos;
+  }
+
+  /** Returns the recorded frames, oldest first. */
+  public synchronized List<FrameRecord> getRecentFrames() {
+    List<FrameRecord> frames = new ArrayList<>(mFrameCount);
+    int firstIndex = (mNextIndex - mFrameCount + CAPACITY) % CAPACITY;
+    for (int i = 0; i < mFrameCount; i++) {
+      frames.add(createRecord((firstIndex + i) % CAPACITY));
+    }
+    return frames;
+  }
+
+  public synchronized void clear() {
+    mNextIndex = 0;
+    mFrameCount = 0;
+  }
+
+  /**
+   * Records a frame that ran {@link ReactChoreographer} callbacks, with the number of callbacks run
+   * and the time spent in each callback type indexed by {@link CallbackType#getOrder()}.
+   */
+  /* package */ void onFrame(
+      long frameTimeNanos, int[] callbackCounts, long[] callbackTypeDurationsNanos) {
+    long startTimeNanos = System.nanoTime();
+    long frameIntervalNanos = mLastFrameTimeNanos == 0 ? 0 : frameTimeNanos - mLastFrameTimeNanos;
+    mLastFrameTimeNanos = frameTimeNanos;
+
+    long callbacksDurationNanos = 0;
+    for (int i = 0; i < CALLBACK_TYPE_COUNT; i++) {
+      callbacksDurationNanos += callbackTypeDurationsNanos[i];
+    }
+
+    FrameRecord slowFrame = null;
+    synchronized (this) {
+      int index = mNextIndex;
+      int offset = index * SEGMENT_COUNT;
+      mFrameTimes[index] = frameTimeNanos;
+      mFrameIntervals[index] = frameIntervalNanos;
+      for (int i = 0; i < SEGMENT_COUNT; i++) {
+        long duration =
+            (i < CALLBACK_TYPE_COUNT ? callbackTypeDurationsNanos[i] : 0)
+                + mPendingDurations.getAndSet(i, 0);
+        mSegmentDurations[offset + i] = duration;
+        if (duration > 0) {
+          mStats.recordValue(SEGMENTS[i].getDurationStat(), duration);
+        }
+      }
+      for (int i = 0; i < CALLBACK_TYPE_COUNT; i++) {
+        if (callbackCounts[i] > 0) {
+          mStats.add(CALLBACK_TYPES[i].getCallbacksStat(), callbackCounts[i]);
+        }
+      }
+      mStats.recordValue(STAT_CALLBACKS_NS, callbacksDurationNanos);
+      mNextIndex = (index + 1) % CAPACITY;
+      mFrameCount = Math.min(mFrameCount + 1, CAPACITY);
+
+      if (callbacksDurationNanos > mSlowFrameThresholdNanos && !mSlowFrameListeners.isEmpty()) {
+        slowFrame = createRecord(index);
+      }
+    }
+    // Listeners are excluded, as they are the cost of exporting frames rather than recording them
+    mStats.recordValue(STAT_OVERHEAD_NS, System.nanoTime() - startTimeNanos);
+
+    if (slowFrame != null) {
+      for (SlowFrameListener listener : mSlowFrameListeners) {
+        listener.onSlowFrame(slowFrame);
+      }
+    }
+  }
+
+  @GuardedBy("this")
+  private FrameRecord createRecord(int index) {
+    long[] segmentDurations = new long[SEGMENT_COUNT];
+    System.arraycopy(mSegmentDurations, index * SEGMENT_COUNT, segmentDurations, 0, SEGMENT_COUNT);
+    return new FrameRecord(mFrameTimes[index], mFrameIntervals[index], segmentDurations);
+  }
+}
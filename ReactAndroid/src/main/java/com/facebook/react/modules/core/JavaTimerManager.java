@@ -7,18 +7,21 @@
 
 package com.facebook.react.modules.core;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.util.SparseArray;
 import androidx.annotation.Nullable;
 import com.facebook.proguard.annotations.DoNotStrip;
 import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.PerfCounters;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.common.SystemClock;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.devsupport.interfaces.DevSupportManager;
 import com.facebook.react.jstasks.HeadlessJsTaskContext;
-import java.util.Comparator;
-import java.util.PriorityQueue;
+import java.util.ArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -37,55 +40,65 @@ public class JavaTimerManager {
   // at 60 fps.
   private static final float FRAME_DURATION_MS = 1000.f / 60.f;
 
-  private static class Timer {
-    private final int mCallbackID;
-    private final boolean mRepeat;
-    private final int mInterval;
-    private long mTargetTime;
-
-    private Timer(int callbackID, long initialTargetTime, int duration, boolean repeat) {
-      mCallbackID = callbackID;
-      mTargetTime = initialTargetTime;
-      mInterval = duration;
-      mRepeat = repeat;
-    }
-  }
+  // While batching background timers, a timer may be called up to this fraction of its interval
+  // after its target time, bounded by the min and max windows below.
+  private static final float BACKGROUND_WINDOW_FRACTION = 0.25f;
+  private static final long MIN_BACKGROUND_WINDOW_MS = 16;
+  private static final long MAX_BACKGROUND_WINDOW_MS = 5000;
+  private static final long NO_BACKGROUND_WAKEUP = Long.MAX_VALUE;
 
-  private class TimerFrameCallback extends ChoreographerCompat.FrameCallback {
+  /** Number of wakeups performed while batching background timers. */
+  public static final String STAT_WAKEUPS = "wakeups";
+  /**
+   * Lateness, in ms, of each timer called while batching background timers. Its count is the
+   * number of timers fired, each of which would otherwise have needed its own wakeup.
+   */
+  public static final String STAT_LATENESS_MS = "latenessMs";
 
-    // Temporary map for constructing the individual arrays of timers to call
-    private @Nullable WritableArray mTimersToCall = null;
+  private class TimerFrameCallback extends ChoreographerCompat.FrameCallback {
 
-    /** Calls all timers that have expired since the last time this frame callback was called. */
+    /**
+     * Calls all timers that have expired since the last time this frame callback was called. All
+     * timers expiring within the same frame are coalesced into a single call to JS.
+     */
     @Override
     public void doFrame(long frameTimeNanos) {
       if (isPaused.get() && !isRunningTasks.get()) {
         return;
       }
+      if (isBatchingBackgroundTimers()) {
+        // Timers are driven by BackgroundWakeupRunnable until the host resumes.
+        mFrameCallbackPosted = false;
+        return;
+      }
+
+      callExpiredTimers(frameTimeNanos / 1000000, false);
 
-      long frameTimeMillis = frameTimeNanos / 1000000;
+      mReactChoreographer.postFrameCallback(ReactChoreographer.CallbackType.TIMERS_EVENTS, this);
+    }
+  }
+
+  /**
+   * Wakeup used instead of {@link TimerFrameCallback} while the host is paused and headless JS
+   * tasks are running. Each wakeup calls every due timer and schedules the next wakeup at the
+   * earliest deadline (target time plus window) of the remaining timers, so that timers with
+   * nearby target times share a single wakeup.
+   */
+  private class BackgroundWakeupRunnable implements Runnable {
+
+    @Override
+    public void run() {
       synchronized (mTimerGuard) {
-        while (!mTimers.isEmpty() && mTimers.peek().mTargetTime < frameTimeMillis) {
-          Timer timer = mTimers.poll();
-          if (mTimersToCall == null) {
-            mTimersToCall = Arguments.createArray();
-          }
-          mTimersToCall.pushInt(timer.mCallbackID);
-          if (timer.mRepeat) {
-            timer.mTargetTime = frameTimeMillis + timer.mInterval;
-            mTimers.add(timer);
-          } else {
-            mTimerIdsToTimers.remove(timer.mCallbackID);
-          }
+        mBackgroundWakeupTime = NO_BACKGROUND_WAKEUP;
+        if (!mBatchingBackgroundTimers) {
+          return;
         }
       }
 
-      if (mTimersToCall != null) {
-        mJavaScriptTimerExecutor.callTimers(mTimersToCall);
-        mTimersToCall = null;
-      }
-
-      mReactChoreographer.postFrameCallback(ReactChoreographer.CallbackType.TIMERS_EVENTS, this);
+      mBackgroundTimerStats.increment(STAT_WAKEUPS);
+      // Timers due exactly now are called as well, there is no frame boundary to wait for.
+      callExpiredTimers(SystemClock.nanoTime() / 1000000 + 1, true);
+      scheduleNextBackgroundWakeup();
     }
   }
 
@@ -156,16 +169,25 @@ public class JavaTimerManager {
   private final DevSupportManager mDevSupportManager;
   private final Object mTimerGuard = new Object();
   private final Object mIdleCallbackGuard = new Object();
-  private final PriorityQueue<Timer> mTimers;
-  private final SparseArray<Timer> mTimerIdsToTimers;
+  private final TimerWheel mTimers;
+  private final SparseArray<TimerWheel.Timer> mTimerIdsToTimers;
   private final AtomicBoolean isPaused = new AtomicBoolean(true);
   private final AtomicBoolean isRunningTasks = new AtomicBoolean(false);
   private final TimerFrameCallback mTimerFrameCallback = new TimerFrameCallback();
   private final IdleFrameCallback mIdleFrameCallback = new IdleFrameCallback();
+  private final BackgroundWakeupRunnable mBackgroundWakeupRunnable =
+      new BackgroundWakeupRunnable();
+  private final PerfCounters mBackgroundTimerStats = new PerfCounters("BackgroundTimers");
+  private final Handler mBackgroundHandler = new Handler(Looper.getMainLooper());
+  // Reused list of the timers that expired, only accessed with mTimerGuard held
+  private final ArrayList<TimerWheel.Timer> mExpiredTimers = new ArrayList<>();
   private @Nullable IdleCallbackRunnable mCurrentIdleCallbackRunnable;
   private boolean mFrameCallbackPosted = false;
   private boolean mFrameIdleCallbackPosted = false;
   private boolean mSendIdleEvents = false;
+  // Guarded by mTimerGuard
+  private boolean mBatchingBackgroundTimers = false;
+  private long mBackgroundWakeupTime = NO_BACKGROUND_WAKEUP;
 
   public JavaTimerManager(
       ReactApplicationContext reactContext,
@@ -177,23 +199,8 @@ public class JavaTimerManager {
     mReactChoreographer = reactChoreographer;
     mDevSupportManager = devSupportManager;
 
-    // We store timers sorted by finish time.
-    mTimers =
-        new PriorityQueue<Timer>(
-            11, // Default capacity: for some reason they don't expose a (Comparator) constructor
-            new Comparator<Timer>() {
-              @Override
-              public int compare(Timer lhs, Timer rhs) {
-                long diff = lhs.mTargetTime - rhs.mTargetTime;
-                if (diff == 0) {
-                  return 0;
-                } else if (diff < 0) {
-                  return -1;
-                } else {
-                  return 1;
-                }
-              }
-            });
+    // We store timers bucketed by finish time, so that creating and deleting them is O(1).
+    mTimers = new TimerWheel(SystemClock.nanoTime() / 1000000);
     mTimerIdsToTimers = new SparseArray<>();
   }
 
@@ -201,6 +208,7 @@ public class JavaTimerManager {
     isPaused.set(true);
     clearFrameCallback();
     maybeIdleCallback();
+    maybeStartBatchingBackgroundTimers();
   }
 
   public void onHostDestroy() {
@@ -210,6 +218,7 @@ public class JavaTimerManager {
 
   public void onHostResume() {
     isPaused.set(false);
+    stopBatchingBackgroundTimers();
     // TODO(5195192) Investigate possible problems related to restarting all tasks at the same
     // moment
     setChoreographerCallback();
@@ -220,6 +229,7 @@ public class JavaTimerManager {
     if (!isRunningTasks.getAndSet(true)) {
       setChoreographerCallback();
       maybeSetChoreographerIdleCallback();
+      maybeStartBatchingBackgroundTimers();
     }
   }
 
@@ -228,16 +238,137 @@ public class JavaTimerManager {
         HeadlessJsTaskContext.getInstance(mReactApplicationContext);
     if (!headlessJsTaskContext.hasActiveTasks()) {
       isRunningTasks.set(false);
+      stopBatchingBackgroundTimers();
       clearFrameCallback();
       maybeIdleCallback();
     }
   }
 
   public void onInstanceDestroy() {
+    stopBatchingBackgroundTimers();
     clearFrameCallback();
     clearChoreographerIdleCallback();
   }
 
+  /** Returns the counters of timers batched into shared wakeups while in background. */
+  public PerfCounters getBackgroundTimerStats() {
+    return mBackgroundTimerStats;
+  }
+
+  /**
+   * Calls all timers with a target time before {@code timeMillis} with a single call to JS, and
+   * reschedules the repeating ones.
+   */
+  private void callExpiredTimers(long timeMillis, boolean recordLateness) {
+    WritableArray timersToCall = null;
+    synchronized (mTimerGuard) {
+      mTimers.advanceTo(timeMillis, mExpiredTimers);
+      for (int i = 0, size = mExpiredTimers.size(); i < size; i++) {
+        TimerWheel.Timer timer = mExpiredTimers.get(i);
+        if (timersToCall == null) {
+          timersToCall = Arguments.createArray();
+        }
+        timersToCall.pushInt(timer.mCallbackID);
+        if (recordLateness) {
+          mBackgroundTimerStats.recordValue(
+              STAT_LATENESS_MS, Math.max(0, timeMillis - 1 - timer.mTargetTime));
+        }
+        if (timer.mRepeat) {
+          timer.mTargetTime = timeMillis + timer.mInterval;
+          mTimers.add(timer);
+        } else {
+          mTimerIdsToTimers.remove(timer.mCallbackID);
+        }
+      }
+      mExpiredTimers.clear();
+    }
+
+    if (timersToCall != null) {
+      mJavaScriptTimerExecutor.callTimers(timersToCall);
+    }
+  }
+
+  private boolean isBatchingBackgroundTimers() {
+    synchronized (mTimerGuard) {
+      return mBatchingBackgroundTimers;
+    }
+  }
+
+  private void maybeStartBatchingBackgroundTimers() {
+    if (!ReactFeatureFlags.enableBackgroundTimerBatching
+        || !isPaused.get()
+        || !isRunningTasks.get()) {
+      return;
+    }
+    synchronized (mTimerGuard) {
+      if (mBatchingBackgroundTimers) {
+        return;
+      }
+      mBatchingBackgroundTimers = true;
+    }
+    if (mFrameCallbackPosted) {
+      mReactChoreographer.removeFrameCallback(
+          ReactChoreographer.CallbackType.TIMERS_EVENTS, mTimerFrameCallback);
+      mFrameCallbackPosted = false;
+    }
+    scheduleNextBackgroundWakeup();
+  }
+
+  private void stopBatchingBackgroundTimers() {
+    synchronized (mTimerGuard) {
+      if (!mBatchingBackgroundTimers) {
+        return;
+      }
+      mBatchingBackgroundTimers = false;
+      mBackgroundWakeupTime = NO_BACKGROUND_WAKEUP;
+      mBackgroundHandler.removeCallbacks(mBackgroundWakeupRunnable);
+    }
+    if (isRunningTasks.get() || !isPaused.get()) {
+      setChoreographerCallback();
+    }
+  }
+
+  /** Schedules a wakeup at the earliest deadline among all pending timers. */
+  private void scheduleNextBackgroundWakeup() {
+    synchronized (mTimerGuard) {
+      if (!mBatchingBackgroundTimers) {
+        return;
+      }
+      long wakeupTime = NO_BACKGROUND_WAKEUP;
+      for (int i = 0, size = mTimerIdsToTimers.size(); i < size; i++) {
+        wakeupTime = Math.min(wakeupTime, getBackgroundDeadline(mTimerIdsToTimers.valueAt(i)));
+      }
+      postBackgroundWakeupLocked(wakeupTime);
+    }
+  }
+
+  /** Moves the next background wakeup earlier if the new timer can't wait until then. */
+  private void maybeScheduleBackgroundWakeupForTimer(TimerWheel.Timer timer) {
+    synchronized (mTimerGuard) {
+      if (mBatchingBackgroundTimers) {
+        long deadline = getBackgroundDeadline(timer);
+        if (deadline < mBackgroundWakeupTime) {
+          postBackgroundWakeupLocked(deadline);
+        }
+      }
+    }
+  }
+
+  private void postBackgroundWakeupLocked(long wakeupTime) {
+    mBackgroundHandler.removeCallbacks(mBackgroundWakeupRunnable);
+    mBackgroundWakeupTime = wakeupTime;
+    if (wakeupTime != NO_BACKGROUND_WAKEUP) {
+      long delay = Math.max(0, wakeupTime - SystemClock.nanoTime() / 1000000);
+      mBackgroundHandler.postDelayed(mBackgroundWakeupRunnable, delay);
+    }
+  }
+
+  private static long getBackgroundDeadline(TimerWheel.Timer timer) {
+    long window = (long) (timer.mInterval * BACKGROUND_WINDOW_FRACTION);
+    window = Math.min(Math.max(window, MIN_BACKGROUND_WINDOW_MS), MAX_BACKGROUND_WINDOW_MS);
+    return timer.mTargetTime + window;
+  }
+
   private void maybeSetChoreographerIdleCallback() {
     synchronized (mIdleCallbackGuard) {
       if (mSendIdleEvents) {
@@ -297,11 +428,13 @@ public class JavaTimerManager {
   @DoNotStrip
   public void createTimer(final int callbackID, final long delay, final boolean repeat) {
     long initialTargetTime = SystemClock.nanoTime() / 1000000 + delay;
-    Timer timer = new Timer(callbackID, initialTargetTime, (int) delay, repeat);
+    TimerWheel.Timer timer =
+        new TimerWheel.Timer(callbackID, initialTargetTime, (int) delay, repeat);
     synchronized (mTimerGuard) {
       mTimers.add(timer);
       mTimerIdsToTimers.put(callbackID, timer);
     }
+    maybeScheduleBackgroundWakeupForTimer(timer);
   }
 
   /**
@@ -348,7 +481,7 @@ public class JavaTimerManager {
   @DoNotStrip
   public void deleteTimer(int timerId) {
     synchronized (mTimerGuard) {
-      Timer timer = mTimerIdsToTimers.get(timerId);
+      TimerWheel.Timer timer = mTimerIdsToTimers.get(timerId);
       if (timer == null) {
         return;
       }
@@ -388,18 +521,8 @@ public class JavaTimerManager {
    */
   /* package */ boolean hasActiveTimersInRange(long rangeMs) {
     synchronized (mTimerGuard) {
-      Timer nextTimer = mTimers.peek();
-      if (nextTimer == null) {
-        // Timers queue is empty
-        return false;
-      }
-      if (isTimerInRange(nextTimer, rangeMs)) {
-        // First check the next timer, so we can avoid iterating over the entire queue if it's
-        // already within range.
-        return true;
-      }
-      for (Timer timer : mTimers) {
-        if (isTimerInRange(timer, rangeMs)) {
+      for (int i = 0, size = mTimerIdsToTimers.size(); i < size; i++) {
+        if (isTimerInRange(mTimerIdsToTimers.valueAt(i), rangeMs)) {
           return true;
         }
       }
@@ -407,7 +530,7 @@ public class JavaTimerManager {
     return false;
   }
 
-  private static boolean isTimerInRange(Timer timer, long rangeMs) {
+  private static boolean isTimerInRange(TimerWheel.Timer timer, long rangeMs) {
     return !timer.mRepeat && timer.mInterval < rangeMs;
   }
 }
@@ -7,18 +7,24 @@
 
 package com.facebook.react.modules.core;
 
-import androidx.annotation.GuardedBy;
 import androidx.annotation.Nullable;
 import com.facebook.common.logging.FLog;
 import com.facebook.infer.annotation.Assertions;
+import com.facebook.react.bridge.PerfCounters;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.common.ReactConstants;
-import java.util.ArrayDeque;
+import com.facebook.react.common.annotations.VisibleForTesting;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A simple wrapper around Choreographer that allows us to control the order certain callbacks are
  * executed within a given frame. The main difference is that we enforce this is accessed from the
  * UI thread: this is because this ordering cannot be guaranteed across multiple threads.
+ *
+ * <p>Callbacks can be posted and removed from any thread without locking.
  */
 public class ReactChoreographer {
 
@@ -43,16 +49,28 @@ public class ReactChoreographer {
     ;
 
     private final int mOrder;
+    private final String mCallbacksStat;
 
     private CallbackType(int order) {
       mOrder = order;
+      mCallbacksStat = name() + ".callbacks";
     }
 
     /*package*/ int getOrder() {
       return mOrder;
     }
+
+    /** Name of the counter of callbacks of this type run, in {@link FrameTimeline#getStats()}. */
+    public String getCallbacksStat() {
+      return mCallbacksStat;
+    }
   }
 
+  private static final int CALLBACK_TYPE_COUNT = CallbackType.values().length;
+
+  // See ChoreographerCompat.FrameCallback#mReactChoreographerQueueState
+  private static final long QUEUED_COUNT_UNIT = 1L << 32;
+
   private static ReactChoreographer sInstance;
 
   public static void initialize() {
@@ -69,52 +87,72 @@ public class ReactChoreographer {
   // This needs to be volatile due to double checked locking issue - https://fburl.com/z409owpf
   private @Nullable volatile ChoreographerCompat mChoreographer;
   private final ReactChoreographerDispatcher mReactChoreographerDispatcher;
-  private final Object mCallbackQueuesLock = new Object();
 
-  @GuardedBy("mCallbackQueuesLock")
-  private final ArrayDeque<ChoreographerCompat.FrameCallback>[] mCallbackQueues;
+  /**
+   * One lock-free stack of queued callbacks per {@link CallbackType}. Each frame takes a whole
+   * stack at once, so callbacks posted while a frame runs end up in the next frame, unless posted
+   * for a type that hasn't run yet in that frame.
+   */
+  private final AtomicReference<QueuedCallback>[] mCallbackStacks;
+
+  private final AtomicBoolean mHasPostedCallback = new AtomicBoolean(false);
+  private final FrameTimeline mFrameTimeline;
 
-  private int mTotalCallbacks = 0;
-  private boolean mHasPostedCallback = false;
+  // Only accessed from doFrame on the UI thread
+  private final int[] mFrameCallbackCounts = new int[CALLBACK_TYPE_COUNT];
+  private final long[] mFrameTimesNanos = new long[CALLBACK_TYPE_COUNT];
 
   private ReactChoreographer() {
+    this(null, FrameTimeline.getInstance());
+    initializeChoreographer(null);
+  }
+
+  @VisibleForTesting
+  /* package */ ReactChoreographer(
+      @Nullable ChoreographerCompat choreographer, FrameTimeline frameTimeline) {
+    mChoreographer = choreographer;
+    mFrameTimeline = frameTimeline;
     mReactChoreographerDispatcher = new ReactChoreographerDispatcher();
-    mCallbackQueues = new ArrayDeque[CallbackType.values().length];
-    for (int i = 0; i < mCallbackQueues.length; i++) {
-      mCallbackQueues[i] = new ArrayDeque<>();
+    mCallbackStacks = new AtomicReference[CALLBACK_TYPE_COUNT];
+    for (int i = 0; i < mCallbackStacks.length; i++) {
+      mCallbackStacks[i] = new AtomicReference<>();
     }
-    initializeChoreographer(null);
   }
 
   public void postFrameCallback(
       CallbackType type, ChoreographerCompat.FrameCallback frameCallback) {
-    synchronized (mCallbackQueuesLock) {
-      mCallbackQueues[type.getOrder()].addLast(frameCallback);
-      mTotalCallbacks++;
-      Assertions.assertCondition(mTotalCallbacks > 0);
-      if (!mHasPostedCallback) {
-        if (mChoreographer == null) {
-          initializeChoreographer(
-              new Runnable() {
-                @Override
-                public void run() {
-                  postFrameCallbackOnChoreographer();
-                }
-              });
-        } else {
-          postFrameCallbackOnChoreographer();
-        }
+    frameCallback.mReactChoreographerQueueState.addAndGet(QUEUED_COUNT_UNIT);
+    // Callbacks are usually queued once at a time, and then reuse the node they embed
+    QueuedCallback queuedCallback = frameCallback.mReactChoreographerNode;
+    if (!queuedCallback.tryAcquire()) {
+      queuedCallback = new QueuedCallback(frameCallback);
+    }
+    AtomicReference<QueuedCallback> stack = mCallbackStacks[type.getOrder()];
+    QueuedCallback head;
+    // Nodes are only ever taken off by whole stacks, so a reused node at the head can't make this
+    // CAS link to a stale next node
+    do {
+      head = stack.get();
+      queuedCallback.mNext = head;
+    } while (!stack.compareAndSet(head, queuedCallback));
+
+    if (mHasPostedCallback.compareAndSet(false, true)) {
+      if (mChoreographer == null) {
+        initializeChoreographer(
+            new Runnable() {
+              @Override
+              public void run() {
+                postFrameCallbackOnChoreographer();
+              }
+            });
+      } else {
+        postFrameCallbackOnChoreographer();
       }
     }
   }
 
-  /**
-   * This method writes on mHasPostedCallback and it should be called from another method that has
-   * the lock mCallbackQueuesLock
-   */
   private void postFrameCallbackOnChoreographer() {
     mChoreographer.postFrameCallback(mReactChoreographerDispatcher);
-    mHasPostedCallback = true;
   }
 
   public void initializeChoreographer(@Nullable final Runnable runnable) {
@@ -134,29 +172,80 @@ public class ReactChoreographer {
         });
   }
 
+  /**
+   * Removes the first queued occurrence of {@code frameCallback}. This is O(1): the callback is
+   * only marked as removed, and skipped when its frame runs.
+   *
+   * <p>Callbacks are expected to be queued for a single {@link CallbackType} at a time, {@code
+   * type} isn't used to tell apart occurrences queued for different types.
+   */
   public void removeFrameCallback(
       CallbackType type, ChoreographerCompat.FrameCallback frameCallback) {
-    synchronized (mCallbackQueuesLock) {
-      if (mCallbackQueues[type.getOrder()].removeFirstOccurrence(frameCallback)) {
-        mTotalCallbacks--;
-        maybeRemoveFrameCallback();
-      } else {
+    AtomicLong queueState = frameCallback.mReactChoreographerQueueState;
+    long state;
+    do {
+      state = queueState.get();
+      if (getRemovedCount(state) >= getQueuedCount(state)) {
         FLog.e(ReactConstants.TAG, "Tried to remove non-existent frame callback");
+        return;
       }
-    }
+    } while (!queueState.compareAndSet(state, state + 1));
+    // The dispatcher stays posted, if nothing else is queued it runs once and doesn't repost
   }
 
   /**
-   * This method reads and writes on mHasPostedCallback and it should be called from another method
-   * that already has the lock mCallbackQueuesLock.
+   * Returns the number of callbacks of each {@link CallbackType} run and the time spent running
+   * them, as recorded by the {@link FrameTimeline} of the frames.
    */
-  private void maybeRemoveFrameCallback() {
-    Assertions.assertCondition(mTotalCallbacks >= 0);
-    if (mTotalCallbacks == 0 && mHasPostedCallback) {
-      if (mChoreographer != null) {
-        mChoreographer.removeFrameCallback(mReactChoreographerDispatcher);
-      }
-      mHasPostedCallback = false;
+  public PerfCounters getFrameCallbackStats() {
+    return mFrameTimeline.getStats();
+  }
+
+  /**
+   * Dequeues {@code frameCallback}, and returns true if it should run, or false if this occurrence
+   * was removed.
+   */
+  private static boolean dequeue(ChoreographerCompat.FrameCallback frameCallback) {
+    AtomicLong queueState = frameCallback.mReactChoreographerQueueState;
+    long state;
+    boolean removed;
+    do {
+      state = queueState.get();
+      removed = getRemovedCount(state) > 0;
+    } while (!queueState.compareAndSet(state, state - QUEUED_COUNT_UNIT - (removed ? 1 : 0)));
+    return !removed;
+  }
+
+  private static long getQueuedCount(long state) {
+    return state >>> 32;
+  }
+
+  private static long getRemovedCount(long state) {
+    return state & 0xFFFFFFFFL;
+  }
+
+  /**
+   * Node of the stacks of queued callbacks. Every {@link ChoreographerCompat.FrameCallback} embeds
+   * one, that is used whenever it isn't already queued.
+   */
+  /* package */ static final class QueuedCallback {
+    private static final AtomicIntegerFieldUpdater<QueuedCallback> IN_USE_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(QueuedCallback.class, "mInUse");
+
+    private final ChoreographerCompat.FrameCallback mFrameCallback;
+    private @Nullable QueuedCallback mNext;
+    private volatile int mInUse = 0;
+
+    /* package */ QueuedCallback(ChoreographerCompat.FrameCallback frameCallback) {
+      mFrameCallback = frameCallback;
+    }
+
+    private boolean tryAcquire() {
+      return IN_USE_UPDATER.compareAndSet(this, 0, 1);
+    }
+
+    private void release() {
+      mInUse = 0;
     }
   }
 
@@ -164,23 +253,40 @@ public class ReactChoreographer {
 
     @Override
     public void doFrame(long frameTimeNanos) {
-      synchronized (mCallbackQueuesLock) {
-        mHasPostedCallback = false;
-        for (int i = 0; i < mCallbackQueues.length; i++) {
-          ArrayDeque<ChoreographerCompat.FrameCallback> callbackQueue = mCallbackQueues[i];
-          int initialLength = callbackQueue.size();
-          for (int callback = 0; callback < initialLength; callback++) {
-            ChoreographerCompat.FrameCallback frameCallback = callbackQueue.pollFirst();
-            if (frameCallback != null) {
-              frameCallback.doFrame(frameTimeNanos);
-              mTotalCallbacks--;
-            } else {
-              FLog.e(ReactConstants.TAG, "Tried to execute non-existent frame callback");
-            }
+      // Callbacks queued from now on need another frame
+      mHasPostedCallback.set(false);
+      for (int i = 0; i < mCallbackStacks.length; i++) {
+        long startTime = System.nanoTime();
+        int callbackCount = 0;
+        // The stack holds the callbacks in reverse order of posting
+        QueuedCallback queuedCallback = reverse(mCallbackStacks[i].getAndSet(null));
+        while (queuedCallback != null) {
+          ChoreographerCompat.FrameCallback frameCallback = queuedCallback.mFrameCallback;
+          QueuedCallback next = queuedCallback.mNext;
+          // Released before running, so that callbacks posting themselves again reuse the node
+          queuedCallback.mNext = null;
+          queuedCallback.release();
+          if (dequeue(frameCallback)) {
+            frameCallback.doFrame(frameTimeNanos);
+            callbackCount++;
           }
+          queuedCallback = next;
         }
-        maybeRemoveFrameCallback();
+        mFrameCallbackCounts[i] = callbackCount;
+        mFrameTimesNanos[i] = callbackCount > 0 ? System.nanoTime() - startTime : 0;
+      }
+      mFrameTimeline.onFrame(frameTimeNanos, mFrameCallbackCounts, mFrameTimesNanos);
+    }
+
+    private @Nullable QueuedCallback reverse(@Nullable QueuedCallback head) {
+      QueuedCallback reversed = null;
+      while (head != null) {
+        QueuedCallback next = head.mNext;
+        head.mNext = reversed;
+        reversed = head;
+        head = next;
       }
+      return reversed;
     }
   }
 }
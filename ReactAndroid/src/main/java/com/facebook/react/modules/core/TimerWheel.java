@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.core;
+
+import androidx.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel used by {@link JavaTimerManager} to store JS timers.
+ *
+ * <p>Timers are kept in intrusive doubly linked lists, one per slot, so that adding and removing a
+ * timer is O(1). The first level has one slot per millisecond for the next 256 ms. Each following
+ * level covers a 64 times larger range with 64 coarser slots, and its timers are redistributed
+ * ("cascaded") into the finer levels as time advances, the same way the Linux kernel timer wheel
+ * works. Timers further than ~49 days in the future are parked in the last slot and re-cascaded
+ * until they are due.
+ *
+ * <p>This class is not thread safe, callers are expected to synchronize access.
+ */
+/* package */ class TimerWheel {
+
+  private static final int ROOT_BITS = 8;
+  private static final int LEVEL_BITS = 6;
+  private static final int LEVELS = 4;
+  private static final int ROOT_SIZE = 1 << ROOT_BITS;
+  private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+  private static final long ROOT_MASK = ROOT_SIZE - 1;
+  private static final long LEVEL_MASK = LEVEL_SIZE - 1;
+  private static final long MAX_DELTA = (1L << (ROOT_BITS + LEVELS * LEVEL_BITS)) - 1;
+
+  /* package */ static class Timer {
+    /* package */ final int mCallbackID;
+    /* package */ final boolean mRepeat;
+    /* package */ final int mInterval;
+    /* package */ long mTargetTime;
+
+    private @Nullable Timer mPrev;
+    private @Nullable Timer mNext;
+    private int mSlot = -1;
+
+    /* package */ Timer(int callbackID, long initialTargetTime, int duration, boolean repeat) {
+      mCallbackID = callbackID;
+      mTargetTime = initialTargetTime;
+      mInterval = duration;
+      mRepeat = repeat;
+    }
+  }
+
+  private final Timer[] mHeads = new Timer[ROOT_SIZE + LEVELS * LEVEL_SIZE];
+  private final Timer[] mTails = new Timer[ROOT_SIZE + LEVELS * LEVEL_SIZE];
+  // The first millisecond that hasn't been processed by advanceTo yet.
+  private long mNextTick;
+  private int mSize;
+  private int mRootSize;
+
+  /* package */ TimerWheel(long startTimeMillis) {
+    mNextTick = startTimeMillis;
+  }
+
+  /* package */ int size() {
+    return mSize;
+  }
+
+  /**
+   * Schedules a timer to expire at its {@link Timer#mTargetTime}. Timers whose target time is
+   * already in the past expire on the next call to {@link #advanceTo}.
+   */
+  /* package */ void add(Timer timer) {
+    long delta = Math.min(Math.max(0, timer.mTargetTime - mNextTick), MAX_DELTA);
+    long slotTime = mNextTick + delta;
+    int slot;
+    if (delta < ROOT_SIZE) {
+      slot = (int) (slotTime & ROOT_MASK);
+      mRootSize++;
+    } else {
+      int level = 0;
+      int shift = ROOT_BITS + LEVEL_BITS;
+      while (level < LEVELS - 1 && delta >= (1L << shift)) {
+        level++;
+        shift += LEVEL_BITS;
+      }
+      int index = (int) ((slotTime >> (shift - LEVEL_BITS)) & LEVEL_MASK);
+      slot = ROOT_SIZE + level * LEVEL_SIZE + index;
+    }
+    link(timer, slot);
+    mSize++;
+  }
+
+  /** Removes a timer that was previously added. Does nothing if the timer isn't scheduled. */
+  /* package */ void remove(Timer timer) {
+    if (timer.mSlot < 0) {
+      return;
+    }
+    if (timer.mSlot < ROOT_SIZE) {
+      mRootSize--;
+    }
+    unlink(timer);
+    mSize--;
+  }
+
+  /**
+   * Advances the wheel to {@code nowMillis}, moving every timer with a target time strictly before
+   * it into {@code outExpired}, in target time order. Stretches of time without any timer due are
+   * skipped a whole first level rotation at a time.
+   */
+  /* package */ void advanceTo(long nowMillis, List<Timer> outExpired) {
+    while (mNextTick < nowMillis) {
+      if (mSize == 0) {
+        mNextTick = nowMillis;
+        return;
+      }
+
+      int index = (int) (mNextTick & ROOT_MASK);
+      if (index == 0) {
+        cascade();
+      }
+
+      if (mRootSize == 0) {
+        mNextTick = Math.min((mNextTick | ROOT_MASK) + 1, nowMillis);
+        continue;
+      }
+
+      Timer timer = mHeads[index];
+      while (timer != null) {
+        Timer next = timer.mNext;
+        unlink(timer);
+        mSize--;
+        mRootSize--;
+        outExpired.add(timer);
+        timer = next;
+      }
+      mNextTick++;
+    }
+  }
+
+  private void cascade() {
+    for (int level = 0; level < LEVELS; level++) {
+      int index = (int) ((mNextTick >> (ROOT_BITS + level * LEVEL_BITS)) & LEVEL_MASK);
+      int slot = ROOT_SIZE + level * LEVEL_SIZE + index;
+      Timer timer = mHeads[slot];
+      while (timer != null) {
+        Timer next = timer.mNext;
+        unlink(timer);
+        mSize--;
+        add(timer);
+        timer = next;
+      }
+      if (index != 0) {
+        break;
+      }
+    }
+  }
+
+  private void link(Timer timer, int slot) {
+    Timer tail = mTails[slot];
+    timer.mSlot = slot;
+    timer.mPrev = tail;
+    timer.mNext = null;
+    if (tail == null) {
+      mHeads[slot] = timer;
+    } else {
+      tail.mNext = timer;
+    }
+    mTails[slot] = timer;
+  }
+
+  private void unlink(Timer timer) {
+    int slot = timer.mSlot;
+    if (timer.mPrev == null) {
+      mHeads[slot] = timer.mNext;
+    } else {
+      timer.mPrev.mNext = timer.mNext;
+    }
+    if (timer.mNext == null) {
+      mTails[slot] = timer.mPrev;
+    } else {
+      timer.mNext.mPrev = timer.mPrev;
+    }
+    timer.mPrev = null;
+    timer.mNext = null;
+    timer.mSlot = -1;
+  }
+}
@@ -9,6 +9,7 @@ package com.facebook.react.modules.core;
 
 import com.facebook.fbreact.specs.NativeTimingSpec;
 import com.facebook.react.bridge.LifecycleEventListener;
+import com.facebook.react.bridge.PerfCounters;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.common.annotations.VisibleForTesting;
@@ -139,6 +140,14 @@ public final class TimingModule extends NativeTimingSpec
     reactApplicationContext.removeLifecycleEventListener(this);
   }
 
+  /**
+   * Returns how many wakeups were performed while batching timers in background, and how late
+   * timers were called because of it. See {@link JavaTimerManager#STAT_WAKEUPS}.
+   */
+  public PerfCounters getBackgroundTimerStats() {
+    return mJavaTimerManager.getBackgroundTimerStats();
+  }
+
   @VisibleForTesting
   public boolean hasActiveTimersInRange(long rangeMs) {
     return mJavaTimerManager.hasActiveTimersInRange(rangeMs);
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import android.content.Context;
+import okhttp3.OkHttpClient;
+
+/**
+ * {@link OkHttpClientFactory} creating clients with a disk HTTP cache of the given size, which
+ * honors Cache-Control and revalidates stale responses with ETag and Last-Modified. Install it with
+ * {@link OkHttpClientProvider#setOkHttpClientFactory}.
+ */
+public class CachingOkHttpClientFactory implements OkHttpClientFactory {
+
+  private final Context mContext;
+  private final int mCacheSizeBytes;
+
+  public CachingOkHttpClientFactory(Context context, int cacheSizeBytes) {
+    mContext = context.getApplicationContext();
+    mCacheSizeBytes = cacheSizeBytes;
+  }
+
+  @Override
+  public OkHttpClient createNewNetworkModuleClient() {
+    return OkHttpClientProvider.createClientBuilder(mContext, mCacheSizeBytes).build();
+  }
+}
@@ -15,6 +15,7 @@ import com.facebook.common.logging.FLog;
 import com.facebook.fbreact.specs.NativeNetworkingAndroidSpec;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.GuardedAsyncTask;
+import com.facebook.react.bridge.PerfCounters;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
@@ -22,10 +23,13 @@ import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.StandardCharsets;
 import com.facebook.react.common.network.OkHttpCallUtil;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.module.annotations.ReactModule;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
 import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -86,6 +90,15 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
 
   public static final String NAME = "Networking";
 
+  /** Responses served from the cache without contacting the server. */
+  public static final String STAT_CACHE_HITS = "cacheHits";
+  /** Responses served from the cache after the server confirmed they were still valid. */
+  public static final String STAT_CONDITIONAL_CACHE_HITS = "conditionalCacheHits";
+  /** Responses fetched from the network by a client with a cache. */
+  public static final String STAT_CACHE_MISSES = "cacheMisses";
+  /** Requests that got the response of an identical in-flight request. */
+  public static final String STAT_DEDUPLICATED = "deduplicated";
+
   private static final String TAG = "NetworkingModule";
   private static final String CONTENT_ENCODING_HEADER_NAME = "content-encoding";
   private static final String CONTENT_TYPE_HEADER_NAME = "content-type";
@@ -107,6 +120,9 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
   private final List<RequestBodyHandler> mRequestBodyHandlers = new ArrayList<>();
   private final List<UriHandler> mUriHandlers = new ArrayList<>();
   private final List<ResponseHandler> mResponseHandlers = new ArrayList<>();
+  private final RequestDeduplicator mRequestDeduplicator = new RequestDeduplicator();
+  private final PerfCounters mStats = new PerfCounters("Networking");
+  private final PriorityRequestDispatcher mDispatcher = new PriorityRequestDispatcher(mStats);
   private boolean mShuttingDown;
 
   /* package */ NetworkingModule(
@@ -227,6 +243,20 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     mResponseHandlers.remove(handler);
   }
 
+  /**
+   * Returns the cache, de-duplication and queuing counters of the requests sent by this module:
+   * the {@code STAT_*} counters, and the values named by {@link
+   * RequestPriority#getQueueDepthStat()} and {@link RequestPriority#getQueueWaitStat()}.
+   */
+  public PerfCounters getStats() {
+    return mStats;
+  }
+
+  /** Returns the number of requests of {@code priority} waiting in the priority dispatcher. */
+  public int getQueuedRequestCount(RequestPriority priority) {
+    return mDispatcher.getQueuedCount(priority);
+  }
+
   @Override
   public void sendRequest(
       String method,
@@ -361,6 +391,11 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
       ResponseUtil.onRequestError(eventEmitter, requestId, "Unrecognized headers format", null);
       return;
     }
+    String priorityHeader = requestHeaders.get(RequestPriority.HEADER_NAME);
+    RequestPriority priority = RequestPriority.fromHeaderValue(priorityHeader);
+    if (priorityHeader != null) {
+      requestHeaders = requestHeaders.newBuilder().removeAll(RequestPriority.HEADER_NAME).build();
+    }
     String contentType = requestHeaders.get(CONTENT_TYPE_HEADER_NAME);
     String contentEncoding = requestHeaders.get(CONTENT_ENCODING_HEADER_NAME);
     requestBuilder.headers(requestHeaders);
@@ -423,14 +458,12 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
         return;
       }
       String uri = data.getString(REQUEST_BODY_KEY_URI);
-      InputStream fileInputStream =
-          RequestBodyUtil.getFileInputStream(getReactApplicationContext(), uri);
-      if (fileInputStream == null) {
+      requestBody = createFileRequestBody(MediaType.parse(contentType), uri);
+      if (requestBody == null) {
         ResponseUtil.onRequestError(
             eventEmitter, requestId, "Could not retrieve file for uri " + uri, null);
         return;
       }
-      requestBody = RequestBodyUtil.create(MediaType.parse(contentType), fileInputStream);
     } else if (data.hasKey(REQUEST_BODY_KEY_FORMDATA)) {
       if (contentType == null) {
         contentType = "multipart/form-data";
@@ -451,109 +484,286 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
         method, wrapRequestBodyWithProgressEmitter(requestBody, eventEmitter, requestId));
 
     addRequest(requestId);
-    client
-        .newCall(requestBuilder.build())
-        .enqueue(
-            new Callback() {
-              @Override
-              public void onFailure(Call call, IOException e) {
-                if (mShuttingDown) {
+    // Identical requests sent while this one is in flight share its response. The group is joined
+    // last, so that a request failing before its call is sent never leaves one behind.
+    if (canDeduplicate(method, requestId, responseType, useIncrementalUpdates)) {
+      String key =
+          method.toUpperCase(Locale.ROOT)
+              + " "
+              + url
+              + " "
+              + withCredentials
+              + " "
+              + timeout
+              + "\n"
+              + requestHeaders;
+      RequestDeduplicator.Group group = mRequestDeduplicator.join(key, requestId, responseType);
+      if (group == null) {
+        mStats.increment(STAT_DEDUPLICATED);
+        return;
+      }
+      try {
+        enqueueCall(
+            client.newCall(requestBuilder.build()),
+            priority,
+            createDeduplicatedCallback(eventEmitter, group));
+      } catch (RuntimeException e) {
+        // Requests that joined from other threads would otherwise wait for the call forever
+        for (RequestDeduplicator.Waiter waiter : finishDeduplicatedRequests(group)) {
+          if (waiter.requestId != requestId) {
+            ResponseUtil.onRequestError(eventEmitter, waiter.requestId, e.getMessage(), e);
+          }
+        }
+        throw e;
+      }
+      return;
+    }
+    enqueueCall(
+        client.newCall(requestBuilder.build()),
+        priority,
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException e) {
+            if (mShuttingDown) {
+              return;
+            }
+            removeRequest(requestId);
+            String errorMessage =
+                e.getMessage() != null
+                    ? e.getMessage()
+                    : "Error while executing request: " + e.getClass().getSimpleName();
+            ResponseUtil.onRequestError(eventEmitter, requestId, errorMessage, e);
+          }
+
+          @Override
+          public void onResponse(Call call, Response response) throws IOException {
+            if (mShuttingDown) {
+              return;
+            }
+            removeRequest(requestId);
+            recordCacheStats(response);
+            // Before we touch the body send headers to JS
+            ResponseUtil.onResponseReceived(
+                eventEmitter,
+                requestId,
+                response.code(),
+                translateHeaders(response.headers()),
+                response.request().url().toString());
+
+            try {
+              ResponseBody responseBody = getResponseBody(response);
+
+              // Check if a handler is registered
+              for (ResponseHandler handler : mResponseHandlers) {
+                if (handler.supports(responseType)) {
+                  WritableMap res = handler.toResponseData(responseBody);
+                  ResponseUtil.onDataReceived(eventEmitter, requestId, res);
+                  ResponseUtil.onRequestSuccess(eventEmitter, requestId);
                   return;
                 }
-                removeRequest(requestId);
-                String errorMessage =
-                    e.getMessage() != null
-                        ? e.getMessage()
-                        : "Error while executing request: " + e.getClass().getSimpleName();
-                ResponseUtil.onRequestError(eventEmitter, requestId, errorMessage, e);
               }
 
-              @Override
-              public void onResponse(Call call, Response response) throws IOException {
-                if (mShuttingDown) {
-                  return;
-                }
-                removeRequest(requestId);
-                // Before we touch the body send headers to JS
-                ResponseUtil.onResponseReceived(
-                    eventEmitter,
-                    requestId,
-                    response.code(),
-                    translateHeaders(response.headers()),
-                    response.request().url().toString());
+              // If JS wants progress updates during the download, and it requested a text
+              // response,
+              // periodically send response data updates to JS.
+              if (useIncrementalUpdates && responseType.equals("text")) {
+                readWithProgress(eventEmitter, requestId, responseBody);
+                ResponseUtil.onRequestSuccess(eventEmitter, requestId);
+                return;
+              }
 
+              // Otherwise send the data in one big chunk, in the format that JS requested.
+              String responseString = "";
+              if (responseType.equals("text")) {
                 try {
-                  // OkHttp implements something called transparent gzip, which mean that it will
-                  // automatically add the Accept-Encoding gzip header and handle decoding
-                  // internally.
-                  // The issue is that it won't handle decoding if the user provides a
-                  // Accept-Encoding
-                  // header. This is also undesirable considering that iOS does handle the decoding
-                  // even
-                  // when the header is provided. To make sure this works in all cases, handle gzip
-                  // body
-                  // here also. This works fine since OKHttp will remove the Content-Encoding header
-                  // if
-                  // it used transparent gzip.
-                  // See
-                  // https://github.com/square/okhttp/blob/5b37cda9e00626f43acf354df145fd452c3031f1/okhttp/src/main/java/okhttp3/internal/http/BridgeInterceptor.java#L76-L111
-                  ResponseBody responseBody = response.body();
-                  if ("gzip".equalsIgnoreCase(response.header("Content-Encoding"))
-                      && responseBody != null) {
-                    GzipSource gzipSource = new GzipSource(responseBody.source());
-                    String contentType = response.header("Content-Type");
-                    responseBody =
-                        ResponseBody.create(
-                            contentType != null ? MediaType.parse(contentType) : null,
-                            -1L,
-                            Okio.buffer(gzipSource));
+                  responseString = responseBody.string();
+                } catch (IOException e) {
+                  if (response.request().method().equalsIgnoreCase("HEAD")) {
+                    // The request is an `HEAD` and the body is empty,
+                    // the OkHttp will produce an exception.
+                    // Ignore the exception to not invalidate the request in the
+                    // Javascript layer.
+                    // Introduced to fix issue #7463.
+                  } else {
+                    ResponseUtil.onRequestError(eventEmitter, requestId, e.getMessage(), e);
                   }
+                }
+              } else if (responseType.equals("base64")) {
+                responseString = Base64.encodeToString(responseBody.bytes(), Base64.NO_WRAP);
+              }
+              ResponseUtil.onDataReceived(eventEmitter, requestId, responseString);
+              ResponseUtil.onRequestSuccess(eventEmitter, requestId);
+            } catch (IOException e) {
+              ResponseUtil.onRequestError(eventEmitter, requestId, e.getMessage(), e);
+            }
+          }
+        });
+  }
 
-                  // Check if a handler is registered
-                  for (ResponseHandler handler : mResponseHandlers) {
-                    if (handler.supports(responseType)) {
-                      WritableMap res = handler.toResponseData(responseBody);
-                      ResponseUtil.onDataReceived(eventEmitter, requestId, res);
-                      ResponseUtil.onRequestSuccess(eventEmitter, requestId);
-                      return;
-                    }
-                  }
+  /** Streams the file at {@code uri}, returns null if it can't be opened. */
+  private @Nullable RequestBody createFileRequestBody(@Nullable MediaType mediaType, String uri) {
+    RequestBody requestBody =
+        RequestBodyUtil.createFromUri(getReactApplicationContext(), mediaType, uri);
+    if (requestBody != null) {
+      return requestBody;
+    }
+    InputStream fileInputStream =
+        RequestBodyUtil.getFileInputStream(getReactApplicationContext(), uri);
+    if (fileInputStream == null) {
+      return null;
+    }
+    return RequestBodyUtil.create(mediaType, fileInputStream);
+  }
 
-                  // If JS wants progress updates during the download, and it requested a text
-                  // response,
-                  // periodically send response data updates to JS.
-                  if (useIncrementalUpdates && responseType.equals("text")) {
-                    readWithProgress(eventEmitter, requestId, responseBody);
-                    ResponseUtil.onRequestSuccess(eventEmitter, requestId);
-                    return;
-                  }
+  private void enqueueCall(Call call, RequestPriority priority, Callback callback) {
+    if (ReactFeatureFlags.enablePriorityNetworkDispatcher) {
+      mDispatcher.enqueue(call, priority, callback);
+    } else {
+      call.enqueue(callback);
+    }
+  }
 
-                  // Otherwise send the data in one big chunk, in the format that JS requested.
-                  String responseString = "";
-                  if (responseType.equals("text")) {
-                    try {
-                      responseString = responseBody.string();
-                    } catch (IOException e) {
-                      if (response.request().method().equalsIgnoreCase("HEAD")) {
-                        // The request is an `HEAD` and the body is empty,
-                        // the OkHttp will produce an exception.
-                        // Ignore the exception to not invalidate the request in the
-                        // Javascript layer.
-                        // Introduced to fix issue #7463.
-                      } else {
-                        ResponseUtil.onRequestError(eventEmitter, requestId, e.getMessage(), e);
-                      }
-                    }
-                  } else if (responseType.equals("base64")) {
-                    responseString = Base64.encodeToString(responseBody.bytes(), Base64.NO_WRAP);
-                  }
-                  ResponseUtil.onDataReceived(eventEmitter, requestId, responseString);
-                  ResponseUtil.onRequestSuccess(eventEmitter, requestId);
-                } catch (IOException e) {
-                  ResponseUtil.onRequestError(eventEmitter, requestId, e.getMessage(), e);
-                }
-              }
-            });
+  private boolean canDeduplicate(
+      String method, int requestId, String responseType, boolean useIncrementalUpdates) {
+    if (!ReactFeatureFlags.enableNetworkRequestDeduplication
+        || requestId == 0
+        || useIncrementalUpdates
+        || !(method.equalsIgnoreCase("GET") || method.equalsIgnoreCase("HEAD"))
+        || !(responseType.equals("text") || responseType.equals("base64"))) {
+      return false;
+    }
+    // Response handlers consume the body themselves, it can't be shared
+    for (ResponseHandler handler : mResponseHandlers) {
+      if (handler.supports(responseType)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Delivers the result of a call to every request of {@code group}. */
+  private Callback createDeduplicatedCallback(
+      final RCTDeviceEventEmitter eventEmitter, final RequestDeduplicator.Group group) {
+    return new Callback() {
+      @Override
+      public void onFailure(Call call, IOException e) {
+        if (mShuttingDown) {
+          return;
+        }
+        String errorMessage =
+            e.getMessage() != null
+                ? e.getMessage()
+                : "Error while executing request: " + e.getClass().getSimpleName();
+        for (RequestDeduplicator.Waiter waiter : finishDeduplicatedRequests(group)) {
+          ResponseUtil.onRequestError(eventEmitter, waiter.requestId, errorMessage, e);
+        }
+      }
+
+      @Override
+      public void onResponse(Call call, Response response) {
+        if (mShuttingDown) {
+          response.close();
+          return;
+        }
+        List<RequestDeduplicator.Waiter> waiters = finishDeduplicatedRequests(group);
+        recordCacheStats(response);
+        for (RequestDeduplicator.Waiter waiter : waiters) {
+          ResponseUtil.onResponseReceived(
+              eventEmitter,
+              waiter.requestId,
+              response.code(),
+              translateHeaders(response.headers()),
+              response.request().url().toString());
+        }
+
+        ResponseBody responseBody = getResponseBody(response);
+        byte[] body;
+        if (response.request().method().equalsIgnoreCase("HEAD")) {
+          // See the non deduplicated case, the body of a HEAD response is ignored
+          responseBody.close();
+          body = new byte[0];
+        } else {
+          try {
+            body = responseBody.bytes();
+          } catch (IOException e) {
+            for (RequestDeduplicator.Waiter waiter : waiters) {
+              ResponseUtil.onRequestError(eventEmitter, waiter.requestId, e.getMessage(), e);
+            }
+            return;
+          }
+        }
+
+        Charset charset =
+            responseBody.contentType() == null
+                ? StandardCharsets.UTF_8
+                : responseBody.contentType().charset(StandardCharsets.UTF_8);
+        String text = null;
+        String base64 = null;
+        for (RequestDeduplicator.Waiter waiter : waiters) {
+          String responseString;
+          if (waiter.responseType.equals("text")) {
+            if (text == null) {
+              text = new String(body, charset);
+            }
+            responseString = text;
+          } else {
+            if (base64 == null) {
+              base64 = Base64.encodeToString(body, Base64.NO_WRAP);
+            }
+            responseString = base64;
+          }
+          ResponseUtil.onDataReceived(eventEmitter, waiter.requestId, responseString);
+          ResponseUtil.onRequestSuccess(eventEmitter, waiter.requestId);
+        }
+      }
+    };
+  }
+
+  private List<RequestDeduplicator.Waiter> finishDeduplicatedRequests(
+      RequestDeduplicator.Group group) {
+    List<RequestDeduplicator.Waiter> waiters = mRequestDeduplicator.finish(group);
+    for (RequestDeduplicator.Waiter waiter : waiters) {
+      removeRequest(waiter.requestId);
+    }
+    return waiters;
+  }
+
+  private void recordCacheStats(Response response) {
+    if (mClient.cache() == null) {
+      return;
+    }
+    Response networkResponse = response.networkResponse();
+    if (networkResponse == null) {
+      if (response.cacheResponse() != null) {
+        mStats.increment(STAT_CACHE_HITS);
+      }
+    } else if (networkResponse.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+      mStats.increment(STAT_CONDITIONAL_CACHE_HITS);
+    } else {
+      mStats.increment(STAT_CACHE_MISSES);
+    }
+  }
+
+  private static ResponseBody getResponseBody(Response response) {
+    // OkHttp implements something called transparent gzip, which mean that it will
+    // automatically add the Accept-Encoding gzip header and handle decoding internally. The issue
+    // is that it won't handle decoding if the user provides a Accept-Encoding header. This is also
+    // undesirable considering that iOS does handle the decoding even when the header is provided.
+    // To make sure this works in all cases, handle gzip body here also. This works fine since
+    // OKHttp will remove the Content-Encoding header if it used transparent gzip.
+    // See
+    // https://github.com/square/okhttp/blob/5b37cda9e00626f43acf354df145fd452c3031f1/okhttp/src/main/java/okhttp3/internal/http/BridgeInterceptor.java#L76-L111
+    ResponseBody responseBody = response.body();
+    if ("gzip".equalsIgnoreCase(response.header("Content-Encoding")) && responseBody != null) {
+      GzipSource gzipSource = new GzipSource(responseBody.source());
+      String contentType = response.header("Content-Type");
+      responseBody =
+          ResponseBody.create(
+              contentType != null ? MediaType.parse(contentType) : null,
+              -1L,
+              Okio.buffer(gzipSource));
+    }
+    return responseBody;
   }
 
   private RequestBody wrapRequestBodyWithProgressEmitter(
@@ -628,9 +838,14 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
   }
 
   private synchronized void cancelAllRequests() {
+    mDispatcher.cancelAll();
     for (Integer requestId : mRequestIds) {
       cancelRequest(requestId);
     }
+    // Calls whose first request was aborted while others still waited for them
+    for (Integer callTag : mRequestDeduplicator.clear()) {
+      cancelRequest(callTag);
+    }
     mRequestIds.clear();
   }
 
@@ -652,11 +867,18 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
   @Override
   public void abortRequest(double requestIdAsDouble) {
     int requestId = (int) requestIdAsDouble;
-    cancelRequest(requestId);
+    int callTag = mRequestDeduplicator.abort(requestId);
+    if (callTag != RequestDeduplicator.NO_CALL) {
+      cancelRequest(callTag);
+    }
     removeRequest(requestId);
   }
 
   private void cancelRequest(final int requestId) {
+    if (mDispatcher.cancel(requestId)) {
+      // The call was still queued, or was cancelled before OkHttp could run it
+      return;
+    }
     // We have to use AsyncTask since this might trigger a NetworkOnMainThreadException, this is an
     // open issue on OkHttp: https://github.com/square/okhttp/issues/869
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
@@ -714,9 +936,8 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
           return null;
         }
         String fileContentUriStr = bodyPart.getString(REQUEST_BODY_KEY_URI);
-        InputStream fileInputStream =
-            RequestBodyUtil.getFileInputStream(getReactApplicationContext(), fileContentUriStr);
-        if (fileInputStream == null) {
+        RequestBody fileRequestBody = createFileRequestBody(partContentType, fileContentUriStr);
+        if (fileRequestBody == null) {
           ResponseUtil.onRequestError(
               eventEmitter,
               requestId,
@@ -724,7 +945,7 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
               null);
           return null;
         }
-        multipartBuilder.addPart(headers, RequestBodyUtil.create(partContentType, fileInputStream));
+        multipartBuilder.addPart(headers, fileRequestBody);
       } else {
         ResponseUtil.onRequestError(eventEmitter, requestId, "Unrecognized FormData part.", null);
       }
@@ -770,6 +991,13 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     ReactApplicationContext reactApplicationContext = getReactApplicationContextIfActiveOrWarn();
 
     if (reactApplicationContext != null) {
+      if (ReactFeatureFlags.enableDeviceEventBatching) {
+        DeviceEventManagerModule deviceEventManager =
+            reactApplicationContext.getNativeModule(DeviceEventManagerModule.class);
+        if (deviceEventManager != null) {
+          return deviceEventManager.getBatchedEventEmitter();
+        }
+      }
       return getReactApplicationContext().getJSModule(RCTDeviceEventEmitter.class);
     }
 
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import androidx.annotation.GuardedBy;
+import com.facebook.react.bridge.PerfCounters;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Response;
+
+/**
+ * Holds calls back before handing them to OkHttp so that each {@link RequestPriority} runs at most
+ * its own number of calls, and each host at most {@link #mMaxRequestsPerHost} calls. Since every
+ * priority has its own budget, large low priority transfers never delay high priority calls, and
+ * low priority calls still progress while high priority ones run. Within a priority, calls are run
+ * in order, skipping calls to hosts at their limit so that one busy host doesn't block the others.
+ */
+/* package */ class PriorityRequestDispatcher {
+
+  /* package */ static final int[] DEFAULT_MAX_REQUESTS = {16, 8, 2};
+  // Matches the default of OkHttp's Dispatcher, so that it doesn't queue calls on its own
+  /* package */ static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+
+  private static class QueuedCall {
+    private final Call mCall;
+    private final RequestPriority mPriority;
+    private final Callback mCallback;
+    private final String mHost;
+    private final long mQueuedAtNanos;
+
+    private QueuedCall(Call call, RequestPriority priority, Callback callback) {
+      mCall = call;
+      mPriority = priority;
+      mCallback = callback;
+      mHost = call.request().url().host();
+      mQueuedAtNanos = System.nanoTime();
+    }
+  }
+
+  private final int[] mMaxRequests;
+  private final int mMaxRequestsPerHost;
+  private final PerfCounters mStats;
+
+  @GuardedBy("this")
+  private final List<ArrayDeque<QueuedCall>> mQueues = new ArrayList<>();
+
+  @GuardedBy("this")
+  private final int[] mRunningCounts = new int[RequestPriority.values().length];
+
+  @GuardedBy("this")
+  private final Map<String, Integer> mRunningCountsByHost = new HashMap<>();
+
+  // Calls taken off their queue that aren't handed to OkHttp yet, which cancelTag can't find
+  @GuardedBy("this")
+  private final List<QueuedCall> mPromotedCalls = new ArrayList<>();
+
+  /* package */ PriorityRequestDispatcher(PerfCounters stats) {
+    this(DEFAULT_MAX_REQUESTS, DEFAULT_MAX_REQUESTS_PER_HOST, stats);
+  }
+
+  /**
+   * @param maxRequests the maximum number of running calls of each priority, indexed by ordinal
+   */
+  /* package */ PriorityRequestDispatcher(
+      int[] maxRequests, int maxRequestsPerHost, PerfCounters stats) {
+    mMaxRequests = maxRequests.clone();
+    mMaxRequestsPerHost = maxRequestsPerHost;
+    mStats = stats;
+    for (int i = 0; i < RequestPriority.values().length; i++) {
+      mQueues.add(new ArrayDeque<QueuedCall>());
+    }
+  }
+
+  /* package */ void enqueue(Call call, RequestPriority priority, Callback callback) {
+    int queueDepth;
+    synchronized (this) {
+      ArrayDeque<QueuedCall> queue = mQueues.get(priority.ordinal());
+      queue.add(new QueuedCall(call, priority, callback));
+      queueDepth = queue.size();
+    }
+    mStats.recordMax(priority.getQueueDepthStat(), queueDepth);
+    promoteAndRun();
+  }
+
+  /**
+   * Removes the queued call tagged with {@code tag}, or cancels it if it is being handed to OkHttp,
+   * which then fails it. Returns false if there is no such call, and the call may already be
+   * running.
+   */
+  /* package */ synchronized boolean cancel(Object tag) {
+    for (ArrayDeque<QueuedCall> queue : mQueues) {
+      Iterator<QueuedCall> iterator = queue.iterator();
+      while (iterator.hasNext()) {
+        if (tag.equals(iterator.next().mCall.request().tag())) {
+          iterator.remove();
+          return true;
+        }
+      }
+    }
+    for (QueuedCall promotedCall : mPromotedCalls) {
+      if (tag.equals(promotedCall.mCall.request().tag())) {
+        promotedCall.mCall.cancel();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Removes all queued calls. Running calls are not affected. */
+  /* package */ synchronized void cancelAll() {
+    for (ArrayDeque<QueuedCall> queue : mQueues) {
+      queue.clear();
+    }
+  }
+
+  /* package */ synchronized int getQueuedCount(RequestPriority priority) {
+    return mQueues.get(priority.ordinal()).size();
+  }
+
+  /* package */ synchronized int getRunningCount(RequestPriority priority) {
+    return mRunningCounts[priority.ordinal()];
+  }
+
+  private void promoteAndRun() {
+    List<QueuedCall> callsToRun = new ArrayList<>();
+    synchronized (this) {
+      for (RequestPriority priority : RequestPriority.values()) {
+        int index = priority.ordinal();
+        Iterator<QueuedCall> iterator = mQueues.get(index).iterator();
+        while (iterator.hasNext() && mRunningCounts[index] < mMaxRequests[index]) {
+          QueuedCall queuedCall = iterator.next();
+          Integer hostCount = mRunningCountsByHost.get(queuedCall.mHost);
+          int runningForHost = hostCount != null ? hostCount : 0;
+          if (runningForHost >= mMaxRequestsPerHost) {
+            continue;
+          }
+          iterator.remove();
+          mRunningCounts[index]++;
+          mRunningCountsByHost.put(queuedCall.mHost, runningForHost + 1);
+          mPromotedCalls.add(queuedCall);
+          callsToRun.add(queuedCall);
+        }
+      }
+    }
+
+    long now = System.nanoTime();
+    for (QueuedCall queuedCall : callsToRun) {
+      mStats.recordValue(queuedCall.mPriority.getQueueWaitStat(), now - queuedCall.mQueuedAtNanos);
+      run(queuedCall);
+      synchronized (this) {
+        mPromotedCalls.remove(queuedCall);
+      }
+    }
+  }
+
+  private void run(final QueuedCall queuedCall) {
+    queuedCall.mCall.enqueue(
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException e) {
+            try {
+              queuedCall.mCallback.onFailure(call, e);
+            } finally {
+              finished(queuedCall);
+            }
+          }
+
+          @Override
+          public void onResponse(Call call, Response response) throws IOException {
+            try {
+              queuedCall.mCallback.onResponse(call, response);
+            } finally {
+              finished(queuedCall);
+            }
+          }
+        });
+  }
+
+  private void finished(QueuedCall queuedCall) {
+    synchronized (this) {
+      mRunningCounts[queuedCall.mPriority.ordinal()]--;
+      int runningForHost = mRunningCountsByHost.get(queuedCall.mHost) - 1;
+      if (runningForHost == 0) {
+        mRunningCountsByHost.remove(queuedCall.mHost);
+      } else {
+        mRunningCountsByHost.put(queuedCall.mHost, runningForHost);
+      }
+    }
+    promoteAndRun();
+  }
+}
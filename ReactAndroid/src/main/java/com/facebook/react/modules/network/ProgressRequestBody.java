@@ -10,7 +10,9 @@ package com.facebook.react.modules.network;
 import java.io.IOException;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
+import okio.Buffer;
 import okio.BufferedSink;
+import okio.ForwardingSink;
 import okio.Okio;
 import okio.Sink;
 
@@ -42,8 +44,8 @@ public class ProgressRequestBody extends RequestBody {
   public void writeTo(BufferedSink sink) throws IOException {
     // In 99% of cases, this method is called strictly once.
     // The only case when it is called more than once is internal okhttp upload re-try.
-    // We need to re-create CountingOutputStream in this case as progress should be re-evaluated.
-    BufferedSink sinkWrapper = Okio.buffer(outputStreamSink(sink));
+    // We need to re-create the counting sink in this case as progress should be re-evaluated.
+    BufferedSink sinkWrapper = Okio.buffer(countingSink(sink));
 
     // contentLength changes for input streams, since we're using inputStream.available(),
     // so get the length before writing to the sink
@@ -53,27 +55,21 @@ public class ProgressRequestBody extends RequestBody {
     sinkWrapper.flush();
   }
 
-  private Sink outputStreamSink(BufferedSink sink) {
-    return Okio.sink(
-        new CountingOutputStream(sink.outputStream()) {
-          @Override
-          public void write(byte[] data, int offset, int byteCount) throws IOException {
-            super.write(data, offset, byteCount);
-            sendProgressUpdate();
-          }
+  /**
+   * Counts bytes as segments move to {@code sink}. Unlike wrapping {@link
+   * BufferedSink#outputStream()}, segments are handed over without being copied.
+   */
+  private Sink countingSink(BufferedSink sink) {
+    return new ForwardingSink(sink) {
+      private long mBytesWritten = 0L;
 
-          @Override
-          public void write(int data) throws IOException {
-            super.write(data);
-            sendProgressUpdate();
-          }
-
-          private void sendProgressUpdate() throws IOException {
-            long bytesWritten = getCount();
-            long contentLength = contentLength();
-            mProgressListener.onProgress(
-                bytesWritten, contentLength, bytesWritten == contentLength);
-          }
-        });
+      @Override
+      public void write(Buffer source, long byteCount) throws IOException {
+        super.write(source, byteCount);
+        mBytesWritten += byteCount;
+        long contentLength = contentLength();
+        mProgressListener.onProgress(mBytesWritten, contentLength, mBytesWritten == contentLength);
+      }
+    };
   }
 }
@@ -7,7 +7,9 @@
 
 package com.facebook.react.modules.network;
 
+import android.content.ContentResolver;
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
 import android.net.Uri;
 import androidx.annotation.Nullable;
 import com.facebook.common.logging.FLog;
@@ -15,6 +17,7 @@ import com.facebook.react.common.ReactConstants;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -138,6 +141,64 @@ import okio.Source;
     };
   }
 
+  /**
+   * Creates a RequestBody streaming the file given by its contentUri, which reopens the file on
+   * every write so that OkHttp can retry the upload. Unlike {@link #create(MediaType,
+   * InputStream)}, its length comes from the file descriptor, so upload progress is accurate.
+   * Returns null if the file can't be opened with a file descriptor, e.g. for network URIs, in
+   * which case {@link #getFileInputStream} should be used instead.
+   */
+  public static @Nullable RequestBody createFromUri(
+      Context context, @Nullable final MediaType mediaType, String fileContentUriStr) {
+    final Uri fileContentUri = Uri.parse(fileContentUriStr);
+    final ContentResolver contentResolver = context.getContentResolver();
+    String scheme = fileContentUri.getScheme();
+    if (scheme == null || scheme.startsWith("http")) {
+      return null;
+    }
+
+    final long contentLength;
+    try {
+      AssetFileDescriptor fileDescriptor =
+          contentResolver.openAssetFileDescriptor(fileContentUri, "r");
+      if (fileDescriptor == null) {
+        return null;
+      }
+      // UNKNOWN_LENGTH is -1, which makes OkHttp use chunked encoding
+      contentLength = fileDescriptor.getLength();
+      fileDescriptor.close();
+    } catch (Exception e) {
+      return null;
+    }
+
+    return new RequestBody() {
+      @Override
+      public MediaType contentType() {
+        return mediaType;
+      }
+
+      @Override
+      public long contentLength() {
+        return contentLength;
+      }
+
+      @Override
+      public void writeTo(BufferedSink sink) throws IOException {
+        InputStream inputStream = contentResolver.openInputStream(fileContentUri);
+        if (inputStream == null) {
+          throw new FileNotFoundException("Could not open " + fileContentUri);
+        }
+        Source source = null;
+        try {
+          source = Okio.source(inputStream);
+          sink.writeAll(source);
+        } finally {
+          Util.closeQuietly(source);
+        }
+      }
+    };
+  }
+
   /** Creates a ProgressRequestBody that can be used for showing uploading progress */
   public static ProgressRequestBody createProgressRequest(
       RequestBody requestBody, ProgressListener listener) {
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks in-flight idempotent requests so that identical requests sent while one is in flight join
+ * it instead of going to the network. The first request of a {@link Group} sends the call, tagged
+ * with its request id; the response is then delivered to every request of the group.
+ */
+/* package */ class RequestDeduplicator {
+
+  /** Returned by {@link #abort} when other requests still wait for the call. */
+  /* package */ static final int NO_CALL = -1;
+
+  /** A request waiting for the response of a shared call. */
+  /* package */ static class Waiter {
+    /* package */ final int requestId;
+    /* package */ final String responseType;
+
+    private Waiter(int requestId, String responseType) {
+      this.requestId = requestId;
+      this.responseType = responseType;
+    }
+  }
+
+  /** Requests sharing a single call. */
+  /* package */ static class Group {
+    private final String mKey;
+    private final int mCallTag;
+    private final List<Waiter> mWaiters = new ArrayList<>();
+
+    private Group(String key, int callTag) {
+      mKey = key;
+      mCallTag = callTag;
+    }
+  }
+
+  @GuardedBy("this")
+  private final Map<String, Group> mGroups = new HashMap<>();
+
+  @GuardedBy("this")
+  private final Map<Integer, Group> mGroupsByRequestId = new HashMap<>();
+
+  /**
+   * Adds {@code requestId} to the in-flight call for {@code key}. Returns null if there is one,
+   * otherwise a new group whose call must be sent by the caller, tagged with {@code requestId}.
+   */
+  /* package */ synchronized @Nullable Group join(
+      String key, int requestId, String responseType) {
+    Group group = mGroups.get(key);
+    boolean joined = group != null;
+    if (group == null) {
+      group = new Group(key, requestId);
+      mGroups.put(key, group);
+    }
+    group.mWaiters.add(new Waiter(requestId, responseType));
+    mGroupsByRequestId.put(requestId, group);
+    return joined ? null : group;
+  }
+
+  /**
+   * Called once the call of {@code group} completed, returns the requests to deliver its result to.
+   * Requests sent from now on start a new call.
+   */
+  /* package */ synchronized List<Waiter> finish(Group group) {
+    if (mGroups.get(group.mKey) == group) {
+      mGroups.remove(group.mKey);
+    }
+    for (Waiter waiter : group.mWaiters) {
+      mGroupsByRequestId.remove(waiter.requestId);
+    }
+    List<Waiter> waiters = new ArrayList<>(group.mWaiters);
+    group.mWaiters.clear();
+    return waiters;
+  }
+
+  /**
+   * Removes {@code requestId} from its group. Returns the tag of the call to cancel: {@code
+   * requestId} itself if it isn't deduplicated, the tag of the shared call if no other request
+   * waits for it, and {@link #NO_CALL} otherwise.
+   */
+  /* package */ synchronized int abort(int requestId) {
+    Group group = mGroupsByRequestId.remove(requestId);
+    if (group == null) {
+      return requestId;
+    }
+    for (int i = 0; i < group.mWaiters.size(); i++) {
+      if (group.mWaiters.get(i).requestId == requestId) {
+        group.mWaiters.remove(i);
+        break;
+      }
+    }
+    if (!group.mWaiters.isEmpty()) {
+      return NO_CALL;
+    }
+    if (mGroups.get(group.mKey) == group) {
+      mGroups.remove(group.mKey);
+    }
+    return group.mCallTag;
+  }
+
+  /** Forgets all groups and returns the tags of their calls. */
+  /* package */ synchronized List<Integer> clear() {
+    List<Integer> callTags = new ArrayList<>(mGroups.size());
+    for (Group group : mGroups.values()) {
+      callTags.add(group.mCallTag);
+    }
+    mGroups.clear();
+    mGroupsByRequestId.clear();
+    return callTags;
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import androidx.annotation.Nullable;
+import java.util.Locale;
+
+/**
+ * Priority of a request sent by {@link NetworkingModule}, set with the {@link #HEADER_NAME} request
+ * header. The header is removed before the request is sent.
+ */
+public enum RequestPriority {
+  /** Small requests gating what is on screen, e.g. API calls */
+  HIGH,
+  NORMAL,
+  /** Large background transfers, e.g. attachment uploads */
+  LOW;
+
+  public static final String HEADER_NAME = "x-react-native-priority";
+
+  private final String mQueueDepthStat = name() + ".queueDepth";
+  private final String mQueueWaitStat = name() + ".queueWaitNs";
+
+  /**
+   * Name of the largest number of requests of this priority queued at once by the priority
+   * dispatcher, in {@link NetworkingModule#getStats()}.
+   */
+  public String getQueueDepthStat() {
+    return mQueueDepthStat;
+  }
+
+  /**
+   * Name of the value of the time requests of this priority waited in the queue of the priority
+   * dispatcher, recorded for every request dispatched, in {@link NetworkingModule#getStats()}.
+   */
+  public String getQueueWaitStat() {
+    return mQueueWaitStat;
+  }
+
+  /** Returns the priority named {@code value} ignoring case, or {@link #NORMAL}. */
+  public static RequestPriority fromHeaderValue(@Nullable String value) {
+    if (value != null) {
+      for (RequestPriority priority : values()) {
+        if (priority.name().equals(value.trim().toUpperCase(Locale.ROOT))) {
+          return priority;
+        }
+      }
+    }
+    return NORMAL;
+  }
+}
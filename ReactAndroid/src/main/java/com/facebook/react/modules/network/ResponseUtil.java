@@ -11,6 +11,7 @@ import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.BatchedDeviceEventEmitter;
 import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
 import java.net.SocketTimeoutException;
 
@@ -22,9 +23,7 @@ public class ResponseUtil {
     args.pushInt(requestId);
     args.pushInt((int) progress);
     args.pushInt((int) total);
-    if (eventEmitter != null) {
-      eventEmitter.emit("didSendNetworkData", args);
-    }
+    emitProgress(eventEmitter, "didSendNetworkData", requestId, args);
   }
 
   public static void onIncrementalDataReceived(
@@ -51,9 +50,7 @@ public class ResponseUtil {
     args.pushInt((int) progress);
     args.pushInt((int) total);
 
-    if (eventEmitter != null) {
-      eventEmitter.emit("didReceiveNetworkDataProgress", args);
-    }
+    emitProgress(eventEmitter, "didReceiveNetworkDataProgress", requestId, args);
   }
 
   public static void onDataReceived(
@@ -119,4 +116,20 @@ public class ResponseUtil {
       eventEmitter.emit("didReceiveNetworkResponse", args);
     }
   }
+
+  /**
+   * Progress events only matter for their latest value, so when events are batched only the latest
+   * pending progress event of each request is sent to JS.
+   */
+  private static void emitProgress(
+      @Nullable RCTDeviceEventEmitter eventEmitter,
+      String eventName,
+      int requestId,
+      WritableArray args) {
+    if (eventEmitter instanceof BatchedDeviceEventEmitter) {
+      ((BatchedDeviceEventEmitter) eventEmitter).emitCoalesced(eventName, requestId, args);
+    } else if (eventEmitter != null) {
+      eventEmitter.emit(eventName, args);
+    }
+  }
 }
@@ -18,6 +18,7 @@ import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.ReactConstants;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 import com.facebook.react.modules.network.ForwardingCookieHandler;
@@ -62,6 +63,14 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
     ReactApplicationContext reactApplicationContext = getReactApplicationContextIfActiveOrWarn();
 
     if (reactApplicationContext != null) {
+      if (ReactFeatureFlags.enableDeviceEventBatching) {
+        DeviceEventManagerModule deviceEventManager =
+            reactApplicationContext.getNativeModule(DeviceEventManagerModule.class);
+        if (deviceEventManager != null) {
+          deviceEventManager.getBatchedEventEmitter().emit(eventName, params);
+          return;
+        }
+      }
       reactApplicationContext
           .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
           .emit(eventName, params);
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.processing;
+
+import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.tools.Diagnostic.Kind.ERROR;
+
+import com.facebook.infer.annotation.SuppressFieldNotInitialized;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.CatalystInstance;
+import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * This annotation processor finds all interfaces extending {@link JavaScriptModule} and generates a
+ * class per interface that is named {@code <interfacename>$$JSModuleStub}. The stub implements the
+ * interface by writing the arguments of each call straight into a {@link WritableNativeArray} and
+ * calling {@link CatalystInstance#callFunction}, so that {@code JavaScriptModuleRegistry} doesn't
+ * need a {@link java.lang.reflect.Proxy}, which boxes every argument and goes through reflection.
+ *
+ * <p>Interfaces with overloaded or generic methods, methods that return a value, or parameters of a
+ * type the bridge can't convert are skipped and keep using the proxy.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedSourceVersion(SourceVersion.RELEASE_7)
+public class JavaScriptModuleStubProcessor extends AbstractProcessor {
+
+  private static final ClassName ARGUMENTS_TYPE = ClassName.get(Arguments.class);
+  private static final ClassName CATALYST_INSTANCE_TYPE = ClassName.get(CatalystInstance.class);
+  private static final ClassName WRITABLE_NATIVE_ARRAY_TYPE =
+      ClassName.get(WritableNativeArray.class);
+
+  @SuppressFieldNotInitialized private Filer mFiler;
+  @SuppressFieldNotInitialized private Messager mMessager;
+  @SuppressFieldNotInitialized private Elements mElements;
+  @SuppressFieldNotInitialized private Types mTypes;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+
+    mFiler = processingEnv.getFiler();
+    mMessager = processingEnv.getMessager();
+    mElements = processingEnv.getElementUtils();
+    mTypes = processingEnv.getTypeUtils();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeElement jsModuleElement = mElements.getTypeElement(JavaScriptModule.class.getName());
+    if (jsModuleElement == null) {
+      return false;
+    }
+    TypeMirror jsModuleType = jsModuleElement.asType();
+
+    List<TypeElement> interfaces = new ArrayList<>();
+    collectInterfaces(ElementFilter.typesIn(roundEnv.getRootElements()), interfaces);
+    for (TypeElement type : interfaces) {
+      if (type.equals(jsModuleElement)
+          || type.getModifiers().contains(PRIVATE)
+          || !mTypes.isAssignable(type.asType(), jsModuleType)) {
+        continue;
+      }
+      try {
+        generateStub(type);
+      } catch (IOException e) {
+        error(type, e.getMessage());
+      }
+    }
+
+    // Never claim annotations, this processor only looks at interfaces
+    return false;
+  }
+
+  private void collectInterfaces(List<TypeElement> types, List<TypeElement> outInterfaces) {
+    for (TypeElement type : types) {
+      if (type.getKind() == ElementKind.INTERFACE) {
+        outInterfaces.add(type);
+      }
+      collectInterfaces(ElementFilter.typesIn(type.getEnclosedElements()), outInterfaces);
+    }
+  }
+
+  private void generateStub(TypeElement type) throws IOException {
+    ClassName interfaceName = ClassName.get(type);
+    // Same as JavaScriptModuleRegistry#getJSModuleName
+    String jsModuleName = interfaceName.simpleName();
+    jsModuleName = jsModuleName.substring(jsModuleName.lastIndexOf('$') + 1);
+
+    TypeSpec.Builder stubClass =
+        TypeSpec.classBuilder(getClassName(type, interfaceName.packageName()) + "$$JSModuleStub")
+            .addModifiers(PUBLIC, FINAL)
+            .addSuperinterface(interfaceName)
+            .addField(CATALYST_INSTANCE_TYPE, "mCatalystInstance", PRIVATE, FINAL)
+            .addMethod(
+                MethodSpec.constructorBuilder()
+                    .addModifiers(PUBLIC)
+                    .addParameter(CATALYST_INSTANCE_TYPE, "catalystInstance")
+                    .addStatement("mCatalystInstance = catalystInstance")
+                    .build());
+
+    Set<String> methodNames = new HashSet<>();
+    for (ExecutableElement method : ElementFilter.methodsIn(mElements.getAllMembers(type))) {
+      if (!method.getModifiers().contains(ABSTRACT)) {
+        continue;
+      }
+      MethodSpec methodSpec = generateMethod(jsModuleName, method);
+      if (methodSpec == null || !methodNames.add(method.getSimpleName().toString())) {
+        // Unsupported signature or overloaded method, leave this interface to the proxy
+        return;
+      }
+      stubClass.addMethod(methodSpec);
+    }
+
+    JavaFile.builder(interfaceName.packageName(), stubClass.build())
+        .addFileComment("Generated by " + getClass().getName())
+        .build()
+        .writeTo(mFiler);
+  }
+
+  private @Nullable MethodSpec generateMethod(String jsModuleName, ExecutableElement method) {
+    if (method.getReturnType().getKind() != TypeKind.VOID
+        || !method.getTypeParameters().isEmpty()) {
+      return null;
+    }
+
+    MethodSpec.Builder builder = MethodSpec.overriding(method);
+    CodeBlock.Builder body = CodeBlock.builder();
+    body.addStatement(
+        "$T nativeArgs = new $T()", WRITABLE_NATIVE_ARRAY_TYPE, WRITABLE_NATIVE_ARRAY_TYPE);
+    for (VariableElement parameter : method.getParameters()) {
+      CodeBlock push = generatePush(parameter.asType(), parameter.getSimpleName().toString());
+      if (push == null) {
+        return null;
+      }
+      body.add(push);
+    }
+    body.addStatement(
+        "mCatalystInstance.callFunction($S, $S, nativeArgs)",
+        jsModuleName,
+        method.getSimpleName().toString());
+    return builder.addCode(body.build()).build();
+  }
+
+  /**
+   * Mirrors the conversions of {@link Arguments#fromJavaArgs}, without boxing. Parameters typed
+   * {@code Object} are converted at runtime like {@link Arguments#fromJavaArgs} does.
+   */
+  private @Nullable CodeBlock generatePush(TypeMirror type, String name) {
+    TypeName typeName = TypeName.get(type);
+    if (typeName.equals(TypeName.BOOLEAN)) {
+      return CodeBlock.of("nativeArgs.pushBoolean($L);\n", name);
+    } else if (typeName.equals(TypeName.INT)
+        || typeName.equals(TypeName.DOUBLE)
+        || typeName.equals(TypeName.FLOAT)) {
+      return CodeBlock.of("nativeArgs.pushDouble($L);\n", name);
+    } else if (typeName.equals(TypeName.BOOLEAN.box())) {
+      return CodeBlock.builder()
+          .beginControlFlow("if ($L == null)", name)
+          .addStatement("nativeArgs.pushNull()")
+          .nextControlFlow("else")
+          .addStatement("nativeArgs.pushBoolean($L)", name)
+          .endControlFlow()
+          .build();
+    } else if (typeName.equals(TypeName.INT.box())
+        || typeName.equals(TypeName.DOUBLE.box())
+        || typeName.equals(TypeName.FLOAT.box())) {
+      return CodeBlock.builder()
+          .beginControlFlow("if ($L == null)", name)
+          .addStatement("nativeArgs.pushNull()")
+          .nextControlFlow("else")
+          .addStatement("nativeArgs.pushDouble($L.doubleValue())", name)
+          .endControlFlow()
+          .build();
+    } else if (typeName.equals(TypeName.get(String.class))) {
+      return CodeBlock.of("nativeArgs.pushString($L);\n", name);
+    } else if (isAssignable(type, ReadableMap.class)) {
+      return CodeBlock.of("nativeArgs.pushMap($L);\n", name);
+    } else if (isAssignable(type, ReadableArray.class)) {
+      return CodeBlock.of("nativeArgs.pushArray($L);\n", name);
+    } else if (typeName.equals(TypeName.OBJECT)) {
+      return CodeBlock.of("$T.pushJavaArg(nativeArgs, $L);\n", ARGUMENTS_TYPE, name);
+    }
+    return null;
+  }
+
+  private boolean isAssignable(TypeMirror type, Class<?> cls) {
+    TypeElement element = mElements.getTypeElement(cls.getName());
+    return element != null && mTypes.isAssignable(type, element.asType());
+  }
+
+  private String getClassName(TypeElement type, String packageName) {
+    int packageLen = packageName.isEmpty() ? 0 : packageName.length() + 1;
+    return type.getQualifiedName().toString().substring(packageLen).replace('.', '$');
+  }
+
+  private void error(Element element, String message) {
+    mMessager.printMessage(ERROR, message, element);
+  }
+}
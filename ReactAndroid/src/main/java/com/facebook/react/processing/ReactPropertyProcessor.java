@@ -8,6 +8,7 @@
 package com.facebook.react.processing;
 
 import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.tools.Diagnostic.Kind.ERROR;
@@ -38,6 +39,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import javax.annotation.Nullable;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
@@ -45,6 +47,7 @@ import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
@@ -62,10 +65,22 @@ import javax.lang.model.util.Types;
  * shadow node/view manager that is named {@code <classname>$$PropsSetter}. This class contains
  * methods to retrieve the name and type of all methods and a way to set these properties without
  * reflection.
+ *
+ * <p>When the {@code react.generatePropsSetterRegistrars} option is {@code true}, the processor
+ * also generates a {@code $$PropsSetterRegistrar} class in every package with setters, registering
+ * all of them with {@code ViewManagerPropertyUpdater}. The registrar lives in the same package as
+ * the classes it registers, so that it can reference package-private ones. {@code
+ * ViewManagerPropertyUpdater} then looks up one registrar per package instead of one setter per
+ * class.
  */
 @SupportedAnnotationTypes("com.facebook.react.uimanager.annotations.ReactPropertyHolder")
+@SupportedOptions(ReactPropertyProcessor.OPTION_GENERATE_REGISTRARS)
 @SupportedSourceVersion(SourceVersion.RELEASE_7)
 public class ReactPropertyProcessor extends AbstractProcessor {
+  public static final String OPTION_GENERATE_REGISTRARS = "react.generatePropsSetterRegistrars";
+  // Must match the name ViewManagerPropertyUpdater looks up
+  public static final String REGISTRAR_CLASS_NAME = "$$PropsSetterRegistrar";
+
   private static final Map<TypeName, String> DEFAULT_TYPES;
   private static final Set<TypeName> BOXED_PRIMITIVES;
 
@@ -89,6 +104,11 @@ public class ReactPropertyProcessor extends AbstractProcessor {
   private static final ClassName SHADOW_NODE_SETTER_TYPE =
       ClassName.get(
           "com.facebook.react.uimanager", "ViewManagerPropertyUpdater", "ShadowNodeSetter");
+  private static final ClassName SETTER_REGISTRAR_TYPE =
+      ClassName.get(
+          "com.facebook.react.uimanager", "ViewManagerPropertyUpdater", "SetterRegistrar");
+  private static final ClassName PROPERTY_UPDATER_TYPE =
+      ClassName.get("com.facebook.react.uimanager", "ViewManagerPropertyUpdater");
 
   private static final TypeName PROPERTY_MAP_TYPE =
       ParameterizedTypeName.get(Map.class, String.class, String.class);
@@ -96,6 +116,9 @@ public class ReactPropertyProcessor extends AbstractProcessor {
       ParameterizedTypeName.get(HashMap.class, String.class, String.class);
 
   private final Map<ClassName, ClassInfo> mClasses;
+  // Setters generated in all rounds so far by package, written to the registrars once processing
+  // is over
+  private final Map<String, List<RegistryEntry>> mRegistryEntries;
 
   @SuppressFieldNotInitialized private Filer mFiler;
   @SuppressFieldNotInitialized private Messager mMessager;
@@ -129,6 +152,7 @@ public class ReactPropertyProcessor extends AbstractProcessor {
 
   public ReactPropertyProcessor() {
     mClasses = new HashMap<>();
+    mRegistryEntries = new TreeMap<>();
   }
 
   @Override
@@ -143,6 +167,15 @@ public class ReactPropertyProcessor extends AbstractProcessor {
 
   @Override
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      try {
+        generateRegistrars();
+      } catch (IOException e) {
+        error(e.getMessage());
+      }
+      return true;
+    }
+
     // Clear properties from previous rounds
     mClasses.clear();
 
@@ -277,6 +310,56 @@ public class ReactPropertyProcessor extends AbstractProcessor {
             .build();
 
     javaFile.writeTo(mFiler);
+
+    List<RegistryEntry> packageEntries = mRegistryEntries.get(className.packageName());
+    if (packageEntries == null) {
+      packageEntries = new ArrayList<>();
+      mRegistryEntries.put(className.packageName(), packageEntries);
+    }
+    packageEntries.add(
+        new RegistryEntry(
+            className,
+            ClassName.get(className.packageName(), holderClassName),
+            classInfo.getType()));
+  }
+
+  private void generateRegistrars() throws IOException {
+    if (!Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_GENERATE_REGISTRARS))) {
+      return;
+    }
+
+    for (Map.Entry<String, List<RegistryEntry>> packageEntries : mRegistryEntries.entrySet()) {
+      CodeBlock.Builder registrations = CodeBlock.builder();
+      for (RegistryEntry entry : packageEntries.getValue()) {
+        registrations.addStatement(
+            "$T.$L($T.class, new $T())",
+            PROPERTY_UPDATER_TYPE,
+            entry.mType == SettableType.VIEW_MANAGER
+                ? "registerViewManagerSetter"
+                : "registerShadowNodeSetter",
+            entry.mTargetClassName,
+            entry.mSetterClassName);
+      }
+
+      TypeSpec registrarClass =
+          TypeSpec.classBuilder(REGISTRAR_CLASS_NAME)
+              .addSuperinterface(SETTER_REGISTRAR_TYPE)
+              .addModifiers(PUBLIC, FINAL)
+              .addMethod(
+                  MethodSpec.methodBuilder("registerSetters")
+                      .addModifiers(PUBLIC)
+                      .addAnnotation(Override.class)
+                      .returns(TypeName.VOID)
+                      .addCode(registrations.build())
+                      .build())
+              .build();
+
+      JavaFile.builder(packageEntries.getKey(), registrarClass)
+          .addFileComment("Generated by " + getClass().getName())
+          .build()
+          .writeTo(mFiler);
+    }
+    mRegistryEntries.clear();
   }
 
   private String getClassName(TypeElement type, String packageName) {
@@ -567,6 +650,18 @@ public class ReactPropertyProcessor extends AbstractProcessor {
     SHADOW_NODE
   }
 
+  private static class RegistryEntry {
+    public final ClassName mTargetClassName;
+    public final ClassName mSetterClassName;
+    public final SettableType mType;
+
+    public RegistryEntry(ClassName targetClassName, ClassName setterClassName, SettableType type) {
+      mTargetClassName = targetClassName;
+      mSetterClassName = setterClassName;
+      mType = type;
+    }
+  }
+
   private static class ClassInfo {
     public final ClassName mClassName;
     public final Element mElement;
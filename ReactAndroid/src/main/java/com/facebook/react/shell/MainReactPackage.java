@@ -223,6 +223,7 @@ public class MainReactPackage extends TurboReactPackage {
                 moduleClass.getName(),
                 reactModule.canOverrideExistingModule(),
                 reactModule.needsEagerInit(),
+                reactModule.needsBackgroundInit(),
                 reactModule.hasConstants(),
                 reactModule.isCxxModule(),
                 TurboModule.class.isAssignableFrom(moduleClass)));
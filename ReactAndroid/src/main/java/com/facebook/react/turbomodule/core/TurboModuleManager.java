@@ -7,7 +7,6 @@
 
 package com.facebook.react.turbomodule.core;
 
-import androidx.annotation.GuardedBy;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.facebook.infer.annotation.Assertions;
@@ -22,6 +21,7 @@ import com.facebook.react.turbomodule.core.interfaces.TurboModule;
 import com.facebook.react.turbomodule.core.interfaces.TurboModuleRegistry;
 import com.facebook.soloader.SoLoader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is the main class and entry point for TurboModules. Note that this is a hybrid class, and
@@ -31,18 +31,20 @@ import java.util.*;
 public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
   private static volatile boolean sIsSoLibraryLoaded;
   private final List<String> mEagerInitModuleNames;
+  private final List<String> mBackgroundInitModuleNames;
   private final TurboModuleProvider mJavaModuleProvider;
   private final TurboModuleProvider mCxxModuleProvider;
 
   // Prevents the creation of new TurboModules once cleanup as been initiated.
   private final Object mTurboModuleCleanupLock = new Object();
 
-  @GuardedBy("mTurboModuleCleanupLock")
-  private boolean mTurboModuleCleanupStarted = false;
+  // Only written while holding mTurboModuleCleanupLock. Volatile so that the lock-free path in
+  // getModule(moduleName) observes the start of cleanup.
+  private volatile boolean mTurboModuleCleanupStarted = false;
 
-  // List of TurboModules that have been, or are currently being, instantiated
-  @GuardedBy("mTurboModuleCleanupLock")
-  private final Map<String, TurboModuleHolder> mTurboModuleHolders = new HashMap<>();
+  // List of TurboModules that have been, or are currently being, instantiated. Holders are only
+  // added while holding mTurboModuleCleanupLock, but can be read without it.
+  private final Map<String, TurboModuleHolder> mTurboModuleHolders = new ConcurrentHashMap<>();
 
   @DoNotStrip
   @SuppressWarnings("unused")
@@ -66,6 +68,8 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
 
     mEagerInitModuleNames =
         delegate == null ? new ArrayList<String>() : delegate.getEagerInitModuleNames();
+    mBackgroundInitModuleNames =
+        delegate == null ? new ArrayList<String>() : delegate.getBackgroundInitModuleNames();
 
     mJavaModuleProvider =
         new TurboModuleProvider() {
@@ -104,6 +108,14 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
     return mEagerInitModuleNames;
   }
 
+  /**
+   * Names of the TurboModules that should be created off the critical path, right after the
+   * TurboModuleManager is set up, instead of on first use.
+   */
+  public List<String> getBackgroundInitModuleNames() {
+    return mBackgroundInitModuleNames;
+  }
+
   @DoNotStrip
   @Nullable
   private CxxModuleWrapper getLegacyCxxModule(String moduleName) {
@@ -134,7 +146,23 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
    */
   @Nullable
   public TurboModule getModule(String moduleName) {
-    TurboModuleHolder moduleHolder;
+    TurboModuleHolder moduleHolder = mTurboModuleHolders.get(moduleName);
+
+    // Fast path: TurboModules that are already created don't need any locking.
+    if (moduleHolder != null && moduleHolder.isDoneCreatingModule()) {
+      if (mTurboModuleCleanupStarted) {
+        return null;
+      }
+      TurboModulePerfLogger.moduleCreateStart(moduleName, moduleHolder.getModuleId());
+      TurboModulePerfLogger.moduleCreateCacheHit(moduleName, moduleHolder.getModuleId());
+      TurboModule module = moduleHolder.getModule();
+      if (module != null) {
+        TurboModulePerfLogger.moduleCreateEnd(moduleName, moduleHolder.getModuleId());
+      } else {
+        TurboModulePerfLogger.moduleCreateFail(moduleName, moduleHolder.getModuleId());
+      }
+      return module;
+    }
 
     synchronized (mTurboModuleCleanupLock) {
       if (mTurboModuleCleanupStarted) {
@@ -144,15 +172,11 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
         return null;
       }
 
-      /*
-       * TODO(T64619790): Should we populate mJavaTurboModuleHolders ahead of time, to avoid having
-       * * to control concurrent access to it?
-       */
-      if (!mTurboModuleHolders.containsKey(moduleName)) {
-        mTurboModuleHolders.put(moduleName, new TurboModuleHolder());
-      }
-
       moduleHolder = mTurboModuleHolders.get(moduleName);
+      if (moduleHolder == null) {
+        moduleHolder = new TurboModuleHolder();
+        mTurboModuleHolders.put(moduleName, moduleHolder);
+      }
     }
 
     TurboModulePerfLogger.moduleCreateStart(moduleName, moduleHolder.getModuleId());
@@ -254,10 +278,8 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
 
   /** Which TurboModules have been created? */
   public Collection<TurboModule> getModules() {
-    final List<TurboModuleHolder> turboModuleHolders = new ArrayList<>();
-    synchronized (mTurboModuleCleanupLock) {
-      turboModuleHolders.addAll(mTurboModuleHolders.values());
-    }
+    final List<TurboModuleHolder> turboModuleHolders =
+        new ArrayList<>(mTurboModuleHolders.values());
 
     final List<TurboModule> turboModules = new ArrayList<>();
     for (final TurboModuleHolder moduleHolder : turboModuleHolders) {
@@ -273,20 +295,8 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
   }
 
   public boolean hasModule(String moduleName) {
-    TurboModuleHolder moduleHolder;
-    synchronized (mTurboModuleCleanupLock) {
-      moduleHolder = mTurboModuleHolders.get(moduleName);
-    }
-
-    if (moduleHolder != null) {
-      synchronized (moduleHolder) {
-        if (moduleHolder.getModule() != null) {
-          return true;
-        }
-      }
-    }
-
-    return false;
+    TurboModuleHolder moduleHolder = mTurboModuleHolders.get(moduleName);
+    return moduleHolder != null && moduleHolder.getModule() != null;
   }
 
   private native HybridData initHybrid(
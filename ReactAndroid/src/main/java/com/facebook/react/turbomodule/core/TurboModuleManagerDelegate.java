@@ -49,6 +49,14 @@ public abstract class TurboModuleManagerDelegate {
     return new ArrayList<>();
   }
 
+  /**
+   * Names of the TurboModules that should be created in the background as soon as the
+   * TurboModuleManager is set up, rather than the first time they are required.
+   */
+  public List<String> getBackgroundInitModuleNames() {
+    return new ArrayList<>();
+  }
+
   // Prevents issues with initializer interruptions. See T38996825 and D13793825 for more context.
   private static synchronized void maybeLoadSoLibrary() {
     if (!sIsSoLibraryLoaded) {
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import android.graphics.Matrix;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import androidx.annotation.Nullable;
+import com.facebook.react.touch.ReactHitSlopView;
+import java.util.WeakHashMap;
+
+/**
+ * Acceleration structure used by {@link TouchTargetHelper} to skip subtrees that cannot contain
+ * the touch target.
+ *
+ * <p>For every view visited during hit testing we remember the bounds, in the view's own coordinate
+ * space, of every point that the view or any of its descendants could accept (including hit slop
+ * and children overflowing their parents), together with the inverse of the view's transform. A
+ * subtree whose bounds do not contain the touch point is never descended into.
+ *
+ * <p>Entries are computed lazily, bottom-up as hit testing visits views: the bounds of a view that
+ * doesn't clip its children are only known once the entries of its non-trivial children are, and
+ * until then the view is {@link Entry#unbounded} and its subtree is traversed as without the cache.
+ * So computing entries never walks more of the tree than hit testing itself does.
+ *
+ * <p>Entries are invalidated in bulk, by bumping the cache generation, when a layout pass or a
+ * scroll happens in the window of the root, and through {@link #invalidateAll()} when the mounting
+ * layer changes the layout, children or props (hitSlop, overflow, transform) of views, which
+ * doesn't necessarily go through a layout pass. While the root has a pending layout, the cache is
+ * bypassed entirely.
+ *
+ * <p>This class is confined to the UI thread.
+ */
+/* package */ class HitTestBoundsCache
+    implements ViewTreeObserver.OnGlobalLayoutListener, ViewTreeObserver.OnScrollChangedListener {
+
+  private static final WeakHashMap<View, HitTestBoundsCache> sCaches = new WeakHashMap<>();
+  private static int sInvalidationCount;
+
+  /* package */ static class Entry {
+    int generation = -1;
+    /**
+     * Whether the bounds of some descendants aren't known yet, in which case any point may hit the
+     * subtree.
+     */
+    boolean unbounded;
+    float left;
+    float top;
+    float right;
+    float bottom;
+    boolean hasTransform;
+    @Nullable Matrix inverseMatrix;
+
+    boolean contains(float x, float y) {
+      return unbounded || (x >= left && x < right && y >= top && y < bottom);
+    }
+  }
+
+  private final WeakHashMap<View, Entry> mEntries = new WeakHashMap<>();
+  private final RectF mTempRect = new RectF();
+  private @Nullable ViewTreeObserver mObserver;
+  private int mGeneration;
+  private int mSeenInvalidationCount;
+
+  /**
+   * Returns the cache for the given root, or null if the hierarchy under it is waiting for a layout
+   * pass and cached bounds can't be trusted.
+   */
+  /* package */ static @Nullable HitTestBoundsCache getForRoot(View root) {
+    if (!root.isAttachedToWindow() || root.isLayoutRequested()) {
+      return null;
+    }
+    HitTestBoundsCache cache = sCaches.get(root);
+    if (cache == null) {
+      cache = new HitTestBoundsCache();
+      sCaches.put(root, cache);
+    }
+    cache.ensureObserving(root);
+    if (cache.mSeenInvalidationCount != sInvalidationCount) {
+      cache.mSeenInvalidationCount = sInvalidationCount;
+      cache.mGeneration++;
+    }
+    return cache;
+  }
+
+  /**
+   * Invalidates the caches of all roots. Used for changes that affect hit testing but don't
+   * necessarily cause a layout pass, like updates to the layout, children, hitSlop or overflow of
+   * views made by the mounting layer.
+   */
+  /* package */ static void invalidateAll() {
+    sInvalidationCount++;
+  }
+
+  private void ensureObserving(View root) {
+    ViewTreeObserver observer = root.getViewTreeObserver();
+    if (observer == mObserver) {
+      return;
+    }
+    if (mObserver != null && mObserver.isAlive()) {
+      mObserver.removeOnGlobalLayoutListener(this);
+      mObserver.removeOnScrollChangedListener(this);
+    }
+    // A new observer means the root was re-attached: nothing cached so far can be trusted.
+    mGeneration++;
+    mObserver = observer;
+    observer.addOnGlobalLayoutListener(this);
+    observer.addOnScrollChangedListener(this);
+  }
+
+  @Override
+  public void onGlobalLayout() {
+    mGeneration++;
+  }
+
+  @Override
+  public void onScrollChanged() {
+    mGeneration++;
+  }
+
+  /**
+   * Returns the entry for {@code view}. Its bounds are computed from the entries of its children
+   * that are up to date; children that would need their own subtree to be walked are not computed
+   * here, and leave the entry {@link Entry#unbounded} until hit testing has visited them.
+   */
+  /* package */ Entry getEntry(View view) {
+    Entry entry = mEntries.get(view);
+    if (entry == null) {
+      entry = new Entry();
+      mEntries.put(view, entry);
+    } else if (entry.generation == mGeneration && !entry.unbounded) {
+      return entry;
+    }
+
+    if (entry.generation != mGeneration) {
+      entry.generation = mGeneration;
+      Matrix matrix = view.getMatrix();
+      entry.hasTransform = !matrix.isIdentity();
+      if (entry.hasTransform) {
+        if (entry.inverseMatrix == null) {
+          entry.inverseMatrix = new Matrix();
+        }
+        matrix.invert(entry.inverseMatrix);
+      }
+    }
+
+    // Bounds of the view itself, the same area that TouchTargetHelper#isTouchPointInView accepts.
+    entry.unbounded = false;
+    entry.left = 0;
+    entry.top = 0;
+    entry.right = view.getWidth();
+    entry.bottom = view.getHeight();
+    if (view instanceof ReactHitSlopView) {
+      Rect hitSlopRect = ((ReactHitSlopView) view).getHitSlopRect();
+      if (hitSlopRect != null) {
+        entry.left -= hitSlopRect.left;
+        entry.top -= hitSlopRect.top;
+        entry.right += hitSlopRect.right;
+        entry.bottom += hitSlopRect.bottom;
+      }
+    }
+
+    // Children of views that clip can only be hit when the point is within the clipping view, so
+    // they never extend its bounds.
+    if (!(view instanceof ViewGroup) || clipsChildrenForTouch((ViewGroup) view)) {
+      return entry;
+    }
+
+    ViewGroup viewGroup = (ViewGroup) view;
+    float offsetX = -viewGroup.getScrollX();
+    float offsetY = -viewGroup.getScrollY();
+    RectF childBounds = mTempRect;
+    for (int i = 0, childCount = viewGroup.getChildCount(); i < childCount; i++) {
+      View child = viewGroup.getChildAt(i);
+      Entry childEntry = mEntries.get(child);
+      if (childEntry == null || childEntry.generation != mGeneration || childEntry.unbounded) {
+        if (hasOverflowingChildren(child)) {
+          entry.unbounded = true;
+          return entry;
+        }
+        // Leaves and views clipping their children are computed without walking their subtree
+        childEntry = getEntry(child);
+      }
+      childBounds.set(childEntry.left, childEntry.top, childEntry.right, childEntry.bottom);
+      if (childEntry.hasTransform) {
+        child.getMatrix().mapRect(childBounds);
+      }
+      childBounds.offset(child.getLeft() + offsetX, child.getTop() + offsetY);
+      entry.left = Math.min(entry.left, childBounds.left);
+      entry.top = Math.min(entry.top, childBounds.top);
+      entry.right = Math.max(entry.right, childBounds.right);
+      entry.bottom = Math.max(entry.bottom, childBounds.bottom);
+    }
+    return entry;
+  }
+
+  private static boolean hasOverflowingChildren(View view) {
+    return view instanceof ViewGroup
+        && ((ViewGroup) view).getChildCount() > 0
+        && !clipsChildrenForTouch((ViewGroup) view);
+  }
+
+  /** Mirrors the early exits of {@code TouchTargetHelper#findTouchTargetView}. */
+  private static boolean clipsChildrenForTouch(ViewGroup viewGroup) {
+    if (viewGroup.getClipChildren()) {
+      return true;
+    }
+    if (viewGroup instanceof ReactOverflowViewWithInset) {
+      @Nullable String overflow = ((ReactOverflowViewWithInset) viewGroup).getOverflow();
+      return ViewProps.HIDDEN.equals(overflow) || ViewProps.SCROLL.equals(overflow);
+    }
+    return false;
+  }
+}
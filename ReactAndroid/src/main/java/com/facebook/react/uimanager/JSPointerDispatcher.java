@@ -18,8 +18,6 @@ import com.facebook.react.uimanager.events.PointerEvent;
 import com.facebook.react.uimanager.events.PointerEventHelper;
 import com.facebook.react.uimanager.events.TouchEvent;
 import com.facebook.react.uimanager.events.TouchEventCoalescingKeyHelper;
-import java.util.Collections;
-import java.util.List;
 
 /**
  * JSPointerDispatcher handles dispatching pointer events to JS from RootViews. If you implement
@@ -40,7 +38,8 @@ public class JSPointerDispatcher {
 
   // Set globally for hover interactions, referenced for coalescing hover events
   private long mHoverInteractionKey = TouchEvent.UNSET;
-  private List<Integer> mLastHitState = Collections.emptyList();
+  private TouchTargetPath mLastHitState = new TouchTargetPath();
+  private TouchTargetPath mCurrHitState = new TouchTargetPath();
   private final float[] mLastEventCoordinates = new float[2];
 
   public JSPointerDispatcher(ViewGroup viewGroup) {
@@ -209,15 +208,15 @@ public class JSPointerDispatcher {
       mTouchEventCoalescingKeyHelper.addCoalescingKey(mHoverInteractionKey);
     }
 
-    List<Integer> currHitState =
-        TouchTargetHelper.findTargetPathAndCoordinatesForTouch(
-            x, y, mRootViewGroup, mTargetCoordinates);
+    TouchTargetPath currHitState = mCurrHitState;
+    TouchTargetHelper.findTargetPathAndCoordinatesForTouch(
+        x, y, mRootViewGroup, mTargetCoordinates, currHitState);
 
     // If child is handling, eliminate target tags under handling child
     if (mChildHandlingNativeGesture > 0) {
       int index = currHitState.indexOf(mChildHandlingNativeGesture);
       if (index > 0) {
-        currHitState.subList(0, index).clear();
+        currHitState.removeFirst(index);
       }
     }
 
@@ -232,9 +231,8 @@ public class JSPointerDispatcher {
     // FIXME: this may generate incorrect events when view collapsing changes the hierarchy
     int firstDivergentIndex = 0;
     while (firstDivergentIndex < Math.min(currHitState.size(), mLastHitState.size())
-        && currHitState
-            .get(currHitState.size() - 1 - firstDivergentIndex)
-            .equals(mLastHitState.get(mLastHitState.size() - 1 - firstDivergentIndex))) {
+        && currHitState.get(currHitState.size() - 1 - firstDivergentIndex)
+            == mLastHitState.get(mLastHitState.size() - 1 - firstDivergentIndex)) {
       firstDivergentIndex++;
     }
 
@@ -245,25 +243,19 @@ public class JSPointerDispatcher {
       // If something has changed in either enter/exit, let's start a new coalescing key
       mTouchEventCoalescingKeyHelper.incrementCoalescingKey(mHoverInteractionKey);
 
-      List<Integer> enterTargetTags =
-          currHitState.subList(0, currHitState.size() - firstDivergentIndex);
-      if (enterTargetTags.size() > 0) {
-        for (Integer enterTargetTag : enterTargetTags) {
-          eventDispatcher.dispatchEvent(
-              PointerEvent.obtain(
-                  PointerEventHelper.POINTER_ENTER, surfaceId, enterTargetTag, motionEvent));
-        }
+      int enterTargetCount = currHitState.size() - firstDivergentIndex;
+      for (int i = 0; i < enterTargetCount; i++) {
+        eventDispatcher.dispatchEvent(
+            PointerEvent.obtain(
+                PointerEventHelper.POINTER_ENTER, surfaceId, currHitState.get(i), motionEvent));
       }
 
       // Fire all relevant exit events
-      List<Integer> exitTargetTags =
-          mLastHitState.subList(0, mLastHitState.size() - firstDivergentIndex);
-      if (exitTargetTags.size() > 0) {
-        for (Integer exitTargetTag : exitTargetTags) {
-          eventDispatcher.dispatchEvent(
-              PointerEvent.obtain(
-                  PointerEventHelper.POINTER_LEAVE, surfaceId, exitTargetTag, motionEvent));
-        }
+      int exitTargetCount = mLastHitState.size() - firstDivergentIndex;
+      for (int i = 0; i < exitTargetCount; i++) {
+        eventDispatcher.dispatchEvent(
+            PointerEvent.obtain(
+                PointerEventHelper.POINTER_LEAVE, surfaceId, mLastHitState.get(i), motionEvent));
       }
     }
 
@@ -272,6 +264,8 @@ public class JSPointerDispatcher {
         PointerEvent.obtain(
             PointerEventHelper.POINTER_MOVE, surfaceId, targetTag, motionEvent, coalescingKey));
 
+    // Swap the buffers so that the next hover event reuses the previous path's storage
+    mCurrHitState = mLastHitState;
     mLastHitState = currHitState;
     mLastEventCoordinates[0] = x;
     mLastEventCoordinates[1] = y;
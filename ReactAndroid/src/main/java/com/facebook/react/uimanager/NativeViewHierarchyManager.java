@@ -140,6 +140,7 @@ public class NativeViewHierarchyManager {
 
       if (props != null) {
         viewManager.updateProperties(viewToUpdate, props);
+        TouchTargetHelper.invalidateHitTestCache();
       }
     } catch (IllegalViewOperationException e) {
       FLog.e(TAG, "Unable to update properties for view tag " + tag, e);
@@ -248,6 +249,7 @@ public class NativeViewHierarchyManager {
   }
 
   private void updateLayout(View viewToUpdate, int x, int y, int width, int height) {
+    TouchTargetHelper.invalidateHitTestCache();
     if (mLayoutAnimationEnabled && mLayoutAnimator.shouldAnimateLayout(viewToUpdate)) {
       mLayoutAnimator.applyLayoutUpdate(viewToUpdate, x, y, width, height);
     } else {
@@ -393,6 +395,7 @@ public class NativeViewHierarchyManager {
           (tagsToDelete != null ? tagsToDelete.toString() : "<null>"));
     }
     UiThreadUtil.assertOnUiThread();
+    TouchTargetHelper.invalidateHitTestCache();
 
     final Set<Integer> pendingDeletionTags = getPendingDeletionsForTag(tag);
     final ViewGroup viewToManage = (ViewGroup) mTagsToViews.get(tag);
@@ -573,6 +576,7 @@ public class NativeViewHierarchyManager {
           (childrenTags != null ? childrenTags.toString() : "<null>"));
     }
     UiThreadUtil.assertOnUiThread();
+    TouchTargetHelper.invalidateHitTestCache();
     ViewGroup viewToManage = (ViewGroup) mTagsToViews.get(tag);
     ViewGroupManager viewManager = (ViewGroupManager) resolveViewManager(tag);
 
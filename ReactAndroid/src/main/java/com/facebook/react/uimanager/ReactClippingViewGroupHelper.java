@@ -60,4 +60,29 @@ public class ReactClippingViewGroupHelper {
     }
     view.getDrawingRect(outputRect);
   }
+
+  /**
+   * Calculates the visible area of {@param view} like {@link #calculateClippingRect}, extended
+   * along its scroll axis so that it also covers content that is about to become visible.
+   *
+   * @param view view that we want to calculate the viewport for, usually a scroll view
+   * @param horizontal whether the rectangle is extended horizontally rather than vertically
+   * @param extendBefore distance by which the rectangle extends towards the start of the content
+   * @param extendAfter distance by which the rectangle extends towards the end of the content
+   * @param outputRect where the calculated rectangle will be written
+   */
+  public static void calculateViewportRect(
+      View view, boolean horizontal, int extendBefore, int extendAfter, Rect outputRect) {
+    calculateClippingRect(view, outputRect);
+    if (outputRect.isEmpty()) {
+      return;
+    }
+    if (horizontal) {
+      outputRect.left -= extendBefore;
+      outputRect.right += extendAfter;
+    } else {
+      outputRect.top -= extendBefore;
+      outputRect.bottom += extendAfter;
+    }
+  }
 }
@@ -22,7 +22,6 @@ import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.touch.ReactHitSlopView;
 import com.facebook.react.uimanager.common.ViewUtil;
-import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 
@@ -36,6 +35,7 @@ public class TouchTargetHelper {
   private static final PointF mTempPoint = new PointF();
   private static final float[] mMatrixTransformCoords = new float[2];
   private static final Matrix mInverseMatrix = new Matrix();
+  private static final TouchTargetPath mPathBuffer = new TouchTargetPath();
 
   /**
    * Find touch event target view within the provided container given the coordinates provided via
@@ -88,7 +88,9 @@ public class TouchTargetHelper {
     // Store eventCoords in array so that they are modified to be relative to the targetView found.
     viewCoords[0] = eventX;
     viewCoords[1] = eventY;
-    View nativeTargetView = findTouchTargetViewWithPointerEvents(viewCoords, viewGroup, null);
+    View nativeTargetView =
+        findTouchTargetViewWithPointerEvents(
+            viewCoords, viewGroup, null, getHitTestBoundsCache(viewGroup));
     if (nativeTargetView != null) {
       View reactTargetView = findClosestReactAncestor(nativeTargetView);
       if (reactTargetView != null) {
@@ -112,17 +114,42 @@ public class TouchTargetHelper {
    * @return If a target was found, returns a path through the view tree of all react tags that are
    *     a container for the touch target, ordered from target to root (last element)
    */
-  @SuppressLint("ResourceType")
   public static List<Integer> findTargetPathAndCoordinatesForTouch(
       float eventX, float eventY, ViewGroup viewGroup, float[] viewCoords) {
+    TouchTargetPath path = mPathBuffer;
+    findTargetPathAndCoordinatesForTouch(eventX, eventY, viewGroup, viewCoords, path);
+    return path.toList();
+  }
+
+  /**
+   * Same as {@link #findTargetPathAndCoordinatesForTouch(float, float, ViewGroup, float[])}, but
+   * writes the path into the provided buffer instead of allocating a list of boxed tags.
+   *
+   * @param eventX the X screen coordinate of the touch location
+   * @param eventY the Y screen coordinate of the touch location
+   * @param viewGroup the container view to traverse
+   * @param viewCoords an out parameter that will return the X,Y value in the target view
+   * @param outPath an out parameter that will be cleared and then filled with the path through the
+   *     view tree of all react tags that are a container for the touch target, ordered from target
+   *     to root (last element). Left empty if no target was found.
+   */
+  @SuppressLint("ResourceType")
+  public static void findTargetPathAndCoordinatesForTouch(
+      float eventX,
+      float eventY,
+      ViewGroup viewGroup,
+      float[] viewCoords,
+      TouchTargetPath outPath) {
     UiThreadUtil.assertOnUiThread();
 
     // Store eventCoords in array so that they are modified to be relative to the targetView found.
     viewCoords[0] = eventX;
     viewCoords[1] = eventY;
 
-    List<Integer> pathAccumulator = new ArrayList<>();
-    View targetView = findTouchTargetViewWithPointerEvents(viewCoords, viewGroup, pathAccumulator);
+    outPath.clear();
+    View targetView =
+        findTouchTargetViewWithPointerEvents(
+            viewCoords, viewGroup, outPath, getHitTestBoundsCache(viewGroup));
 
     if (targetView != null) {
       View reactTargetView = targetView;
@@ -135,16 +162,29 @@ public class TouchTargetHelper {
 
       if (firstReactAncestor > 0) {
         // Drop non-React views from the path trace
-        pathAccumulator = pathAccumulator.subList(firstReactAncestor, pathAccumulator.size());
+        outPath.removeFirst(firstReactAncestor);
       }
 
       int targetTag = getTouchTargetForView(reactTargetView, eventX, eventY);
       if (targetTag != reactTargetView.getId()) {
-        pathAccumulator.add(0, targetTag);
+        outPath.addFirst(targetTag);
       }
     }
+  }
 
-    return pathAccumulator;
+  /**
+   * Notifies the hit testing cache that the layout, the children or props affecting touch targets
+   * (hitSlop, overflow, transform) of views may have changed outside of a layout pass. Must be
+   * called on the UI thread.
+   */
+  public static void invalidateHitTestCache() {
+    HitTestBoundsCache.invalidateAll();
+  }
+
+  private static @Nullable HitTestBoundsCache getHitTestBoundsCache(ViewGroup root) {
+    return ReactFeatureFlags.enableHitTestBoundsCache
+        ? HitTestBoundsCache.getForRoot(root)
+        : null;
   }
 
   @SuppressLint("ResourceType")
@@ -172,13 +212,15 @@ public class TouchTargetHelper {
    * (pointerEvents: auto) - E (pointerEvents: auto) If the search goes down the first branch, it
    * would return A as the target, which is incorrect. NB: This modifies the eventCoords to always
    * be relative to the current viewGroup. When the method returns, it will contain the eventCoords
-   * relative to the targetView found.
+   * relative to the targetView found. When a {@link HitTestBoundsCache} is provided, children whose
+   * cached subtree bounds don't contain the touch point are skipped without being traversed.
    */
   private static View findTouchTargetView(
       float[] eventCoords,
       View view,
       EnumSet<TouchTargetReturnType> allowReturnTouchTargetTypes,
-      List<Integer> pathAccumulator) {
+      @Nullable TouchTargetPath pathAccumulator,
+      @Nullable HitTestBoundsCache boundsCache) {
     // We prefer returning a child, so we check for a child that can handle the touch first
     if (allowReturnTouchTargetTypes.contains(TouchTargetReturnType.CHILD)
         && view instanceof ViewGroup) {
@@ -217,7 +259,16 @@ public class TouchTargetHelper {
             zIndexedViewGroup != null ? zIndexedViewGroup.getZIndexMappedChildIndex(i) : i;
         View child = viewGroup.getChildAt(childIndex);
         PointF childPoint = mTempPoint;
-        getChildPoint(eventCoords[0], eventCoords[1], viewGroup, child, childPoint);
+        if (boundsCache != null) {
+          HitTestBoundsCache.Entry childEntry = boundsCache.getEntry(child);
+          getChildPoint(eventCoords[0], eventCoords[1], viewGroup, child, childEntry, childPoint);
+          if (!childEntry.contains(childPoint.x, childPoint.y)) {
+            // Neither the child nor any of its descendants can be the target
+            continue;
+          }
+        } else {
+          getChildPoint(eventCoords[0], eventCoords[1], viewGroup, child, childPoint);
+        }
         // The childPoint value will contain the view coordinates relative to the child.
         // We need to store the existing X,Y for the viewGroup away as it is possible this child
         // will not actually be the target and so we restore them if not
@@ -225,7 +276,8 @@ public class TouchTargetHelper {
         float restoreY = eventCoords[1];
         eventCoords[0] = childPoint.x;
         eventCoords[1] = childPoint.y;
-        View targetView = findTouchTargetViewWithPointerEvents(eventCoords, child, pathAccumulator);
+        View targetView =
+            findTouchTargetViewWithPointerEvents(eventCoords, child, pathAccumulator, boundsCache);
         if (targetView != null) {
           return targetView;
         }
@@ -298,12 +350,39 @@ public class TouchTargetHelper {
     outLocalPoint.set(localX, localY);
   }
 
+  /**
+   * Same as {@link #getChildPoint(float, float, ViewGroup, View, PointF)}, but uses the inverse
+   * transform already computed in the {@link HitTestBoundsCache} entry of the child.
+   */
+  private static void getChildPoint(
+      float x,
+      float y,
+      ViewGroup parent,
+      View child,
+      HitTestBoundsCache.Entry childEntry,
+      PointF outLocalPoint) {
+    float localX = x + parent.getScrollX() - child.getLeft();
+    float localY = y + parent.getScrollY() - child.getTop();
+    if (childEntry.hasTransform && childEntry.inverseMatrix != null) {
+      float[] localXY = mMatrixTransformCoords;
+      localXY[0] = localX;
+      localXY[1] = localY;
+      childEntry.inverseMatrix.mapPoints(localXY);
+      localX = localXY[0];
+      localY = localXY[1];
+    }
+    outLocalPoint.set(localX, localY);
+  }
+
   /**
    * Returns the touch target View of the event given, or null if neither the given View nor any of
    * its descendants are the touch target.
    */
   private static @Nullable View findTouchTargetViewWithPointerEvents(
-      float eventCoords[], View view, @Nullable List<Integer> pathAccumulator) {
+      float eventCoords[],
+      View view,
+      @Nullable TouchTargetPath pathAccumulator,
+      @Nullable HitTestBoundsCache boundsCache) {
     PointerEvents pointerEvents =
         view instanceof ReactPointerEventsView
             ? ((ReactPointerEventsView) view).getPointerEvents()
@@ -328,7 +407,11 @@ public class TouchTargetHelper {
       // This view may be the target, its children don't matter
       View targetView =
           findTouchTargetView(
-              eventCoords, view, EnumSet.of(TouchTargetReturnType.SELF), pathAccumulator);
+              eventCoords,
+              view,
+              EnumSet.of(TouchTargetReturnType.SELF),
+              pathAccumulator,
+              boundsCache);
       if (targetView != null && pathAccumulator != null) {
         pathAccumulator.add(view.getId());
       }
@@ -338,7 +421,11 @@ public class TouchTargetHelper {
       // This view can't be the target, but its children might.
       View targetView =
           findTouchTargetView(
-              eventCoords, view, EnumSet.of(TouchTargetReturnType.CHILD), pathAccumulator);
+              eventCoords,
+              view,
+              EnumSet.of(TouchTargetReturnType.CHILD),
+              pathAccumulator,
+              boundsCache);
       if (targetView != null) {
         if (pathAccumulator != null) {
           pathAccumulator.add(view.getId());
@@ -382,7 +469,8 @@ public class TouchTargetHelper {
               eventCoords,
               view,
               EnumSet.of(TouchTargetReturnType.SELF, TouchTargetReturnType.CHILD),
-              pathAccumulator);
+              pathAccumulator,
+              boundsCache);
       if (result != null && pathAccumulator != null) {
         pathAccumulator.add(view.getId());
       }
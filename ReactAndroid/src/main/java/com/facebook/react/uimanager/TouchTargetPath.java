@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable buffer of react tags describing a path through the view tree, ordered from the touch
+ * target (index 0) to the root (last element). Used by {@link TouchTargetHelper} instead of a
+ * {@code List<Integer>} so that hit testing does not box every tag it visits.
+ *
+ * <p>Instances are not thread safe and are expected to be reused on the UI thread.
+ */
+public class TouchTargetPath {
+
+  private static final int DEFAULT_CAPACITY = 32;
+
+  private int[] mTags;
+  private int mSize;
+
+  public TouchTargetPath() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public TouchTargetPath(int initialCapacity) {
+    mTags = new int[Math.max(1, initialCapacity)];
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  public int get(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + mSize);
+    }
+    return mTags[index];
+  }
+
+  public int indexOf(int tag) {
+    for (int i = 0; i < mSize; i++) {
+      if (mTags[i] == tag) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public void clear() {
+    mSize = 0;
+  }
+
+  /** Appends a tag to the end (root side) of the path. */
+  public void add(int tag) {
+    ensureCapacity(mSize + 1);
+    mTags[mSize++] = tag;
+  }
+
+  /** Inserts a tag at the beginning (target side) of the path. */
+  public void addFirst(int tag) {
+    ensureCapacity(mSize + 1);
+    System.arraycopy(mTags, 0, mTags, 1, mSize);
+    mTags[0] = tag;
+    mSize++;
+  }
+
+  /** Removes the first {@code count} tags, i.e. the ones closest to the target. */
+  public void removeFirst(int count) {
+    if (count <= 0) {
+      return;
+    }
+    if (count >= mSize) {
+      mSize = 0;
+      return;
+    }
+    System.arraycopy(mTags, count, mTags, 0, mSize - count);
+    mSize -= count;
+  }
+
+  public void copyFrom(TouchTargetPath other) {
+    ensureCapacity(other.mSize);
+    System.arraycopy(other.mTags, 0, mTags, 0, other.mSize);
+    mSize = other.mSize;
+  }
+
+  public List<Integer> toList() {
+    List<Integer> list = new ArrayList<>(mSize);
+    for (int i = 0; i < mSize; i++) {
+      list.add(mTags[i]);
+    }
+    return list;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > mTags.length) {
+      mTags = Arrays.copyOf(mTags, Math.max(capacity, mTags.length * 2));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(Arrays.copyOf(mTags, mSize));
+  }
+}
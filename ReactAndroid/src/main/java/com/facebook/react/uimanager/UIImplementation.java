@@ -21,6 +21,7 @@ import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.common.ReactConstants;
+import com.facebook.react.modules.core.FrameTimeline;
 import com.facebook.react.modules.i18nmanager.I18nUtil;
 import com.facebook.react.uimanager.debug.NotThreadSafeViewHierarchyUpdateDebugListener;
 import com.facebook.react.uimanager.events.EventDispatcher;
@@ -914,6 +915,7 @@ public class UIImplementation {
         .arg("rootTag", cssRoot.getReactTag())
         .flush();
     long startTime = SystemClock.uptimeMillis();
+    long startTimeNanos = System.nanoTime();
     try {
       int widthSpec = cssRoot.getWidthMeasureSpec();
       int heightSpec = cssRoot.getHeightMeasureSpec();
@@ -927,6 +929,8 @@ public class UIImplementation {
     } finally {
       Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
       mLastCalculateLayoutTime = SystemClock.uptimeMillis() - startTime;
+      FrameTimeline.getInstance()
+          .recordSegment(FrameTimeline.Segment.LAYOUT, System.nanoTime() - startTimeNanos);
     }
   }
 
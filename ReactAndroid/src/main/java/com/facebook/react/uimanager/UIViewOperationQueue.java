@@ -25,6 +25,7 @@ import com.facebook.react.bridge.RetryableMountingLayerException;
 import com.facebook.react.bridge.SoftAssertions;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.common.ReactConstants;
+import com.facebook.react.modules.core.FrameTimeline;
 import com.facebook.react.modules.core.ReactChoreographer;
 import com.facebook.react.uimanager.debug.NotThreadSafeViewHierarchyUpdateDebugListener;
 import com.facebook.systrace.Systrace;
@@ -1022,9 +1023,14 @@ public class UIViewOperationQueue {
     }
 
     final long batchedExecutionStartTime = SystemClock.uptimeMillis();
+    final long batchedExecutionStartTimeNanos = System.nanoTime();
     for (Runnable runnable : runnables) {
       runnable.run();
     }
+    FrameTimeline.getInstance()
+        .recordSegment(
+            FrameTimeline.Segment.VIEW_OPERATIONS,
+            System.nanoTime() - batchedExecutionStartTimeNanos);
 
     if (mIsProfilingNextBatch) {
       mProfiledBatchBatchedExecutionTime = SystemClock.uptimeMillis() - batchedExecutionStartTime;
@@ -9,9 +9,12 @@ package com.facebook.react.uimanager;
 
 import android.view.View;
 import com.facebook.common.logging.FLog;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ViewManagerPropertyUpdater {
   public interface Settable {
@@ -26,11 +29,31 @@ public class ViewManagerPropertyUpdater {
     void setProperty(T node, String name, Object value);
   }
 
+  /**
+   * Registers the setters {@code ReactPropertyProcessor} generated for the classes of a package.
+   * Implemented by the {@code $$PropsSetterRegistrar} class generated in that package.
+   */
+  public interface SetterRegistrar {
+    void registerSetters();
+  }
+
   private static final String TAG = "ViewManagerPropertyUpdater";
+  private static final String REGISTRAR_CLASS_NAME = "$$PropsSetterRegistrar";
 
   private static final Map<Class<?>, ViewManagerSetter<?, ?>> VIEW_MANAGER_SETTER_MAP =
-      new HashMap<>();
-  private static final Map<Class<?>, ShadowNodeSetter<?>> SHADOW_NODE_SETTER_MAP = new HashMap<>();
+      new ConcurrentHashMap<>();
+  private static final Map<Class<?>, ShadowNodeSetter<?>> SHADOW_NODE_SETTER_MAP =
+      new ConcurrentHashMap<>();
+
+  // Setters registered by code generated at build time. They are stateless, so unlike the maps
+  // above they survive clear() and don't need to be looked up again after a reload.
+  private static final Map<Class<?>, ViewManagerSetter<?, ?>> REGISTERED_VIEW_MANAGER_SETTERS =
+      new ConcurrentHashMap<>();
+  private static final Map<Class<?>, ShadowNodeSetter<?>> REGISTERED_SHADOW_NODE_SETTERS =
+      new ConcurrentHashMap<>();
+  // Packages whose registrar was already looked up
+  private static final Set<String> REGISTRAR_PACKAGES =
+      Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
   public static void clear() {
     ViewManagersPropertyCache.clear();
@@ -38,6 +61,26 @@ public class ViewManagerPropertyUpdater {
     SHADOW_NODE_SETTER_MAP.clear();
   }
 
+  /**
+   * Registers the setter generated by {@code ReactPropertyProcessor} for a view manager class, so
+   * that it can be used without looking it up by reflection. Called from the {@link
+   * SetterRegistrar} the processor generates when the {@code react.generatePropsSetterRegistrars}
+   * option is set.
+   */
+  public static void registerViewManagerSetter(
+      Class<? extends ViewManager> managerClass, ViewManagerSetter<?, ?> setter) {
+    REGISTERED_VIEW_MANAGER_SETTERS.put(managerClass, setter);
+  }
+
+  /**
+   * Registers the setter generated by {@code ReactPropertyProcessor} for a shadow node class, so
+   * that it can be used without looking it up by reflection.
+   */
+  public static void registerShadowNodeSetter(
+      Class<? extends ReactShadowNode> nodeClass, ShadowNodeSetter<?> setter) {
+    REGISTERED_SHADOW_NODE_SETTERS.put(nodeClass, setter);
+  }
+
   public static <T extends ViewManagerDelegate<V>, V extends View> void updateProps(
       T delegate, V v, ReactStylesDiffMap props) {
     Iterator<Map.Entry<String, Object>> iterator = props.mBackingMap.getEntryIterator();
@@ -79,7 +122,14 @@ public class ViewManagerPropertyUpdater {
       Class<? extends ViewManager> managerClass) {
     @SuppressWarnings("unchecked")
     ViewManagerSetter<T, V> setter =
-        (ViewManagerSetter<T, V>) VIEW_MANAGER_SETTER_MAP.get(managerClass);
+        (ViewManagerSetter<T, V>) REGISTERED_VIEW_MANAGER_SETTERS.get(managerClass);
+    if (setter == null && loadSetterRegistrar(managerClass)) {
+      setter = (ViewManagerSetter<T, V>) REGISTERED_VIEW_MANAGER_SETTERS.get(managerClass);
+    }
+    if (setter != null) {
+      return setter;
+    }
+    setter = (ViewManagerSetter<T, V>) VIEW_MANAGER_SETTER_MAP.get(managerClass);
     if (setter == null) {
       setter = findGeneratedSetter(managerClass);
       if (setter == null) {
@@ -94,7 +144,15 @@ public class ViewManagerPropertyUpdater {
   private static <T extends ReactShadowNode> ShadowNodeSetter<T> findNodeSetter(
       Class<? extends ReactShadowNode> nodeClass) {
     @SuppressWarnings("unchecked")
-    ShadowNodeSetter<T> setter = (ShadowNodeSetter<T>) SHADOW_NODE_SETTER_MAP.get(nodeClass);
+    ShadowNodeSetter<T> setter =
+        (ShadowNodeSetter<T>) REGISTERED_SHADOW_NODE_SETTERS.get(nodeClass);
+    if (setter == null && loadSetterRegistrar(nodeClass)) {
+      setter = (ShadowNodeSetter<T>) REGISTERED_SHADOW_NODE_SETTERS.get(nodeClass);
+    }
+    if (setter != null) {
+      return setter;
+    }
+    setter = (ShadowNodeSetter<T>) SHADOW_NODE_SETTER_MAP.get(nodeClass);
     if (setter == null) {
       setter = findGeneratedSetter(nodeClass);
       if (setter == null) {
@@ -106,6 +164,31 @@ public class ViewManagerPropertyUpdater {
     return setter;
   }
 
+  /**
+   * Registers the setters generated for the package of {@code cls}, the first time a class of that
+   * package is looked up. Returns whether new setters may have been registered.
+   */
+  private static boolean loadSetterRegistrar(Class<?> cls) {
+    String clsName = cls.getName();
+    int lastDot = clsName.lastIndexOf('.');
+    String packageName = lastDot < 0 ? "" : clsName.substring(0, lastDot);
+    if (!REGISTRAR_PACKAGES.add(packageName)) {
+      return false;
+    }
+
+    String registrarName =
+        packageName.isEmpty() ? REGISTRAR_CLASS_NAME : packageName + "." + REGISTRAR_CLASS_NAME;
+    try {
+      Class<?> registrarClass = Class.forName(registrarName);
+      ((SetterRegistrar) registrarClass.newInstance()).registerSetters();
+      return true;
+    } catch (ClassNotFoundException e) {
+      return false;
+    } catch (InstantiationException | IllegalAccessException e) {
+      throw new RuntimeException("Unable to instantiate setter registrar " + registrarName, e);
+    }
+  }
+
   private static <T> T findGeneratedSetter(Class<?> cls) {
     String clsName = cls.getName();
     try {
@@ -7,12 +7,17 @@
 
 package com.facebook.react.uimanager;
 
+import com.facebook.react.bridge.CacheBudgetRegistry;
+import com.facebook.react.bridge.ReclaimableCache;
 import com.facebook.react.common.ClearableSynchronizedPool;
 import com.facebook.yoga.YogaNode;
 
 /** Static holder for a recycling pool of YogaNodes. */
 public class YogaNodePool {
 
+  // Rough cost of a pooled node, including its native counterpart
+  private static final int YOGA_NODE_SIZE_BYTES = 256;
+
   private static final Object sInitLock = new Object();
   private static ClearableSynchronizedPool<YogaNode> sPool;
 
@@ -23,7 +28,25 @@ public class YogaNodePool {
 
     synchronized (sInitLock) {
       if (sPool == null) {
-        sPool = new ClearableSynchronizedPool<>(1024);
+        final ClearableSynchronizedPool<YogaNode> pool = new ClearableSynchronizedPool<>(1024);
+        CacheBudgetRegistry.getInstance()
+            .register(
+                "YogaNodePool",
+                CacheBudgetRegistry.PRIORITY_LOW,
+                new ReclaimableCache() {
+                  @Override
+                  public long getSizeBytes() {
+                    return (long) pool.size() * YOGA_NODE_SIZE_BYTES;
+                  }
+
+                  @Override
+                  public long evict(long bytesToFree) {
+                    long freedBytes = getSizeBytes();
+                    pool.clear();
+                    return freedBytes;
+                  }
+                });
+        sPool = pool;
       }
       return sPool;
     }
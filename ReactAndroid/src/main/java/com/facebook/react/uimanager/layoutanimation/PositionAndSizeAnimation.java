@@ -10,6 +10,7 @@ package com.facebook.react.uimanager.layoutanimation;
 import android.view.View;
 import android.view.animation.Animation;
 import android.view.animation.Transformation;
+import com.facebook.react.uimanager.TouchTargetHelper;
 
 /**
  * Animation responsible for updating size and position of a view. We can't use scaling as view
@@ -39,6 +40,7 @@ import android.view.animation.Transformation;
         Math.round(newY),
         Math.round(newX + newWidth),
         Math.round(newY + newHeight));
+    TouchTargetHelper.invalidateHitTestCache();
   }
 
   @Override
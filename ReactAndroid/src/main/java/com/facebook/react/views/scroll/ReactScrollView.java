@@ -103,6 +103,9 @@ public class ReactScrollView extends ScrollView
       new ReactScrollViewScrollState(ViewCompat.LAYOUT_DIRECTION_LTR);
   private final ValueAnimator DEFAULT_FLING_ANIMATOR = ObjectAnimator.ofInt(this, "scrollY", 0, 0);
   private PointerEvents mPointerEvents = PointerEvents.AUTO;
+  private @Nullable ViewportTracker mViewportTracker;
+  private int mViewportLeadDistance;
+  private int mViewportTrailDistance;
 
   public ReactScrollView(Context context) {
     this(context, null);
@@ -191,6 +194,39 @@ public class ReactScrollView extends ScrollView
     mPagingEnabled = pagingEnabled;
   }
 
+  /**
+   * Enables {@link ViewportChangeEvent}s, which report the children of the content view entering
+   * and leaving the viewport.
+   */
+  public void setTrackViewport(boolean trackViewport) {
+    if (trackViewport && mViewportTracker == null) {
+      mViewportTracker = new ViewportTracker(this, false);
+      mViewportTracker.setWindow(mViewportLeadDistance, mViewportTrailDistance);
+      if (ViewCompat.isAttachedToWindow(this)) {
+        mViewportTracker.start();
+      }
+    } else if (!trackViewport && mViewportTracker != null) {
+      mViewportTracker.stop();
+      mViewportTracker = null;
+    }
+  }
+
+  /** Distance in pixels that the tracked viewport extends ahead of the scroll direction. */
+  public void setViewportLeadDistance(int viewportLeadDistance) {
+    mViewportLeadDistance = viewportLeadDistance;
+    if (mViewportTracker != null) {
+      mViewportTracker.setWindow(mViewportLeadDistance, mViewportTrailDistance);
+    }
+  }
+
+  /** Distance in pixels that the tracked viewport extends behind the scroll direction. */
+  public void setViewportTrailDistance(int viewportTrailDistance) {
+    mViewportTrailDistance = viewportTrailDistance;
+    if (mViewportTracker != null) {
+      mViewportTracker.setWindow(mViewportLeadDistance, mViewportTrailDistance);
+    }
+  }
+
   public void setDecelerationRate(float decelerationRate) {
     getReactScrollViewScrollState().setDecelerationRate(decelerationRate);
 
@@ -262,6 +298,9 @@ public class ReactScrollView extends ScrollView
         pendingContentOffsetY != UNSET_CONTENT_OFFSET ? pendingContentOffsetY : getScrollY();
     scrollTo(scrollToX, scrollToY);
     ReactScrollViewHelper.emitLayoutEvent(this);
+    if (mViewportTracker != null) {
+      mViewportTracker.schedule();
+    }
   }
 
   @Override
@@ -278,6 +317,17 @@ public class ReactScrollView extends ScrollView
     if (mRemoveClippedSubviews) {
       updateClippingRect();
     }
+    if (mViewportTracker != null) {
+      mViewportTracker.start();
+    }
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+    if (mViewportTracker != null) {
+      mViewportTracker.stop();
+    }
   }
 
   /**
@@ -315,6 +365,10 @@ public class ReactScrollView extends ScrollView
 
     mActivelyScrolling = true;
 
+    if (mViewportTracker != null) {
+      mViewportTracker.schedule();
+    }
+
     if (mOnScrollDispatchHelper.onScrollChanged(x, y)) {
       if (mRemoveClippedSubviews) {
         updateClippingRect();
@@ -1032,6 +1086,10 @@ public class ReactScrollView extends ScrollView
     if (currentScrollY > maxScrollY) {
       scrollTo(getScrollX(), maxScrollY);
     }
+
+    if (mViewportTracker != null) {
+      mViewportTracker.schedule();
+    }
   }
 
   @Override
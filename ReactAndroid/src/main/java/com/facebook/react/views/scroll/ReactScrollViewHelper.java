@@ -22,6 +22,7 @@ import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeMap;
 import com.facebook.react.common.build.ReactBuildConfig;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.uimanager.FabricViewStateManager;
 import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.UIManagerHelper;
@@ -69,9 +70,29 @@ public class ReactScrollViewHelper {
 
   /** Shared by {@link ReactScrollView} and {@link ReactHorizontalScrollView}. */
   public static void emitScrollEvent(ViewGroup scrollView, float xVelocity, float yVelocity) {
+    if (ReactFeatureFlags.enableFrameScrollEvents) {
+      ScrollEventFramePacer.schedule(scrollView, xVelocity, yVelocity);
+      return;
+    }
     emitScrollEvent(scrollView, ScrollEventType.SCROLL, xVelocity, yVelocity);
   }
 
+  /** Emits the scroll event of a frame, see {@link ScrollEventFramePacer}. */
+  /* package */ static void emitFrameScrollEvent(
+      ViewGroup scrollView,
+      float xVelocity,
+      float yVelocity,
+      float predictedScrollX,
+      float predictedScrollY) {
+    emitScrollEvent(
+        scrollView,
+        ScrollEventType.SCROLL,
+        xVelocity,
+        yVelocity,
+        predictedScrollX,
+        predictedScrollY);
+  }
+
   public static void emitScrollBeginDragEvent(ViewGroup scrollView) {
     emitScrollEvent(scrollView, ScrollEventType.BEGIN_DRAG);
   }
@@ -96,6 +117,20 @@ public class ReactScrollViewHelper {
 
   private static void emitScrollEvent(
       ViewGroup scrollView, ScrollEventType scrollEventType, float xVelocity, float yVelocity) {
+    if (ReactFeatureFlags.enableFrameScrollEvents) {
+      // Keep the scroll event of the current frame before the end of a drag or momentum
+      ScrollEventFramePacer.flush(scrollView);
+    }
+    emitScrollEvent(scrollView, scrollEventType, xVelocity, yVelocity, Float.NaN, Float.NaN);
+  }
+
+  private static void emitScrollEvent(
+      ViewGroup scrollView,
+      ScrollEventType scrollEventType,
+      float xVelocity,
+      float yVelocity,
+      float predictedScrollX,
+      float predictedScrollY) {
     View contentView = scrollView.getChildAt(0);
 
     if (contentView == null) {
@@ -116,7 +151,7 @@ public class ReactScrollViewHelper {
     EventDispatcher eventDispatcher =
         UIManagerHelper.getEventDispatcherForReactTag(reactContext, scrollView.getId());
     if (eventDispatcher != null) {
-      eventDispatcher.dispatchEvent(
+      ScrollEvent event =
           ScrollEvent.obtain(
               surfaceId,
               scrollView.getId(),
@@ -128,7 +163,9 @@ public class ReactScrollViewHelper {
               contentView.getWidth(),
               contentView.getHeight(),
               scrollView.getWidth(),
-              scrollView.getHeight()));
+              scrollView.getHeight());
+      event.setPredictedScroll(predictedScrollX, predictedScrollY);
+      eventDispatcher.dispatchEvent(event);
     }
   }
 
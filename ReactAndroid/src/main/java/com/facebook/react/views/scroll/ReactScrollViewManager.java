@@ -315,6 +315,21 @@ public class ReactScrollViewManager extends ViewGroupManager<ReactScrollView>
     }
   }
 
+  @ReactProp(name = "trackViewport")
+  public void setTrackViewport(ReactScrollView view, boolean trackViewport) {
+    view.setTrackViewport(trackViewport);
+  }
+
+  @ReactProp(name = "viewportLeadDistance")
+  public void setViewportLeadDistance(ReactScrollView view, float viewportLeadDistance) {
+    view.setViewportLeadDistance((int) PixelUtil.toPixelFromDIP(viewportLeadDistance));
+  }
+
+  @ReactProp(name = "viewportTrailDistance")
+  public void setViewportTrailDistance(ReactScrollView view, float viewportTrailDistance) {
+    view.setViewportTrailDistance((int) PixelUtil.toPixelFromDIP(viewportTrailDistance));
+  }
+
   @ReactProp(name = "contentOffset", customType = "Point")
   public void setContentOffset(ReactScrollView view, ReadableMap value) {
     if (value != null) {
@@ -360,6 +375,7 @@ public class ReactScrollViewManager extends ViewGroupManager<ReactScrollView>
         .put(
             ScrollEventType.getJSEventName(ScrollEventType.MOMENTUM_END),
             MapBuilder.of("registrationName", "onMomentumScrollEnd"))
+        .put(ViewportChangeEvent.EVENT_NAME, MapBuilder.of("registrationName", "onViewportChange"))
         .build();
   }
 
@@ -31,6 +31,8 @@ public class ScrollEvent extends Event<ScrollEvent> {
   private int mContentHeight;
   private int mScrollViewWidth;
   private int mScrollViewHeight;
+  private float mPredictedScrollX = Float.NaN;
+  private float mPredictedScrollY = Float.NaN;
   private @Nullable ScrollEventType mScrollEventType;
 
   @Deprecated
@@ -125,6 +127,17 @@ public class ScrollEvent extends Event<ScrollEvent> {
     mContentHeight = contentHeight;
     mScrollViewWidth = scrollViewWidth;
     mScrollViewHeight = scrollViewHeight;
+    mPredictedScrollX = Float.NaN;
+    mPredictedScrollY = Float.NaN;
+  }
+
+  /**
+   * Sets the offset the scroll view is expected to have on the next frame, sent as {@code
+   * predictedContentOffset}. Not sent if NaN.
+   */
+  /* package */ void setPredictedScroll(float predictedScrollX, float predictedScrollY) {
+    mPredictedScrollX = predictedScrollX;
+    mPredictedScrollY = predictedScrollY;
   }
 
   @Override
@@ -173,6 +186,13 @@ public class ScrollEvent extends Event<ScrollEvent> {
     event.putMap("layoutMeasurement", layoutMeasurement);
     event.putMap("velocity", velocity);
 
+    if (!Float.isNaN(mPredictedScrollX) && !Float.isNaN(mPredictedScrollY)) {
+      WritableMap predictedContentOffset = Arguments.createMap();
+      predictedContentOffset.putDouble("x", PixelUtil.toDIPFromPixel(mPredictedScrollX));
+      predictedContentOffset.putDouble("y", PixelUtil.toDIPFromPixel(mPredictedScrollY));
+      event.putMap("predictedContentOffset", predictedContentOffset);
+    }
+
     event.putInt("target", getViewTag());
     event.putBoolean("responderIgnoreScroll", true);
     return event;
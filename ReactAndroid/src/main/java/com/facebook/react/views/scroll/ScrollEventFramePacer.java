@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.scroll;
+
+import android.view.View;
+import android.view.ViewGroup;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.modules.core.ChoreographerCompat;
+import com.facebook.react.modules.core.ReactChoreographer;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Emits at most one scroll event per frame for a scroll view, on the frame following its scroll
+ * changes and before the events of that frame are sent to JS, see {@link
+ * com.facebook.react.config.ReactFeatureFlags#enableFrameScrollEvents}. The velocity of the event
+ * is measured between frames, and the event carries the offset predicted for the next frame at
+ * that velocity, so that JS can render ahead of the actual offset.
+ */
+/* package */ final class ScrollEventFramePacer {
+
+  private static final Map<ViewGroup, ScrollEventFramePacer> PACERS = new WeakHashMap<>();
+
+  /** Frames further apart than this don't belong to the same movement. */
+  private static final long MAX_FRAME_INTERVAL_NANOS = 100_000_000L;
+
+  private static final float DEFAULT_FRAME_INTERVAL_MS = 1000f / 60;
+
+  /**
+   * The event dispatcher sends the events of a frame to JS from a {@code TIMERS_EVENTS} callback
+   * that is always queued, so emitting from an earlier type gets the scroll event into the batch of
+   * the same frame instead of the next one.
+   */
+  private static final ReactChoreographer.CallbackType CALLBACK_TYPE =
+      ReactChoreographer.CallbackType.DISPATCH_UI;
+
+  // Weak, as the pacer is the value of its scroll view in PACERS
+  private final WeakReference<ViewGroup> mScrollView;
+  private boolean mFrameCallbackPosted;
+  private float mXVelocity;
+  private float mYVelocity;
+  private int mLastFrameScrollX;
+  private int mLastFrameScrollY;
+  private long mLastFrameTimeNanos = -1;
+  private float mFrameIntervalMs = DEFAULT_FRAME_INTERVAL_MS;
+
+  private final ChoreographerCompat.FrameCallback mFrameCallback =
+      new ChoreographerCompat.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          mFrameCallbackPosted = false;
+          emit(frameTimeNanos);
+        }
+      };
+
+  private ScrollEventFramePacer(ViewGroup scrollView) {
+    mScrollView = new WeakReference<>(scrollView);
+  }
+
+  /**
+   * Schedules a scroll event for the next frame, if there isn't one already. {@code xVelocity} and
+   * {@code yVelocity} are used for the first frame of a movement, until there is a previous frame
+   * to measure the velocity from.
+   */
+  /* package */ static void schedule(ViewGroup scrollView, float xVelocity, float yVelocity) {
+    UiThreadUtil.assertOnUiThread();
+    ScrollEventFramePacer pacer = PACERS.get(scrollView);
+    if (pacer == null) {
+      pacer = new ScrollEventFramePacer(scrollView);
+      PACERS.put(scrollView, pacer);
+    }
+    pacer.mXVelocity = xVelocity;
+    pacer.mYVelocity = yVelocity;
+    if (!pacer.mFrameCallbackPosted) {
+      pacer.mFrameCallbackPosted = true;
+      ReactChoreographer.getInstance().postFrameCallback(CALLBACK_TYPE, pacer.mFrameCallback);
+    }
+  }
+
+  /**
+   * Emits the scroll event scheduled for {@code scrollView} right away, so that it comes before
+   * other scroll events such as the end of a drag or momentum.
+   */
+  /* package */ static void flush(ViewGroup scrollView) {
+    ScrollEventFramePacer pacer = PACERS.get(scrollView);
+    if (pacer != null && pacer.mFrameCallbackPosted) {
+      pacer.mFrameCallbackPosted = false;
+      ReactChoreographer.getInstance().removeFrameCallback(CALLBACK_TYPE, pacer.mFrameCallback);
+      pacer.emit(System.nanoTime());
+    }
+  }
+
+  private void emit(long frameTimeNanos) {
+    ViewGroup scrollView = mScrollView.get();
+    if (scrollView == null) {
+      return;
+    }
+    int scrollX = scrollView.getScrollX();
+    int scrollY = scrollView.getScrollY();
+    long frameIntervalNanos = frameTimeNanos - mLastFrameTimeNanos;
+    if (mLastFrameTimeNanos >= 0
+        && frameIntervalNanos > 0
+        && frameIntervalNanos <= MAX_FRAME_INTERVAL_NANOS) {
+      mFrameIntervalMs = frameIntervalNanos / 1e6f;
+      mXVelocity = (scrollX - mLastFrameScrollX) / mFrameIntervalMs;
+      mYVelocity = (scrollY - mLastFrameScrollY) / mFrameIntervalMs;
+    }
+    mLastFrameTimeNanos = frameTimeNanos;
+    mLastFrameScrollX = scrollX;
+    mLastFrameScrollY = scrollY;
+
+    View contentView = scrollView.getChildAt(0);
+    float predictedScrollX = scrollX;
+    float predictedScrollY = scrollY;
+    if (contentView != null) {
+      int maxScrollX = contentView.getWidth() - scrollView.getWidth();
+      int maxScrollY = contentView.getHeight() - scrollView.getHeight();
+      predictedScrollX = predict(scrollX, mXVelocity, maxScrollX, mFrameIntervalMs);
+      predictedScrollY = predict(scrollY, mYVelocity, maxScrollY, mFrameIntervalMs);
+    }
+    ReactScrollViewHelper.emitFrameScrollEvent(
+        scrollView, mXVelocity, mYVelocity, predictedScrollX, predictedScrollY);
+  }
+
+  /** Returns the offset one frame ahead at {@code velocity}, within the scroll range. */
+  /* package */ static float predict(
+      int offset, float velocity, int maxOffset, float frameIntervalMs) {
+    float predictedOffset = offset + velocity * frameIntervalMs;
+    return Math.max(0, Math.min(Math.max(0, maxOffset), predictedOffset));
+  }
+}
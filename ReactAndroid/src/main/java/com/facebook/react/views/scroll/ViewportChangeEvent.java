@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.scroll;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.events.Event;
+
+/**
+ * Event emitted by a scroll view tracking its viewport, with the tags of the children of its
+ * content view that entered and left the viewport since the previous event.
+ */
+public class ViewportChangeEvent extends Event<ViewportChangeEvent> {
+
+  public static final String EVENT_NAME = "topViewportChange";
+
+  private final int[] mEnteredTags;
+  private final int[] mLeftTags;
+
+  public ViewportChangeEvent(int surfaceId, int viewId, int[] enteredTags, int[] leftTags) {
+    super(surfaceId, viewId);
+    mEnteredTags = enteredTags;
+    mLeftTags = leftTags;
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public boolean canCoalesce() {
+    // Each event is a diff from the previous one, none of them can be dropped
+    return false;
+  }
+
+  @Override
+  protected WritableMap getEventData() {
+    WritableMap eventData = Arguments.createMap();
+    eventData.putArray("entered", toArray(mEnteredTags));
+    eventData.putArray("left", toArray(mLeftTags));
+    return eventData;
+  }
+
+  private static WritableArray toArray(int[] tags) {
+    WritableArray array = Arguments.createArray();
+    for (int tag : tags) {
+      array.pushInt(tag);
+    }
+    return array;
+  }
+}
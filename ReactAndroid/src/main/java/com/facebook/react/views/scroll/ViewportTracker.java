@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.scroll;
+
+import android.graphics.Rect;
+import android.view.View;
+import android.view.ViewGroup;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.modules.core.ChoreographerCompat;
+import com.facebook.react.modules.core.ReactChoreographer;
+import com.facebook.react.uimanager.ReactClippingViewGroupHelper;
+import com.facebook.react.uimanager.UIManagerHelper;
+import com.facebook.react.uimanager.events.EventDispatcher;
+import com.facebook.react.views.view.ReactViewGroup;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tracks which children of the content view of a scroll view intersect its viewport, extended by
+ * a lead distance in the scroll direction and a trail distance behind it, and emits a {@link
+ * ViewportChangeEvent} with the children that entered and left it at most once per frame. This
+ * lets virtualized lists know what to render without measuring their cells from JS.
+ */
+/* package */ final class ViewportTracker {
+
+  /**
+   * Runs before the {@code TIMERS_EVENTS} callback of the event dispatcher, so that the change of
+   * a frame is sent to JS with the other events of that frame.
+   */
+  private static final ReactChoreographer.CallbackType CALLBACK_TYPE =
+      ReactChoreographer.CallbackType.DISPATCH_UI;
+
+  private final ViewGroup mScrollView;
+  private final boolean mHorizontal;
+  private final Rect mViewportRect = new Rect();
+  private Set<Integer> mVisibleTags = new HashSet<>();
+  private Set<Integer> mNextVisibleTags = new HashSet<>();
+  private int mLeadDistance;
+  private int mTrailDistance;
+  private int mLastScrollOffset;
+  private boolean mScrollingForward = true;
+  private boolean mFrameCallbackPosted;
+  // Stopped until the scroll view is attached to a window
+  private boolean mStopped = true;
+
+  private final ChoreographerCompat.FrameCallback mFrameCallback =
+      new ChoreographerCompat.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          mFrameCallbackPosted = false;
+          update();
+        }
+      };
+
+  /* package */ ViewportTracker(ViewGroup scrollView, boolean horizontal) {
+    mScrollView = scrollView;
+    mHorizontal = horizontal;
+  }
+
+  /** Sets the distances, in pixels, by which the viewport extends ahead and behind the scroll. */
+  /* package */ void setWindow(int leadDistance, int trailDistance) {
+    mLeadDistance = Math.max(0, leadDistance);
+    mTrailDistance = Math.max(0, trailDistance);
+    schedule();
+  }
+
+  /**
+   * Schedules an update of the viewport for the next frame, if there isn't one already. Does
+   * nothing while the tracker is stopped.
+   */
+  /* package */ void schedule() {
+    UiThreadUtil.assertOnUiThread();
+    if (!mStopped && !mFrameCallbackPosted) {
+      mFrameCallbackPosted = true;
+      ReactChoreographer.getInstance().postFrameCallback(CALLBACK_TYPE, mFrameCallback);
+    }
+  }
+
+  /**
+   * Starts tracking, or restarts it after {@link #stop()} when the scroll view is attached to a
+   * window again, and schedules an update reporting the visible children as entering the viewport.
+   */
+  /* package */ void start() {
+    UiThreadUtil.assertOnUiThread();
+    if (mStopped) {
+      mStopped = false;
+      mLastScrollOffset = mHorizontal ? mScrollView.getScrollX() : mScrollView.getScrollY();
+      mScrollingForward = true;
+    }
+    schedule();
+  }
+
+  /**
+   * Cancels the scheduled update and reports the visible children as leaving the viewport. Updates
+   * aren't scheduled anymore until {@link #start()} is called.
+   */
+  /* package */ void stop() {
+    UiThreadUtil.assertOnUiThread();
+    mStopped = true;
+    if (mFrameCallbackPosted) {
+      mFrameCallbackPosted = false;
+      ReactChoreographer.getInstance().removeFrameCallback(CALLBACK_TYPE, mFrameCallback);
+    }
+    if (!mVisibleTags.isEmpty()) {
+      int[] leftTags = difference(mVisibleTags, Collections.<Integer>emptySet());
+      mVisibleTags.clear();
+      dispatchChange(new int[0], leftTags);
+    }
+  }
+
+  private void update() {
+    View contentView = mScrollView.getChildAt(0);
+    if (!(contentView instanceof ViewGroup)) {
+      return;
+    }
+
+    int scrollOffset = mHorizontal ? mScrollView.getScrollX() : mScrollView.getScrollY();
+    if (scrollOffset != mLastScrollOffset) {
+      mScrollingForward = scrollOffset > mLastScrollOffset;
+      mLastScrollOffset = scrollOffset;
+    }
+    ReactClippingViewGroupHelper.calculateViewportRect(
+        mScrollView,
+        mHorizontal,
+        mScrollingForward ? mTrailDistance : mLeadDistance,
+        mScrollingForward ? mLeadDistance : mTrailDistance,
+        mViewportRect);
+    // Move the viewport from the coordinates of the scroll view to the ones of its content view
+    mViewportRect.offset(-contentView.getLeft(), -contentView.getTop());
+
+    mNextVisibleTags.clear();
+    collectVisibleTags((ViewGroup) contentView, mViewportRect, mNextVisibleTags);
+    int[] enteredTags = difference(mNextVisibleTags, mVisibleTags);
+    int[] leftTags = difference(mVisibleTags, mNextVisibleTags);
+    Set<Integer> visibleTags = mVisibleTags;
+    mVisibleTags = mNextVisibleTags;
+    mNextVisibleTags = visibleTags;
+    if (enteredTags.length != 0 || leftTags.length != 0) {
+      dispatchChange(enteredTags, leftTags);
+    }
+  }
+
+  private void dispatchChange(int[] enteredTags, int[] leftTags) {
+    ReactContext reactContext = (ReactContext) mScrollView.getContext();
+    EventDispatcher eventDispatcher =
+        UIManagerHelper.getEventDispatcherForReactTag(reactContext, mScrollView.getId());
+    if (eventDispatcher != null) {
+      eventDispatcher.dispatchEvent(
+          new ViewportChangeEvent(
+              UIManagerHelper.getSurfaceId(reactContext),
+              mScrollView.getId(),
+              enteredTags,
+              leftTags));
+    }
+  }
+
+  /**
+   * Adds to {@code outTags} the tags of the children of {@code contentView} intersecting {@code
+   * viewportRect}, given in the coordinates of {@code contentView}. Children detached by {@code
+   * removeClippedSubviews} are included, as they may be within the lead distance.
+   */
+  /* package */ static void collectVisibleTags(
+      ViewGroup contentView, Rect viewportRect, Set<Integer> outTags) {
+    if (viewportRect.isEmpty()) {
+      return;
+    }
+    boolean allChildren =
+        contentView instanceof ReactViewGroup
+            && ((ReactViewGroup) contentView).getRemoveClippedSubviews();
+    int childCount =
+        allChildren
+            ? ((ReactViewGroup) contentView).getAllChildrenCount()
+            : contentView.getChildCount();
+    for (int i = 0; i < childCount; i++) {
+      View child =
+          allChildren
+              ? ((ReactViewGroup) contentView).getChildAtWithSubviewClippingEnabled(i)
+              : contentView.getChildAt(i);
+      if (child.getId() == View.NO_ID) {
+        continue;
+      }
+      int translationX = (int) child.getTranslationX();
+      int translationY = (int) child.getTranslationY();
+      if (viewportRect.intersects(
+          child.getLeft() + translationX,
+          child.getTop() + translationY,
+          child.getRight() + translationX,
+          child.getBottom() + translationY)) {
+        outTags.add(child.getId());
+      }
+    }
+  }
+
+  /** Returns the tags of {@code tags} that aren't in {@code otherTags}. */
+  /* package */ static int[] difference(Set<Integer> tags, Set<Integer> otherTags) {
+    int count = 0;
+    for (Integer tag : tags) {
+      if (!otherTags.contains(tag)) {
+        count++;
+      }
+    }
+    int[] result = new int[count];
+    int index = 0;
+    for (Integer tag : tags) {
+      if (!otherTags.contains(tag)) {
+        result[index++] = tag;
+      }
+    }
+    return result;
+  }
+}
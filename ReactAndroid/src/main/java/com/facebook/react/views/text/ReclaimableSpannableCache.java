@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import android.text.Spannable;
+import android.util.LruCache;
+import com.facebook.react.bridge.ReclaimableCache;
+import java.util.Map;
+
+/**
+ * Exposes a spannable {@link LruCache} of {@link TextLayoutManager} or {@link
+ * TextLayoutManagerMapBuffer} to {@link com.facebook.react.bridge.CacheBudgetRegistry}, evicting
+ * the least recently used spannables first.
+ */
+/* package */ class ReclaimableSpannableCache<K> implements ReclaimableCache {
+
+  // Rough cost of a spannable besides its characters: the builder, span arrays and span objects
+  private static final int SPANNABLE_OVERHEAD_BYTES = 512;
+
+  private final LruCache<K, Spannable> mCache;
+  private final Object mLock;
+
+  /* package */ ReclaimableSpannableCache(LruCache<K, Spannable> cache, Object lock) {
+    mCache = cache;
+    mLock = lock;
+  }
+
+  @Override
+  public long getSizeBytes() {
+    long sizeBytes = 0;
+    synchronized (mLock) {
+      for (Spannable spannable : mCache.snapshot().values()) {
+        sizeBytes += getSizeBytes(spannable);
+      }
+    }
+    return sizeBytes;
+  }
+
+  @Override
+  public long evict(long bytesToFree) {
+    long freedBytes = 0;
+    synchronized (mLock) {
+      // The snapshot is ordered from least to most recently used
+      Map<K, Spannable> snapshot = mCache.snapshot();
+      int evictCount = 0;
+      for (Spannable spannable : snapshot.values()) {
+        if (freedBytes >= bytesToFree) {
+          break;
+        }
+        freedBytes += getSizeBytes(spannable);
+        evictCount++;
+      }
+      mCache.trimToSize(snapshot.size() - evictCount);
+    }
+    return freedBytes;
+  }
+
+  private static long getSizeBytes(Spannable spannable) {
+    return spannable.length() * 2L + SPANNABLE_OVERHEAD_BYTES;
+  }
+}
@@ -24,6 +24,7 @@ import android.view.View;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.facebook.common.logging.FLog;
+import com.facebook.react.bridge.CacheBudgetRegistry;
 import com.facebook.react.bridge.ReactNoCrashSoftException;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.ReadableArray;
@@ -71,6 +72,14 @@ public class TextLayoutManager {
   private static final ConcurrentHashMap<Integer, Spannable> sTagToSpannableCache =
       new ConcurrentHashMap<>();
 
+  static {
+    CacheBudgetRegistry.getInstance()
+        .register(
+            "TextLayoutManager.spannableCache",
+            CacheBudgetRegistry.PRIORITY_LOW,
+            new ReclaimableSpannableCache<>(sSpannableCache, sSpannableCacheLock));
+  }
+
   public static boolean isRTL(ReadableMap attributedString) {
     ReadableArray fragments = attributedString.getArray("fragments");
     for (int i = 0; i < fragments.size(); i++) {
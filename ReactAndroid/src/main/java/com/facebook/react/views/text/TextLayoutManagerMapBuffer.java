@@ -24,6 +24,7 @@ import android.view.View;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.facebook.common.logging.FLog;
+import com.facebook.react.bridge.CacheBudgetRegistry;
 import com.facebook.react.bridge.ReactNoCrashSoftException;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.WritableArray;
@@ -83,6 +84,14 @@ public class TextLayoutManagerMapBuffer {
   private static final ConcurrentHashMap<Integer, Spannable> sTagToSpannableCache =
       new ConcurrentHashMap<>();
 
+  static {
+    CacheBudgetRegistry.getInstance()
+        .register(
+            "TextLayoutManagerMapBuffer.spannableCache",
+            CacheBudgetRegistry.PRIORITY_LOW,
+            new ReclaimableSpannableCache<>(sSpannableCache, sSpannableCacheLock));
+  }
+
   public static void setCachedSpannabledForTag(int reactTag, @NonNull Spannable sp) {
     if (ENABLE_MEASURE_LOGGING) {
       FLog.e(TAG, "Set cached spannable for tag[" + reactTag + "]: " + sp.toString());
@@ -42,6 +42,7 @@ import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.common.build.ReactBuildConfig;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.uimanager.FabricViewStateManager;
 import com.facebook.react.uimanager.ReactAccessibilityDelegate;
 import com.facebook.react.uimanager.UIManagerModule;
@@ -118,6 +119,10 @@ public class ReactEditText extends AppCompatEditText
       new FabricViewStateManager();
   protected boolean mDisableTextDiffing = false;
 
+  // Whether the text changed without a change event, so that JS can't apply a change to the text
+  // of the last event and the next one needs the whole text.
+  private boolean mTextChangedSilently = true;
+
   protected boolean mIsSettingTextFromState = false;
 
   private static final KeyListener sKeyListener = QwertyKeyListener.getInstanceForFullKeyboard();
@@ -516,6 +521,16 @@ public class ReactEditText extends AppCompatEditText
     mIsSettingTextFromState = false;
   }
 
+  /**
+   * Returns whether the text changed since the last change event without one being sent, and
+   * resets it.
+   */
+  /* package */ boolean consumeTextChangedSilently() {
+    boolean textChangedSilently = mTextChangedSilently;
+    mTextChangedSilently = false;
+    return textChangedSilently;
+  }
+
   public boolean canUpdateWithEventCount(int eventCounter) {
     return eventCounter >= mNativeEventCount;
   }
@@ -561,6 +576,8 @@ public class ReactEditText extends AppCompatEditText
     // text so, we have to set text to null, which will clear the currently composing text.
     if (reactTextUpdate.getText().length() == 0) {
       setText(null);
+    } else if (ReactFeatureFlags.enableTextInputChangeDeltas) {
+      replaceChangedText(spannableStringBuilder);
     } else {
       // When we update text, we trigger onChangeText code that will
       // try to update state if the wrapper is available. Temporarily disable
@@ -568,6 +585,7 @@ public class ReactEditText extends AppCompatEditText
       getText().replace(0, length(), spannableStringBuilder);
     }
     mDisableTextDiffing = false;
+    mTextChangedSilently = true;
 
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
       if (getBreakStrategy() != reactTextUpdate.getTextBreakStrategy()) {
@@ -579,6 +597,40 @@ public class ReactEditText extends AppCompatEditText
     updateCachedSpannable(false);
   }
 
+  /**
+   * Replaces only the range of the current text that differs from {@code newText}, so that a small
+   * change to a long text doesn't relayout all of it, then sets the spans of {@code newText}.
+   */
+  private void replaceChangedText(SpannableStringBuilder newText) {
+    Editable text = getText();
+    int oldLength = text.length();
+    int newLength = newText.length();
+    int maxCommonLength = Math.min(oldLength, newLength);
+    int prefixLength = 0;
+    while (prefixLength < maxCommonLength
+        && text.charAt(prefixLength) == newText.charAt(prefixLength)) {
+      prefixLength++;
+    }
+    int suffixLength = 0;
+    while (suffixLength < maxCommonLength - prefixLength
+        && text.charAt(oldLength - 1 - suffixLength)
+            == newText.charAt(newLength - 1 - suffixLength)) {
+      suffixLength++;
+    }
+
+    if (prefixLength < oldLength - suffixLength || prefixLength < newLength - suffixLength) {
+      // Replace with a String, the spans are set below for the whole text
+      text.replace(
+          prefixLength,
+          oldLength - suffixLength,
+          TextUtils.substring(newText, prefixLength, newLength - suffixLength));
+    }
+    for (Object span : newText.getSpans(0, newLength, Object.class)) {
+      text.setSpan(
+          span, newText.getSpanStart(span), newText.getSpanEnd(span), newText.getSpanFlags(span));
+    }
+  }
+
   /**
    * Remove and/or add {@link Spanned.SPAN_EXCLUSIVE_EXCLUSIVE} spans, since they should only exist
    * as long as the text they cover is the same. All other spans will remain the same, since they
@@ -15,13 +15,19 @@ import com.facebook.react.uimanager.events.Event;
 /**
  * Event emitted by EditText native view when text changes. VisibleForTesting from {@link
  * TextInputEventsTestCase}.
+ *
+ * <p>The event either carries the whole text, or only the change to the text of the previous
+ * event: {@code removedLength} characters at {@code start} replaced with {@code insertedText}.
  */
 public class ReactTextChangedEvent extends Event<ReactTextChangedEvent> {
 
   public static final String EVENT_NAME = "topChange";
 
-  private String mText;
+  private @Nullable String mText;
   private int mEventCount;
+  private int mStart;
+  private int mRemovedLength;
+  private @Nullable String mInsertedText;
 
   @Deprecated
   public ReactTextChangedEvent(int viewId, String text, int eventCount) {
@@ -34,6 +40,26 @@ public class ReactTextChangedEvent extends Event<ReactTextChangedEvent> {
     mEventCount = eventCount;
   }
 
+  public ReactTextChangedEvent(
+      int surfaceId,
+      int viewId,
+      int start,
+      int removedLength,
+      String insertedText,
+      int eventCount) {
+    super(surfaceId, viewId);
+    mStart = start;
+    mRemovedLength = removedLength;
+    mInsertedText = insertedText;
+    mEventCount = eventCount;
+  }
+
+  @Override
+  public boolean canCoalesce() {
+    // A change would be lost if it was replaced by a later one, while the whole text isn't
+    return mText != null;
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
@@ -43,7 +69,13 @@ public class ReactTextChangedEvent extends Event<ReactTextChangedEvent> {
   @Override
   protected WritableMap getEventData() {
     WritableMap eventData = Arguments.createMap();
-    eventData.putString("text", mText);
+    if (mText != null) {
+      eventData.putString("text", mText);
+    } else {
+      eventData.putInt("start", mStart);
+      eventData.putInt("removedLength", mRemovedLength);
+      eventData.putString("insertedText", mInsertedText);
+    }
     eventData.putInt("eventCount", mEventCount);
     eventData.putInt("target", getViewTag());
     return eventData;
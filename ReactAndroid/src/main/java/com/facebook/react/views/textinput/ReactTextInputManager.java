@@ -45,6 +45,7 @@ import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeMap;
 import com.facebook.react.common.MapBuilder;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.uimanager.BaseViewManager;
 import com.facebook.react.uimanager.FabricViewStateManager;
@@ -976,21 +977,22 @@ public class ReactTextInputManager extends BaseViewManager<ReactEditText, Layout
 
     private EventDispatcher mEventDispatcher;
     private ReactEditText mEditText;
-    private String mPreviousText;
+    private String mReplacedText;
     private int mSurfaceId;
 
     public ReactTextInputTextWatcher(
         final ReactContext reactContext, final ReactEditText editText) {
       mEventDispatcher = getEventDispatcher(reactContext, editText);
       mEditText = editText;
-      mPreviousText = null;
+      mReplacedText = null;
       mSurfaceId = UIManagerHelper.getSurfaceId(reactContext);
     }
 
     @Override
     public void beforeTextChanged(CharSequence s, int start, int count, int after) {
-      // Incoming charSequence gets mutated before onTextChanged() is invoked
-      mPreviousText = s.toString();
+      // Incoming charSequence gets mutated before onTextChanged() is invoked. Only copy the range
+      // about to be replaced, copying all of a long text on every keystroke is slow.
+      mReplacedText = s.subSequence(start, start + count).toString();
     }
 
     @Override
@@ -1005,9 +1007,9 @@ public class ReactTextInputManager extends BaseViewManager<ReactEditText, Layout
         return;
       }
 
-      Assertions.assertNotNull(mPreviousText);
-      String newText = s.toString().substring(start, start + count);
-      String oldText = mPreviousText.substring(start, start + before);
+      Assertions.assertNotNull(mReplacedText);
+      String newText = s.subSequence(start, start + count).toString();
+      String oldText = mReplacedText;
       // Don't send same text changes
       if (count == before && newText.equals(oldText)) {
         return;
@@ -1035,12 +1037,24 @@ public class ReactTextInputManager extends BaseViewManager<ReactEditText, Layout
 
       // The event that contains the event counter and updates it must be sent first.
       // TODO: t7936714 merge these events
-      mEventDispatcher.dispatchEvent(
-          new ReactTextChangedEvent(
-              mSurfaceId,
-              mEditText.getId(),
-              s.toString(),
-              mEditText.incrementAndGetEventCounter()));
+      boolean textChangedSilently = mEditText.consumeTextChangedSilently();
+      if (ReactFeatureFlags.enableTextInputChangeDeltas && !textChangedSilently) {
+        mEventDispatcher.dispatchEvent(
+            new ReactTextChangedEvent(
+                mSurfaceId,
+                mEditText.getId(),
+                start,
+                before,
+                newText,
+                mEditText.incrementAndGetEventCounter()));
+      } else {
+        mEventDispatcher.dispatchEvent(
+            new ReactTextChangedEvent(
+                mSurfaceId,
+                mEditText.getId(),
+                s.toString(),
+                mEditText.incrementAndGetEventCounter()));
+      }
 
       mEventDispatcher.dispatchEvent(
           new ReactTextInputEvent(
@@ -543,11 +543,19 @@ public class ReactViewGroup extends ViewGroup
     mPointerEvents = pointerEvents;
   }
 
-  /*package*/ int getAllChildrenCount() {
+  /**
+   * Returns the number of children when {@code removeClippedSubviews} is enabled, including the
+   * ones detached because they are outside of the clipping rect.
+   */
+  public int getAllChildrenCount() {
     return mAllChildrenCount;
   }
 
-  /*package*/ View getChildAtWithSubviewClippingEnabled(int index) {
+  /**
+   * Returns the child at {@code index} among all the children, see {@link #getAllChildrenCount}.
+   * Only valid when {@code removeClippedSubviews} is enabled.
+   */
+  public View getChildAtWithSubviewClippingEnabled(int index) {
     return Assertions.assertNotNull(mAllChildren)[index];
   }
 
@@ -97,18 +97,23 @@ jni::local_ref<CatalystInstanceImpl::jhybriddata>
 CatalystInstanceImpl::initHybrid(
     jni::alias_ref<jclass>,
     bool enableRuntimeScheduler,
-    bool enableRuntimeSchedulerInTurboModule) {
+    bool enableRuntimeSchedulerInTurboModule,
+    bool enableNativeModuleCallBatching) {
   return makeCxxInstance(
-      enableRuntimeScheduler, enableRuntimeSchedulerInTurboModule);
+      enableRuntimeScheduler,
+      enableRuntimeSchedulerInTurboModule,
+      enableNativeModuleCallBatching);
 }
 
 CatalystInstanceImpl::CatalystInstanceImpl(
     bool enableRuntimeScheduler,
-    bool enableRuntimeSchedulerInTurboModule)
+    bool enableRuntimeSchedulerInTurboModule,
+    bool enableNativeModuleCallBatching)
     : instance_(std::make_unique<Instance>()),
       enableRuntimeScheduler_(enableRuntimeScheduler),
       enableRuntimeSchedulerInTurboModule_(
-          enableRuntimeScheduler && enableRuntimeSchedulerInTurboModule) {}
+          enableRuntimeScheduler && enableRuntimeSchedulerInTurboModule),
+      enableNativeModuleCallBatching_(enableNativeModuleCallBatching) {}
 
 void CatalystInstanceImpl::warnOnLegacyNativeModuleSystemUse() {
   CxxNativeModule::setShouldWarnOnUse(true);
@@ -134,6 +139,18 @@ void CatalystInstanceImpl::registerNatives() {
           "jniCallJSFunction", CatalystInstanceImpl::jniCallJSFunction),
       makeNativeMethod(
           "jniCallJSCallback", CatalystInstanceImpl::jniCallJSCallback),
+      makeNativeMethod(
+          "jniCallJSCallbackWithNull",
+          CatalystInstanceImpl::jniCallJSCallbackWithNull),
+      makeNativeMethod(
+          "jniCallJSCallbackWithBoolean",
+          CatalystInstanceImpl::jniCallJSCallbackWithBoolean),
+      makeNativeMethod(
+          "jniCallJSCallbackWithDouble",
+          CatalystInstanceImpl::jniCallJSCallbackWithDouble),
+      makeNativeMethod(
+          "jniCallJSCallbackWithString",
+          CatalystInstanceImpl::jniCallJSCallbackWithString),
       makeNativeMethod(
           "setGlobalVariable", CatalystInstanceImpl::setGlobalVariable),
       makeNativeMethod(
@@ -214,11 +231,14 @@ void CatalystInstanceImpl::initializeBridge(
   // don't need jsModuleDescriptions any more, all the way up and down the
   // stack.
 
-  moduleRegistry_ = std::make_shared<ModuleRegistry>(buildNativeModuleList(
-      std::weak_ptr<Instance>(instance_),
-      javaModules,
-      cxxModules,
-      moduleMessageQueue_));
+  moduleRegistry_ = std::make_shared<ModuleRegistry>(
+      buildNativeModuleList(
+          std::weak_ptr<Instance>(instance_),
+          javaModules,
+          cxxModules,
+          moduleMessageQueue_),
+      nullptr,
+      enableNativeModuleCallBatching_);
 
   instance_->initializeBridge(
       std::make_unique<JInstanceCallback>(callback, moduleMessageQueue_),
@@ -363,6 +383,31 @@ void CatalystInstanceImpl::jniCallJSCallback(
   instance_->callJSCallback(callbackId, arguments->consume());
 }
 
+void CatalystInstanceImpl::jniCallJSCallbackWithNull(jint callbackId) {
+  instance_->callJSCallback(callbackId, folly::dynamic::array(nullptr));
+}
+
+void CatalystInstanceImpl::jniCallJSCallbackWithBoolean(
+    jint callbackId,
+    jboolean value) {
+  instance_->callJSCallback(
+      callbackId, folly::dynamic::array(static_cast<bool>(value)));
+}
+
+void CatalystInstanceImpl::jniCallJSCallbackWithDouble(
+    jint callbackId,
+    jdouble value) {
+  instance_->callJSCallback(
+      callbackId, folly::dynamic::array(static_cast<double>(value)));
+}
+
+void CatalystInstanceImpl::jniCallJSCallbackWithString(
+    jint callbackId,
+    std::string value) {
+  instance_->callJSCallback(
+      callbackId, folly::dynamic::array(std::move(value)));
+}
+
 void CatalystInstanceImpl::setGlobalVariable(
     std::string propName,
     std::string &&jsonValue) {
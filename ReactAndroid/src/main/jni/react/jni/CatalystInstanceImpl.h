@@ -40,7 +40,8 @@ class CatalystInstanceImpl : public jni::HybridClass<CatalystInstanceImpl> {
   static jni::local_ref<jhybriddata> initHybrid(
       jni::alias_ref<jclass>,
       bool enableRuntimeScheduler,
-      bool enableRuntimeSchedulerInTurboModule);
+      bool enableRuntimeSchedulerInTurboModule,
+      bool enableNativeModuleCallBatching);
 
   static void registerNatives();
 
@@ -53,7 +54,8 @@ class CatalystInstanceImpl : public jni::HybridClass<CatalystInstanceImpl> {
 
   CatalystInstanceImpl(
       bool enableRuntimeScheduler,
-      bool enableRuntimeSchedulerInTurboModule);
+      bool enableRuntimeSchedulerInTurboModule,
+      bool enableNativeModuleCallBatching);
 
   void initializeBridge(
       jni::alias_ref<ReactCallback::javaobject> callback,
@@ -101,6 +103,10 @@ class CatalystInstanceImpl : public jni::HybridClass<CatalystInstanceImpl> {
       std::string method,
       NativeArray *arguments);
   void jniCallJSCallback(jint callbackId, NativeArray *arguments);
+  void jniCallJSCallbackWithNull(jint callbackId);
+  void jniCallJSCallbackWithBoolean(jint callbackId, jboolean value);
+  void jniCallJSCallbackWithDouble(jint callbackId, jdouble value);
+  void jniCallJSCallbackWithString(jint callbackId, std::string value);
   jni::alias_ref<CallInvokerHolder::javaobject> getJSCallInvokerHolder();
   jni::alias_ref<CallInvokerHolder::javaobject> getNativeCallInvokerHolder();
   jni::alias_ref<JRuntimeExecutor::javaobject> getRuntimeExecutor();
@@ -123,6 +129,7 @@ class CatalystInstanceImpl : public jni::HybridClass<CatalystInstanceImpl> {
 
   bool const enableRuntimeScheduler_;
   bool const enableRuntimeSchedulerInTurboModule_;
+  bool const enableNativeModuleCallBatching_;
 };
 
 } // namespace react
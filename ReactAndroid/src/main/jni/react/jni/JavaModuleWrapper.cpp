@@ -7,6 +7,8 @@
 
 #include "JavaModuleWrapper.h"
 
+#include <algorithm>
+
 #include <glog/logging.h>
 
 #include <cxxreact/CxxModule.h>
@@ -133,6 +135,123 @@ void JavaNativeModule::invoke(
       });
 }
 
+namespace {
+
+// Number of ints describing each call of a batch passed to
+// JavaModuleWrapper.invokeBatch and invokePackedBatch: its method id, its
+// number of arguments and the mask of its boolean arguments. Keep in sync with
+// JavaModuleWrapper.java.
+constexpr size_t kBatchCallSize = 3;
+// Booleans of calls with more arguments can't be flagged in the mask
+constexpr size_t kMaxPackedArguments = 32;
+constexpr size_t kMinBufferSize = 64;
+
+bool canPackArguments(const std::vector<MethodCall> &calls) {
+  for (const auto &call : calls) {
+    if (call.arguments.size() > kMaxPackedArguments) {
+      return false;
+    }
+    for (const auto &argument : call.arguments) {
+      if (!argument.isNumber() && !argument.isBool()) {
+        return false;
+      }
+    }
+  }
+  return true;
+}
+
+// Copies values to buffer, which is replaced by a larger array if it's too
+// small, so that batches don't allocate Java arrays once the buffer fits them.
+// The buffer is allocated even for empty values, as batches of calls without
+// arguments still pass it to Java.
+template <typename JArray, typename T>
+typename JArray::javaobject fillBuffer(
+    jni::global_ref<typename JArray::javaobject> &buffer,
+    const std::vector<T> &values) {
+  size_t size = buffer ? buffer->size() : 0;
+  if (!buffer || size < values.size()) {
+    size = std::max({values.size(), size * 2, kMinBufferSize});
+    buffer = jni::make_global(JArray::newArray(size));
+  }
+  buffer->setRegion(0, values.size(), values.data());
+  return buffer.get();
+}
+
+} // namespace
+
+void JavaNativeModule::invokeBatch(std::vector<MethodCall> &&calls) {
+  // Pack the calls in arrays reused across batches, so that the batch is
+  // posted once and crosses JNI once. When all arguments are numbers or
+  // booleans, they're packed as doubles instead of in a ReadableNativeArray.
+  bool packed = canPackArguments(calls);
+  std::vector<jint> header;
+  std::vector<jdouble> values;
+  folly::dynamic arguments = folly::dynamic::array();
+  std::vector<int> callIds;
+  header.reserve(calls.size() * kBatchCallSize);
+  callIds.reserve(calls.size());
+  for (auto &call : calls) {
+    uint32_t booleanMask = 0;
+    for (size_t i = 0; i < call.arguments.size(); i++) {
+      auto &argument = call.arguments[i];
+      if (!packed) {
+        arguments.push_back(std::move(argument));
+      } else if (argument.isBool()) {
+        booleanMask |= 1u << i;
+        values.push_back(argument.getBool() ? 1 : 0);
+      } else {
+        values.push_back(argument.asDouble());
+      }
+    }
+    header.push_back(static_cast<jint>(call.methodId));
+    header.push_back(static_cast<jint>(call.arguments.size()));
+    header.push_back(static_cast<jint>(booleanMask));
+    callIds.push_back(call.callId);
+  }
+
+  messageQueueThread_->runOnQueue([this,
+                                   packed,
+                                   header = std::move(header),
+                                   values = std::move(values),
+                                   arguments = std::move(arguments),
+                                   callIds = std::move(callIds)]() mutable {
+    static auto invokeBatchMethod =
+        wrapper_->getClass()
+            ->getMethod<void(
+                jint,
+                jni::JArrayInt::javaobject,
+                ReadableNativeArray::javaobject)>("invokeBatch");
+    static auto invokePackedBatchMethod =
+        wrapper_->getClass()
+            ->getMethod<void(
+                jint,
+                jni::JArrayInt::javaobject,
+                jni::JArrayDouble::javaobject)>("invokePackedBatch");
+#ifdef WITH_FBSYSTRACE
+    for (int callId : callIds) {
+      if (callId != -1) {
+        fbsystrace_end_async_flow(TRACE_TAG_REACT_APPS, "native", callId);
+      }
+    }
+#endif
+    auto callCount = static_cast<jint>(header.size() / kBatchCallSize);
+    auto jCalls = fillBuffer<jni::JArrayInt>(callsBuffer_, header);
+    if (packed) {
+      invokePackedBatchMethod(
+          wrapper_,
+          callCount,
+          jCalls,
+          fillBuffer<jni::JArrayDouble>(valuesBuffer_, values));
+    } else {
+      invokeBatchMethod(
+          wrapper_,
+          callCount,
+          jCalls,
+          ReadableNativeArray::newObjectCxxArgs(std::move(arguments)).get());
+    }
+  });
+}
+
 MethodCallResult JavaNativeModule::callSerializableNativeHook(
     unsigned int reactMethodId,
     folly::dynamic &&params) {
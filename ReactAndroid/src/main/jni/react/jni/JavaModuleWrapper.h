@@ -74,6 +74,7 @@ class JavaNativeModule : public NativeModule {
   std::vector<MethodDescriptor> getMethods() override;
   void invoke(unsigned int reactMethodId, folly::dynamic &&params, int callId)
       override;
+  void invokeBatch(std::vector<MethodCall> &&calls) override;
   MethodCallResult callSerializableNativeHook(
       unsigned int reactMethodId,
       folly::dynamic &&params) override;
@@ -83,6 +84,10 @@ class JavaNativeModule : public NativeModule {
   jni::global_ref<JavaModuleWrapper::javaobject> wrapper_;
   std::shared_ptr<MessageQueueThread> messageQueueThread_;
   std::vector<folly::Optional<MethodInvoker>> syncMethods_;
+  // Arrays passed to JavaModuleWrapper by invokeBatch, reused across batches.
+  // Only used on messageQueueThread_.
+  jni::global_ref<jni::JArrayInt::javaobject> callsBuffer_;
+  jni::global_ref<jni::JArrayDouble::javaobject> valuesBuffer_;
 };
 
 } // namespace react
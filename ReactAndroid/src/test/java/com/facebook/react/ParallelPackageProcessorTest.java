@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.facebook.react.bridge.NativeModule;
+import com.facebook.react.bridge.NativeModuleRegistry;
+import com.facebook.react.bridge.ReactApplicationContext;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link ParallelPackageProcessor} */
+@RunWith(RobolectricTestRunner.class)
+public class ParallelPackageProcessorTest {
+
+  private ReactApplicationContext mReactContext;
+  private NativeModuleRegistryBuilder mBuilder;
+
+  @Before
+  public void setUp() {
+    mReactContext = mock(ReactApplicationContext.class);
+    mBuilder = new NativeModuleRegistryBuilder(mReactContext, mock(ReactInstanceManager.class));
+  }
+
+  private NativeModule createModule(String name, boolean canOverrideExistingModule) {
+    NativeModule module = mock(NativeModule.class);
+    when(module.getName()).thenReturn(name);
+    when(module.canOverrideExistingModule()).thenReturn(canOverrideExistingModule);
+    return module;
+  }
+
+  private ReactPackage createPackage(NativeModule... modules) {
+    ReactPackage reactPackage = mock(ReactPackage.class);
+    when(reactPackage.createNativeModules(mReactContext)).thenReturn(Arrays.asList(modules));
+    return reactPackage;
+  }
+
+  @Test
+  public void testLaterPackagesOverrideModulesInPackageOrder() {
+    NativeModule first = createModule("Module", false);
+    NativeModule second = createModule("Module", true);
+    NativeModule other = createModule("Other", false);
+
+    new ParallelPackageProcessor(mBuilder)
+        .process(Arrays.asList(createPackage(first, other), createPackage(second)), null);
+
+    NativeModuleRegistry registry = mBuilder.build();
+    assertThat(registry.getModule("Module")).isSameAs(second);
+    assertThat(registry.getModule("Other")).isSameAs(other);
+  }
+
+  @Test
+  public void testConcurrentTaskRuns() {
+    final AtomicBoolean ran = new AtomicBoolean();
+
+    new ParallelPackageProcessor(mBuilder)
+        .process(
+            Collections.singletonList(createPackage(createModule("Module", false))),
+            new Runnable() {
+              @Override
+              public void run() {
+                ran.set(true);
+              }
+            });
+
+    assertThat(ran.get()).isTrue();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testPackageExceptionsAreRethrown() {
+    ReactPackage reactPackage = mock(ReactPackage.class);
+    when(reactPackage.createNativeModules(mReactContext)).thenThrow(new IllegalStateException());
+
+    new ParallelPackageProcessor(mBuilder).process(Collections.singletonList(reactPackage), null);
+  }
+}
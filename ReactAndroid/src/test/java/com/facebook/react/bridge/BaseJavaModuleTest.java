@@ -7,9 +7,11 @@
 
 package com.facebook.react.bridge;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import com.facebook.soloader.SoLoader;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Rule;
@@ -30,12 +32,14 @@ public class BaseJavaModuleTest {
   @Rule public PowerMockRule rule = new PowerMockRule();
 
   private List<JavaModuleWrapper.MethodDescriptor> mMethods;
+  private MethodsModule mModule;
   private JavaModuleWrapper mWrapper;
   private ReadableNativeArray mArguments;
 
   @Before
   public void setup() {
-    ModuleHolder moduleHolder = new ModuleHolder(new MethodsModule());
+    mModule = new MethodsModule();
+    ModuleHolder moduleHolder = new ModuleHolder(mModule);
     mWrapper = new JavaModuleWrapper(null, moduleHolder);
     mMethods = mWrapper.getMethodDescriptors();
     PowerMockito.mockStatic(SoLoader.class);
@@ -83,17 +87,126 @@ public class BaseJavaModuleTest {
     mWrapper.invoke(methodId, mArguments);
   }
 
+  @Test
+  public void testCallBatchOfMethodsReadsArgumentsAtTheirOffset() {
+    int regularMethodId = findMethod("regularMethod", mMethods);
+    int numbersMethodId = findMethod("numbersMethod", mMethods);
+    when(mArguments.size()).thenReturn(8);
+    when(mArguments.getString(0)).thenReturn("first");
+    when(mArguments.getDouble(1)).thenReturn(1.0);
+    when(mArguments.getDouble(2)).thenReturn(2.5);
+    when(mArguments.getBoolean(3)).thenReturn(true);
+    when(mArguments.getDouble(4)).thenReturn(3.0);
+    when(mArguments.getString(5)).thenReturn("last");
+    when(mArguments.getDouble(6)).thenReturn(4.0);
+
+    // The calls array is reused across batches, only the first calls are part of this one
+    mWrapper.invokeBatch(
+        3,
+        new int[] {regularMethodId, 2, 0, numbersMethodId, 3, 0, regularMethodId, 2, 0, 0, 0, 0},
+        mArguments);
+
+    assertThat(mModule.mCalls)
+        .containsExactly(
+            "regularMethod first 1", "numbersMethod 2.5 true 3", "regularMethod last 4");
+  }
+
+  @Test(expected = NativeArgumentsParseException.class)
+  public void testCallBatchOfMethodsWithoutEnoughArgs() {
+    int regularMethodId = findMethod("regularMethod", mMethods);
+    int asyncMethodId = findMethod("asyncMethod", mMethods);
+    when(mArguments.size()).thenReturn(4);
+    mWrapper.invokeBatch(2, new int[] {regularMethodId, 2, 0, asyncMethodId, 2, 0}, mArguments);
+  }
+
+  @Test
+  public void testCallPackedBatchOfMethods() {
+    int numbersMethodId = findMethod("numbersMethod", mMethods);
+    int asyncMethodId = findMethod("asyncMethod", mMethods);
+    int booleanMask = 0b010;
+
+    // The arrays are reused across batches, and can be larger than the batch
+    mWrapper.invokePackedBatch(
+        3,
+        new int[] {
+          numbersMethodId, 3, booleanMask,
+          asyncMethodId, 3, 0,
+          numbersMethodId, 3, booleanMask,
+          numbersMethodId, 3, booleanMask
+        },
+        new double[] {1.5, 1, 7, 5, 1, 2, -2, 0, 8, 100, 1, 100});
+
+    assertThat(mModule.mCalls)
+        .containsExactly("numbersMethod 1.5 true 7", "asyncMethod 5", "numbersMethod -2.0 false 8");
+  }
+
+  @Test
+  public void testCallPackedBatchOfMethodsWithoutArguments() {
+    int noArgumentsMethodId = findMethod("noArgumentsMethod", mMethods);
+    // Such batches get the values buffer without using it
+    mWrapper.invokePackedBatch(
+        2, new int[] {noArgumentsMethodId, 0, 0, noArgumentsMethodId, 0, 0}, new double[64]);
+
+    assertThat(mModule.mCalls).containsExactly("noArgumentsMethod", "noArgumentsMethod");
+  }
+
+  @Test(expected = NativeArgumentsParseException.class)
+  public void testCallPackedBatchWithBooleanForNumberFails() {
+    int numbersMethodId = findMethod("numbersMethod", mMethods);
+    mWrapper.invokePackedBatch(
+        1, new int[] {numbersMethodId, 3, 0b001}, new double[] {1, 1, 7});
+  }
+
+  @Test(expected = NativeArgumentsParseException.class)
+  public void testCallPackedBatchWithNumberForStringFails() {
+    int regularMethodId = findMethod("regularMethod", mMethods);
+    mWrapper.invokePackedBatch(1, new int[] {regularMethodId, 2, 0}, new double[] {1, 2});
+  }
+
+  @Test
+  public void testPackedArgumentsRetainedByMethodAreNotReset() {
+    int dynamicMethodId = findMethod("dynamicMethod", mMethods);
+    mWrapper.invokePackedBatch(
+        2, new int[] {dynamicMethodId, 1, 0, dynamicMethodId, 1, 0}, new double[] {1, 2});
+
+    assertThat(mModule.mDynamics).hasSize(2);
+    assertThat(mModule.mDynamics.get(0).asDouble()).isEqualTo(1.0);
+    assertThat(mModule.mDynamics.get(1).asDouble()).isEqualTo(2.0);
+  }
+
   private static class MethodsModule extends BaseJavaModule {
     @Override
     public String getName() {
       return "Methods";
     }
 
+    private final List<String> mCalls = new ArrayList<>();
+    private final List<Dynamic> mDynamics = new ArrayList<>();
+
     @ReactMethod
-    public void regularMethod(String a, int b) {}
+    public void regularMethod(String a, int b) {
+      mCalls.add("regularMethod " + a + " " + b);
+    }
 
     @ReactMethod
-    public void asyncMethod(int a, Promise p) {}
+    public void numbersMethod(double a, boolean b, int c) {
+      mCalls.add("numbersMethod " + a + " " + b + " " + c);
+    }
+
+    @ReactMethod
+    public void noArgumentsMethod() {
+      mCalls.add("noArgumentsMethod");
+    }
+
+    @ReactMethod
+    public void dynamicMethod(Dynamic a) {
+      mDynamics.add(a);
+    }
+
+    @ReactMethod
+    public void asyncMethod(int a, Promise p) {
+      mCalls.add("asyncMethod " + a);
+    }
 
     @ReactMethod(isBlockingSynchronousMethod = true)
     public int syncMethod(int a, int b) {
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link CacheBudgetRegistry} */
+@RunWith(RobolectricTestRunner.class)
+public class CacheBudgetRegistryTest {
+
+  private CacheBudgetRegistry mRegistry;
+  private List<String> mEvictions;
+
+  private class FakeCache implements ReclaimableCache {
+    private final String mName;
+    private long mSizeBytes;
+    private final boolean mEvictable;
+
+    FakeCache(String name, long sizeBytes, boolean evictable) {
+      mName = name;
+      mSizeBytes = sizeBytes;
+      mEvictable = evictable;
+    }
+
+    @Override
+    public long getSizeBytes() {
+      return mSizeBytes;
+    }
+
+    @Override
+    public long evict(long bytesToFree) {
+      if (!mEvictable) {
+        return 0;
+      }
+      mEvictions.add(mName);
+      long freedBytes = Math.min(bytesToFree, mSizeBytes);
+      mSizeBytes -= freedBytes;
+      return freedBytes;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    mRegistry = new CacheBudgetRegistry();
+    mEvictions = new ArrayList<>();
+  }
+
+  @Test
+  public void testModeratePressureReclaimsInPriorityOrderUntilTarget() {
+    FakeCache high = new FakeCache("high", 400, true);
+    FakeCache low = new FakeCache("low", 300, true);
+    FakeCache normal = new FakeCache("normal", 300, true);
+    mRegistry.register("high", CacheBudgetRegistry.PRIORITY_HIGH, high);
+    mRegistry.register("low", CacheBudgetRegistry.PRIORITY_LOW, low);
+    mRegistry.register("normal", CacheBudgetRegistry.PRIORITY_NORMAL, normal);
+
+    assertThat(mRegistry.reclaim(MemoryPressure.MODERATE)).isEqualTo(500);
+    assertThat(mEvictions).containsExactly("low", "normal");
+    assertThat(mRegistry.getTotalSizeBytes()).isEqualTo(500);
+    assertThat(high.getSizeBytes()).isEqualTo(400);
+  }
+
+  @Test
+  public void testCriticalPressureReclaimsEverythingEvictable() {
+    mRegistry.register(
+        "blobs", CacheBudgetRegistry.PRIORITY_HIGH, new FakeCache("blobs", 100, false));
+    mRegistry.register("text", CacheBudgetRegistry.PRIORITY_LOW, new FakeCache("text", 200, true));
+    mRegistry.register("nodes", CacheBudgetRegistry.PRIORITY_LOW, new FakeCache("nodes", 50, true));
+
+    assertThat(mRegistry.reclaim(MemoryPressure.CRITICAL)).isEqualTo(250);
+    assertThat(mEvictions).containsExactly("text", "nodes");
+    assertThat(mRegistry.getBreakdown())
+        .containsExactly(entry("text", 0L), entry("nodes", 0L), entry("blobs", 100L));
+  }
+
+  @Test
+  public void testUIHiddenDoesNotReclaim() {
+    mRegistry.register("text", CacheBudgetRegistry.PRIORITY_LOW, new FakeCache("text", 200, true));
+
+    assertThat(mRegistry.reclaim(MemoryPressure.UI_HIDDEN)).isEqualTo(0);
+    assertThat(mEvictions).isEmpty();
+  }
+
+  @Test
+  public void testUnregisteredCachesAreIgnored() {
+    FakeCache cache = new FakeCache("text", 200, true);
+    mRegistry.register("text", CacheBudgetRegistry.PRIORITY_LOW, cache);
+    mRegistry.unregister(cache);
+
+    assertThat(mRegistry.getTotalSizeBytes()).isEqualTo(0);
+    assertThat(mRegistry.getBreakdown()).isEmpty();
+  }
+}
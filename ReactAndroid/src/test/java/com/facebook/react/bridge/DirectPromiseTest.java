@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.config.ReactFeatureFlags;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link DirectPromise} and {@link DirectCallback} */
+@PrepareForTest({Arguments.class, CatalystInstanceImpl.class})
+@SuppressStaticInitializationFor("com.facebook.react.bridge.CatalystInstanceImpl")
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+@RunWith(RobolectricTestRunner.class)
+public class DirectPromiseTest {
+
+  // A DirectPromise is about 40 bytes, a PromiseImpl with two CallbackImpls more than 70
+  private static final long MAX_BYTES_PER_CALL = 56;
+  private static final int WARMUP_CALLS = 20000;
+  private static final int MEASURED_CALLS = 10000;
+
+  @Rule public PowerMockRule rule = new PowerMockRule();
+
+  private CountingJSInstance mJSInstance;
+  private PromiseModule mModule;
+  private JavaModuleWrapper mWrapper;
+
+  @Before
+  public void setup() {
+    PowerMockito.mockStatic(Arguments.class);
+    ReactFeatureFlags.enableDirectPromises = true;
+    mJSInstance = new CountingJSInstance();
+    mModule = new PromiseModule();
+    mWrapper = new JavaModuleWrapper(mJSInstance, new ModuleHolder(mModule));
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enableDirectPromises = false;
+  }
+
+  private int findMethod(String name) {
+    List<JavaModuleWrapper.MethodDescriptor> methods = mWrapper.getMethodDescriptors();
+    for (int i = 0; i < methods.size(); i++) {
+      if (methods.get(i).name.equals(name)) {
+        return i;
+      }
+    }
+    throw new AssertionError("No method " + name);
+  }
+
+  @Test
+  public void testIgnoresSettlingTwice() {
+    DirectPromise promise = new DirectPromise(mJSInstance, 1, 2);
+    promise.resolve(true);
+    promise.resolve(false);
+
+    assertThat(mJSInstance.mCallCount).isEqualTo(1);
+    assertThat(mJSInstance.mLastCallbackId).isEqualTo(1);
+    assertThat(mJSInstance.mLastValue).isEqualTo(true);
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testThrowsWhenCallbackIsInvokedTwice() {
+    DirectCallback callback = new DirectCallback(mJSInstance, 1);
+    callback.invoke();
+    callback.invoke();
+  }
+
+  @Test
+  public void testStalePromiseCannotSettleAnotherCall() {
+    int keepPromiseId = findMethod("keepPromise");
+    mWrapper.invokePackedBatch(
+        2, new int[] {keepPromiseId, 2, 0, keepPromiseId, 2, 0}, new double[] {1, 2, 3, 4});
+    assertThat(mModule.mPromises).hasSize(2);
+    Promise first = mModule.mPromises.get(0);
+    Promise second = mModule.mPromises.get(1);
+    assertThat(first).isInstanceOf(DirectPromise.class).isNotSameAs(second);
+
+    first.resolve(1);
+    // The module keeps using the promise of the first call once it's settled
+    first.resolve(2);
+    assertThat(mJSInstance.mCallCount).isEqualTo(1);
+    assertThat(mJSInstance.mLastCallbackId).isEqualTo(1);
+
+    second.resolve(3);
+    assertThat(mJSInstance.mCallCount).isEqualTo(2);
+    assertThat(mJSInstance.mLastCallbackId).isEqualTo(3);
+    assertThat(mJSInstance.mLastValue).isEqualTo(3);
+  }
+
+  @Test
+  public void testStaleCallbackCannotInvokeAnotherCall() {
+    int keepCallbackId = findMethod("keepCallback");
+    mWrapper.invokePackedBatch(
+        2, new int[] {keepCallbackId, 1, 0, keepCallbackId, 1, 0}, new double[] {1, 2});
+    Callback first = mModule.mCallbacks.get(0);
+    first.invoke("done");
+
+    try {
+      first.invoke("again");
+      throw new AssertionError("Invoking the callback twice should throw");
+    } catch (RuntimeException e) {
+      // Expected
+    }
+    mModule.mCallbacks.get(1).invoke("done");
+    assertThat(mJSInstance.mCallCount).isEqualTo(2);
+    assertThat(mJSInstance.mLastCallbackId).isEqualTo(2);
+  }
+
+  @Test
+  public void testResolvesWithPrimitivesThroughCatalystInstanceWithoutArray() throws Exception {
+    CatalystInstanceImpl catalystInstance = PowerMockito.mock(CatalystInstanceImpl.class);
+    when(catalystInstance.invokeCallbackWithValue(anyInt(), any())).thenCallRealMethod();
+
+    new DirectPromise(catalystInstance, 1, 2).resolve(null);
+    new DirectPromise(catalystInstance, 3, 4).resolve(true);
+    new DirectPromise(catalystInstance, 5, 6).resolve(42);
+    new DirectCallback(catalystInstance, 7).invoke(2.5);
+    new DirectCallback(catalystInstance, 8).invoke("value");
+
+    PowerMockito.verifyPrivate(catalystInstance).invoke("jniCallJSCallbackWithNull", 1);
+    PowerMockito.verifyPrivate(catalystInstance).invoke("jniCallJSCallbackWithBoolean", 3, true);
+    PowerMockito.verifyPrivate(catalystInstance).invoke("jniCallJSCallbackWithDouble", 5, 42.0);
+    PowerMockito.verifyPrivate(catalystInstance).invoke("jniCallJSCallbackWithDouble", 7, 2.5);
+    PowerMockito.verifyPrivate(catalystInstance)
+        .invoke("jniCallJSCallbackWithString", 8, "value");
+    verify(catalystInstance, never()).invokeCallback(anyInt(), any(NativeArrayInterface.class));
+    PowerMockito.verifyStatic(Arguments.class, never());
+    Arguments.fromJavaArgs(any(Object[].class));
+  }
+
+  @Test
+  public void testResolvesWithOtherValuesThroughCatalystInstanceWithArray() {
+    CatalystInstanceImpl catalystInstance = PowerMockito.mock(CatalystInstanceImpl.class);
+    when(catalystInstance.invokeCallbackWithValue(anyInt(), any())).thenCallRealMethod();
+
+    new DirectPromise(catalystInstance, 1, 2).resolve(new JavaOnlyMap());
+
+    verify(catalystInstance).invokeCallback(eq(1), any());
+  }
+
+  @Test
+  public void testPromiseCallAllocatesOnlyThePromise() {
+    java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+    assumeTrue(allocationBean.isThreadAllocatedMemoryEnabled());
+
+    int[] calls = {findMethod("resolveNow"), 3, 0};
+    double[] values = {7, 1, 2};
+    long threadId = Thread.currentThread().getId();
+    for (int i = 0; i < WARMUP_CALLS; i++) {
+      mWrapper.invokePackedBatch(1, calls, values);
+    }
+    long allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < MEASURED_CALLS; i++) {
+      mWrapper.invokePackedBatch(1, calls, values);
+    }
+    long allocatedBytes = allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    assertThat(mJSInstance.mCallCount).isEqualTo(WARMUP_CALLS + MEASURED_CALLS);
+    assertThat(mJSInstance.mLastValue).isEqualTo(7);
+    assertThat(allocatedBytes / MEASURED_CALLS).isLessThanOrEqualTo(MAX_BYTES_PER_CALL);
+  }
+
+  /** Counts callbacks invoked through the single value path, without allocating. */
+  private static class CountingJSInstance implements JSInstance, ValueCallbackInvoker {
+    private int mCallCount;
+    private int mLastCallbackId;
+    private @Nullable Object mLastValue;
+
+    @Override
+    public void invokeCallback(int callbackID, NativeArrayInterface arguments) {
+      throw new AssertionError("Callbacks should be invoked with a single value");
+    }
+
+    @Override
+    public boolean invokeCallbackWithValue(int callbackID, @Nullable Object value) {
+      mCallCount++;
+      mLastCallbackId = callbackID;
+      mLastValue = value;
+      return true;
+    }
+  }
+
+  private static class PromiseModule extends BaseJavaModule {
+    private final List<Promise> mPromises = new ArrayList<>();
+    private final List<Callback> mCallbacks = new ArrayList<>();
+
+    @Override
+    public String getName() {
+      return "PromiseModule";
+    }
+
+    @ReactMethod
+    public void keepPromise(Promise promise) {
+      mPromises.add(promise);
+    }
+
+    @ReactMethod
+    public void keepCallback(Callback callback) {
+      mCallbacks.add(callback);
+    }
+
+    @ReactMethod
+    public void resolveNow(int value, Promise promise) {
+      promise.resolve(value);
+    }
+  }
+}
@@ -7,6 +7,7 @@
 
 package com.facebook.react.bridge;
 
+import java.lang.reflect.Proxy;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -21,6 +22,10 @@ public class JavaScriptModuleRegistryTest {
     void doSomething();
   }
 
+  /* package */ interface StubbedJavaScriptModule extends JavaScriptModule {
+    void doSomething();
+  }
+
   @Test
   public void testGetJSModuleName() {
     String name = JavaScriptModuleRegistry.getJSModuleName(TestJavaScriptModule.class);
@@ -32,4 +37,31 @@ public class JavaScriptModuleRegistryTest {
     String name = JavaScriptModuleRegistry.getJSModuleName(OuterClass$NestedInnerClass.class);
     Assert.assertEquals("NestedInnerClass", name);
   }
+
+  @Test
+  public void testGetJavaScriptModule_prefersGeneratedStub() {
+    JavaScriptModuleRegistry registry = new JavaScriptModuleRegistry();
+    StubbedJavaScriptModule module =
+        registry.getJavaScriptModule(null, StubbedJavaScriptModule.class);
+    Assert.assertTrue(
+        module instanceof JavaScriptModuleRegistryTest$StubbedJavaScriptModule$$JSModuleStub);
+    Assert.assertSame(module, registry.getJavaScriptModule(null, StubbedJavaScriptModule.class));
+  }
+
+  @Test
+  public void testGetJavaScriptModule_fallsBackToProxy() {
+    JavaScriptModuleRegistry registry = new JavaScriptModuleRegistry();
+    TestJavaScriptModule module = registry.getJavaScriptModule(null, TestJavaScriptModule.class);
+    Assert.assertTrue(Proxy.isProxyClass(module.getClass()));
+  }
+}
+
+/** Stands in for the stub JavaScriptModuleStubProcessor would generate. */
+final class JavaScriptModuleRegistryTest$StubbedJavaScriptModule$$JSModuleStub
+    implements JavaScriptModuleRegistryTest.StubbedJavaScriptModule {
+  public JavaScriptModuleRegistryTest$StubbedJavaScriptModule$$JSModuleStub(
+      CatalystInstance catalystInstance) {}
+
+  @Override
+  public void doSomething() {}
 }
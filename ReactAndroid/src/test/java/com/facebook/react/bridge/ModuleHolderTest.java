@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.facebook.react.module.model.ReactModuleInfo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Provider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link ModuleHolder} */
+@RunWith(RobolectricTestRunner.class)
+public class ModuleHolderTest {
+
+  private static final int THREAD_COUNT = 8;
+
+  private ExecutorService mExecutor;
+  private NativeModule mModule;
+  private AtomicInteger mCreateCount;
+  private CountDownLatch mAllowCreate;
+
+  @Before
+  public void setUp() {
+    mExecutor = Executors.newFixedThreadPool(THREAD_COUNT);
+    mModule = mock(NativeModule.class);
+    when(mModule.getName()).thenReturn("TestModule");
+    mCreateCount = new AtomicInteger();
+    mAllowCreate = new CountDownLatch(0);
+  }
+
+  @After
+  public void tearDown() {
+    mExecutor.shutdownNow();
+  }
+
+  private ModuleHolder createHolder(boolean needsEagerInit) {
+    return new ModuleHolder(
+        new ReactModuleInfo("TestModule", "TestModule", false, needsEagerInit, false, false, false),
+        new Provider<NativeModule>() {
+          @Override
+          public NativeModule get() {
+            mCreateCount.incrementAndGet();
+            try {
+              mAllowCreate.await();
+            } catch (InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+            return mModule;
+          }
+        });
+  }
+
+  @Test
+  public void testConcurrentFirstAccessCreatesModuleOnce() throws Exception {
+    final ModuleHolder holder = createHolder(false);
+    mAllowCreate = new CountDownLatch(1);
+    final CountDownLatch started = new CountDownLatch(THREAD_COUNT);
+
+    List<Future<NativeModule>> modules = new ArrayList<>();
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      modules.add(
+          mExecutor.submit(
+              new Callable<NativeModule>() {
+                @Override
+                public NativeModule call() {
+                  started.countDown();
+                  return holder.getModule();
+                }
+              }));
+    }
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    // Threads calling getModule while the module is being created wait for it
+    assertThat(holder.hasInstance()).isFalse();
+    mAllowCreate.countDown();
+
+    for (Future<NativeModule> module : modules) {
+      assertThat(module.get(5, TimeUnit.SECONDS)).isSameAs(mModule);
+    }
+    assertThat(mCreateCount.get()).isEqualTo(1);
+    assertThat(holder.hasInstance()).isTrue();
+  }
+
+  @Test
+  public void testCreatedModuleIsReturnedWithoutLocking() throws Exception {
+    final ModuleHolder holder = createHolder(false);
+    assertThat(holder.getModule()).isSameAs(mModule);
+
+    // Hold the lock of the holder from another thread while the module is looked up
+    final CountDownLatch locked = new CountDownLatch(1);
+    final CountDownLatch unlock = new CountDownLatch(1);
+    mExecutor.submit(
+        new Callable<Void>() {
+          @Override
+          public Void call() throws InterruptedException {
+            synchronized (holder) {
+              locked.countDown();
+              unlock.await();
+            }
+            return null;
+          }
+        });
+    assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+    try {
+      Future<NativeModule> module =
+          mExecutor.submit(
+              new Callable<NativeModule>() {
+                @Override
+                public NativeModule call() {
+                  return holder.getModule();
+                }
+              });
+      assertThat(module.get(5, TimeUnit.SECONDS)).isSameAs(mModule);
+    } finally {
+      unlock.countDown();
+    }
+    assertThat(mCreateCount.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testModuleIsInitializedOnceWhenCreatedAfterMarkInitializable() {
+    ModuleHolder holder = createHolder(false);
+    holder.markInitializable();
+    verify(mModule, times(0)).initialize();
+
+    holder.getModule();
+    holder.getModule();
+    verify(mModule, times(1)).initialize();
+  }
+
+  @Test
+  public void testEagerModuleIsCreatedByConstructor() {
+    ModuleHolder holder = createHolder(true);
+    assertThat(holder.hasInstance()).isTrue();
+    assertThat(mCreateCount.get()).isEqualTo(1);
+
+    holder.markInitializable();
+    assertThat(holder.getModule()).isSameAs(mModule);
+    assertThat(mCreateCount.get()).isEqualTo(1);
+    verify(mModule, times(1)).initialize();
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.facebook.react.bridge.queue.MessageQueueThread;
+import com.facebook.react.bridge.queue.MessageQueueThreadPerfStats;
+import com.facebook.react.bridge.queue.NativeModulesThreadPool;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link NativeModulesThreadPool} */
+@RunWith(RobolectricTestRunner.class)
+public class NativeModulesThreadPoolTest {
+
+  private MessageQueueThread mNativeModulesQueueThread;
+  private NativeModulesThreadPool mThreadPool;
+
+  @Before
+  public void setUp() {
+    mNativeModulesQueueThread = mock(MessageQueueThread.class);
+    mThreadPool = new NativeModulesThreadPool(mNativeModulesQueueThread, 4);
+  }
+
+  @After
+  public void tearDown() {
+    mThreadPool.shutdown();
+  }
+
+  @Test
+  public void testSerialCallsRunInOrder() throws Exception {
+    final List<Integer> calls = Collections.synchronizedList(new ArrayList<Integer>());
+    final CountDownLatch done = new CountDownLatch(100);
+    for (int i = 0; i < 100; i++) {
+      final int call = i;
+      mThreadPool.execute(
+          "SerialModule",
+          true,
+          new Runnable() {
+            @Override
+            public void run() {
+              calls.add(call);
+              done.countDown();
+            }
+          });
+    }
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    for (int i = 0; i < 100; i++) {
+      assertThat(calls.get(i)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void testSlowModuleDoesNotBlockOtherModules() throws Exception {
+    final CountDownLatch releaseSlowCall = new CountDownLatch(1);
+    final CountDownLatch slowCallDone = new CountDownLatch(1);
+    final CountDownLatch fastCallDone = new CountDownLatch(1);
+    mThreadPool.execute(
+        "SlowModule",
+        true,
+        new Runnable() {
+          @Override
+          public void run() {
+            try {
+              releaseSlowCall.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            slowCallDone.countDown();
+          }
+        });
+    mThreadPool.execute(
+        "FastModule",
+        true,
+        new Runnable() {
+          @Override
+          public void run() {
+            fastCallDone.countDown();
+          }
+        });
+
+    assertThat(fastCallDone.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(slowCallDone.getCount()).isEqualTo(1);
+    releaseSlowCall.countDown();
+    assertThat(slowCallDone.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void testPerfStatsArePerModule() throws Exception {
+    final CountDownLatch done = new CountDownLatch(3);
+    Runnable call =
+        new Runnable() {
+          @Override
+          public void run() {
+            done.countDown();
+          }
+        };
+    mThreadPool.execute("ModuleA", true, call);
+    mThreadPool.execute("ModuleA", true, call);
+    mThreadPool.execute("ModuleB", false, call);
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    mThreadPool.shutdown();
+    mThreadPool.awaitTermination(5, TimeUnit.SECONDS);
+
+    MessageQueueThreadPerfStats statsA = mThreadPool.getPerfStats().get("ModuleA");
+    MessageQueueThreadPerfStats statsB = mThreadPool.getPerfStats().get("ModuleB");
+    assertThat(statsA.taskCount).isEqualTo(2);
+    assertThat(statsB.taskCount).isEqualTo(1);
+
+    mThreadPool.resetPerfStats();
+    assertThat(mThreadPool.getPerfStats().get("ModuleA").taskCount).isEqualTo(0);
+  }
+
+  @Test
+  public void testShutdownWaitsForQueuedCalls() {
+    final List<Integer> calls = Collections.synchronizedList(new ArrayList<Integer>());
+    for (int i = 0; i < 10; i++) {
+      final int call = i;
+      mThreadPool.execute(
+          "SerialModule",
+          true,
+          new Runnable() {
+            @Override
+            public void run() {
+              try {
+                Thread.sleep(10);
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+              calls.add(call);
+            }
+          });
+    }
+
+    assertThat(mThreadPool.shutdownAndAwaitTermination(5000)).isTrue();
+    assertThat(calls).hasSize(10);
+  }
+
+  @Test
+  public void testShutdownWaitIsBounded() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    mThreadPool.execute(
+        "BlockedModule",
+        false,
+        new Runnable() {
+          @Override
+          public void run() {
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+          }
+        });
+
+    try {
+      assertThat(mThreadPool.shutdownAndAwaitTermination(50)).isFalse();
+    } finally {
+      release.countDown();
+    }
+    assertThat(mThreadPool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void testExceptionsAreRethrownOnNativeModulesThread() {
+    mThreadPool.execute(
+        "ThrowingModule",
+        false,
+        new Runnable() {
+          @Override
+          public void run() {
+            throw new IllegalStateException();
+          }
+        });
+
+    verify(mNativeModulesQueueThread, timeout(5000)).runOnQueue(any(Runnable.class));
+  }
+}
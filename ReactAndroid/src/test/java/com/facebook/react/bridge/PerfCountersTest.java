@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link PerfCounters} */
+@RunWith(RobolectricTestRunner.class)
+public class PerfCountersTest {
+
+  @Test
+  public void testCountersAddUp() {
+    PerfCounters counters = new PerfCounters("Test");
+    counters.increment("a");
+    counters.increment("a");
+    counters.add("b", 5);
+
+    assertThat(counters.getCount("a")).isEqualTo(2);
+    assertThat(counters.getCount("b")).isEqualTo(5);
+    assertThat(counters.getCount("c")).isEqualTo(0);
+  }
+
+  @Test
+  public void testValuesKeepCountTotalAndMax() {
+    PerfCounters counters = new PerfCounters("Test");
+    counters.recordValue("latency", -2);
+    counters.recordValue("latency", -6);
+    counters.recordValue("latency", -1);
+
+    assertThat(counters.getValueCount("latency")).isEqualTo(3);
+    assertThat(counters.getValueTotal("latency")).isEqualTo(-9);
+    assertThat(counters.getValueMax("latency")).isEqualTo(-1);
+    assertThat(counters.getValueAverage("latency")).isEqualTo(-3.0);
+  }
+
+  @Test
+  public void testRecordMaxDoesNotCountSamples() {
+    PerfCounters counters = new PerfCounters("Test");
+    counters.recordMax("depth", 3);
+    counters.recordMax("depth", 7);
+    counters.recordMax("depth", 4);
+
+    assertThat(counters.getValueMax("depth")).isEqualTo(7);
+    assertThat(counters.getValueCount("depth")).isEqualTo(0);
+  }
+
+  @Test
+  public void testExportsPerformanceCounters() {
+    PerfCounters counters = new PerfCounters("Test");
+    counters.increment("calls");
+    counters.recordValue("latency", 4);
+    counters.recordValue("latency", 8);
+
+    Map<String, Long> exported = counters.getPerformanceCounters();
+    assertThat(exported)
+        .containsEntry("calls", 1L)
+        .containsEntry("latency.count", 2L)
+        .containsEntry("latency.total", 12L)
+        .containsEntry("latency.max", 8L)
+        .hasSize(4);
+  }
+
+  @Test
+  public void testResetClearsEverything() {
+    PerfCounters counters = new PerfCounters("Test");
+    counters.increment("calls");
+    counters.recordValue("latency", 4);
+    counters.reset();
+
+    assertThat(counters.getCount("calls")).isEqualTo(0);
+    assertThat(counters.getValueCount("latency")).isEqualTo(0);
+    assertThat(counters.getPerformanceCounters()).isEmpty();
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link PreparedBundleCache} */
+@RunWith(RobolectricTestRunner.class)
+public class PreparedBundleCacheTest {
+
+  @Rule public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+  private FakePreparer mPreparer;
+  private List<Runnable> mPendingTasks;
+  private PreparedBundleCache mCache;
+  private File mBundle;
+
+  private static class FakePreparer implements PreparedBundleCache.BundlePreparer {
+    private String mEngineVersion = "engine-1";
+    private int mPrepareCount = 0;
+
+    @Override
+    public String getEngineVersion() {
+      return mEngineVersion;
+    }
+
+    @Override
+    public boolean prepare(File sourceBundle, File outputFile) throws IOException {
+      mPrepareCount++;
+      write(outputFile, "prepared");
+      return true;
+    }
+
+    @Override
+    public boolean canLoad(File preparedBundle) {
+      return true;
+    }
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    mPreparer = new FakePreparer();
+    mPendingTasks = new ArrayList<>();
+    mCache =
+        new PreparedBundleCache(
+            mPreparer,
+            new Executor() {
+              @Override
+              public void execute(Runnable command) {
+                mPendingTasks.add(command);
+              }
+            });
+    mBundle = mTemporaryFolder.newFile("index.android.bundle");
+    write(mBundle, "__d(function() {});");
+  }
+
+  @Test
+  public void testLoadsSourceAndPreparesItOnMiss() {
+    assertThat(mCache.getFileToLoad(mBundle.getPath())).isEqualTo(mBundle.getPath());
+    assertThat(mPendingTasks).hasSize(1);
+
+    runPendingTasks();
+    String preparedPath = mCache.getFileToLoad(mBundle.getPath());
+
+    assertThat(preparedPath).isNotEqualTo(mBundle.getPath());
+    assertThat(new File(preparedPath).getParentFile()).isEqualTo(mBundle.getParentFile());
+    assertThat(mPendingTasks).isEmpty();
+    assertThat(mPreparer.mPrepareCount).isEqualTo(1);
+  }
+
+  @Test
+  public void testFallsBackToSourceWhenBundleChanges() throws IOException {
+    mCache.getFileToLoad(mBundle.getPath());
+    runPendingTasks();
+    File oldPreparedBundle = mCache.getPreparedBundle(mBundle);
+
+    write(mBundle, "__d(function() { return 1; });");
+
+    assertThat(mCache.getFileToLoad(mBundle.getPath())).isEqualTo(mBundle.getPath());
+    runPendingTasks();
+    assertThat(mCache.getPreparedBundle(mBundle)).isNotNull();
+    assertThat(oldPreparedBundle.exists()).isFalse();
+    assertThat(mPreparer.mPrepareCount).isEqualTo(2);
+  }
+
+  @Test
+  public void testFallsBackToSourceWhenEngineVersionChanges() {
+    mCache.getFileToLoad(mBundle.getPath());
+    runPendingTasks();
+
+    mPreparer.mEngineVersion = "engine-2";
+
+    assertThat(mCache.getPreparedBundle(mBundle)).isNull();
+    assertThat(mCache.getFileToLoad(mBundle.getPath())).isEqualTo(mBundle.getPath());
+  }
+
+  @Test
+  public void testKeepsSourceWhenBundleCannotBePrepared() {
+    PreparedBundleCache cache =
+        new PreparedBundleCache(
+            new FakePreparer() {
+              @Override
+              public boolean prepare(File sourceBundle, File outputFile) {
+                return false;
+              }
+            },
+            new Executor() {
+              @Override
+              public void execute(Runnable command) {
+                command.run();
+              }
+            });
+
+    assertThat(cache.getFileToLoad(mBundle.getPath())).isEqualTo(mBundle.getPath());
+    assertThat(cache.getFileToLoad(mBundle.getPath())).isEqualTo(mBundle.getPath());
+    assertThat(mBundle.getParentFile().list()).containsOnly(mBundle.getName());
+  }
+
+  @Test
+  public void testLookupKeysOnSizeAndModificationTimeOfBundle() throws IOException {
+    mCache.getFileToLoad(mBundle.getPath());
+    runPendingTasks();
+    File preparedBundle = mCache.getPreparedBundle(mBundle);
+    long lastModified = mBundle.lastModified();
+
+    // The lookup trusts the digest recorded for this size and modification time
+    write(mBundle, "__d(function(){ });");
+    assertThat(mBundle.setLastModified(lastModified)).isTrue();
+    assertThat(mCache.getPreparedBundle(mBundle)).isEqualTo(preparedBundle);
+
+    assertThat(mBundle.setLastModified(lastModified + 1000)).isTrue();
+    assertThat(mCache.getPreparedBundle(mBundle)).isNull();
+  }
+
+  @Test
+  public void testReusesPreparedBundleWhenBundleIsRewrittenWithSameContent() {
+    mCache.getFileToLoad(mBundle.getPath());
+    runPendingTasks();
+    File preparedBundle = mCache.getPreparedBundle(mBundle);
+
+    assertThat(mBundle.setLastModified(mBundle.lastModified() + 1000)).isTrue();
+    assertThat(mCache.getFileToLoad(mBundle.getPath())).isEqualTo(mBundle.getPath());
+    runPendingTasks();
+
+    assertThat(mCache.getFileToLoad(mBundle.getPath())).isEqualTo(preparedBundle.getPath());
+    assertThat(mPreparer.mPrepareCount).isEqualTo(1);
+  }
+
+  @Test
+  public void testDiscardsPreparedBundleWhenBundleChangesWhilePreparing() {
+    PreparedBundleCache cache =
+        new PreparedBundleCache(
+            new FakePreparer() {
+              @Override
+              public boolean prepare(File sourceBundle, File outputFile) throws IOException {
+                super.prepare(sourceBundle, outputFile);
+                write(sourceBundle, "__d(function() { return 2; });");
+                return true;
+              }
+            },
+            new Executor() {
+              @Override
+              public void execute(Runnable command) {
+                command.run();
+              }
+            });
+
+    assertThat(cache.getFileToLoad(mBundle.getPath())).isEqualTo(mBundle.getPath());
+    assertThat(mBundle.getParentFile().list()).containsOnly(mBundle.getName());
+  }
+
+  private void runPendingTasks() {
+    List<Runnable> tasks = new ArrayList<>(mPendingTasks);
+    mPendingTasks.clear();
+    for (Runnable task : tasks) {
+      task.run();
+    }
+  }
+
+  private static void write(File file, String content) throws IOException {
+    try (FileOutputStream output = new FileOutputStream(file)) {
+      output.write(content.getBytes("UTF-8"));
+    }
+  }
+}
@@ -13,6 +13,7 @@ import java.io.IOException;
 import java.util.Map;
 import okio.Buffer;
 import okio.ByteString;
+import okio.Sink;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
@@ -148,4 +149,72 @@ public class MultipartStreamReaderTest {
     assertThat(callback.getCallCount()).isEqualTo(1);
     assertThat(success).isFalse();
   }
+
+  @Test
+  public void testStreamedChunk() throws IOException {
+    StringBuilder bundle = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      bundle.append("__d(function() {}, ").append(i).append(");\r\n--\r\n");
+    }
+    ByteString response =
+        ByteString.encodeUtf8(
+            "preable, should be ignored\r\n"
+                + "--sample_boundary\r\n"
+                + "Content-Type: application/json\r\n\r\n"
+                + "{\"done\":1}\r\n"
+                + "--sample_boundary\r\n"
+                + "Content-Type: application/javascript\r\n\r\n"
+                + bundle
+                + "\r\n--sample_boundary--\r\n"
+                + "epilogue, should be ignored");
+
+    Buffer source = new Buffer();
+    source.write(response);
+
+    MultipartStreamReader reader = new MultipartStreamReader(source, "sample_boundary");
+
+    final Buffer bundleSink = new Buffer();
+    final int[] streamedChunkCount = {0};
+    CallCountTrackingChunkCallback callback =
+        new StreamingChunkCallback() {
+          @Override
+          public Sink openChunkSink(Map<String, String> headers) {
+            return "application/javascript".equals(headers.get("Content-Type"))
+                ? bundleSink
+                : null;
+          }
+
+          @Override
+          public void onStreamedChunkComplete(Map<String, String> headers, boolean done) {
+            streamedChunkCount[0]++;
+            assertThat(done).isTrue();
+          }
+
+          @Override
+          public void onChunkComplete(Map<String, String> headers, Buffer body, boolean done)
+              throws IOException {
+            super.onChunkComplete(headers, body, done);
+
+            assertThat(done).isFalse();
+            assertThat(body.readUtf8()).isEqualTo("{\"done\":1}");
+          }
+
+          @Override
+          public void onChunkProgress(Map<String, String> headers, long loaded, long total) {
+            // Only a window of the streamed chunk is kept in memory.
+            if (headers.get("Content-Type").equals("application/javascript")) {
+              assertThat(loaded - bundleSink.size()).isLessThan(8 * 1024);
+            }
+          }
+        };
+    boolean success = reader.readAllParts(callback);
+
+    assertThat(success).isTrue();
+    assertThat(callback.getCallCount()).isEqualTo(1);
+    assertThat(streamedChunkCount[0]).isEqualTo(1);
+    assertThat(bundleSink.readUtf8()).isEqualTo(bundle.toString());
+  }
+
+  abstract class StreamingChunkCallback extends CallCountTrackingChunkCallback
+      implements MultipartStreamReader.StreamingChunkListener {}
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.jstasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.PerfCounters;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.common.LifecycleState;
+import com.facebook.react.modules.appregistry.AppRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+/** Tests for {@link HeadlessJsTaskContext} */
+@RunWith(RobolectricTestRunner.class)
+public class HeadlessJsTaskContextTest {
+
+  private AppRegistry mAppRegistry;
+  private HeadlessJsTaskContext mTaskContext;
+
+  @Before
+  public void setUp() {
+    ReactContext reactContext = mock(ReactContext.class);
+    mAppRegistry = mock(AppRegistry.class);
+    when(reactContext.getLifecycleState()).thenReturn(LifecycleState.BEFORE_CREATE);
+    when(reactContext.hasActiveReactInstance()).thenReturn(true);
+    when(reactContext.getJSModule(AppRegistry.class)).thenReturn(mAppRegistry);
+    mTaskContext = HeadlessJsTaskContext.getInstance(reactContext);
+  }
+
+  @Test
+  public void testQueuesTasksPastLimitAndStartsThemByPriority() {
+    mTaskContext.setMaxConcurrentTasks(1);
+    WritableMap data = new JavaOnlyMap();
+
+    int running = mTaskContext.startTask(config("running", data, 0, null));
+    int low = mTaskContext.startTask(config("low", data, HeadlessJsTaskPriority.LOW, null));
+    int high = mTaskContext.startTask(config("high", data, HeadlessJsTaskPriority.HIGH, null));
+
+    verify(mAppRegistry).startHeadlessTask(running, "running", data);
+    verify(mAppRegistry, never()).startHeadlessTask(high, "high", data);
+    assertThat(mTaskContext.isTaskRunning(low)).isTrue();
+
+    mTaskContext.finishTask(running);
+    ShadowLooper.idleMainLooper();
+
+    verify(mAppRegistry).startHeadlessTask(high, "high", data);
+    verify(mAppRegistry, never()).startHeadlessTask(low, "low", data);
+
+    mTaskContext.finishTask(high);
+    ShadowLooper.idleMainLooper();
+
+    verify(mAppRegistry).startHeadlessTask(low, "low", data);
+    assertThat(
+            mTaskContext.getStats().getValueCount(HeadlessJsTaskContext.STAT_QUEUE_WAIT_MS))
+        .isEqualTo(3);
+  }
+
+  @Test
+  public void testCoalescesQueuedTasksWithSameKey() {
+    mTaskContext.setMaxConcurrentTasks(1);
+    WritableMap firstData = new JavaOnlyMap();
+    WritableMap secondData = JavaOnlyMap.of("attempt", 2);
+
+    int running = mTaskContext.startTask(config("running", firstData, 0, null));
+    int first = mTaskContext.startTask(config("sync", firstData, 0, "sync"));
+    int second = mTaskContext.startTask(config("sync", secondData, 0, "sync"));
+
+    assertThat(second).isEqualTo(first);
+    assertThat(mTaskContext.getStats().getCount(HeadlessJsTaskContext.STAT_COALESCED))
+        .isEqualTo(1);
+
+    mTaskContext.finishTask(running);
+    ShadowLooper.idleMainLooper();
+
+    verify(mAppRegistry, never()).startHeadlessTask(first, "sync", firstData);
+    verify(mAppRegistry).startHeadlessTask(first, "sync", secondData);
+  }
+
+  @Test
+  public void testFinishesTimedOutTasks() {
+    WritableMap data = new JavaOnlyMap();
+    int shortTask = mTaskContext.startTask(config("short", data, 100, null));
+    int longTask = mTaskContext.startTask(config("long", data, 300, null));
+    int noTimeout = mTaskContext.startTask(config("none", data, 0, null));
+
+    ShadowLooper.idleMainLooper(150, TimeUnit.MILLISECONDS);
+    assertThat(mTaskContext.isTaskRunning(shortTask)).isFalse();
+    assertThat(mTaskContext.isTaskRunning(longTask)).isTrue();
+
+    ShadowLooper.idleMainLooper(200, TimeUnit.MILLISECONDS);
+    assertThat(mTaskContext.isTaskRunning(longTask)).isFalse();
+    assertThat(mTaskContext.isTaskRunning(noTimeout)).isTrue();
+    PerfCounters stats = mTaskContext.getStats();
+    assertThat(stats.getCount(HeadlessJsTaskContext.STAT_TIMED_OUT)).isEqualTo(2);
+    assertThat(stats.getValueCount(HeadlessJsTaskContext.STAT_RUN_TIME_MS)).isEqualTo(2);
+  }
+
+  @Test
+  public void testRetriedRunIsRecordedAsRetryInsteadOfFinish() {
+    mTaskContext.setMaxConcurrentTasks(1);
+    WritableMap data = new JavaOnlyMap();
+    int task =
+        mTaskContext.startTask(
+            new HeadlessJsTaskConfig(
+                "retried",
+                data,
+                0,
+                false,
+                new LinearCountingRetryPolicy(1, 100),
+                HeadlessJsTaskPriority.NORMAL,
+                null));
+    int queued = mTaskContext.startTask(config("queued", data, 0, null));
+
+    assertThat(mTaskContext.retryTask(task)).isTrue();
+    PerfCounters stats = mTaskContext.getStats();
+    assertThat(stats.getCount(HeadlessJsTaskContext.STAT_RETRIED)).isEqualTo(1);
+    assertThat(stats.getValueCount(HeadlessJsTaskContext.STAT_RUN_TIME_MS)).isEqualTo(0);
+
+    // The retried task frees its slot until the delay elapses
+    ShadowLooper.idleMainLooper();
+    verify(mAppRegistry).startHeadlessTask(queued, "queued", data);
+    mTaskContext.finishTask(queued);
+    ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+    verify(mAppRegistry, times(2)).startHeadlessTask(task, "retried", data);
+
+    mTaskContext.finishTask(task);
+    assertThat(stats.getCount(HeadlessJsTaskContext.STAT_RETRIED)).isEqualTo(1);
+    assertThat(stats.getValueCount(HeadlessJsTaskContext.STAT_RUN_TIME_MS)).isEqualTo(2);
+    assertThat(stats.getValueCount(HeadlessJsTaskContext.STAT_QUEUE_WAIT_MS)).isEqualTo(3);
+  }
+
+  private static HeadlessJsTaskConfig config(
+      String taskKey, WritableMap data, long timeout, String coalescingKey) {
+    return new HeadlessJsTaskConfig(
+        taskKey,
+        data,
+        timeout,
+        false,
+        NoRetryPolicy.INSTANCE,
+        HeadlessJsTaskPriority.NORMAL,
+        coalescingKey);
+  }
+
+  private static HeadlessJsTaskConfig config(
+      String taskKey, WritableMap data, HeadlessJsTaskPriority priority, String coalescingKey) {
+    return new HeadlessJsTaskConfig(
+        taskKey, data, 0, false, NoRetryPolicy.INSTANCE, priority, coalescingKey);
+  }
+}
@@ -8,6 +8,7 @@
 package com.facebook.react.modules.blob;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
@@ -16,6 +17,9 @@ import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.JavaOnlyArray;
 import com.facebook.react.bridge.JavaOnlyMap;
 import com.facebook.react.bridge.ReactTestHelper;
+import com.facebook.react.bridge.ReadableMap;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
@@ -25,6 +29,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
@@ -48,6 +53,8 @@ public class BlobModuleTest {
 
   @Rule public PowerMockRule rule = new PowerMockRule();
 
+  @Rule public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
   @Before
   public void prepareModules() throws Exception {
     PowerMockito.mockStatic(Arguments.class);
@@ -110,6 +117,47 @@ public class BlobModuleTest {
     assertNull(mBlobModule.resolve(mBlobId, 0, mBytes.length));
   }
 
+  private File createFile() throws Exception {
+    File file = mTemporaryFolder.newFile("image.jpg");
+    try (FileOutputStream output = new FileOutputStream(file)) {
+      output.write(mBytes);
+    }
+    return file;
+  }
+
+  @Test
+  public void testCreateBlobFromUriReadsUriWhenResolved() throws Exception {
+    File file = createFile();
+    ReadableMap blob = mBlobModule.createBlobFromUri(Uri.fromFile(file));
+
+    assertNotNull(blob);
+    assertEquals(0, blob.getInt("offset"));
+    assertEquals(mBytes.length, blob.getInt("size"));
+    assertEquals("image.jpg", blob.getString("name"));
+    assertEquals(file.lastModified(), (long) blob.getDouble("lastModified"));
+    String blobId = blob.getString("blobId");
+    assertArrayEquals(mBytes, mBlobModule.resolve(blobId, 0, -1));
+    assertArrayEquals(
+        Arrays.copyOfRange(mBytes, 30, 50), mBlobModule.resolve(blobId, 30, 20));
+    mBlobModule.remove(blobId);
+  }
+
+  @Test
+  public void testRemoveReleasesUriBlob() throws Exception {
+    String blobId = mBlobModule.createBlobFromUri(Uri.fromFile(createFile())).getString("blobId");
+    assertNotNull(mBlobModule.resolve(blobId, 0, -1));
+
+    // Called by the Blob collector and by Blob.close() through release()
+    mBlobModule.remove(blobId);
+
+    assertNull(mBlobModule.resolve(blobId, 0, -1));
+  }
+
+  @Test
+  public void testCreateBlobFromUriFailsWhenSizeIsUnknown() {
+    assertNull(mBlobModule.createBlobFromUri(Uri.parse("file:///does/not/exist.jpg")));
+  }
+
   @Test
   public void testCreateFromParts() {
     String id = UUID.randomUUID().toString();
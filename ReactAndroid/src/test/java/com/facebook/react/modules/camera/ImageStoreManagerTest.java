@@ -64,11 +64,82 @@ public class ImageStoreManagerTest {
     assertEquals("dGVzdA==", invokeConversion(inputStream));
   }
 
+  @Test
+  public void itReadsChunksThatConcatenateToTheWholeBase64() throws IOException {
+    byte[] data = generateRandomByteString(10000);
+    int chunkSize = ImageStoreManager.getChunkSize(4000);
+    StringBuilder base64 = new StringBuilder();
+    int offset = 0;
+    int bytesRead;
+    do {
+      byte[] chunk = new byte[chunkSize];
+      bytesRead = ImageStoreManager.readChunk(new ByteArrayInputStream(data), offset, chunk);
+      base64.append(Base64.encodeToString(chunk, 0, bytesRead, Base64.NO_WRAP));
+      offset += bytesRead;
+    } while (bytesRead == chunkSize);
+
+    assertEquals(data.length, offset);
+    assertEquals(invokeConversion(new ByteArrayInputStream(data)), base64.toString());
+  }
+
+  @Test
+  public void itSkipsStreamsThatCantSkipInBufferSizedReads() throws IOException {
+    byte[] data = generateRandomByteString(30000);
+    NonSkippingInputStream inputStream = new NonSkippingInputStream(data);
+    byte[] chunk = new byte[3];
+
+    assertEquals(3, ImageStoreManager.readChunk(inputStream, 20000, chunk));
+    assertEquals(data[20000], chunk[0]);
+    assertEquals(data[20002], chunk[2]);
+    // Three reads to skip 20000 bytes, and one for the chunk
+    assertEquals(4, inputStream.mReadCount);
+  }
+
+  @Test
+  public void itReadsNothingPastTheEndOfStreamsThatCantSkip() throws IOException {
+    byte[] chunk = new byte[3];
+    assertEquals(
+        0, ImageStoreManager.readChunk(new NonSkippingInputStream(new byte[10]), 20, chunk));
+  }
+
+  @Test
+  public void itBoundsChunkSize() {
+    assertEquals(3999, ImageStoreManager.getChunkSize(4000));
+    assertEquals(3, ImageStoreManager.getChunkSize(1));
+    assertEquals(
+        ImageStoreManager.MAX_CHUNK_SIZE, ImageStoreManager.getChunkSize(Integer.MAX_VALUE));
+  }
+
   private String invokeConversion(InputStream inputStream) throws IOException {
     return new ImageStoreManager(mock(ReactApplicationContext.class))
         .convertInputStreamToBase64OutputStream(inputStream);
   }
 
+  /** Stands for the pipe of a content provider, which can't skip. */
+  private static class NonSkippingInputStream extends ByteArrayInputStream {
+    private int mReadCount;
+
+    private NonSkippingInputStream(byte[] data) {
+      super(data);
+    }
+
+    @Override
+    public synchronized long skip(long n) {
+      return 0;
+    }
+
+    @Override
+    public synchronized int read() {
+      throw new AssertionError("Bytes should not be read one by one");
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+      mReadCount++;
+      return super.read(b, off, len);
+    }
+  }
+
   private byte[] generateRandomByteString(final int length) {
     Random r = new Random();
     StringBuilder sb = new StringBuilder();
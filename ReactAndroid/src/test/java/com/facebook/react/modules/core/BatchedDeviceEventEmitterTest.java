@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.PerfCounters;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventBatch;
+import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link BatchedDeviceEventEmitter}. */
+@PrepareForTest({Arguments.class})
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+@RunWith(RobolectricTestRunner.class)
+public class BatchedDeviceEventEmitterTest {
+
+  private ReactApplicationContext mReactContext;
+  private RCTDeviceEventEmitter mJSEmitter;
+  private RCTDeviceEventBatch mJSBatch;
+  private List<Runnable> mJSQueue;
+  private BatchedDeviceEventEmitter mEmitter;
+
+  @Rule public PowerMockRule rule = new PowerMockRule();
+
+  @Before
+  public void setUp() throws Exception {
+    // Batches are built with the real conversions, into arrays that don't need native code
+    PowerMockito.mockStatic(Arguments.class, Mockito.CALLS_REAL_METHODS);
+    PowerMockito.doAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                return new JavaOnlyArray();
+              }
+            })
+        .when(Arguments.class, "createArray");
+
+    mReactContext = mock(ReactApplicationContext.class);
+    mJSEmitter = mock(RCTDeviceEventEmitter.class);
+    mJSBatch = mock(RCTDeviceEventBatch.class);
+    mJSQueue = new ArrayList<>();
+    when(mReactContext.hasActiveReactInstance()).thenReturn(true);
+    when(mReactContext.getJSModule(RCTDeviceEventEmitter.class)).thenReturn(mJSEmitter);
+    when(mReactContext.getJSModule(RCTDeviceEventBatch.class)).thenReturn(mJSBatch);
+    when(mReactContext.runOnJSQueueThread(any(Runnable.class)))
+        .thenAnswer(
+            new Answer<Boolean>() {
+              @Override
+              public Boolean answer(InvocationOnMock invocation) {
+                mJSQueue.add((Runnable) invocation.getArguments()[0]);
+                return true;
+              }
+            });
+    mEmitter = new BatchedDeviceEventEmitter(mReactContext);
+  }
+
+  private void runJSQueue() {
+    List<Runnable> tasks = new ArrayList<>(mJSQueue);
+    mJSQueue.clear();
+    for (Runnable task : tasks) {
+      task.run();
+    }
+  }
+
+  @Test
+  public void testFlushIsScheduledOncePerTick() {
+    mEmitter.emitCoalesced("progress", 1, "a");
+    mEmitter.emitCoalesced("progress", 1, "b");
+    mEmitter.emitCoalesced("progress", 1, "c");
+
+    assertThat(mJSQueue).hasSize(1);
+    verify(mJSEmitter, never()).emit(any(String.class), any());
+  }
+
+  @Test
+  public void testCoalescedEventsDeliverLatestValue() {
+    mEmitter.emitCoalesced("progress", 1, "a");
+    mEmitter.emitCoalesced("progress", 1, "b");
+    mEmitter.emitCoalesced("progress", 1, "c");
+    runJSQueue();
+
+    verify(mJSEmitter, times(1)).emit(any(String.class), any());
+    verify(mJSEmitter).emit("progress", "c");
+
+    PerfCounters stats = mEmitter.getStats();
+    assertThat(stats.getCount(BatchedDeviceEventEmitter.STAT_EVENTS_EMITTED)).isEqualTo(3);
+    assertThat(stats.getCount(BatchedDeviceEventEmitter.STAT_EVENTS_COALESCED)).isEqualTo(2);
+    assertThat(stats.getCount(BatchedDeviceEventEmitter.STAT_JS_CALLS)).isEqualTo(1);
+    assertThat(stats.getValueCount(BatchedDeviceEventEmitter.STAT_LATENCY_MS)).isEqualTo(1);
+  }
+
+  @Test
+  public void testNextTickSchedulesNewFlush() {
+    mEmitter.emitCoalesced("progress", 1, "a");
+    runJSQueue();
+    mEmitter.emitCoalesced("progress", 1, "b");
+    runJSQueue();
+
+    verify(mJSEmitter).emit("progress", "a");
+    verify(mJSEmitter).emit("progress", "b");
+    assertThat(mEmitter.getStats().getCount(BatchedDeviceEventEmitter.STAT_EVENTS_COALESCED))
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void testEventsAreDroppedWithoutActiveInstance() {
+    when(mReactContext.hasActiveReactInstance()).thenReturn(false);
+    mEmitter.emit("event", null);
+    runJSQueue();
+
+    verify(mJSEmitter, never()).emit(any(String.class), any());
+    assertThat(mEmitter.getStats().getCount(BatchedDeviceEventEmitter.STAT_JS_CALLS))
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void testInterleavedEventsAreBatchedInEmitOrder() {
+    mEmitter.emit("change", "a");
+    mEmitter.emitCoalesced("progress", 1, 10);
+    mEmitter.emitCoalesced("progress", 2, 20);
+    mEmitter.emit("change", "b");
+    // Replaces the first progress event of request 1, and moves it after the second change
+    mEmitter.emitCoalesced("progress", 1, 11);
+    mEmitter.emit("done", null);
+    assertThat(mJSQueue).hasSize(1);
+    runJSQueue();
+
+    verify(mJSEmitter, never()).emit(any(String.class), any());
+    ArgumentCaptor<WritableArray> batch = ArgumentCaptor.forClass(WritableArray.class);
+    verify(mJSBatch, times(1)).emitBatch(batch.capture());
+    assertThat(batch.getValue().toArrayList())
+        .containsExactly(
+            "change", "a", "progress", 20.0, "change", "b", "progress", 11.0, "done", null);
+
+    PerfCounters stats = mEmitter.getStats();
+    assertThat(stats.getCount(BatchedDeviceEventEmitter.STAT_EVENTS_EMITTED)).isEqualTo(6);
+    assertThat(stats.getCount(BatchedDeviceEventEmitter.STAT_EVENTS_COALESCED)).isEqualTo(1);
+    assertThat(stats.getCount(BatchedDeviceEventEmitter.STAT_JS_CALLS)).isEqualTo(1);
+    assertThat(stats.getValueCount(BatchedDeviceEventEmitter.STAT_LATENCY_MS)).isEqualTo(5);
+  }
+
+  @Test
+  public void testEventsOfDifferentTicksAreBatchedSeparately() {
+    mEmitter.emit("first", 1);
+    mEmitter.emit("second", 2);
+    runJSQueue();
+    mEmitter.emit("third", 3);
+    mEmitter.emit("first", 4);
+    runJSQueue();
+
+    ArgumentCaptor<WritableArray> batches = ArgumentCaptor.forClass(WritableArray.class);
+    verify(mJSBatch, times(2)).emitBatch(batches.capture());
+    assertThat(batches.getAllValues().get(0).toArrayList())
+        .containsExactly("first", 1.0, "second", 2.0);
+    assertThat(batches.getAllValues().get(1).toArrayList())
+        .containsExactly("third", 3.0, "first", 4.0);
+  }
+}
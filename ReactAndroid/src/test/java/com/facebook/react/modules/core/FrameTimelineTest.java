@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.facebook.react.bridge.PerfCounters;
+import com.facebook.react.modules.core.FrameTimeline.FrameRecord;
+import com.facebook.react.modules.core.FrameTimeline.Segment;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link FrameTimeline}. */
+@RunWith(RobolectricTestRunner.class)
+public class FrameTimelineTest {
+
+  private static final long FRAME_NANOS = 16000000;
+
+  private FrameTimeline mTimeline;
+
+  @Before
+  public void setUp() {
+    mTimeline = new FrameTimeline();
+  }
+
+  private void onFrame(long frameTimeNanos, long dispatchUI, long timersEvents) {
+    int[] counts = new int[ReactChoreographer.CallbackType.values().length];
+    counts[ReactChoreographer.CallbackType.DISPATCH_UI.getOrder()] = dispatchUI > 0 ? 1 : 0;
+    counts[ReactChoreographer.CallbackType.TIMERS_EVENTS.getOrder()] = timersEvents > 0 ? 1 : 0;
+    mTimeline.onFrame(frameTimeNanos, counts, callbackDurations(dispatchUI, timersEvents));
+  }
+
+  private long[] callbackDurations(long dispatchUI, long timersEvents) {
+    long[] durations = new long[ReactChoreographer.CallbackType.values().length];
+    durations[ReactChoreographer.CallbackType.DISPATCH_UI.getOrder()] = dispatchUI;
+    durations[ReactChoreographer.CallbackType.TIMERS_EVENTS.getOrder()] = timersEvents;
+    return durations;
+  }
+
+  @Test
+  public void testRecordsSegmentsOfEachFrame() {
+    mTimeline.recordSegment(Segment.LAYOUT, 3000);
+    mTimeline.recordSegment(Segment.LAYOUT, 2000);
+    onFrame(FRAME_NANOS, 1000, 4000);
+    onFrame(2 * FRAME_NANOS, 0, 500);
+
+    List<FrameRecord> frames = mTimeline.getRecentFrames();
+    assertThat(frames).hasSize(2);
+    assertThat(frames.get(0).getFrameIntervalNanos()).isEqualTo(0);
+    assertThat(frames.get(0).getSegmentDurationNanos(Segment.LAYOUT)).isEqualTo(5000);
+    assertThat(frames.get(0).getSegmentDurationNanos(Segment.DISPATCH_UI)).isEqualTo(1000);
+    assertThat(frames.get(0).getCallbacksDurationNanos()).isEqualTo(5000);
+    assertThat(frames.get(1).getFrameIntervalNanos()).isEqualTo(FRAME_NANOS);
+    assertThat(frames.get(1).getSegmentDurationNanos(Segment.LAYOUT)).isEqualTo(0);
+    assertThat(frames.get(1).getSegmentDurationNanos(Segment.TIMERS_EVENTS)).isEqualTo(500);
+  }
+
+  @Test
+  public void testKeepsLastFramesOnly() {
+    for (int i = 1; i <= FrameTimeline.CAPACITY + 10; i++) {
+      onFrame(i * FRAME_NANOS, i, 0);
+    }
+
+    List<FrameRecord> frames = mTimeline.getRecentFrames();
+    assertThat(frames).hasSize(FrameTimeline.CAPACITY);
+    assertThat(frames.get(0).getSegmentDurationNanos(Segment.DISPATCH_UI)).isEqualTo(11);
+    assertThat(frames.get(FrameTimeline.CAPACITY - 1).getSegmentDurationNanos(Segment.DISPATCH_UI))
+        .isEqualTo(FrameTimeline.CAPACITY + 10);
+  }
+
+  @Test
+  public void testAggregatesSegmentsAndCallbacksOverFrames() {
+    mTimeline.recordSegment(Segment.LAYOUT, 3000);
+    onFrame(FRAME_NANOS, 1000, 4000);
+    onFrame(2 * FRAME_NANOS, 2000, 0);
+
+    PerfCounters stats = mTimeline.getStats();
+    assertThat(stats.getCount(ReactChoreographer.CallbackType.DISPATCH_UI.getCallbacksStat()))
+        .isEqualTo(2);
+    assertThat(stats.getCount(ReactChoreographer.CallbackType.TIMERS_EVENTS.getCallbacksStat()))
+        .isEqualTo(1);
+    assertThat(stats.getValueCount(Segment.DISPATCH_UI.getDurationStat())).isEqualTo(2);
+    assertThat(stats.getValueTotal(Segment.DISPATCH_UI.getDurationStat())).isEqualTo(3000);
+    assertThat(stats.getValueMax(Segment.DISPATCH_UI.getDurationStat())).isEqualTo(2000);
+    assertThat(stats.getValueCount(Segment.LAYOUT.getDurationStat())).isEqualTo(1);
+    assertThat(stats.getValueTotal(FrameTimeline.STAT_CALLBACKS_NS)).isEqualTo(7000);
+  }
+
+  @Test
+  public void testMeasuresOwnOverhead() {
+    for (int i = 1; i <= 1000; i++) {
+      onFrame(i * FRAME_NANOS, 4000000, 4000000);
+    }
+
+    PerfCounters stats = mTimeline.getStats();
+    assertThat(stats.getValueCount(FrameTimeline.STAT_OVERHEAD_NS)).isEqualTo(1000);
+    assertThat(stats.getValueTotal(FrameTimeline.STAT_OVERHEAD_NS)).isGreaterThan(0);
+  }
+
+  @Test
+  public void testSlowFramesAreReported() {
+    final List<FrameRecord> slowFrames = new ArrayList<>();
+    mTimeline.addSlowFrameListener(
+        new FrameTimeline.SlowFrameListener() {
+          @Override
+          public void onSlowFrame(FrameRecord frame) {
+            slowFrames.add(frame);
+          }
+        });
+    mTimeline.setSlowFrameThresholdNanos(10000);
+
+    onFrame(FRAME_NANOS, 4000, 4000);
+    onFrame(2 * FRAME_NANOS, 8000, 4000);
+
+    assertThat(slowFrames).hasSize(1);
+    assertThat(slowFrames.get(0).getFrameTimeNanos()).isEqualTo(2 * FRAME_NANOS);
+    assertThat(slowFrames.get(0).getSegmentDurationNanos(Segment.DISPATCH_UI)).isEqualTo(8000);
+  }
+}
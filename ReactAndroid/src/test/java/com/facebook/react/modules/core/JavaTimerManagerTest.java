@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.PerfCounters;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.common.SystemClock;
+import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.devsupport.interfaces.DevSupportManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+/** Tests for the batching of background timers by {@link JavaTimerManager}. */
+@PrepareForTest({Arguments.class, SystemClock.class})
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+@RunWith(RobolectricTestRunner.class)
+public class JavaTimerManagerTest {
+
+  private boolean mBackgroundTimerBatchingFlag;
+  private ReactChoreographer mReactChoreographer;
+  private JavaTimerManager mTimerManager;
+  private long mStartTimeMs;
+  // Each call to JS, as the time of the call followed by the ids of the timers called
+  private List<List<Long>> mTimerCalls;
+
+  @Rule public PowerMockRule rule = new PowerMockRule();
+
+  @Before
+  public void setUp() {
+    mBackgroundTimerBatchingFlag = ReactFeatureFlags.enableBackgroundTimerBatching;
+    ReactFeatureFlags.enableBackgroundTimerBatching = true;
+
+    PowerMockito.mockStatic(Arguments.class);
+    when(Arguments.createArray())
+        .thenAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                return new JavaOnlyArray();
+              }
+            });
+    // Timers use the same clock as the handler performing the background wakeups
+    PowerMockito.mockStatic(SystemClock.class);
+    when(SystemClock.nanoTime())
+        .thenAnswer(
+            new Answer<Long>() {
+              @Override
+              public Long answer(InvocationOnMock invocation) {
+                return TimeUnit.MILLISECONDS.toNanos(android.os.SystemClock.uptimeMillis());
+              }
+            });
+
+    mTimerCalls = new ArrayList<>();
+    JavaScriptTimerExecutor timerExecutor = mock(JavaScriptTimerExecutor.class);
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                ReadableArray timerIds = (ReadableArray) invocation.getArguments()[0];
+                List<Long> call = new ArrayList<>();
+                call.add(android.os.SystemClock.uptimeMillis() - mStartTimeMs);
+                for (int i = 0; i < timerIds.size(); i++) {
+                  call.add((long) timerIds.getInt(i));
+                }
+                mTimerCalls.add(call);
+                return null;
+              }
+            })
+        .when(timerExecutor)
+        .callTimers(any(WritableArray.class));
+
+    mReactChoreographer = mock(ReactChoreographer.class);
+    mTimerManager =
+        new JavaTimerManager(
+            mock(ReactApplicationContext.class),
+            timerExecutor,
+            mReactChoreographer,
+            mock(DevSupportManager.class));
+    mTimerManager.onHostPause();
+    mTimerManager.onHeadlessJsTaskStart(1);
+    mStartTimeMs = android.os.SystemClock.uptimeMillis();
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enableBackgroundTimerBatching = mBackgroundTimerBatchingFlag;
+  }
+
+  private static List<Long> timerCall(long timeMs, long... timerIds) {
+    List<Long> call = new ArrayList<>();
+    call.add(timeMs);
+    for (long timerId : timerIds) {
+      call.add(timerId);
+    }
+    return call;
+  }
+
+  @Test
+  public void testNearbyTimersShareWakeupInsideTheirWindows() {
+    // Windows are a quarter of the delays: 25ms, 27ms and 30ms
+    mTimerManager.createTimer(1, 100, false);
+    mTimerManager.createTimer(2, 110, false);
+    mTimerManager.createTimer(3, 120, false);
+
+    ShadowLooper.idleMainLooper(124, TimeUnit.MILLISECONDS);
+    assertThat(mTimerCalls).isEmpty();
+
+    // The earliest deadline, 100ms + 25ms, is also within the windows of the other timers
+    ShadowLooper.idleMainLooper(1, TimeUnit.MILLISECONDS);
+    assertThat(mTimerCalls).containsExactly(timerCall(125, 1, 2, 3));
+
+    PerfCounters stats = mTimerManager.getBackgroundTimerStats();
+    assertThat(stats.getCount(JavaTimerManager.STAT_WAKEUPS)).isEqualTo(1);
+    assertThat(stats.getValueCount(JavaTimerManager.STAT_LATENESS_MS)).isEqualTo(3);
+    assertThat(stats.getValueTotal(JavaTimerManager.STAT_LATENESS_MS)).isEqualTo(25 + 15 + 5);
+    assertThat(stats.getValueMax(JavaTimerManager.STAT_LATENESS_MS)).isEqualTo(25);
+    // The frame callback posted when the task started was removed when batching started
+    verify(mReactChoreographer)
+        .removeFrameCallback(
+            eq(ReactChoreographer.CallbackType.TIMERS_EVENTS),
+            any(ChoreographerCompat.FrameCallback.class));
+  }
+
+  @Test
+  public void testTimerWithEarlierDeadlineMovesWakeupEarlier() {
+    // Window of 2500ms, capped at 5000ms for longer timers
+    mTimerManager.createTimer(1, 10000, false);
+    // Window of the minimum 16ms
+    mTimerManager.createTimer(2, 10, false);
+
+    ShadowLooper.idleMainLooper(26, TimeUnit.MILLISECONDS);
+    assertThat(mTimerCalls).containsExactly(timerCall(26, 2));
+
+    ShadowLooper.idleMainLooper(12500 - 26, TimeUnit.MILLISECONDS);
+    assertThat(mTimerCalls).containsExactly(timerCall(26, 2), timerCall(12500, 1));
+
+    PerfCounters stats = mTimerManager.getBackgroundTimerStats();
+    assertThat(stats.getCount(JavaTimerManager.STAT_WAKEUPS)).isEqualTo(2);
+    assertThat(stats.getValueMax(JavaTimerManager.STAT_LATENESS_MS)).isEqualTo(2500);
+  }
+
+  @Test
+  public void testRepeatingTimerIsRescheduledFromItsWakeup() {
+    mTimerManager.createTimer(1, 100, true);
+
+    // Called at 125ms, then rescheduled 100ms after the time it was called for, i.e. 126ms
+    ShadowLooper.idleMainLooper(251, TimeUnit.MILLISECONDS);
+    assertThat(mTimerCalls).containsExactly(timerCall(125, 1), timerCall(251, 1));
+    assertThat(mTimerManager.getBackgroundTimerStats().getCount(JavaTimerManager.STAT_WAKEUPS))
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void testTimersAreNotBatchedInForeground() {
+    mTimerManager.onHostResume();
+    mTimerManager.createTimer(1, 100, false);
+
+    ShadowLooper.idleMainLooper(1000, TimeUnit.MILLISECONDS);
+    assertThat(mTimerCalls).isEmpty();
+    assertThat(mTimerManager.getBackgroundTimerStats().getCount(JavaTimerManager.STAT_WAKEUPS))
+        .isEqualTo(0);
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.facebook.react.bridge.PerfCounters;
+import com.facebook.react.modules.core.ReactChoreographer.CallbackType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link ReactChoreographer} */
+@RunWith(RobolectricTestRunner.class)
+public class ReactChoreographerTest {
+
+  private static final int THREAD_COUNT = 8;
+  private static final int POSTS_PER_THREAD = 1000;
+
+  private ReactChoreographer mReactChoreographer;
+  private ChoreographerCompat.FrameCallback mPostedDispatcher;
+  private long mFrameTimeNanos;
+  private List<String> mCalls;
+  private ExecutorService mExecutor;
+
+  @Before
+  public void setUp() {
+    ChoreographerCompat choreographer = mock(ChoreographerCompat.class);
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                assertThat(mPostedDispatcher).isNull();
+                mPostedDispatcher =
+                    (ChoreographerCompat.FrameCallback) invocation.getArguments()[0];
+                return null;
+              }
+            })
+        .when(choreographer)
+        .postFrameCallback(any(ChoreographerCompat.FrameCallback.class));
+    mReactChoreographer = new ReactChoreographer(choreographer, new FrameTimeline());
+    mCalls = Collections.synchronizedList(new ArrayList<String>());
+    mExecutor = Executors.newFixedThreadPool(THREAD_COUNT);
+  }
+
+  @After
+  public void tearDown() {
+    mExecutor.shutdownNow();
+  }
+
+  private void runFrame() {
+    assertThat(mPostedDispatcher).isNotNull();
+    ChoreographerCompat.FrameCallback dispatcher = mPostedDispatcher;
+    mPostedDispatcher = null;
+    mFrameTimeNanos += 16666667;
+    dispatcher.doFrame(mFrameTimeNanos);
+  }
+
+  private ChoreographerCompat.FrameCallback createCallback(final String name) {
+    return new ChoreographerCompat.FrameCallback() {
+      @Override
+      public void doFrame(long frameTimeNanos) {
+        mCalls.add(name);
+      }
+    };
+  }
+
+  @Test
+  public void testRunsCallbacksByTypeThenInPostingOrder() {
+    mReactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, createCallback("timers1"));
+    mReactChoreographer.postFrameCallback(CallbackType.DISPATCH_UI, createCallback("dispatch1"));
+    mReactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, createCallback("timers2"));
+    mReactChoreographer.postFrameCallback(CallbackType.PERF_MARKERS, createCallback("perf1"));
+    mReactChoreographer.postFrameCallback(CallbackType.DISPATCH_UI, createCallback("dispatch2"));
+
+    runFrame();
+    assertThat(mCalls).containsExactly("perf1", "dispatch1", "dispatch2", "timers1", "timers2");
+    // Nothing is left to run, so the next frame isn't requested
+    assertThat(mPostedDispatcher).isNull();
+  }
+
+  @Test
+  public void testCallbackPostedWhileRunningRunsInLaterTypeOrNextFrame() {
+    final ChoreographerCompat.FrameCallback timersCallback = createCallback("timers");
+    mReactChoreographer.postFrameCallback(
+        CallbackType.DISPATCH_UI,
+        new ChoreographerCompat.FrameCallback() {
+          @Override
+          public void doFrame(long frameTimeNanos) {
+            mCalls.add("dispatch");
+            mReactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, timersCallback);
+            mReactChoreographer.postFrameCallback(CallbackType.DISPATCH_UI, this);
+          }
+        });
+
+    runFrame();
+    assertThat(mCalls).containsExactly("dispatch", "timers");
+
+    runFrame();
+    assertThat(mCalls).containsExactly("dispatch", "timers", "dispatch", "timers");
+  }
+
+  @Test
+  public void testRemovedCallbackIsSkipped() {
+    ChoreographerCompat.FrameCallback removed = createCallback("removed");
+    mReactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, removed);
+    mReactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, createCallback("kept"));
+    mReactChoreographer.removeFrameCallback(CallbackType.TIMERS_EVENTS, removed);
+    // Removing a callback that isn't queued anymore has no effect
+    mReactChoreographer.removeFrameCallback(CallbackType.TIMERS_EVENTS, removed);
+
+    runFrame();
+    assertThat(mCalls).containsExactly("kept");
+
+    // The node of the removed callback was released and is reused
+    mReactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, removed);
+    runFrame();
+    assertThat(mCalls).containsExactly("kept", "removed");
+  }
+
+  @Test
+  public void testCallbackQueuedTwiceRunsTwiceUnlessRemoved() {
+    ChoreographerCompat.FrameCallback callback = createCallback("callback");
+    mReactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, callback);
+    mReactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, callback);
+    runFrame();
+    assertThat(mCalls).containsExactly("callback", "callback");
+
+    mCalls.clear();
+    mReactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, callback);
+    mReactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, callback);
+    mReactChoreographer.removeFrameCallback(CallbackType.TIMERS_EVENTS, callback);
+    runFrame();
+    assertThat(mCalls).containsExactly("callback");
+  }
+
+  @Test
+  public void testConcurrentPostsAreAllRunInPostingOrderOfEachThread() throws Exception {
+    final CountDownLatch start = new CountDownLatch(1);
+    List<Future<Void>> posts = new ArrayList<>();
+    for (int thread = 0; thread < THREAD_COUNT; thread++) {
+      final int threadIndex = thread;
+      posts.add(
+          mExecutor.submit(
+              new Callable<Void>() {
+                @Override
+                public Void call() throws InterruptedException {
+                  start.await();
+                  for (int i = 0; i < POSTS_PER_THREAD; i++) {
+                    mReactChoreographer.postFrameCallback(
+                        CallbackType.TIMERS_EVENTS, createCallback(threadIndex + ":" + i));
+                  }
+                  return null;
+                }
+              }));
+    }
+    start.countDown();
+    for (Future<Void> post : posts) {
+      post.get(5, TimeUnit.SECONDS);
+    }
+
+    runFrame();
+    assertThat(mCalls).hasSize(THREAD_COUNT * POSTS_PER_THREAD);
+    int[] nextIndexes = new int[THREAD_COUNT];
+    for (String call : mCalls) {
+      String[] parts = call.split(":");
+      int thread = Integer.parseInt(parts[0]);
+      assertThat(Integer.parseInt(parts[1])).isEqualTo(nextIndexes[thread]);
+      nextIndexes[thread]++;
+    }
+  }
+
+  @Test
+  public void testRecordsCallbacksAndTimePerType() {
+    mReactChoreographer.postFrameCallback(CallbackType.DISPATCH_UI, createCallback("dispatch"));
+    mReactChoreographer.postFrameCallback(CallbackType.DISPATCH_UI, createCallback("dispatch"));
+    runFrame();
+    mReactChoreographer.postFrameCallback(CallbackType.DISPATCH_UI, createCallback("dispatch"));
+    runFrame();
+
+    PerfCounters stats = mReactChoreographer.getFrameCallbackStats();
+    assertThat(stats.getCount(CallbackType.DISPATCH_UI.getCallbacksStat())).isEqualTo(3);
+    assertThat(stats.getValueCount(FrameTimeline.Segment.DISPATCH_UI.getDurationStat()))
+        .isEqualTo(2);
+    assertThat(stats.getValueCount(FrameTimeline.Segment.TIMERS_EVENTS.getDurationStat()))
+        .isEqualTo(0);
+  }
+}
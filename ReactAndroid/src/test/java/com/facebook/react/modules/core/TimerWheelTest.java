@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link TimerWheel}. */
+@RunWith(RobolectricTestRunner.class)
+public class TimerWheelTest {
+
+  private TimerWheel mWheel;
+  private List<TimerWheel.Timer> mExpired;
+
+  @Before
+  public void setUp() {
+    mWheel = new TimerWheel(1000);
+    mExpired = new ArrayList<>();
+  }
+
+  private TimerWheel.Timer addTimer(int id, long targetTime) {
+    TimerWheel.Timer timer = new TimerWheel.Timer(id, targetTime, 0, false);
+    mWheel.add(timer);
+    return timer;
+  }
+
+  private List<Integer> advanceTo(long now) {
+    mExpired.clear();
+    mWheel.advanceTo(now, mExpired);
+    List<Integer> ids = new ArrayList<>();
+    for (TimerWheel.Timer timer : mExpired) {
+      ids.add(timer.mCallbackID);
+    }
+    return ids;
+  }
+
+  @Test
+  public void testTimersExpireInTargetTimeOrder() {
+    addTimer(1, 1030);
+    addTimer(2, 1010);
+    addTimer(3, 1010);
+    addTimer(4, 1020);
+
+    assertThat(advanceTo(1010)).isEmpty();
+    assertThat(advanceTo(1025)).containsExactly(2, 3, 4);
+    assertThat(advanceTo(1031)).containsExactly(1);
+    assertThat(mWheel.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testTimersInThePastExpireOnNextAdvance() {
+    advanceTo(2000);
+    addTimer(1, 1500);
+
+    assertThat(advanceTo(2001)).containsExactly(1);
+  }
+
+  @Test
+  public void testRemovedTimersDoNotExpire() {
+    TimerWheel.Timer first = addTimer(1, 1010);
+    addTimer(2, 1010);
+    TimerWheel.Timer far = addTimer(3, 1000 + 60 * 60 * 1000);
+
+    mWheel.remove(first);
+    mWheel.remove(far);
+    mWheel.remove(far);
+
+    assertThat(mWheel.size()).isEqualTo(1);
+    assertThat(advanceTo(1000 + 2 * 60 * 60 * 1000)).containsExactly(2);
+  }
+
+  @Test
+  public void testLongTimersCascade() {
+    long[] delays = {255, 256, 257, 16383, 16384, 1 << 20, (1 << 20) + 1, 1L << 26};
+    for (int i = 0; i < delays.length; i++) {
+      addTimer(i, 1000 + delays[i]);
+    }
+
+    for (int i = 0; i < delays.length; i++) {
+      assertThat(advanceTo(1000 + delays[i])).isEmpty();
+      assertThat(advanceTo(1000 + delays[i] + 1)).containsExactly(i);
+    }
+  }
+
+  @Test
+  public void testTenThousandConcurrentTimers() {
+    int count = 10000;
+    List<TimerWheel.Timer> timers = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      timers.add(addTimer(i, 1000 + (i * 7919L) % 5000));
+    }
+    for (int i = 0; i < count; i += 2) {
+      mWheel.remove(timers.get(i));
+    }
+    assertThat(mWheel.size()).isEqualTo(count / 2);
+
+    int fired = 0;
+    long lastTarget = 0;
+    for (long now = 1016; now < 1000 + 5000 + 16; now += 16) {
+      advanceTo(now);
+      for (TimerWheel.Timer timer : mExpired) {
+        assertThat(timer.mCallbackID % 2).isEqualTo(1);
+        assertThat(timer.mTargetTime).isLessThan(now);
+        assertThat(timer.mTargetTime).isGreaterThanOrEqualTo(lastTarget);
+        lastTarget = timer.mTargetTime;
+        fired++;
+      }
+    }
+    assertThat(fired).isEqualTo(count / 2);
+    assertThat(mWheel.size()).isEqualTo(0);
+  }
+}
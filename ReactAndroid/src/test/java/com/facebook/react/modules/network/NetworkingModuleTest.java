@@ -8,6 +8,7 @@
 package com.facebook.react.modules.network;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
@@ -25,18 +26,27 @@ import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.StandardCharsets;
 import com.facebook.react.common.network.OkHttpCallUtil;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -644,4 +654,144 @@ public class NetworkingModuleTest {
       assertThat(requestIdArguments.getAllValues().contains(idx + 1)).isTrue();
     }
   }
+
+  @Test
+  public void testIdenticalGetsInFlightAreDeduplicated() throws Exception {
+    ReactFeatureFlags.enableNetworkRequestDeduplication = true;
+    try {
+      for (int idx = 0; idx < 3; idx++) {
+        mNetworkingModule.sendRequest(
+            "GET",
+            "http://somedomain/foo",
+            idx + 1,
+            JavaOnlyArray.of(),
+            null,
+            /* responseType */ "text",
+            /* useIncrementalUpdates*/ false,
+            /* timeout */ 0,
+            /* withCredentials */ false);
+      }
+      mNetworkingModule.sendRequest(
+          "GET",
+          "http://somedomain/bar",
+          4,
+          JavaOnlyArray.of(),
+          null,
+          /* responseType */ "text",
+          /* useIncrementalUpdates*/ false,
+          /* timeout */ 0,
+          /* withCredentials */ false);
+
+      ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class);
+      verify(mHttpClient, times(2)).newCall(argumentCaptor.capture());
+      assertThat(argumentCaptor.getAllValues().get(0).tag()).isEqualTo(1);
+      assertThat(argumentCaptor.getAllValues().get(1).tag()).isEqualTo(4);
+      assertThat(mNetworkingModule.getStats().getCount(NetworkingModule.STAT_DEDUPLICATED))
+          .isEqualTo(2);
+    } finally {
+      ReactFeatureFlags.enableNetworkRequestDeduplication = false;
+    }
+  }
+
+  private void sendDeduplicatableGet(int requestId, int timeout) {
+    mNetworkingModule.sendRequest(
+        "GET",
+        "http://somedomain/foo",
+        requestId,
+        JavaOnlyArray.of(),
+        null,
+        /* responseType */ "text",
+        /* useIncrementalUpdates*/ false,
+        timeout,
+        /* withCredentials */ false);
+  }
+
+  @Test
+  public void testGetsWithDifferentTimeoutsAreNotDeduplicated() throws Exception {
+    ReactFeatureFlags.enableNetworkRequestDeduplication = true;
+    try {
+      sendDeduplicatableGet(1, 0);
+      sendDeduplicatableGet(2, 1000);
+      sendDeduplicatableGet(3, 1000);
+
+      verify(mHttpClient, times(2)).newCall(any(Request.class));
+      assertThat(mNetworkingModule.getStats().getCount(NetworkingModule.STAT_DEDUPLICATED))
+          .isEqualTo(1);
+    } finally {
+      ReactFeatureFlags.enableNetworkRequestDeduplication = false;
+    }
+  }
+
+  @Test
+  public void testRequestsJoiningCallThatFailsToBeSentFail() throws Exception {
+    ReactFeatureFlags.enableNetworkRequestDeduplication = true;
+    mockEvents();
+    try {
+      when(mHttpClient.newCall(any(Request.class)))
+          .thenAnswer(
+              new Answer<Object>() {
+                @Override
+                public Object answer(InvocationOnMock invocation) {
+                  // An identical request joins the call before it fails to be sent
+                  sendDeduplicatableGet(2, 0);
+                  throw new IllegalStateException("Failed to create call");
+                }
+              })
+          .thenReturn(mock(Call.class));
+
+      try {
+        sendDeduplicatableGet(1, 0);
+        fail("Expected the call creation error to be thrown");
+      } catch (IllegalStateException e) {
+        // The request sending the call fails like non deduplicated requests
+      }
+      verifyErrorEmit(mEmitter, 2);
+
+      // The failed call is forgotten, identical requests send a new one
+      sendDeduplicatableGet(3, 0);
+      verify(mHttpClient, times(2)).newCall(any(Request.class));
+    } finally {
+      ReactFeatureFlags.enableNetworkRequestDeduplication = false;
+    }
+  }
+
+  @Test
+  public void testDeduplicatedResponseIsClosedWhenShuttingDown() throws Exception {
+    ReactFeatureFlags.enableNetworkRequestDeduplication = true;
+    PowerMockito.mockStatic(OkHttpCallUtil.class);
+    try {
+      Call call = mock(Call.class);
+      when(mHttpClient.newCall(any(Request.class))).thenReturn(call);
+      mNetworkingModule.initialize();
+      sendDeduplicatableGet(1, 0);
+      sendDeduplicatableGet(2, 0);
+      mNetworkingModule.invalidate();
+
+      final boolean[] closed = new boolean[1];
+      BufferedSource source =
+          Okio.buffer(
+              new ForwardingSource(new Buffer().writeUtf8("response")) {
+                @Override
+                public void close() throws IOException {
+                  closed[0] = true;
+                  super.close();
+                }
+              });
+      Response response =
+          new Response.Builder()
+              .request(new Request.Builder().url("http://somedomain/foo").build())
+              .protocol(Protocol.HTTP_1_1)
+              .code(200)
+              .message("OK")
+              .body(ResponseBody.create(MediaType.parse("text/plain"), -1L, source))
+              .build();
+      ArgumentCaptor<Callback> callbackCaptor = ArgumentCaptor.forClass(Callback.class);
+      verify(call).enqueue(callbackCaptor.capture());
+      callbackCaptor.getValue().onResponse(call, response);
+
+      assertThat(closed[0]).isTrue();
+    } finally {
+      ReactFeatureFlags.enableNetworkRequestDeduplication = false;
+    }
+  }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.facebook.react.bridge.PerfCounters;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/** Tests for {@link PriorityRequestDispatcher}. */
+public class PriorityRequestDispatcherTest {
+
+  private PerfCounters mStats;
+  private PriorityRequestDispatcher mDispatcher;
+
+  @Before
+  public void setUp() {
+    mStats = new PerfCounters("Networking");
+    mDispatcher =
+        new PriorityRequestDispatcher(new int[] {2, 2, 1}, /* maxRequestsPerHost */ 2, mStats);
+  }
+
+  private static Call createCall(String url, int requestId) {
+    Call call = mock(Call.class);
+    when(call.request()).thenReturn(new Request.Builder().url(url).tag(requestId).build());
+    return call;
+  }
+
+  private static void complete(Call call) {
+    ArgumentCaptor<Callback> callbackCaptor = ArgumentCaptor.forClass(Callback.class);
+    verify(call).enqueue(callbackCaptor.capture());
+    callbackCaptor.getValue().onFailure(call, new IOException());
+  }
+
+  @Test
+  public void testLowPriorityCallsDontDelayHighPriorityCalls() {
+    Call upload1 = createCall("http://uploads/1", 1);
+    Call upload2 = createCall("http://uploads/2", 2);
+    Call apiCall = createCall("http://api/1", 3);
+
+    mDispatcher.enqueue(upload1, RequestPriority.LOW, mock(Callback.class));
+    mDispatcher.enqueue(upload2, RequestPriority.LOW, mock(Callback.class));
+    mDispatcher.enqueue(apiCall, RequestPriority.HIGH, mock(Callback.class));
+
+    verify(upload1).enqueue(any(Callback.class));
+    verify(upload2, never()).enqueue(any(Callback.class));
+    verify(apiCall).enqueue(any(Callback.class));
+    assertThat(mDispatcher.getQueuedCount(RequestPriority.LOW)).isEqualTo(1);
+    assertThat(mStats.getValueMax(RequestPriority.LOW.getQueueDepthStat())).isEqualTo(2);
+
+    complete(upload1);
+    verify(upload2).enqueue(any(Callback.class));
+    assertThat(mDispatcher.getQueuedCount(RequestPriority.LOW)).isEqualTo(0);
+    assertThat(mStats.getValueCount(RequestPriority.LOW.getQueueWaitStat())).isEqualTo(2);
+    assertThat(mStats.getValueCount(RequestPriority.HIGH.getQueueWaitStat())).isEqualTo(1);
+  }
+
+  @Test
+  public void testBusyHostDoesntBlockOtherHosts() {
+    Call first = createCall("http://busy/1", 1);
+    Call second = createCall("http://busy/2", 2);
+    Call third = createCall("http://busy/3", 3);
+    Call other = createCall("http://other/1", 4);
+
+    mDispatcher.enqueue(first, RequestPriority.HIGH, mock(Callback.class));
+    mDispatcher.enqueue(second, RequestPriority.NORMAL, mock(Callback.class));
+    mDispatcher.enqueue(third, RequestPriority.NORMAL, mock(Callback.class));
+    mDispatcher.enqueue(other, RequestPriority.NORMAL, mock(Callback.class));
+
+    verify(third, never()).enqueue(any(Callback.class));
+    verify(other).enqueue(any(Callback.class));
+
+    complete(first);
+    verify(third, never()).enqueue(any(Callback.class));
+    complete(other);
+    verify(third).enqueue(any(Callback.class));
+  }
+
+  @Test
+  public void testCancelRemovesQueuedCall() {
+    Call running = createCall("http://uploads/1", 1);
+    Call queued = createCall("http://uploads/2", 2);
+    mDispatcher.enqueue(running, RequestPriority.LOW, mock(Callback.class));
+    mDispatcher.enqueue(queued, RequestPriority.LOW, mock(Callback.class));
+
+    assertThat(mDispatcher.cancel(1)).isFalse();
+    assertThat(mDispatcher.cancel(2)).isTrue();
+
+    complete(running);
+    verify(queued, never()).enqueue(any(Callback.class));
+    assertThat(mDispatcher.getRunningCount(RequestPriority.LOW)).isEqualTo(0);
+  }
+
+  @Test
+  public void testCancelCancelsPromotedCallBeforeItReachesOkHttp() {
+    Call running = createCall("http://uploads/1", 1);
+    final Call promoted = createCall("http://uploads/2", 2);
+    mDispatcher.enqueue(running, RequestPriority.LOW, mock(Callback.class));
+    mDispatcher.enqueue(promoted, RequestPriority.LOW, mock(Callback.class));
+
+    // The request is aborted once the call is promoted, before OkHttp got it
+    final List<Boolean> cancelled = new ArrayList<>();
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                cancelled.add(mDispatcher.cancel(2));
+                return null;
+              }
+            })
+        .when(promoted)
+        .enqueue(any(Callback.class));
+    complete(running);
+
+    assertThat(cancelled).containsExactly(true);
+    verify(promoted).cancel();
+    // The call is only tracked until it's enqueued, the cancelled call fails through OkHttp
+    assertThat(mDispatcher.cancel(2)).isFalse();
+    complete(promoted);
+    assertThat(mDispatcher.getRunningCount(RequestPriority.LOW)).isEqualTo(0);
+  }
+
+  @Test
+  public void testPriorityIsParsedFromHeaderValue() {
+    assertThat(RequestPriority.fromHeaderValue(" High ")).isEqualTo(RequestPriority.HIGH);
+    assertThat(RequestPriority.fromHeaderValue("low")).isEqualTo(RequestPriority.LOW);
+    assertThat(RequestPriority.fromHeaderValue("urgent")).isEqualTo(RequestPriority.NORMAL);
+    assertThat(RequestPriority.fromHeaderValue(null)).isEqualTo(RequestPriority.NORMAL);
+  }
+}
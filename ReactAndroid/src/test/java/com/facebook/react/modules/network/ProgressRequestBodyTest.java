@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import org.junit.Test;
+
+/** Tests for {@link ProgressRequestBody}. */
+public class ProgressRequestBodyTest {
+
+  @Test
+  public void testReportsProgressOfWrittenBytes() throws Exception {
+    byte[] content = new byte[100 * 1024];
+    new Random().nextBytes(content);
+    final List<Long> progress = new ArrayList<>();
+    final List<Boolean> done = new ArrayList<>();
+    ProgressRequestBody body =
+        new ProgressRequestBody(
+            RequestBody.create(MediaType.parse("application/octet-stream"), content),
+            new ProgressListener() {
+              @Override
+              public void onProgress(long bytesWritten, long contentLength, boolean isDone) {
+                assertThat(contentLength).isEqualTo(100 * 1024);
+                progress.add(bytesWritten);
+                done.add(isDone);
+              }
+            });
+
+    Buffer sink = new Buffer();
+    body.writeTo(sink);
+
+    assertThat(sink.readByteArray()).isEqualTo(content);
+    assertThat(progress.size()).isGreaterThan(1);
+    assertThat(progress.get(progress.size() - 1)).isEqualTo(100 * 1024);
+    assertThat(done.get(done.size() - 1)).isTrue();
+    assertThat(done.get(0)).isFalse();
+
+    // A retry reports progress from the start again
+    progress.clear();
+    body.writeTo(new Buffer());
+    assertThat(progress.get(progress.size() - 1)).isEqualTo(100 * 1024);
+  }
+}
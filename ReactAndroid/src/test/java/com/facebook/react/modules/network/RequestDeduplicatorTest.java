@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link RequestDeduplicator}. */
+public class RequestDeduplicatorTest {
+
+  private static final String KEY = "GET http://somedomain/foo";
+
+  private RequestDeduplicator mDeduplicator;
+
+  @Before
+  public void setUp() {
+    mDeduplicator = new RequestDeduplicator();
+  }
+
+  @Test
+  public void testResponseIsDeliveredToAllRequests() {
+    RequestDeduplicator.Group group = mDeduplicator.join(KEY, 1, "text");
+    assertThat(group).isNotNull();
+    assertThat(mDeduplicator.join(KEY, 2, "base64")).isNull();
+    assertThat(mDeduplicator.join("GET http://somedomain/bar", 3, "text")).isNotNull();
+
+    List<RequestDeduplicator.Waiter> waiters = mDeduplicator.finish(group);
+    assertThat(waiters).hasSize(2);
+    assertThat(waiters.get(0).requestId).isEqualTo(1);
+    assertThat(waiters.get(1).requestId).isEqualTo(2);
+    assertThat(waiters.get(1).responseType).isEqualTo("base64");
+
+    // Requests sent after the response start a new call
+    assertThat(mDeduplicator.join(KEY, 4, "text")).isNotNull();
+  }
+
+  @Test
+  public void testCallIsCancelledOnceNoRequestWaitsForIt() {
+    RequestDeduplicator.Group group = mDeduplicator.join(KEY, 1, "text");
+    mDeduplicator.join(KEY, 2, "text");
+
+    assertThat(mDeduplicator.abort(1)).isEqualTo(RequestDeduplicator.NO_CALL);
+    assertThat(mDeduplicator.abort(2)).isEqualTo(1);
+    assertThat(mDeduplicator.abort(5)).isEqualTo(5);
+
+    // A new identical request doesn't join the cancelled call, whose failure reaches no one
+    RequestDeduplicator.Group newGroup = mDeduplicator.join(KEY, 3, "text");
+    assertThat(newGroup).isNotNull();
+    assertThat(mDeduplicator.finish(group)).isEmpty();
+    assertThat(mDeduplicator.join(KEY, 4, "text")).isNull();
+    assertThat(mDeduplicator.finish(newGroup)).hasSize(2);
+  }
+}
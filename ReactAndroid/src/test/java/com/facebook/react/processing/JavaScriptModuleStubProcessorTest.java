@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.processing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests for {@link JavaScriptModuleStubProcessor} */
+public class JavaScriptModuleStubProcessorTest {
+
+  @Rule public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+  private Map<String, String> process(String path, String source) throws Exception {
+    Map<String, String> sources = new HashMap<>();
+    sources.put(path, source);
+    return ProcessorTestHelper.process(
+        mTemporaryFolder.newFolder(), new JavaScriptModuleStubProcessor(), sources);
+  }
+
+  @Test
+  public void testGeneratesStubPushingArgumentsWithoutBoxing() throws Exception {
+    Map<String, String> generated =
+        process(
+            "com/example/TestModule.java",
+            "package com.example;\n"
+                + "import com.facebook.react.bridge.JavaScriptModule;\n"
+                + "import com.facebook.react.bridge.ReadableMap;\n"
+                + "public interface TestModule extends JavaScriptModule {\n"
+                + "  void emit(int count, boolean enabled, String name, ReadableMap data);\n"
+                + "  void emitBoxed(Double value, Object any);\n"
+                + "}\n");
+
+    String stub = generated.get("com/example/TestModule$$JSModuleStub.java");
+    assertThat(stub)
+        .contains("public final class TestModule$$JSModuleStub implements TestModule")
+        .contains("public TestModule$$JSModuleStub(CatalystInstance catalystInstance)")
+        .contains("nativeArgs.pushDouble(count);")
+        .contains("nativeArgs.pushBoolean(enabled);")
+        .contains("nativeArgs.pushString(name);")
+        .contains("nativeArgs.pushMap(data);")
+        .contains("mCatalystInstance.callFunction(\"TestModule\", \"emit\", nativeArgs);")
+        .contains("nativeArgs.pushDouble(value.doubleValue());")
+        .contains("Arguments.pushJavaArg(nativeArgs, any);")
+        .contains("mCatalystInstance.callFunction(\"TestModule\", \"emitBoxed\", nativeArgs);");
+  }
+
+  @Test
+  public void testNamesStubOfNestedInterfaceAfterItsSimpleName() throws Exception {
+    Map<String, String> generated =
+        process(
+            "com/example/Outer.java",
+            "package com.example;\n"
+                + "import com.facebook.react.bridge.JavaScriptModule;\n"
+                + "public class Outer {\n"
+                + "  public interface Inner extends JavaScriptModule {\n"
+                + "    void call();\n"
+                + "  }\n"
+                + "}\n");
+
+    // The JS module name is the one JavaScriptModuleRegistry uses, without the outer class
+    assertThat(generated.get("com/example/Outer$Inner$$JSModuleStub.java"))
+        .contains("implements Outer.Inner")
+        .contains("mCatalystInstance.callFunction(\"Inner\", \"call\", nativeArgs);");
+  }
+
+  @Test
+  public void testIncludesInheritedMethods() throws Exception {
+    Map<String, String> generated =
+        process(
+            "com/example/Modules.java",
+            "package com.example;\n"
+                + "import com.facebook.react.bridge.JavaScriptModule;\n"
+                + "public class Modules {\n"
+                + "  public interface Base extends JavaScriptModule {\n"
+                + "    void baseCall(int value);\n"
+                + "  }\n"
+                + "  public interface Derived extends Base {\n"
+                + "    void derivedCall();\n"
+                + "  }\n"
+                + "}\n");
+
+    assertThat(generated.get("com/example/Modules$Derived$$JSModuleStub.java"))
+        .contains("mCatalystInstance.callFunction(\"Derived\", \"baseCall\", nativeArgs);")
+        .contains("mCatalystInstance.callFunction(\"Derived\", \"derivedCall\", nativeArgs);");
+  }
+
+  @Test
+  public void testSkipsInterfacesTheStubCannotImplement() throws Exception {
+    Map<String, String> generated =
+        process(
+            "com/example/Unsupported.java",
+            "package com.example;\n"
+                + "import com.facebook.react.bridge.JavaScriptModule;\n"
+                + "public class Unsupported {\n"
+                + "  public interface Overloaded extends JavaScriptModule {\n"
+                + "    void call(int value);\n"
+                + "    void call(String value);\n"
+                + "  }\n"
+                + "  public interface ReturnsValue extends JavaScriptModule {\n"
+                + "    int call();\n"
+                + "  }\n"
+                + "  public interface UnsupportedArgument extends JavaScriptModule {\n"
+                + "    void call(java.util.List<String> values);\n"
+                + "  }\n"
+                + "  public interface NotAModule {\n"
+                + "    void call();\n"
+                + "  }\n"
+                + "}\n");
+
+    // These keep going through the proxy of JavaScriptModuleRegistry
+    assertThat(generated).isEmpty();
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.processing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Runs an annotation processor over Java sources with the compiler of the running JDK, resolving
+ * other classes against the classpath of the test.
+ */
+/* package */ final class ProcessorTestHelper {
+
+  private ProcessorTestHelper() {}
+
+  /**
+   * Runs {@code processor} over {@code sources}, given by path relative to the source root, and
+   * returns the sources it generated by path relative to the output directory.
+   */
+  /* package */ static Map<String, String> process(
+      File tempDir, Processor processor, Map<String, String> sources, String... processorOptions)
+      throws IOException {
+    File sourceDir = new File(tempDir, "src");
+    File generatedDir = new File(tempDir, "generated");
+    File classesDir = new File(tempDir, "classes");
+    assertThat(generatedDir.mkdirs()).isTrue();
+    assertThat(classesDir.mkdirs()).isTrue();
+
+    List<File> sourceFiles = new ArrayList<>();
+    for (Map.Entry<String, String> source : sources.entrySet()) {
+      File sourceFile = new File(sourceDir, source.getKey());
+      assertThat(sourceFile.getParentFile().isDirectory() || sourceFile.getParentFile().mkdirs())
+          .isTrue();
+      Files.write(sourceFile.toPath(), source.getValue().getBytes(StandardCharsets.UTF_8));
+      sourceFiles.add(sourceFile);
+    }
+
+    List<String> options =
+        new ArrayList<>(
+            Arrays.asList(
+                "-proc:only",
+                "-classpath",
+                System.getProperty("java.class.path"),
+                "-s",
+                generatedDir.getPath(),
+                "-d",
+                classesDir.getPath()));
+    for (String processorOption : processorOptions) {
+      options.add("-A" + processorOption);
+    }
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      JavaCompiler.CompilationTask task =
+          compiler.getTask(
+              null,
+              fileManager,
+              diagnostics,
+              options,
+              null,
+              fileManager.getJavaFileObjectsFromFiles(sourceFiles));
+      task.setProcessors(Collections.singletonList(processor));
+      boolean success = task.call();
+
+      List<String> errors = new ArrayList<>();
+      for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+        if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+          errors.add(diagnostic.toString());
+        }
+      }
+      assertThat(errors).isEmpty();
+      assertThat(success).isTrue();
+    }
+
+    Map<String, String> generated = new TreeMap<>();
+    collectFiles(generatedDir, "", generated);
+    return generated;
+  }
+
+  private static void collectFiles(File dir, String prefix, Map<String, String> outFiles)
+      throws IOException {
+    File[] files = dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      String path = prefix + file.getName();
+      if (file.isDirectory()) {
+        collectFiles(file, path + "/", outFiles);
+      } else {
+        outFiles.put(path, new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+      }
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.processing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests for {@link ReactPropertyProcessor} */
+public class ReactPropertyProcessorTest {
+
+  private static final String VIEWS_REGISTRAR = "com/example/views/$$PropsSetterRegistrar.java";
+  private static final String NODES_REGISTRAR = "com/example/nodes/$$PropsSetterRegistrar.java";
+
+  @Rule public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+  private Map<String, String> mSources;
+
+  @Before
+  public void setUp() {
+    mSources = new HashMap<>();
+    mSources.put(
+        "com/example/views/PackagePrivateViewManager.java",
+        "package com.example.views;\n"
+            + "import android.view.View;\n"
+            + "import com.facebook.react.uimanager.SimpleViewManager;\n"
+            + "import com.facebook.react.uimanager.ThemedReactContext;\n"
+            + "import com.facebook.react.uimanager.annotations.ReactProp;\n"
+            + "class PackagePrivateViewManager extends SimpleViewManager<View> {\n"
+            + "  public String getName() { return \"PackagePrivateView\"; }\n"
+            + "  protected View createViewInstance(ThemedReactContext context) {\n"
+            + "    return new View(context);\n"
+            + "  }\n"
+            + "  @ReactProp(name = \"enabled\")\n"
+            + "  public void setEnabled(View view, boolean enabled) {}\n"
+            + "}\n");
+    mSources.put(
+        "com/example/views/PublicViewManager.java",
+        "package com.example.views;\n"
+            + "import android.view.View;\n"
+            + "import com.facebook.react.uimanager.SimpleViewManager;\n"
+            + "import com.facebook.react.uimanager.ThemedReactContext;\n"
+            + "import com.facebook.react.uimanager.annotations.ReactProp;\n"
+            + "public class PublicViewManager extends SimpleViewManager<View> {\n"
+            + "  public String getName() { return \"PublicView\"; }\n"
+            + "  protected View createViewInstance(ThemedReactContext context) {\n"
+            + "    return new View(context);\n"
+            + "  }\n"
+            + "  @ReactProp(name = \"title\")\n"
+            + "  public void setTitle(View view, String title) {}\n"
+            + "}\n");
+    mSources.put(
+        "com/example/nodes/SizeShadowNode.java",
+        "package com.example.nodes;\n"
+            + "import com.facebook.react.uimanager.LayoutShadowNode;\n"
+            + "import com.facebook.react.uimanager.annotations.ReactProp;\n"
+            + "class SizeShadowNode extends LayoutShadowNode {\n"
+            + "  @ReactProp(name = \"size\")\n"
+            + "  public void setSize(int size) {}\n"
+            + "}\n");
+  }
+
+  @Test
+  public void testGeneratesSetters() throws Exception {
+    Map<String, String> generated =
+        ProcessorTestHelper.process(
+            mTemporaryFolder.newFolder(), new ReactPropertyProcessor(), mSources);
+
+    assertThat(generated)
+        .containsKeys(
+            "com/example/views/PackagePrivateViewManager$$PropsSetter.java",
+            "com/example/views/PublicViewManager$$PropsSetter.java",
+            "com/example/nodes/SizeShadowNode$$PropsSetter.java");
+    assertThat(generated.get("com/example/views/PublicViewManager$$PropsSetter.java"))
+        .contains("case \"title\":");
+  }
+
+  @Test
+  public void testDoesNotGenerateRegistrarsByDefault() throws Exception {
+    Map<String, String> generated =
+        ProcessorTestHelper.process(
+            mTemporaryFolder.newFolder(), new ReactPropertyProcessor(), mSources);
+
+    assertThat(generated).doesNotContainKeys(VIEWS_REGISTRAR, NODES_REGISTRAR);
+  }
+
+  @Test
+  public void testGeneratesRegistrarPerPackage() throws Exception {
+    Map<String, String> generated =
+        ProcessorTestHelper.process(
+            mTemporaryFolder.newFolder(),
+            new ReactPropertyProcessor(),
+            mSources,
+            ReactPropertyProcessor.OPTION_GENERATE_REGISTRARS + "=true");
+
+    // Each registrar is in the package of the classes it registers, as they may be
+    // package-private
+    String viewsRegistrar = generated.get(VIEWS_REGISTRAR);
+    assertThat(viewsRegistrar)
+        .contains("package com.example.views;")
+        .contains("implements ViewManagerPropertyUpdater.SetterRegistrar")
+        .contains(
+            "ViewManagerPropertyUpdater.registerViewManagerSetter("
+                + "PackagePrivateViewManager.class, new PackagePrivateViewManager$$PropsSetter());")
+        .contains(
+            "ViewManagerPropertyUpdater.registerViewManagerSetter("
+                + "PublicViewManager.class, new PublicViewManager$$PropsSetter());")
+        .doesNotContain("SizeShadowNode");
+
+    String nodesRegistrar = generated.get(NODES_REGISTRAR);
+    assertThat(nodesRegistrar)
+        .contains("package com.example.nodes;")
+        .contains(
+            "ViewManagerPropertyUpdater.registerShadowNodeSetter("
+                + "SizeShadowNode.class, new SizeShadowNode$$PropsSetter());")
+        .doesNotContain("ViewManager.class");
+  }
+}
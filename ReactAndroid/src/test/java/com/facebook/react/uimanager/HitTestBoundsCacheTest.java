@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import com.facebook.react.config.ReactFeatureFlags;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+/** Tests for {@link HitTestBoundsCache} and {@link TouchTargetPath} */
+@RunWith(RobolectricTestRunner.class)
+public class HitTestBoundsCacheTest {
+
+  private HitTestBoundsCache mCache;
+  private boolean mEnableHitTestBoundsCache;
+
+  /** Lays out its children like React Native views: only where they are explicitly put. */
+  private static class AbsoluteViewGroup extends ViewGroup {
+    AbsoluteViewGroup(Context context) {
+      super(context);
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {}
+  }
+
+  @Before
+  public void setUp() {
+    mCache = new HitTestBoundsCache();
+    mEnableHitTestBoundsCache = ReactFeatureFlags.enableHitTestBoundsCache;
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enableHitTestBoundsCache = mEnableHitTestBoundsCache;
+  }
+
+  private static FrameLayout createGroup(int left, int top, int right, int bottom) {
+    FrameLayout group = new FrameLayout(RuntimeEnvironment.application);
+    group.setClipChildren(false);
+    group.layout(left, top, right, bottom);
+    return group;
+  }
+
+  private static View createLeaf(int left, int top, int right, int bottom) {
+    View view = new View(RuntimeEnvironment.application);
+    view.layout(left, top, right, bottom);
+    return view;
+  }
+
+  @Test
+  public void testLeafBoundsMatchViewBounds() {
+    HitTestBoundsCache.Entry entry = mCache.getEntry(createLeaf(10, 10, 60, 40));
+
+    assertThat(entry.unbounded).isFalse();
+    assertThat(entry.contains(0, 0)).isTrue();
+    assertThat(entry.contains(49, 29)).isTrue();
+    assertThat(entry.contains(50, 29)).isFalse();
+    assertThat(entry.contains(-1, 0)).isFalse();
+  }
+
+  @Test
+  public void testOverflowingDescendantsExtendBounds() {
+    FrameLayout root = createGroup(0, 0, 100, 100);
+    FrameLayout parent = createGroup(0, 0, 50, 50);
+    root.addView(parent);
+    parent.layout(0, 0, 50, 50);
+    View overflowingChild = createLeaf(0, 0, 10, 10);
+    parent.addView(overflowingChild);
+    overflowingChild.layout(80, 80, 90, 90);
+
+    HitTestBoundsCache.Entry parentEntry = mCache.getEntry(parent);
+    assertThat(parentEntry.contains(85, 85)).isTrue();
+    assertThat(parentEntry.contains(95, 95)).isFalse();
+    assertThat(mCache.getEntry(root).contains(85, 85)).isTrue();
+  }
+
+  @Test
+  public void testClippingGroupIgnoresDescendants() {
+    FrameLayout parent = createGroup(0, 0, 50, 50);
+    parent.setClipChildren(true);
+    View overflowingChild = createLeaf(0, 0, 10, 10);
+    parent.addView(overflowingChild);
+    overflowingChild.layout(80, 80, 90, 90);
+
+    HitTestBoundsCache.Entry entry = mCache.getEntry(parent);
+    assertThat(entry.contains(25, 25)).isTrue();
+    assertThat(entry.contains(85, 85)).isFalse();
+  }
+
+  @Test
+  public void testDeepAndWideTree() {
+    FrameLayout root = createGroup(0, 0, 1000, 1000);
+    FrameLayout current = root;
+    for (int depth = 0; depth < 50; depth++) {
+      for (int i = 0; i < 20; i++) {
+        View leaf = createLeaf(0, 0, 10, 10);
+        current.addView(leaf);
+        leaf.layout(i * 10, 0, i * 10 + 10, 10);
+      }
+      FrameLayout next = createGroup(0, 0, 10, 10);
+      current.addView(next);
+      next.layout(0, 10, 10, 20);
+      current = next;
+    }
+
+    // Entries are computed bottom-up, the way hit testing visits them
+    List<FrameLayout> groups = new ArrayList<>();
+    for (View group = root; group != null; ) {
+      groups.add((FrameLayout) group);
+      View lastChild = ((FrameLayout) group).getChildAt(20);
+      group = lastChild instanceof FrameLayout ? lastChild : null;
+    }
+    for (int i = groups.size() - 1; i >= 0; i--) {
+      assertThat(mCache.getEntry(groups.get(i)).unbounded).isFalse();
+    }
+
+    // Nested groups are each offset by 10px, the deepest leaves end up at y = 500..510
+    HitTestBoundsCache.Entry rootEntry = mCache.getEntry(root);
+    assertThat(rootEntry.contains(5, 505)).isTrue();
+    assertThat(rootEntry.contains(205, 505)).isFalse();
+    HitTestBoundsCache.Entry firstGroupEntry = mCache.getEntry(root.getChildAt(20));
+    assertThat(firstGroupEntry.contains(195, 5)).isTrue();
+    assertThat(firstGroupEntry.contains(205, 5)).isFalse();
+  }
+
+  @Test
+  public void testDoesNotWalkUncomputedSubtrees() {
+    FrameLayout root = createGroup(0, 0, 100, 100);
+    FrameLayout parent = createGroup(0, 0, 50, 50);
+    root.addView(parent);
+    parent.layout(0, 0, 50, 50);
+    View child = createLeaf(0, 0, 10, 10);
+    parent.addView(child);
+    child.layout(0, 0, 10, 10);
+
+    // The subtree of parent isn't known yet, so nothing can be skipped under root
+    HitTestBoundsCache.Entry rootEntry = mCache.getEntry(root);
+    assertThat(rootEntry.unbounded).isTrue();
+    assertThat(rootEntry.contains(500, 500)).isTrue();
+
+    mCache.getEntry(parent);
+    rootEntry = mCache.getEntry(root);
+    assertThat(rootEntry.unbounded).isFalse();
+    assertThat(rootEntry.contains(500, 500)).isFalse();
+  }
+
+  @Test
+  public void testCachedHitTestingMatchesUncachedHitTesting() {
+    Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+    AbsoluteViewGroup root = new AbsoluteViewGroup(activity);
+    root.setId(1);
+    Random random = new Random(42);
+    int[] nextId = {2};
+    populate(root, random, 4, nextId);
+    activity.setContentView(root);
+    ShadowLooper.idleMainLooper();
+
+    assertCachedHitTestingMatches(root);
+
+    // Move some views around, as the mounting layer does
+    for (int i = 0; i < root.getChildCount(); i += 2) {
+      View child = root.getChildAt(i);
+      child.layout(
+          child.getLeft() + 40, child.getTop() + 25, child.getRight() + 40, child.getBottom() + 25);
+    }
+    TouchTargetHelper.invalidateHitTestCache();
+
+    assertCachedHitTestingMatches(root);
+  }
+
+  private static void populate(ViewGroup group, Random random, int depth, int[] nextId) {
+    int childCount = depth == 0 ? 0 : 1 + random.nextInt(4);
+    for (int i = 0; i < childCount; i++) {
+      View child;
+      if (depth > 1 && random.nextBoolean()) {
+        AbsoluteViewGroup childGroup = new AbsoluteViewGroup(group.getContext());
+        childGroup.setClipChildren(random.nextInt(4) == 0);
+        populate(childGroup, random, depth - 1, nextId);
+        child = childGroup;
+      } else {
+        child = new View(group.getContext());
+      }
+      child.setId(nextId[0]++);
+      group.addView(child);
+      int left = random.nextInt(150) - 25;
+      int top = random.nextInt(150) - 25;
+      child.layout(left, top, left + 10 + random.nextInt(60), top + 10 + random.nextInt(60));
+      if (random.nextInt(5) == 0) {
+        child.setTranslationX(random.nextInt(40) - 20);
+        child.setScaleY(0.5f + random.nextFloat());
+      }
+    }
+  }
+
+  private void assertCachedHitTestingMatches(ViewGroup root) {
+    float[] uncachedCoords = new float[2];
+    float[] cachedCoords = new float[2];
+    // Hit testing twice with the cache also checks the entries completed by the first pass
+    for (int pass = 0; pass < 2; pass++) {
+      for (int x = -50; x < 250; x += 7) {
+        for (int y = -50; y < 250; y += 7) {
+          ReactFeatureFlags.enableHitTestBoundsCache = false;
+          int uncachedTag =
+              TouchTargetHelper.findTargetTagAndCoordinatesForTouch(
+                  x, y, root, uncachedCoords, null);
+          ReactFeatureFlags.enableHitTestBoundsCache = true;
+          int cachedTag =
+              TouchTargetHelper.findTargetTagAndCoordinatesForTouch(
+                  x, y, root, cachedCoords, null);
+
+          assertThat(cachedTag).as("target at (%d, %d)", x, y).isEqualTo(uncachedTag);
+          assertThat(cachedCoords)
+              .as("coordinates at (%d, %d)", x, y)
+              .containsExactly(uncachedCoords);
+        }
+      }
+    }
+    assertThat(HitTestBoundsCache.getForRoot(root)).isNotNull();
+  }
+
+  @Test
+  public void testTouchTargetPath() {
+    TouchTargetPath path = new TouchTargetPath(1);
+    path.add(3);
+    path.add(4);
+    path.addFirst(2);
+    path.addFirst(1);
+
+    assertThat(path.toList()).containsExactly(1, 2, 3, 4);
+    assertThat(path.indexOf(3)).isEqualTo(2);
+
+    path.removeFirst(2);
+    assertThat(path.toList()).containsExactly(3, 4);
+
+    TouchTargetPath copy = new TouchTargetPath();
+    copy.copyFrom(path);
+    path.clear();
+    assertThat(path.isEmpty()).isTrue();
+    assertThat(copy.toList()).containsExactly(3, 4);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.scroll;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.modules.core.ChoreographerCompat;
+import com.facebook.react.modules.core.ReactChoreographer;
+import com.facebook.react.modules.core.ReactChoreographer.CallbackType;
+import com.facebook.react.uimanager.UIManagerHelper;
+import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventDispatcher;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+
+/**
+ * Runs the callbacks posted to {@link ReactChoreographer} in frames stepped by tests, and records
+ * the events dispatched for views along with the times the events of a frame are sent to JS.
+ * Tests using it must prepare {@link ReactChoreographer} and {@link UIManagerHelper} for test.
+ */
+/* package */ class FrameTestHelper {
+
+  /* package */ static final String DISPATCH_TO_JS = "dispatchToJS";
+
+  private static final long FRAME_TIME_NANOS = 16666667;
+
+  private final Map<CallbackType, List<ChoreographerCompat.FrameCallback>> mFrameCallbacks =
+      new EnumMap<>(CallbackType.class);
+  private final List<String> mCalls = new ArrayList<>();
+  private final List<Event> mEvents = new ArrayList<>();
+  private long mFrameTimeNanos;
+
+  /* package */ FrameTestHelper() {
+    for (CallbackType type : CallbackType.values()) {
+      mFrameCallbacks.put(type, new ArrayList<ChoreographerCompat.FrameCallback>());
+    }
+    ReactChoreographer reactChoreographer = mock(ReactChoreographer.class);
+    PowerMockito.mockStatic(ReactChoreographer.class);
+    when(ReactChoreographer.getInstance()).thenReturn(reactChoreographer);
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                mFrameCallbacks
+                    .get((CallbackType) invocation.getArguments()[0])
+                    .add((ChoreographerCompat.FrameCallback) invocation.getArguments()[1]);
+                return null;
+              }
+            })
+        .when(reactChoreographer)
+        .postFrameCallback(any(CallbackType.class), any(ChoreographerCompat.FrameCallback.class));
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                mFrameCallbacks
+                    .get((CallbackType) invocation.getArguments()[0])
+                    .remove(invocation.getArguments()[1]);
+                return null;
+              }
+            })
+        .when(reactChoreographer)
+        .removeFrameCallback(any(CallbackType.class), any(ChoreographerCompat.FrameCallback.class));
+
+    EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                Event event = (Event) invocation.getArguments()[0];
+                mCalls.add(event.getEventName());
+                mEvents.add(event);
+                return null;
+              }
+            })
+        .when(eventDispatcher)
+        .dispatchEvent(any(Event.class));
+    PowerMockito.mockStatic(UIManagerHelper.class);
+    when(UIManagerHelper.getEventDispatcherForReactTag(any(ReactContext.class), anyInt()))
+        .thenReturn(eventDispatcher);
+  }
+
+  /** Runs the callbacks of a frame by type, like {@link ReactChoreographer} does. */
+  /* package */ void runFrame() {
+    mFrameTimeNanos += FRAME_TIME_NANOS;
+    for (CallbackType type : CallbackType.values()) {
+      List<ChoreographerCompat.FrameCallback> callbacks =
+          new ArrayList<>(mFrameCallbacks.get(type));
+      mFrameCallbacks.get(type).clear();
+      for (ChoreographerCompat.FrameCallback callback : callbacks) {
+        callback.doFrame(mFrameTimeNanos);
+      }
+    }
+  }
+
+  /**
+   * Posts a callback standing for the one of the event dispatcher, which is always queued and
+   * sends the events of each frame to JS. It's recorded as {@link #DISPATCH_TO_JS}.
+   */
+  /* package */ void postEventDispatcherCallback() {
+    ReactChoreographer.getInstance()
+        .postFrameCallback(
+            CallbackType.TIMERS_EVENTS,
+            new ChoreographerCompat.FrameCallback() {
+              @Override
+              public void doFrame(long frameTimeNanos) {
+                mCalls.add(DISPATCH_TO_JS);
+                ReactChoreographer.getInstance()
+                    .postFrameCallback(CallbackType.TIMERS_EVENTS, this);
+              }
+            });
+  }
+
+  /** Returns the names of the dispatched events, and {@link #DISPATCH_TO_JS}, in order. */
+  /* package */ List<String> getCalls() {
+    return mCalls;
+  }
+
+  /* package */ List<Event> getEvents() {
+    return mEvents;
+  }
+}
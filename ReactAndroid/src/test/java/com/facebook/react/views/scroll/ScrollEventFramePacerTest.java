@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.scroll;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.modules.core.ReactChoreographer;
+import com.facebook.react.uimanager.UIManagerHelper;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/** Tests for {@link ScrollEventFramePacer} */
+@PrepareForTest({ReactChoreographer.class, UIManagerHelper.class})
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+@RunWith(RobolectricTestRunner.class)
+public class ScrollEventFramePacerTest {
+
+  @Rule public PowerMockRule rule = new PowerMockRule();
+
+  private FrameTestHelper mFrames;
+  private ViewGroup mScrollView;
+
+  @Before
+  public void setUp() {
+    mFrames = new FrameTestHelper();
+    ReactContext context = new ReactApplicationContext(RuntimeEnvironment.application);
+    mScrollView = new FrameLayout(context);
+    mScrollView.addView(new FrameLayout(context));
+  }
+
+  @Test
+  public void testEmitsScrollEventBeforeEventsOfTheSameFrameAreSentToJS() {
+    mFrames.postEventDispatcherCallback();
+    mScrollView.scrollTo(0, 100);
+    ScrollEventFramePacer.schedule(mScrollView, 0, 1);
+    ScrollEventFramePacer.schedule(mScrollView, 0, 2);
+    assertThat(mFrames.getCalls()).isEmpty();
+
+    mFrames.runFrame();
+    assertThat(mFrames.getCalls()).containsExactly("topScroll", FrameTestHelper.DISPATCH_TO_JS);
+
+    mScrollView.scrollTo(0, 200);
+    ScrollEventFramePacer.schedule(mScrollView, 0, 2);
+    mFrames.runFrame();
+    assertThat(mFrames.getCalls())
+        .containsExactly(
+            "topScroll",
+            FrameTestHelper.DISPATCH_TO_JS,
+            "topScroll",
+            FrameTestHelper.DISPATCH_TO_JS);
+  }
+
+  @Test
+  public void testFlushEmitsRightAwayInsteadOfOnTheNextFrame() {
+    ScrollEventFramePacer.schedule(mScrollView, 0, 1);
+    ScrollEventFramePacer.flush(mScrollView);
+    assertThat(mFrames.getCalls()).containsExactly("topScroll");
+
+    mFrames.runFrame();
+    assertThat(mFrames.getCalls()).containsExactly("topScroll");
+    // Nothing to flush once the event of the frame was emitted
+    ScrollEventFramePacer.flush(mScrollView);
+    assertThat(mFrames.getCalls()).containsExactly("topScroll");
+  }
+
+  @Test
+  public void testPredictsOffsetOneFrameAhead() {
+    assertEquals(132f, ScrollEventFramePacer.predict(100, 2f, 1000, 16f), 0.001f);
+    assertEquals(68f, ScrollEventFramePacer.predict(100, -2f, 1000, 16f), 0.001f);
+  }
+
+  @Test
+  public void testKeepsPredictionWithinScrollRange() {
+    assertEquals(1000f, ScrollEventFramePacer.predict(990, 2f, 1000, 16f), 0.001f);
+    assertEquals(0f, ScrollEventFramePacer.predict(10, -2f, 1000, 16f), 0.001f);
+    assertEquals(0f, ScrollEventFramePacer.predict(0, 2f, -50, 16f), 0.001f);
+  }
+}
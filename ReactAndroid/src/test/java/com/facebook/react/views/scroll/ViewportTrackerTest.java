@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.scroll;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Rect;
+import android.view.View;
+import android.widget.FrameLayout;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.modules.core.ReactChoreographer;
+import com.facebook.react.uimanager.UIManagerHelper;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/** Tests for {@link ViewportTracker} */
+@PrepareForTest({Arguments.class, ReactChoreographer.class, UIManagerHelper.class})
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "androidx.*", "android.*"})
+@RunWith(RobolectricTestRunner.class)
+public class ViewportTrackerTest {
+
+  @Rule public PowerMockRule rule = new PowerMockRule();
+
+  private FrameTestHelper mFrames;
+  private FrameLayout mScrollView;
+  private FrameLayout mContentView;
+
+  @Before
+  public void setUp() {
+    mFrames = new FrameTestHelper();
+    PowerMockito.mockStatic(Arguments.class);
+    when(Arguments.createMap())
+        .thenAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                return new JavaOnlyMap();
+              }
+            });
+    when(Arguments.createArray())
+        .thenAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                return new JavaOnlyArray();
+              }
+            });
+
+    ReactContext context = new ReactApplicationContext(RuntimeEnvironment.application);
+    mContentView = new FrameLayout(context);
+    // Five rows of 100px, with tags 1 to 5
+    for (int i = 0; i < 5; i++) {
+      View child = new View(context);
+      child.setId(i + 1);
+      mContentView.addView(child);
+      child.layout(0, i * 100, 100, (i + 1) * 100);
+    }
+    // A scroll view showing two rows
+    mScrollView = new FrameLayout(context);
+    mScrollView.addView(mContentView);
+    mContentView.layout(0, 0, 100, 500);
+    new FrameLayout(context).addView(mScrollView);
+    mScrollView.layout(0, 0, 100, 200);
+  }
+
+  private static Set<Integer> toTags(ReadableArray array) {
+    Set<Integer> tags = new HashSet<>();
+    for (int i = 0; i < array.size(); i++) {
+      tags.add(array.getInt(i));
+    }
+    return tags;
+  }
+
+  private void assertViewportChange(int index, List<Integer> enteredTags, List<Integer> leftTags) {
+    ReadableMap change = ((ViewportChangeEvent) mFrames.getEvents().get(index)).getEventData();
+    assertThat(toTags(change.getArray("entered"))).isEqualTo(new HashSet<>(enteredTags));
+    assertThat(toTags(change.getArray("left"))).isEqualTo(new HashSet<>(leftTags));
+  }
+
+  @Test
+  public void testEmitsChangeBeforeEventsOfTheSameFrameAreSentToJS() {
+    mFrames.postEventDispatcherCallback();
+    ViewportTracker tracker = new ViewportTracker(mScrollView, false);
+    tracker.setWindow(0, 0);
+    tracker.start();
+    mFrames.runFrame();
+    assertThat(mFrames.getCalls())
+        .containsExactly(ViewportChangeEvent.EVENT_NAME, FrameTestHelper.DISPATCH_TO_JS);
+    assertViewportChange(0, Arrays.asList(1, 2), Arrays.<Integer>asList());
+
+    mScrollView.scrollTo(0, 150);
+    tracker.schedule();
+    mFrames.runFrame();
+    assertThat(mFrames.getCalls())
+        .containsExactly(
+            ViewportChangeEvent.EVENT_NAME,
+            FrameTestHelper.DISPATCH_TO_JS,
+            ViewportChangeEvent.EVENT_NAME,
+            FrameTestHelper.DISPATCH_TO_JS);
+    assertViewportChange(1, Arrays.asList(3, 4), Arrays.asList(1));
+  }
+
+  @Test
+  public void testStopReportsVisibleChildrenAsLeft() {
+    ViewportTracker tracker = new ViewportTracker(mScrollView, false);
+    tracker.setWindow(0, 0);
+    tracker.start();
+    mFrames.runFrame();
+    tracker.schedule();
+
+    tracker.stop();
+    assertThat(mFrames.getEvents()).hasSize(2);
+    assertViewportChange(1, Arrays.<Integer>asList(), Arrays.asList(1, 2));
+
+    // Nothing is tracked while stopped, e.g. when the scroll view is detached
+    mFrames.runFrame();
+    tracker.schedule();
+    mFrames.runFrame();
+    tracker.stop();
+    assertThat(mFrames.getEvents()).hasSize(2);
+  }
+
+  @Test
+  public void testStartTracksAgainAfterStop() {
+    ViewportTracker tracker = new ViewportTracker(mScrollView, false);
+    tracker.setWindow(0, 0);
+    // Not started until the scroll view is attached
+    mFrames.runFrame();
+    assertThat(mFrames.getEvents()).isEmpty();
+
+    tracker.start();
+    mFrames.runFrame();
+    tracker.stop();
+    mScrollView.scrollTo(0, 200);
+    tracker.start();
+    mFrames.runFrame();
+    assertThat(mFrames.getEvents()).hasSize(3);
+    assertViewportChange(2, Arrays.asList(3, 4), Arrays.<Integer>asList());
+  }
+
+  @Test
+  public void testCollectsChildrenIntersectingViewport() {
+    Set<Integer> tags = new HashSet<>();
+    ViewportTracker.collectVisibleTags(mContentView, new Rect(0, 150, 100, 250), tags);
+    assertThat(tags).containsOnly(2, 3);
+  }
+
+  @Test
+  public void testAccountsForChildTranslation() {
+    mContentView.getChildAt(4).setTranslationY(-300);
+
+    Set<Integer> tags = new HashSet<>();
+    ViewportTracker.collectVisibleTags(mContentView, new Rect(0, 0, 100, 150), tags);
+    assertThat(tags).containsOnly(1, 2, 5);
+  }
+
+  @Test
+  public void testIgnoresChildrenWithoutTag() {
+    mContentView.getChildAt(0).setId(View.NO_ID);
+
+    Set<Integer> tags = new HashSet<>();
+    ViewportTracker.collectVisibleTags(mContentView, new Rect(0, 0, 100, 150), tags);
+    assertThat(tags).containsOnly(2);
+  }
+
+  @Test
+  public void testCollectsNothingForEmptyViewport() {
+    Set<Integer> tags = new HashSet<>();
+    ViewportTracker.collectVisibleTags(mContentView, new Rect(), tags);
+    assertThat(tags).isEmpty();
+  }
+
+  @Test
+  public void testDifferenceReturnsTagsMissingFromOtherSet() {
+    Set<Integer> previous = new HashSet<>(Arrays.asList(1, 2, 3));
+    Set<Integer> next = new HashSet<>(Arrays.asList(2, 3, 4, 5));
+
+    assertThat(ViewportTracker.difference(next, previous)).containsOnly(4, 5);
+    assertThat(ViewportTracker.difference(previous, next)).containsOnly(1);
+    assertThat(ViewportTracker.difference(next, next)).isEmpty();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.textinput;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.style.UnderlineSpan;
+import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.views.text.ReactTextUpdate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/** Tests for {@link ReactEditText}. */
+@RunWith(RobolectricTestRunner.class)
+public class ReactEditTextTest {
+
+  private ReactEditText mEditText;
+
+  @Before
+  public void setUp() {
+    ReactFeatureFlags.enableTextInputChangeDeltas = true;
+    mEditText = new ReactEditText(RuntimeEnvironment.application);
+  }
+
+  @After
+  public void tearDown() {
+    ReactFeatureFlags.enableTextInputChangeDeltas = false;
+  }
+
+  private static ReactTextUpdate createUpdate(String text) {
+    return new ReactTextUpdate(new SpannableString(text), 0, false, 0, 0, 0);
+  }
+
+  @Test
+  public void testControlledUpdateOnlyReplacesChangedText() {
+    mEditText.maybeSetText(createUpdate("hello world"));
+    UnderlineSpan span = new UnderlineSpan();
+    mEditText.getText().setSpan(span, 0, 5, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+
+    mEditText.maybeSetText(createUpdate("hello there, world"));
+
+    assertThat(mEditText.getText().toString()).isEqualTo("hello there, world");
+    assertThat(mEditText.getText().getSpanStart(span)).isEqualTo(0);
+    assertThat(mEditText.getText().getSpanEnd(span)).isEqualTo(5);
+
+    mEditText.maybeSetText(createUpdate("hi"));
+    assertThat(mEditText.getText().toString()).isEqualTo("hi");
+  }
+
+  @Test
+  public void testChangeEventAfterControlledUpdateNeedsWholeText() {
+    assertThat(mEditText.consumeTextChangedSilently()).isTrue();
+    assertThat(mEditText.consumeTextChangedSilently()).isFalse();
+
+    mEditText.maybeSetText(createUpdate("hello"));
+    assertThat(mEditText.consumeTextChangedSilently()).isTrue();
+  }
+}
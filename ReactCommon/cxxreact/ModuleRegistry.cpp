@@ -7,6 +7,8 @@
 
 #include "ModuleRegistry.h"
 
+#include <iterator>
+
 #include <glog/logging.h>
 #include <reactperflogger/BridgeNativeModulePerfLogger.h>
 
@@ -35,8 +37,11 @@ std::string normalizeName(std::string name) {
 
 ModuleRegistry::ModuleRegistry(
     std::vector<std::unique_ptr<NativeModule>> modules,
-    ModuleNotFoundCallback callback)
-    : modules_{std::move(modules)}, moduleNotFoundCallback_{callback} {}
+    ModuleNotFoundCallback callback,
+    bool batchConsecutiveCalls)
+    : modules_{std::move(modules)},
+      moduleNotFoundCallback_{callback},
+      batchConsecutiveCalls_{batchConsecutiveCalls} {}
 
 void ModuleRegistry::updateModuleNamesFromIndex(size_t index) {
   for (; index < modules_.size(); index++) {
@@ -225,6 +230,39 @@ void ModuleRegistry::callNativeMethod(
   modules_[moduleId]->invoke(methodId, std::move(params), callId);
 }
 
+void ModuleRegistry::callNativeMethods(std::vector<MethodCall> &&calls) {
+  if (!batchConsecutiveCalls_) {
+    for (auto &call : calls) {
+      callNativeMethod(
+          call.moduleId, call.methodId, std::move(call.arguments), call.callId);
+    }
+    return;
+  }
+  size_t start = 0;
+  while (start < calls.size()) {
+    unsigned int moduleId = calls[start].moduleId;
+    if (moduleId >= modules_.size()) {
+      throw std::runtime_error(folly::to<std::string>(
+          "moduleId ", moduleId, " out of range [0..", modules_.size(), ")"));
+    }
+    size_t end = start + 1;
+    while (end < calls.size() &&
+           calls[end].moduleId == calls[start].moduleId) {
+      end++;
+    }
+    if (end - start == 1) {
+      auto &call = calls[start];
+      modules_[moduleId]->invoke(
+          call.methodId, std::move(call.arguments), call.callId);
+    } else {
+      modules_[moduleId]->invokeBatch(std::vector<MethodCall>(
+          std::make_move_iterator(calls.begin() + start),
+          std::make_move_iterator(calls.begin() + end)));
+    }
+    start = end;
+  }
+}
+
 MethodCallResult ModuleRegistry::callSerializableNativeHook(
     unsigned int moduleId,
     unsigned int methodId,
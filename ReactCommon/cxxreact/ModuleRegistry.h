@@ -12,6 +12,7 @@
 #include <vector>
 
 #include <cxxreact/JSExecutor.h>
+#include <cxxreact/MethodCall.h>
 #include <folly/Optional.h>
 #include <folly/dynamic.h>
 
@@ -40,9 +41,12 @@ class RN_EXPORT ModuleRegistry {
 
   using ModuleNotFoundCallback = std::function<bool(const std::string &name)>;
 
+  // With batchConsecutiveCalls, callNativeMethods hands runs of consecutive
+  // calls to the same module to NativeModule::invokeBatch.
   ModuleRegistry(
       std::vector<std::unique_ptr<NativeModule>> modules,
-      ModuleNotFoundCallback callback = nullptr);
+      ModuleNotFoundCallback callback = nullptr,
+      bool batchConsecutiveCalls = false);
   void registerModules(std::vector<std::unique_ptr<NativeModule>> modules);
 
   std::vector<std::string> moduleNames();
@@ -54,6 +58,9 @@ class RN_EXPORT ModuleRegistry {
       unsigned int methodId,
       folly::dynamic &&params,
       int callId);
+  // Invokes the calls in order, one by one unless batchConsecutiveCalls was
+  // passed to the constructor.
+  void callNativeMethods(std::vector<MethodCall> &&calls);
   MethodCallResult callSerializableNativeHook(
       unsigned int moduleId,
       unsigned int methodId,
@@ -86,6 +93,8 @@ class RN_EXPORT ModuleRegistry {
   // again (assuming it's registered) If the functon returns false,
   // ModuleRegistry will not try to find the module and return nullptr instead.
   ModuleNotFoundCallback moduleNotFoundCallback_;
+
+  bool batchConsecutiveCalls_;
 };
 
 } // namespace react
@@ -13,6 +13,8 @@
 #include <folly/Optional.h>
 #include <folly/dynamic.h>
 
+#include <cxxreact/MethodCall.h>
+
 namespace facebook {
 namespace react {
 
@@ -36,6 +38,13 @@ class NativeModule {
   virtual folly::dynamic getConstants() = 0;
   virtual void
   invoke(unsigned int reactMethodId, folly::dynamic &&params, int callId) = 0;
+  // Invokes consecutive calls of a batch to methods of this module, in order.
+  // Modules can override this to dispatch them together.
+  virtual void invokeBatch(std::vector<MethodCall> &&calls) {
+    for (auto &call : calls) {
+      invoke(call.methodId, std::move(call.arguments), call.callId);
+    }
+  }
   virtual MethodCallResult callSerializableNativeHook(
       unsigned int reactMethodId,
       folly::dynamic &&args) = 0;
@@ -67,10 +67,7 @@ class JsToNativeBridge : public react::ExecutorDelegate {
     // An exception anywhere in here stops processing of the batch.  This
     // was the behavior of the Android bridge, and since exception handling
     // terminates the whole bridge, there's not much point in continuing.
-    for (auto &call : methodCalls) {
-      m_registry->callNativeMethod(
-          call.moduleId, call.methodId, std::move(call.arguments), call.callId);
-    }
+    m_registry->callNativeMethods(std::move(methodCalls));
     if (isEndOfBatch) {
       // onBatchComplete will be called on the native (module) queue, but
       // decrementPendingJSCalls will be called sync. Be aware that the bridge
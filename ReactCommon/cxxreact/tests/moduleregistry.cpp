@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+#include <cxxreact/ModuleRegistry.h>
+#include <cxxreact/NativeModule.h>
+
+#include <folly/Conv.h>
+#include <folly/json.h>
+#pragma GCC diagnostic push
+#pragma GCC diagnostic ignored "-Wsign-compare"
+#include <gtest/gtest.h>
+#pragma GCC diagnostic pop
+
+using namespace facebook;
+using namespace facebook::react;
+using namespace folly;
+
+namespace {
+
+// Records the calls it gets in a log shared by all modules, with the batch
+// they were part of.
+class RecordingModule : public NativeModule {
+ public:
+  RecordingModule(std::string name, std::vector<std::string> &log)
+      : name_(std::move(name)), log_(log) {}
+
+  std::string getName() override {
+    return name_;
+  }
+  std::string getSyncMethodName(unsigned int) override {
+    return "";
+  }
+  std::vector<MethodDescriptor> getMethods() override {
+    return {};
+  }
+  folly::dynamic getConstants() override {
+    return nullptr;
+  }
+  void invoke(unsigned int methodId, folly::dynamic &&params, int callId)
+      override {
+    log_.push_back(describe("invoke", methodId, params, callId));
+  }
+  void invokeBatch(std::vector<MethodCall> &&calls) override {
+    for (auto &call : calls) {
+      log_.push_back(
+          describe("batch", call.methodId, call.arguments, call.callId));
+    }
+    log_.push_back(name_ + " end of batch");
+  }
+  MethodCallResult callSerializableNativeHook(unsigned int, folly::dynamic &&)
+      override {
+    return folly::none;
+  }
+
+ private:
+  std::string describe(
+      const char *kind,
+      unsigned int methodId,
+      const folly::dynamic &params,
+      int callId) {
+    return folly::to<std::string>(
+        name_, " ", kind, " ", methodId, " ", toJson(params), " ", callId);
+  }
+
+  std::string name_;
+  std::vector<std::string> &log_;
+};
+
+std::unique_ptr<ModuleRegistry> createRegistry(
+    std::vector<std::string> &log,
+    bool batchConsecutiveCalls = true) {
+  std::vector<std::unique_ptr<NativeModule>> modules;
+  modules.push_back(std::make_unique<RecordingModule>("A", log));
+  modules.push_back(std::make_unique<RecordingModule>("B", log));
+  return std::make_unique<ModuleRegistry>(
+      std::move(modules), nullptr, batchConsecutiveCalls);
+}
+
+} // namespace
+
+TEST(ModuleRegistry, CallNativeMethodsInvokesEachCallByDefault) {
+  std::vector<std::string> log;
+  std::vector<std::unique_ptr<NativeModule>> modules;
+  modules.push_back(std::make_unique<RecordingModule>("A", log));
+  ModuleRegistry registry(std::move(modules));
+
+  std::vector<MethodCall> calls;
+  calls.emplace_back(0, 1, dynamic::array(1), 10);
+  calls.emplace_back(0, 2, dynamic::array(), 11);
+  registry.callNativeMethods(std::move(calls));
+
+  std::vector<std::string> expected = {
+      "A invoke 1 [1] 10",
+      "A invoke 2 [] 11",
+  };
+  EXPECT_EQ(expected, log);
+}
+
+TEST(ModuleRegistry, CallNativeMethodsBatchesConsecutiveCallsInOrder) {
+  std::vector<std::string> log;
+  auto registry = createRegistry(log);
+
+  std::vector<MethodCall> calls;
+  calls.emplace_back(0, 1, dynamic::array(1), 10);
+  calls.emplace_back(0, 2, dynamic::array(true, 2.5), 11);
+  calls.emplace_back(1, 0, dynamic::array("b"), 12);
+  calls.emplace_back(0, 3, dynamic::array(), 13);
+  calls.emplace_back(1, 1, dynamic::array(3), 14);
+  calls.emplace_back(1, 2, dynamic::array(4), 15);
+  registry->callNativeMethods(std::move(calls));
+
+  std::vector<std::string> expected = {
+      "A batch 1 [1] 10",
+      "A batch 2 [true,2.5] 11",
+      "A end of batch",
+      "B invoke 0 [\"b\"] 12",
+      "A invoke 3 [] 13",
+      "B batch 1 [3] 14",
+      "B batch 2 [4] 15",
+      "B end of batch",
+  };
+  EXPECT_EQ(expected, log);
+}
+
+TEST(ModuleRegistry, CallNativeMethodsBatchesCallsWithoutArguments) {
+  std::vector<std::string> log;
+  auto registry = createRegistry(log);
+
+  std::vector<MethodCall> calls;
+  calls.emplace_back(0, 0, dynamic::array(), 1);
+  calls.emplace_back(0, 1, dynamic::array(), 2);
+  registry->callNativeMethods(std::move(calls));
+
+  std::vector<std::string> expected = {
+      "A batch 0 [] 1",
+      "A batch 1 [] 2",
+      "A end of batch",
+  };
+  EXPECT_EQ(expected, log);
+}
+
+TEST(ModuleRegistry, CallNativeMethodsStopsAtUnknownModule) {
+  std::vector<std::string> log;
+  auto registry = createRegistry(log);
+
+  std::vector<MethodCall> calls;
+  calls.emplace_back(1, 0, dynamic::array(), 1);
+  calls.emplace_back(2, 0, dynamic::array(), 2);
+  calls.emplace_back(0, 0, dynamic::array(), 3);
+  EXPECT_THROW(
+      registry->callNativeMethods(std::move(calls)), std::runtime_error);
+
+  std::vector<std::string> expected = {"B invoke 0 [] 1"};
+  EXPECT_EQ(expected, log);
+}
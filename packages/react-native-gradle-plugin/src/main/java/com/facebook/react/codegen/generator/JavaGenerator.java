@@ -13,21 +13,39 @@ import com.facebook.react.codegen.generator.model.CodegenException;
 import com.facebook.react.codegen.generator.model.TypeData;
 import com.facebook.react.codegen.generator.resolver.ResolvedType;
 import com.facebook.react.codegen.generator.resolver.TypeResolver;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.TypeSpec;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileReader;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
+import java.io.Reader;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 /**
  * Given a react-native-codegen JSON schema, generate a set of .java files for React Native. The
  * generator is isolated to a single schema, and a single Java package output.
+ *
+ * <p>When given a cache directory, the files generated for each module are kept there, keyed by a
+ * fingerprint of the module schema, so that the next builds only generate the modules that changed.
+ * Output files whose content didn't change are not rewritten.
  */
 public final class JavaGenerator {
   public static final String LICENSE_HEADER =
@@ -44,43 +62,120 @@ public final class JavaGenerator {
           + " * @"
           + "nolint\n"
           + " */\n\n";
+  // Bump when the generated code changes, so that files cached by previous builds aren't reused.
+  private static final int CACHE_VERSION = 1;
+  private static final String GENERATOR_STAMP = getGeneratorStamp();
+
   private final File mSchemaFile;
   private final String mJavaPackageName;
   private final File mOutputDir;
+  private final @Nullable File mCacheDir;
 
   public JavaGenerator(final File schemaFile, final String javaPackageName, final File outputDir) {
+    this(schemaFile, javaPackageName, outputDir, null);
+  }
+
+  public JavaGenerator(
+      final File schemaFile,
+      final String javaPackageName,
+      final File outputDir,
+      @Nullable final File cacheDir) {
     mSchemaFile = schemaFile;
     mJavaPackageName = javaPackageName;
     mOutputDir = outputDir;
+    mCacheDir = cacheDir;
   }
 
   public void build() throws CodegenException, FileNotFoundException, IOException {
-    // Step 1: Given a schema JSON, collect all types.
-    final TypeData typeData = SchemaJsonParser.parse(mSchemaFile);
-
-    // Step 2: Resolve each type, then collect those that produce a class or interface (TypeSpec).
-    final List<TypeSpec> typeSpecsToWrite =
-        typeData.getAllTypes().stream()
-            .map(
-                t -> {
-                  final ResolvedType resolvedType =
-                      TypeResolver.resolveType(typeData.getType(t), typeData, false);
-                  final TypeSpec spec = resolvedType.getGeneratedCode(mJavaPackageName);
-                  return spec;
-                })
-            .filter(f -> f != null)
-            .collect(Collectors.toList());
-
-    // Step 3: Write all of the TypeSpec's into the output directory.
-    for (final TypeSpec typeSpec : typeSpecsToWrite) {
-      writeTypeSpecToFile(typeSpec);
+    final JsonElement rootElement;
+    try (Reader reader = new FileReader(mSchemaFile)) {
+      rootElement = new JsonParser().parse(reader);
     }
-  }
+    final Path outputDirPath = getOutputDirPath();
+
+    // Step 1: Copy the files of the modules that were already generated by a previous build, and
+    // collect the ones to generate.
+    final Map<String, Path> moduleCacheDirs = new HashMap<>();
+    final Set<Path> usedCacheDirs = new HashSet<>();
+    if (rootElement.isJsonObject() && rootElement.getAsJsonObject().has("modules")) {
+      final JsonObject modules = rootElement.getAsJsonObject().getAsJsonObject("modules");
+      for (Map.Entry<String, JsonElement> entry : modules.entrySet()) {
+        final Path moduleCacheDir =
+            mCacheDir != null
+                ? mCacheDir.toPath().resolve(getFingerprint(entry.getKey(), entry.getValue()))
+                : null;
+        if (moduleCacheDir != null && Files.isDirectory(moduleCacheDir)) {
+          copyCachedFiles(moduleCacheDir, outputDirPath);
+        } else {
+          moduleCacheDirs.put(entry.getKey(), moduleCacheDir);
+        }
+        if (moduleCacheDir != null) {
+          usedCacheDirs.add(moduleCacheDir);
+        }
+      }
+    }
+
+    if (!moduleCacheDirs.isEmpty()) {
+      // Step 2: Given a schema JSON, collect all types of the modules to generate.
+      final TypeData typeData = SchemaJsonParser.parse(rootElement, moduleCacheDirs::containsKey);
 
-  private final void writeTypeSpecToFile(final TypeSpec typeSpec)
-      throws CodegenException, IOException {
-    JavaFile file = JavaFile.builder(mJavaPackageName, typeSpec).skipJavaLangImports(true).build();
+      // Step 3: Resolve each type, then collect those that produce a class or interface
+      // (TypeSpec), rendered in parallel as resolution and rendering are independent per type.
+      final List<GeneratedFile> filesToWrite =
+          typeData.getAllTypes().parallelStream()
+              .map(
+                  t -> {
+                    final ResolvedType resolvedType =
+                        TypeResolver.resolveType(typeData.getType(t), typeData, false);
+                    final TypeSpec spec = resolvedType.getGeneratedCode(mJavaPackageName);
+                    return spec != null ? new GeneratedFile(t.moduleName, spec) : null;
+                  })
+              .filter(f -> f != null)
+              .collect(Collectors.toList());
+
+      // Step 4: Write all of the TypeSpec's into the output directory, and the cache.
+      final Map<String, Path> stagingCacheDirs = new HashMap<>();
+      for (final GeneratedFile file : filesToWrite) {
+        writeIfChanged(outputDirPath.resolve(file.mFileName), file.mContents);
+        final Path moduleCacheDir = moduleCacheDirs.get(file.mModuleName);
+        if (moduleCacheDir != null) {
+          final Path stagingDir =
+              stagingCacheDirs.computeIfAbsent(
+                  file.mModuleName,
+                  m -> moduleCacheDir.resolveSibling(moduleCacheDir.getFileName() + ".tmp"));
+          Files.createDirectories(stagingDir);
+          Files.write(stagingDir.resolve(file.mFileName), file.mContents);
+        }
+      }
+
+      // Modules are only cached once all of their files are, so that a failed build can't leave
+      // an incomplete entry behind.
+      for (final Map.Entry<String, Path> entry : moduleCacheDirs.entrySet()) {
+        if (entry.getValue() == null) {
+          continue;
+        }
+        final Path stagingDir = stagingCacheDirs.get(entry.getKey());
+        if (stagingDir != null) {
+          Files.move(stagingDir, entry.getValue(), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+          Files.createDirectories(entry.getValue());
+        }
+      }
+    }
+
+    // Step 5: Forget the modules that were removed or changed since the previous builds.
+    if (mCacheDir != null && mCacheDir.isDirectory()) {
+      try (DirectoryStream<Path> cacheDirs = Files.newDirectoryStream(mCacheDir.toPath())) {
+        for (final Path cacheDir : cacheDirs) {
+          if (!usedCacheDirs.contains(cacheDir)) {
+            deleteRecursively(cacheDir);
+          }
+        }
+      }
+    }
+  }
 
+  private Path getOutputDirPath() throws CodegenException, IOException {
     // Instead of using JavaFile.writeTo() API, manage the output files ourselves because
     // JavaFile.addFileComment() does not support "block comment" style.
     // See https://github.com/square/javapoet/issues/682#issuecomment-512238075.
@@ -95,12 +190,76 @@ public final class JavaGenerator {
       for (String packageComponent : mJavaPackageName.split("\\.")) {
         outputDirPath = outputDirPath.resolve(packageComponent);
       }
-      Files.createDirectories(outputDirPath);
     }
+    Files.createDirectories(outputDirPath);
+    return outputDirPath;
+  }
+
+  private String getFingerprint(final String moduleName, final JsonElement module) {
+    final Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putInt(CACHE_VERSION);
+    hasher.putString(GENERATOR_STAMP, UTF_8);
+    hasher.putString(mJavaPackageName, UTF_8);
+    hasher.putString(moduleName, UTF_8);
+    hasher.putString(module.toString(), UTF_8);
+    return hasher.hash().toString();
+  }
+
+  /** Identifies the generator code, so that a new version of it doesn't reuse cached files. */
+  private static String getGeneratorStamp() {
+    try {
+      final File codeSource =
+          new File(JavaGenerator.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+      return codeSource.getPath() + ":" + codeSource.length() + ":" + codeSource.lastModified();
+    } catch (Exception e) {
+      return "";
+    }
+  }
+
+  private static void copyCachedFiles(final Path moduleCacheDir, final Path outputDirPath)
+      throws IOException {
+    try (DirectoryStream<Path> cachedFiles = Files.newDirectoryStream(moduleCacheDir)) {
+      for (final Path cachedFile : cachedFiles) {
+        writeIfChanged(
+            outputDirPath.resolve(cachedFile.getFileName().toString()),
+            Files.readAllBytes(cachedFile));
+      }
+    }
+  }
+
+  /** Leaves files that are already up to date untouched, to keep incremental compilation cheap. */
+  private static void writeIfChanged(final Path outputPath, final byte[] contents)
+      throws IOException {
+    if (Files.isRegularFile(outputPath)
+        && Files.size(outputPath) == contents.length
+        && Arrays.equals(Files.readAllBytes(outputPath), contents)) {
+      return;
+    }
+    Files.write(outputPath, contents);
+  }
+
+  private static void deleteRecursively(final Path path) throws IOException {
+    if (Files.isDirectory(path)) {
+      try (Stream<Path> children = Files.list(path)) {
+        for (final Path child : children.collect(Collectors.toList())) {
+          deleteRecursively(child);
+        }
+      }
+    }
+    Files.deleteIfExists(path);
+  }
+
+  private final class GeneratedFile {
+    private final String mModuleName;
+    private final String mFileName;
+    private final byte[] mContents;
 
-    Path outputPath = outputDirPath.resolve(typeSpec.name + ".java");
-    try (Writer writer = new OutputStreamWriter(Files.newOutputStream(outputPath), UTF_8)) {
-      writer.write(LICENSE_HEADER + file.toString());
+    private GeneratedFile(final String moduleName, final TypeSpec typeSpec) {
+      final JavaFile file =
+          JavaFile.builder(mJavaPackageName, typeSpec).skipJavaLangImports(true).build();
+      mModuleName = moduleName;
+      mFileName = typeSpec.name + ".java";
+      mContents = (LICENSE_HEADER + file.toString()).getBytes(UTF_8);
     }
   }
 }
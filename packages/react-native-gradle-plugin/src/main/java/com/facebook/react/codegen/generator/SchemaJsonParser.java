@@ -40,6 +40,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public final class SchemaJsonParser {
@@ -51,11 +52,25 @@ public final class SchemaJsonParser {
     return parser.buildTypeData(schemaFile);
   }
 
+  /**
+   * Collects the types of the modules of an already parsed schema whose name is accepted by {@code
+   * moduleFilter}.
+   */
+  public static TypeData parse(final JsonElement rootElement, final Predicate<String> moduleFilter)
+      throws CodegenException {
+    final SchemaJsonParser parser = new SchemaJsonParser();
+    return parser.buildTypeData(rootElement, moduleFilter);
+  }
+
   private TypeData buildTypeData(final File schemaFile)
       throws CodegenException, FileNotFoundException, IOException {
     final JsonParser parser = new JsonParser();
     final JsonElement rootElement = parser.parse(new FileReader(schemaFile));
+    return buildTypeData(rootElement, jsModuleName -> true);
+  }
 
+  private TypeData buildTypeData(
+      final JsonElement rootElement, final Predicate<String> moduleFilter) {
     final Map<String, Map<String, NativeModuleType>> collection = new HashMap<>();
 
     if (rootElement.isJsonObject()) {
@@ -66,6 +81,10 @@ public final class SchemaJsonParser {
           .forEach(
               entry -> {
                 final String jsModuleName = entry.getKey();
+                if (!moduleFilter.test(jsModuleName)) {
+                  return;
+                }
+
                 final JsonObject jsModule = entry.getValue().getAsJsonObject();
                 final String jsModuleType = jsModule.get("type").getAsString();
 
@@ -104,6 +104,7 @@ class ReactPlugin : Plugin<Project> {
           it.codegenJavaPackageName.set(extension.codegenJavaPackageName)
           it.libraryName.set(extension.libraryName)
           it.generatedSrcDir.set(generatedSrcDir)
+          it.javaGeneratorCacheDir.set(File(project.buildDir, "intermediates/codegen/java"))
         }
 
     // 4. Add dependencies & generated sources to the project.
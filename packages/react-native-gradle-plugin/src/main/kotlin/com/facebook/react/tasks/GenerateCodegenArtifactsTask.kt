@@ -18,6 +18,7 @@ import org.gradle.api.provider.Property
 import org.gradle.api.provider.Provider
 import org.gradle.api.tasks.*
 
+@CacheableTask
 abstract class GenerateCodegenArtifactsTask : Exec() {
 
   @get:Internal abstract val reactNativeDir: DirectoryProperty
@@ -37,11 +38,25 @@ abstract class GenerateCodegenArtifactsTask : Exec() {
   // We're keeping this just to fire a warning at the user should they use the `reactRoot` property.
   @get:Internal abstract val deprecatedReactRoot: DirectoryProperty
 
+  // Files generated by the Java generator for each module, reused while their schema is unchanged.
+  @get:LocalState abstract val javaGeneratorCacheDir: DirectoryProperty
+
   @get:InputFile
+  @get:PathSensitive(PathSensitivity.RELATIVE)
   val combineJsToSchemaCli: Provider<RegularFile> =
       codegenDir.file("lib/cli/combine/combine-js-to-schema-cli.js")
 
   @get:InputFile
+  @get:PathSensitive(PathSensitivity.RELATIVE)
+  val generateSpecsCli: Provider<RegularFile> = reactNativeDir.file("scripts/generate-specs-cli.js")
+
+  // The generators run by generate-specs-cli.js, the task output changes with them.
+  @get:InputFiles
+  @get:PathSensitive(PathSensitivity.RELATIVE)
+  val codegenLibFiles = project.fileTree(codegenDir) { it.include("lib/**/*.js") }
+
+  @get:InputFile
+  @get:PathSensitive(PathSensitivity.RELATIVE)
   val generatedSchemaFile: Provider<RegularFile> = generatedSrcDir.file("schema.json")
 
   @get:OutputDirectory val generatedJavaFiles: Provider<Directory> = generatedSrcDir.dir("java")
@@ -59,7 +74,8 @@ abstract class GenerateCodegenArtifactsTask : Exec() {
         JavaGenerator(
                 generatedSchemaFile.get().asFile,
                 codegenJavaPackageName.get(),
-                generatedSrcDir.get().asFile)
+                generatedSrcDir.get().asFile,
+                javaGeneratorCacheDir.asFile.orNull)
             .build()
       } catch (e: Exception) {
         throw GradleException("Failed to generate Java from schema.", e)
@@ -19,6 +19,7 @@ import org.gradle.api.tasks.*
  * `combine-js-to-schema-cli.js` on top of it (from `react-native-codegen`). The output is a
  * `schema.json` file that contains an intermediate representation of the code to be generated.
  */
+@CacheableTask
 abstract class GenerateCodegenSchemaTask : Exec() {
 
   @get:Internal abstract val jsRootDir: DirectoryProperty
@@ -29,7 +30,14 @@ abstract class GenerateCodegenSchemaTask : Exec() {
 
   @get:Input abstract val nodeExecutableAndArgs: ListProperty<String>
 
-  @get:InputFiles val jsInputFiles = project.fileTree(jsRootDir) { it.include("**/*.js") }
+  @get:InputFiles
+  @get:PathSensitive(PathSensitivity.RELATIVE)
+  val jsInputFiles = project.fileTree(jsRootDir) { it.include("**/*.js") }
+
+  // The schema parsers run by combine-js-to-schema-cli.js, the task output changes with them.
+  @get:InputFiles
+  @get:PathSensitive(PathSensitivity.RELATIVE)
+  val codegenLibFiles = project.fileTree(codegenDir) { it.include("lib/**/*.js") }
 
   @get:OutputFile
   val generatedSchemaFile: Provider<RegularFile> = generatedSrcDir.file("schema.json")
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.codegen.generator
+
+import java.io.File
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class JavaGeneratorTest {
+
+  @get:Rule val tempFolder = TemporaryFolder()
+
+  @Test
+  fun build_withoutCache_generatesAllModules() {
+    val schemaFile = writeSchema("NativeFoo" to "StringTypeAnnotation")
+    val outputDir = tempFolder.newFolder("output")
+
+    JavaGenerator(schemaFile, "com.example", outputDir).build()
+
+    val generatedFile = File(outputDir, "java/com/example/NativeFooSpec.java")
+    assertTrue(generatedFile.exists())
+    assertTrue(generatedFile.readText().startsWith(JavaGenerator.LICENSE_HEADER))
+  }
+
+  @Test
+  fun build_withCache_restoresUnchangedModules() {
+    val schemaFile = writeSchema("NativeFoo" to "StringTypeAnnotation")
+    val outputDir = tempFolder.newFolder("output")
+    val cacheDir = tempFolder.newFolder("cache")
+    val generatedFile = File(outputDir, "java/com/example/NativeFooSpec.java")
+
+    JavaGenerator(schemaFile, "com.example", outputDir, cacheDir).build()
+    val generatedContent = generatedFile.readText()
+    generatedFile.writeText("overwritten by another generator")
+    JavaGenerator(schemaFile, "com.example", outputDir, cacheDir).build()
+
+    assertEquals(generatedContent, generatedFile.readText())
+    assertEquals(1, cacheDir.list()!!.size)
+  }
+
+  @Test
+  fun build_withCache_regeneratesChangedModules() {
+    val outputDir = tempFolder.newFolder("output")
+    val cacheDir = tempFolder.newFolder("cache")
+    val fooFile = File(outputDir, "java/com/example/NativeFooSpec.java")
+    val barFile = File(outputDir, "java/com/example/NativeBarSpec.java")
+
+    JavaGenerator(
+            writeSchema(
+                "NativeFoo" to "StringTypeAnnotation", "NativeBar" to "StringTypeAnnotation"),
+            "com.example",
+            outputDir,
+            cacheDir)
+        .build()
+    val barContent = barFile.readText()
+    JavaGenerator(
+            writeSchema(
+                "NativeFoo" to "BooleanTypeAnnotation", "NativeBar" to "StringTypeAnnotation"),
+            "com.example",
+            outputDir,
+            cacheDir)
+        .build()
+
+    assertTrue(fooFile.readText().contains("boolean getValue()"))
+    assertEquals(barContent, barFile.readText())
+    // The entry of the previous NativeFoo schema is removed.
+    assertEquals(2, cacheDir.list()!!.size)
+  }
+
+  private fun writeSchema(vararg modules: Pair<String, String>): File {
+    val schema =
+        modules.joinToString(prefix = """{"modules":{""", postfix = "}}") { (name, returnType) ->
+          """
+          "$name": {
+            "type": "NativeModule",
+            "aliases": {},
+            "spec": {
+              "properties": [{
+                "name": "getValue",
+                "optional": false,
+                "typeAnnotation": {
+                  "type": "FunctionTypeAnnotation",
+                  "params": [],
+                  "returnTypeAnnotation": {"type": "$returnType"}
+                }
+              }]
+            }
+          }
+          """
+        }
+    return File(tempFolder.root, "schema.json").apply { writeText(schema) }
+  }
+}
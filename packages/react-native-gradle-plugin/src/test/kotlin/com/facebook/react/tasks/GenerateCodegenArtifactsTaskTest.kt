@@ -26,11 +26,19 @@ class GenerateCodegenArtifactsTaskTest {
 
   @Test
   fun generateCodegenSchema_inputFiles_areSetCorrectly() {
+    val reactNativeDir = tempFolder.newFolder("node_modules/react-native/")
     val codegenDir = tempFolder.newFolder("codegen")
     val outputDir = tempFolder.newFolder("output")
+    val generatorFile =
+        File(codegenDir, "lib/generators/RNCodegen.js").apply {
+          parentFile.mkdirs()
+          createNewFile()
+        }
+    File(codegenDir, "README.md").createNewFile()
 
     val task =
         createTestTask<GenerateCodegenArtifactsTask> {
+          it.reactNativeDir.set(reactNativeDir)
           it.codegenDir.set(codegenDir)
           it.generatedSrcDir.set(outputDir)
         }
@@ -38,6 +46,10 @@ class GenerateCodegenArtifactsTaskTest {
     assertEquals(
         File(codegenDir, "lib/cli/combine/combine-js-to-schema-cli.js"),
         task.combineJsToSchemaCli.get().asFile)
+    assertEquals(
+        File(reactNativeDir, "scripts/generate-specs-cli.js"),
+        task.generateSpecsCli.get().asFile)
+    assertEquals(setOf(generatorFile), task.codegenLibFiles.files)
     assertEquals(File(outputDir, "schema.json"), task.generatedSchemaFile.get().asFile)
   }
 
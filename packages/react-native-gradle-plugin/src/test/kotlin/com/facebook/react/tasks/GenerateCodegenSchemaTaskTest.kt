@@ -40,6 +40,22 @@ class GenerateCodegenSchemaTaskTest {
     assertEquals(setOf(File(jsRootDir, "file.js")), task.jsInputFiles.files)
   }
 
+  @Test
+  fun generateCodegenSchema_codegenLibFiles_areInsideInput() {
+    val codegenDir =
+        tempFolder.newFolder("codegen").apply {
+          File(this, "lib/cli/combine").mkdirs()
+          File(this, "lib/cli/combine/combine-js-to-schema-cli.js").createNewFile()
+          File(this, "package.json").createNewFile()
+        }
+
+    val task = createTestTask<GenerateCodegenSchemaTask> { it.codegenDir.set(codegenDir) }
+
+    assertEquals(
+        setOf(File(codegenDir, "lib/cli/combine/combine-js-to-schema-cli.js")),
+        task.codegenLibFiles.files)
+  }
+
   @Test
   fun generateCodegenSchema_outputFile_isSetCorrectly() {
     val outputDir = tempFolder.newFolder("output")
@@ -189,6 +189,12 @@ def rn_android_library(name, deps = [], plugins = [], *args, **kwargs):
 
         plugins = _unique(plugins + react_property_plugins)
 
+        # Lets ViewManagerPropertyUpdater find the generated setters of each package at once
+        kwargs["annotation_processor_params"] = _unique(
+            kwargs.get("annotation_processor_params", []) +
+            ["react.generatePropsSetterRegistrars=true"],
+        )
+
     if react_native_target(
         "java/com/facebook/react/module/annotations:annotations",
     ) in deps and name != "processing":